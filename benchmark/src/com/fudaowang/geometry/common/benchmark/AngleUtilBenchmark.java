@@ -0,0 +1,54 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Angle;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.util.AngleUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AngleUtil的性能测试:pointInAngle对每个点判断是否在固定的角内,getAngleRadians求角的顶点与相邻两个点所成的角度.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AngleUtilBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Point[] points;
+    private Angle angle;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        points = data.points(size);
+        angle = new Angle(new Point(0, 0), new Point(5, 1), new Point(1, 5));
+    }
+
+    @Benchmark
+    public int pointInAngle() {
+        int count = 0;
+        for (Point point : points) {
+            if (AngleUtil.pointInAngle(point, angle)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void getAngleRadians(Blackhole blackhole) {
+        Point vertex = angle.getVertex();
+        for (int i = 1; i < points.length; i++) {
+            blackhole.consume(AngleUtil.getAngleRadians(vertex, points[i - 1], points[i]));
+        }
+    }
+}
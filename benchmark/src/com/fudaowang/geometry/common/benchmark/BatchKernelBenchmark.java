@@ -0,0 +1,106 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.util.CoordinateUtil;
+import com.fudaowang.geometry.common.util.LineUtil;
+import com.fudaowang.geometry.common.util.PointUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量距离与坐标转换的性能测试,scalar开头的方法逐个调用原来的方法,batch开头的方法调用数组上的批量方法.
+ * 参数kernel选择批量方法使用的实现:vector为vector模块中用jdk.incubator.vector实现的VectorBatchKernel,
+ * scalar为依赖JIT自动向量化的标量实现.每组参数在单独的JVM中运行,所以在setUp中设置系统属性就能选择实现.
+ * 在支持AVX2的机器上可以用-prof perfasm确认生成了向量指令.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchKernelBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"vector", "scalar"})
+    public String kernel;
+
+    private PointBuffer buffer;
+    private double[] xs;
+    private double[] ys;
+    private double[] result;
+    private Point center;
+    private Line line;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("geometry.batch.kernel", kernel);
+        BenchmarkData data = new BenchmarkData(20130618L);
+        buffer = data.pointBuffer(size);
+        xs = buffer.getXs();
+        ys = buffer.getYs();
+        result = new double[size];
+        center = new Point(1.5, -2.5);
+        line = new Line(0.3, -1.7, 2.5);
+    }
+
+    @Benchmark
+    public double[] scalarPointDistance() {
+        for (int i = 0; i < size; i++) {
+            result[i] = PointUtil.distance(xs[i], ys[i], center.getX(), center.getY());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] batchPointDistance() {
+        return PointUtil.distance(buffer, center.getX(), center.getY(), result);
+    }
+
+    @Benchmark
+    public double[] scalarLineDistance() {
+        for (int i = 0; i < size; i++) {
+            result[i] = LineUtil.distance(xs[i], ys[i], line.getA(), line.getB(), line.getC());
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] batchLineDistance() {
+        return LineUtil.distance(buffer, line, result);
+    }
+
+    @Benchmark
+    public double[] scalarToRelative() {
+        for (int i = 0; i < size; i++) {
+            result[i] = CoordinateUtil.toRelativeCoordinateX(xs[i], 300, 20);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] batchToRelative() {
+        CoordinateUtil.toRelativeCoordinateX(xs, 0, size, 300, 20, result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] scalarToAbsolute() {
+        for (int i = 0; i < size; i++) {
+            result[i] = CoordinateUtil.toAbsoluteCoordinateY(ys[i], 200, 25);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] batchToAbsolute() {
+        CoordinateUtil.toAbsoluteCoordinateY(ys, 0, size, 200, 25, result);
+        return result;
+    }
+}
@@ -0,0 +1,235 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Coordinate;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Polygon;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.graph.Triangle;
+import com.fudaowang.geometry.common.util.TriangleUtil;
+
+import java.util.Random;
+
+/**
+ * 性能测试使用的数据集.
+ * 模拟题目中的图形:相对坐标系的范围为[-10,10],原点在(400,300),单位长度为30像素,
+ * 坐标多为0.5的倍数,函数的系数多为小整数.相同的种子总是生成相同的数据,便于比较不同版本的结果.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class BenchmarkData {
+    /**
+     * 相对坐标系的范围
+     */
+    public static final double RANGE = 10;
+
+    private final Random random;
+
+    /**
+     * 使用给定的种子构造数据集
+     *
+     * @param seed 随机数种子
+     */
+    public BenchmarkData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * 题目中常用的坐标系
+     *
+     * @return 坐标系
+     */
+    public Coordinate coordinate() {
+        Coordinate coordinate = new Coordinate(400, 300, 30, 30);
+        coordinate.setMinX(100);
+        coordinate.setMaxX(700);
+        coordinate.setMinY(0);
+        coordinate.setMaxY(600);
+        return coordinate;
+    }
+
+    /**
+     * 坐标在[-RANGE,RANGE]内的随机数,一半的概率取0.5的倍数
+     *
+     * @return 坐标值
+     */
+    public double value() {
+        double value = (random.nextDouble() * 2 - 1) * RANGE;
+        return random.nextBoolean() ? Math.round(value * 2) / 2.0 : value;
+    }
+
+    /**
+     * 生成点
+     *
+     * @param n 点的个数
+     * @return 点的数组
+     */
+    public Point[] points(int n) {
+        Point[] points = new Point[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = new Point(value(), value());
+        }
+        return points;
+    }
+
+    /**
+     * 生成点集
+     *
+     * @param n 点的个数
+     * @return 点集
+     */
+    public PointBuffer pointBuffer(int n) {
+        PointBuffer buffer = new PointBuffer(n);
+        for (int i = 0; i < n; i++) {
+            buffer.add(value(), value());
+        }
+        return buffer;
+    }
+
+    /**
+     * 生成经过两个随机点的直线
+     *
+     * @param n 直线的个数
+     * @return 直线的数组
+     */
+    public Line[] lines(int n) {
+        Line[] lines = new Line[n];
+        Segment[] segments = segments(n);
+        for (int i = 0; i < n; i++) {
+            lines[i] = new Line(segments[i].getP1(), segments[i].getP2());
+        }
+        return lines;
+    }
+
+    /**
+     * 生成线段
+     *
+     * @param n 线段的个数
+     * @return 线段的数组
+     */
+    public Segment[] segments(int n) {
+        Segment[] segments = new Segment[n];
+        for (int i = 0; i < n; ) {
+            double x1 = value();
+            double y1 = value();
+            double x2 = value();
+            double y2 = value();
+            if (Math.abs(x1 - x2) + Math.abs(y1 - y2) > 0.5) {
+                segments[i++] = new Segment(x1, y1, x2, y2);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 生成长度不超过maxLength的短线段,用于模拟较密集的作图
+     *
+     * @param n         线段的个数
+     * @param maxLength 线段的最大长度
+     * @return 线段的数组
+     */
+    public Segment[] shortSegments(int n, double maxLength) {
+        Segment[] segments = new Segment[n];
+        for (int i = 0; i < n; i++) {
+            double x = value();
+            double y = value();
+            double angle = random.nextDouble() * Math.PI * 2;
+            double length = (0.1 + random.nextDouble() * 0.9) * maxLength;
+            segments[i] = new Segment(x, y, x + length * Math.cos(angle), y + length * Math.sin(angle));
+        }
+        return segments;
+    }
+
+    /**
+     * 生成圆
+     *
+     * @param n 圆的个数
+     * @return 圆的数组
+     */
+    public Round[] rounds(int n) {
+        Round[] rounds = new Round[n];
+        for (int i = 0; i < n; i++) {
+            rounds[i] = new Round(value(), value(), 0.5 + random.nextInt(10) * 0.5);
+        }
+        return rounds;
+    }
+
+    /**
+     * 生成系数为小整数或0.5的倍数的抛物线
+     *
+     * @param n 抛物线的个数
+     * @return 抛物线的数组
+     */
+    public Parabola[] parabolas(int n) {
+        Parabola[] parabolas = new Parabola[n];
+        for (int i = 0; i < n; i++) {
+            double a = (random.nextInt(8) + 1) * 0.5 * (random.nextBoolean() ? 1 : -1);
+            parabolas[i] = new Parabola(a, random.nextInt(9) - 4, random.nextInt(11) - 5);
+        }
+        return parabolas;
+    }
+
+    /**
+     * 生成反比例函数图像
+     *
+     * @param n 反比例函数的个数
+     * @return 反比例函数的数组
+     */
+    public Hyperbola[] hyperbolas(int n) {
+        Hyperbola[] hyperbolas = new Hyperbola[n];
+        for (int i = 0; i < n; i++) {
+            double k = (random.nextInt(12) + 1) * (random.nextBoolean() ? 1 : -1);
+            hyperbolas[i] = new Hyperbola(k, random.nextInt(5) - 2, random.nextInt(5) - 2);
+        }
+        return hyperbolas;
+    }
+
+    /**
+     * 生成面积不小于1的三角形
+     *
+     * @param n 三角形的个数
+     * @return 三角形的数组
+     */
+    public Triangle[] triangles(int n) {
+        Triangle[] triangles = new Triangle[n];
+        for (int i = 0; i < n; ) {
+            double x1 = value();
+            double y1 = value();
+            double x2 = value();
+            double y2 = value();
+            double x3 = value();
+            double y3 = value();
+            if (TriangleUtil.getArea(x1, y1, x2, y2, x3, y3) >= 1) {
+                triangles[i++] = new Triangle(x1, y1, x2, y2, x3, y3);
+            }
+        }
+        return triangles;
+    }
+
+    /**
+     * 生成以随机点为中心的凸多边形
+     *
+     * @param n        多边形的个数
+     * @param vertices 每个多边形的顶点数
+     * @return 多边形的数组
+     */
+    public Polygon[] polygons(int n, int vertices) {
+        Polygon[] polygons = new Polygon[n];
+        for (int i = 0; i < n; i++) {
+            double cx = value();
+            double cy = value();
+            double radius = 1 + random.nextDouble() * 3;
+            Point[] points = new Point[vertices];
+            for (int j = 0; j < vertices; j++) {
+                double angle = Math.PI * 2 * j / vertices;
+                points[j] = new Point(cx + radius * Math.cos(angle), cy + radius * Math.sin(angle));
+            }
+            polygons[i] = new Polygon(points);
+        }
+        return polygons;
+    }
+}
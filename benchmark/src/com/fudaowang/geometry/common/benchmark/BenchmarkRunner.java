@@ -0,0 +1,34 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 运行性能测试并输出机器可读的结果,用于比较不同版本的性能.
+ * 参数依次为需要运行的测试类的正则表达式(默认为本包下的所有测试)和结果文件(默认为benchmark-result.json),
+ * 结果文件以.csv结尾时输出CSV格式,否则输出JSON格式.运行时总是开启GC分析器,结果中包含内存分配速率.
+ * 运行前需要在jmh库中加入jmh-generator-annprocess,并在IDE中开启注解处理.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT = "benchmark-result.json";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+        String result = args.length > 1 ? args[1] : DEFAULT_RESULT;
+        ResultFormatType format = result.toLowerCase().endsWith(".csv") ? ResultFormatType.CSV : ResultFormatType.JSON;
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(format)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+}
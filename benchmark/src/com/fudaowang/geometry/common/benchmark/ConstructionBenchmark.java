@@ -0,0 +1,80 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.construction.Construction;
+import com.fudaowang.geometry.common.construction.Node;
+import com.fudaowang.geometry.common.construction.Variable;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Point;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 拖动作图中的一个自由点时的性能测试,比较只重算受影响的结点,重算所有结点和并行重算所有结点.
+ * 每个自由点带一串求中点,垂足,平行线和对称点的作图,公共的中心点被所有作图使用.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    private Construction construction;
+    private Variable<Point> center;
+    private List<Variable<Point>> free;
+    private List<Node<Point>> results;
+    private Point[] positions;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        Point[] points = data.points(size * 2);
+        positions = data.points(64);
+        construction = new Construction();
+        center = construction.point(0, 0);
+        free = new ArrayList<Variable<Point>>();
+        results = new ArrayList<Node<Point>>();
+        for (int i = 0; i < size; i++) {
+            Variable<Point> p1 = construction.variable(points[2 * i]);
+            Node<Point> p2 = construction.variable(points[2 * i + 1]);
+            Node<Line> line = construction.line(p1, p2);
+            Node<Point> midpoint = construction.midpoint(construction.segment(p1, p2));
+            Node<Point> foot = construction.verticalPoint(center, line);
+            Node<Line> parallel = construction.parallelLine(midpoint, construction.line(center, foot));
+            free.add(p1);
+            results.add(construction.axialSymmetry(center, parallel));
+        }
+        construction.update(false);
+    }
+
+    @Benchmark
+    public Point dragOne() {
+        Point position = positions[++step & (positions.length - 1)];
+        int index = step % size;
+        free.get(index).set(position);
+        return results.get(index).get();
+    }
+
+    @Benchmark
+    public int dragCenter() {
+        center.set(positions[++step & (positions.length - 1)]);
+        construction.update(false);
+        return construction.getDirtyCount();
+    }
+
+    @Benchmark
+    public int dragCenterParallel() {
+        center.set(positions[++step & (positions.length - 1)]);
+        construction.update(true);
+        return construction.getDirtyCount();
+    }
+}
@@ -0,0 +1,57 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.ConvexHull;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.util.PointUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 凸包的性能测试,比较单调链算法的串行和并行计算,以及逐个加入点的凸包.
+ * 结果写入重复使用的点集.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvexHullBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private double[] xs;
+    private double[] ys;
+    private final PointBuffer target = new PointBuffer();
+    private final ConvexHull hull = new ConvexHull();
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        PointBuffer buffer = data.pointBuffer(size);
+        xs = buffer.getXs();
+        ys = buffer.getYs();
+    }
+
+    @Benchmark
+    public PointBuffer monotoneChain() {
+        return PointUtil.getConvexHull(xs, ys, 0, size, false, target);
+    }
+
+    @Benchmark
+    public PointBuffer monotoneChainParallel() {
+        return PointUtil.getConvexHull(xs, ys, 0, size, true, target);
+    }
+
+    @Benchmark
+    public int online() {
+        hull.clear();
+        for (int i = 0; i < size; i++) {
+            hull.add(xs[i], ys[i]);
+        }
+        return hull.size();
+    }
+}
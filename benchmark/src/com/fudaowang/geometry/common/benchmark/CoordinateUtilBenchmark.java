@@ -0,0 +1,75 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Coordinate;
+import com.fudaowang.geometry.common.graph.CoordinateName;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Viewport;
+import com.fudaowang.geometry.common.util.CoordinateUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 相对坐标与绝对坐标相互转换的性能测试,每个方法把所有点转换到绝对坐标再转换回来.
+ * byName按坐标轴名称转换,每次都从Coordinate中取原点和单位长度;direct预先取出原点和单位长度后直接转换;
+ * viewport使用预先计算好的Viewport转换.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoordinateUtilBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Point[] points;
+    private Coordinate coordinate;
+    private Viewport viewport;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        points = data.points(size);
+        coordinate = data.coordinate();
+        viewport = Viewport.valueOf(coordinate);
+    }
+
+    @Benchmark
+    public void byName(Blackhole blackhole) {
+        for (Point point : points) {
+            double x = CoordinateUtil.toAbsoluteCoordinate(point.getX(), coordinate, CoordinateName.X);
+            double y = CoordinateUtil.toAbsoluteCoordinate(point.getY(), coordinate, CoordinateName.Y);
+            blackhole.consume(CoordinateUtil.toRelativeCoordinate(x, coordinate, CoordinateName.X));
+            blackhole.consume(CoordinateUtil.toRelativeCoordinate(y, coordinate, CoordinateName.Y));
+        }
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole) {
+        double originX = coordinate.getOriginX();
+        double originY = coordinate.getOriginY();
+        double spaceX = coordinate.getSpaceX();
+        double spaceY = coordinate.getSpaceY();
+        for (Point point : points) {
+            double x = CoordinateUtil.toAbsoluteCoordinateX(point.getX(), originX, spaceX);
+            double y = CoordinateUtil.toAbsoluteCoordinateY(point.getY(), originY, spaceY);
+            blackhole.consume(CoordinateUtil.toRelativeCoordinateX(x, originX, spaceX));
+            blackhole.consume(CoordinateUtil.toRelativeCoordinateY(y, originY, spaceY));
+        }
+    }
+
+    @Benchmark
+    public void viewport(Blackhole blackhole) {
+        for (Point point : points) {
+            double x = viewport.toAbsoluteX(point.getX());
+            double y = viewport.toAbsoluteY(point.getY());
+            blackhole.consume(viewport.toRelativeX(x));
+            blackhole.consume(viewport.toRelativeY(y));
+        }
+    }
+}
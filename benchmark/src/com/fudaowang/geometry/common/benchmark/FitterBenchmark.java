@@ -0,0 +1,129 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.fit.HyperbolaFitter;
+import com.fudaowang.geometry.common.fit.LineFitter;
+import com.fudaowang.geometry.common.fit.ParabolaFitter;
+import com.fudaowang.geometry.common.fit.RoundFitter;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Round;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式拟合的性能测试,add开头的方法逐个加入点,batch开头的方法从坐标数组批量加入,parallel开头的方法分段并行累加后合并.
+ * 拟合器重复使用,累加过程中不应有内存分配.strokes开头的方法把所有点按每100个点一个笔画批量拟合反比例函数.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FitterBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private double[] xs;
+    private double[] ys;
+    private int[] bounds;
+    private final LineFitter lineFitter = new LineFitter();
+    private final ParabolaFitter parabolaFitter = new ParabolaFitter();
+    private final RoundFitter roundFitter = new RoundFitter();
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        PointBuffer buffer = data.pointBuffer(size);
+        xs = buffer.getXs();
+        ys = buffer.getYs();
+        bounds = new int[size / 100 + 1];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = i * 100;
+        }
+    }
+
+    @Benchmark
+    public Line addLine() {
+        lineFitter.clear();
+        for (int i = 0; i < size; i++) {
+            lineFitter.add(xs[i], ys[i]);
+        }
+        return lineFitter.getLine();
+    }
+
+    @Benchmark
+    public Line batchLine() {
+        lineFitter.clear();
+        lineFitter.addAll(xs, ys, 0, size);
+        return lineFitter.getLine();
+    }
+
+    @Benchmark
+    public Line parallelLine() {
+        lineFitter.clear();
+        lineFitter.addAll(xs, ys, 0, size, true);
+        return lineFitter.getLine();
+    }
+
+    @Benchmark
+    public Parabola addParabola() {
+        parabolaFitter.clear();
+        for (int i = 0; i < size; i++) {
+            parabolaFitter.add(xs[i], ys[i]);
+        }
+        return parabolaFitter.getParabola();
+    }
+
+    @Benchmark
+    public Parabola batchParabola() {
+        parabolaFitter.clear();
+        parabolaFitter.addAll(xs, ys, 0, size);
+        return parabolaFitter.getParabola();
+    }
+
+    @Benchmark
+    public Parabola parallelParabola() {
+        parabolaFitter.clear();
+        parabolaFitter.addAll(xs, ys, 0, size, true);
+        return parabolaFitter.getParabola();
+    }
+
+    @Benchmark
+    public Round addRound() {
+        roundFitter.clear();
+        for (int i = 0; i < size; i++) {
+            roundFitter.add(xs[i], ys[i]);
+        }
+        return roundFitter.getRound();
+    }
+
+    @Benchmark
+    public Round batchRound() {
+        roundFitter.clear();
+        roundFitter.addAll(xs, ys, 0, size);
+        return roundFitter.getRound();
+    }
+
+    @Benchmark
+    public Round parallelRound() {
+        roundFitter.clear();
+        roundFitter.addAll(xs, ys, 0, size, true);
+        return roundFitter.getRound();
+    }
+
+    @Benchmark
+    public Hyperbola[] strokesHyperbola() {
+        return HyperbolaFitter.fit(xs, ys, bounds, false);
+    }
+
+    @Benchmark
+    public Hyperbola[] strokesHyperbolaParallel() {
+        return HyperbolaFitter.fit(xs, ys, bounds, true);
+    }
+}
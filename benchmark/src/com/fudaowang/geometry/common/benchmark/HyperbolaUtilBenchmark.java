@@ -0,0 +1,110 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.util.HyperbolaUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HyperbolaUtil的性能测试,每次调用处理所有直线或圆与所有反比例函数的组合.
+ * intersectLine和intersectRound返回交点数组,对应的Sink方法把交点写入同一个PointBuffer,比较两种方式的耗时和内存分配;
+ * intersectRoundRoots还重复使用保存四次方程的根的数组,与每次创建数组的intersectRoundSink对比;
+ * getY对每个点的横坐标求所有反比例函数的函数值.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HyperbolaUtilBenchmark {
+    @Param({"20", "200"})
+    public int size;
+
+    private Hyperbola[] hyperbolas;
+    private Line[] lines;
+    private Point[] points;
+    private Round[] rounds;
+    private final PointBuffer buffer = new PointBuffer();
+    private final double[] roots = new double[4];
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        hyperbolas = data.hyperbolas(size);
+        lines = data.lines(size);
+        points = data.points(size);
+        rounds = data.rounds(size);
+    }
+
+    @Benchmark
+    public void intersectLine(Blackhole blackhole) {
+        for (Line line : lines) {
+            for (Hyperbola hyperbola : hyperbolas) {
+                blackhole.consume(HyperbolaUtil.intersect(line, hyperbola));
+            }
+        }
+    }
+
+    @Benchmark
+    public void intersectRound(Blackhole blackhole) {
+        for (Round round : rounds) {
+            for (Hyperbola hyperbola : hyperbolas) {
+                blackhole.consume(HyperbolaUtil.intersect(round, hyperbola));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getY(Blackhole blackhole) {
+        for (Point point : points) {
+            for (Hyperbola hyperbola : hyperbolas) {
+                blackhole.consume(HyperbolaUtil.getY(hyperbola, point.getX()));
+            }
+        }
+    }
+
+    @Benchmark
+    public int intersectLineSink() {
+        int count = 0;
+        for (Line line : lines) {
+            for (Hyperbola hyperbola : hyperbolas) {
+                buffer.clear();
+                count += HyperbolaUtil.intersect(line, hyperbola, buffer);
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int intersectRoundSink() {
+        int count = 0;
+        for (Round round : rounds) {
+            for (Hyperbola hyperbola : hyperbolas) {
+                buffer.clear();
+                count += HyperbolaUtil.intersect(round, hyperbola, buffer);
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int intersectRoundRoots() {
+        int count = 0;
+        for (Round round : rounds) {
+            for (Hyperbola hyperbola : hyperbolas) {
+                buffer.clear();
+                count += HyperbolaUtil.intersect(round, hyperbola, roots, buffer);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,73 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.scene.IncrementalIntersector;
+import com.fudaowang.geometry.common.scene.IntersectionDelta;
+import com.fudaowang.geometry.common.scene.IntersectionGraph;
+import com.fudaowang.geometry.common.scene.SceneIntersector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 拖动一条线段时的性能测试,比较增量维护交点与每次重新求所有交点.
+ * 增量方式每次的时间应与场景的大小无关.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalIntersectorBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    private List<Object> shapes;
+    private Segment[] positions;
+    private SceneIntersector intersector;
+    private IncrementalIntersector incremental;
+    private Segment current;
+    private int step;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        BoundingBox window = new BoundingBox(-BenchmarkData.RANGE, -BenchmarkData.RANGE,
+                BenchmarkData.RANGE, BenchmarkData.RANGE);
+        shapes = new ArrayList<Object>();
+        shapes.addAll(Arrays.asList(data.lines(5)));
+        shapes.addAll(Arrays.asList(data.rounds(5)));
+        shapes.addAll(Arrays.asList(data.shortSegments(size - 10, 0.5)));
+        positions = data.shortSegments(64, 0.5);
+
+        intersector = new SceneIntersector(1E-9, window);
+        incremental = new IncrementalIntersector(1E-9, window);
+        for (Object shape : shapes) {
+            incremental.add(shape);
+        }
+        current = positions[0];
+        incremental.add(current);
+        shapes.add(current);
+    }
+
+    @Benchmark
+    public IntersectionDelta drag() {
+        Segment next = positions[++step & (positions.length - 1)];
+        IntersectionDelta delta = incremental.replace(current, next);
+        current = next;
+        return delta;
+    }
+
+    @Benchmark
+    public IntersectionGraph recompute() {
+        shapes.set(shapes.size() - 1, positions[++step & (positions.length - 1)]);
+        return intersector.intersect(shapes, false);
+    }
+}
@@ -0,0 +1,112 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.index.KdTree;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KD树的性能测试,比较逐个计算距离与用KD树查询100个点的最近点和半径内的点,
+ * 另外测试建树,k个最近点和最近点对的耗时.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KdTreeBenchmark {
+    private static final double RADIUS = 0.1;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private PointBuffer points;
+    private PointBuffer queries;
+    private KdTree tree;
+    private int[] result;
+    private double[] distances;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        points = data.pointBuffer(size);
+        queries = data.pointBuffer(100);
+        tree = new KdTree(points);
+        result = new int[size];
+        distances = new double[8];
+    }
+
+    @Benchmark
+    public KdTree build() {
+        return new KdTree(points);
+    }
+
+    @Benchmark
+    public int linearNearest() {
+        int sum = 0;
+        for (int q = 0; q < queries.size(); q++) {
+            int best = -1;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < points.size(); i++) {
+                double distance = PointUtil.distance(queries.getX(q), queries.getY(q), points.getX(i), points.getY(i));
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = i;
+                }
+            }
+            sum += best;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int nearest() {
+        int sum = 0;
+        for (int q = 0; q < queries.size(); q++) {
+            sum += tree.nearest(queries.getX(q), queries.getY(q));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int kNearest() {
+        int sum = 0;
+        for (int q = 0; q < queries.size(); q++) {
+            sum += tree.kNearest(queries.getX(q), queries.getY(q), 8, result, distances);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int linearWithinRadius() {
+        int count = 0;
+        for (int q = 0; q < queries.size(); q++) {
+            for (int i = 0; i < points.size(); i++) {
+                if (RoundUtil.inRound(points.getX(i), points.getY(i), queries.getX(q), queries.getY(q), RADIUS)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int withinRadius() {
+        int count = 0;
+        for (int q = 0; q < queries.size(); q++) {
+            count += tree.withinRadius(queries.getX(q), queries.getY(q), RADIUS, result);
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int[] closestPair() {
+        return tree.closestPair();
+    }
+}
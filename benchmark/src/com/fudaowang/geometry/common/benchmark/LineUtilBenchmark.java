@@ -0,0 +1,73 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Coordinate;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.LineUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LineUtil的性能测试,intersectLines和coincide处理所有的直线对,intersectSegments求每条直线与每条线段的交点,
+ * toAbsoluteCoordinate把每条直线转换到绝对坐标.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineUtilBenchmark {
+    @Param({"20", "200"})
+    public int size;
+
+    private Line[] lines;
+    private Segment[] segments;
+    private Coordinate coordinate;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        lines = data.lines(size);
+        segments = data.segments(size);
+        coordinate = data.coordinate();
+    }
+
+    @Benchmark
+    public void intersectLines(Blackhole blackhole) {
+        for (int i = 0; i < lines.length; i++) {
+            for (int j = i + 1; j < lines.length; j++) {
+                blackhole.consume(LineUtil.intersect(lines[i], lines[j]));
+            }
+        }
+    }
+
+    @Benchmark
+    public void intersectSegments(Blackhole blackhole) {
+        for (Line line : lines) {
+            for (Segment segment : segments) {
+                blackhole.consume(LineUtil.intersect(line, segment, true));
+            }
+        }
+    }
+
+    @Benchmark
+    public void coincide(Blackhole blackhole) {
+        for (int i = 0; i < lines.length; i++) {
+            for (int j = i + 1; j < lines.length; j++) {
+                blackhole.consume(LineUtil.coincide(lines[i], lines[j]));
+            }
+        }
+    }
+
+    @Benchmark
+    public void toAbsoluteCoordinate(Blackhole blackhole) {
+        for (Line line : lines) {
+            blackhole.consume(LineUtil.toAbsoluteCoordinate(line, coordinate));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.ParabolaUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParabolaUtil的性能测试,每次调用处理所有直线,线段,圆或点与所有抛物线的组合.
+ * intersectLine,intersectSegment和intersectRound返回交点数组,对应的Sink方法把交点写入同一个PointBuffer,比较两种方式的耗时和内存分配;
+ * intersectRoundRoots还重复使用保存四次方程的根的数组,与每次创建数组的intersectRoundSink对比;
+ * onParabola判断每个点是否在每条抛物线上.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParabolaUtilBenchmark {
+    @Param({"20", "200"})
+    public int size;
+
+    private Parabola[] parabolas;
+    private Line[] lines;
+    private Segment[] segments;
+    private Point[] points;
+    private Round[] rounds;
+    private final PointBuffer buffer = new PointBuffer();
+    private final double[] roots = new double[4];
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        parabolas = data.parabolas(size);
+        lines = data.lines(size);
+        segments = data.segments(size);
+        points = data.points(size);
+        rounds = data.rounds(size);
+    }
+
+    @Benchmark
+    public void intersectLine(Blackhole blackhole) {
+        for (Line line : lines) {
+            for (Parabola parabola : parabolas) {
+                blackhole.consume(ParabolaUtil.intersect(line, parabola));
+            }
+        }
+    }
+
+    @Benchmark
+    public void intersectSegment(Blackhole blackhole) {
+        for (Segment segment : segments) {
+            for (Parabola parabola : parabolas) {
+                blackhole.consume(ParabolaUtil.intersect(segment, parabola));
+            }
+        }
+    }
+
+    @Benchmark
+    public void intersectRound(Blackhole blackhole) {
+        for (Round round : rounds) {
+            for (Parabola parabola : parabolas) {
+                blackhole.consume(ParabolaUtil.intersect(round, parabola));
+            }
+        }
+    }
+
+    @Benchmark
+    public void onParabola(Blackhole blackhole) {
+        for (Point point : points) {
+            for (Parabola parabola : parabolas) {
+                blackhole.consume(ParabolaUtil.onParabola(point, parabola));
+            }
+        }
+    }
+
+    @Benchmark
+    public int intersectLineSink() {
+        int count = 0;
+        for (Line line : lines) {
+            for (Parabola parabola : parabolas) {
+                buffer.clear();
+                count += ParabolaUtil.intersect(line, parabola, buffer);
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int intersectRoundSink() {
+        int count = 0;
+        for (Round round : rounds) {
+            for (Parabola parabola : parabolas) {
+                buffer.clear();
+                count += ParabolaUtil.intersect(round, parabola, buffer);
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int intersectRoundRoots() {
+        int count = 0;
+        for (Round round : rounds) {
+            for (Parabola parabola : parabolas) {
+                buffer.clear();
+                count += ParabolaUtil.intersect(round, parabola, roots, buffer);
+            }
+        }
+        return count;
+    }
+}
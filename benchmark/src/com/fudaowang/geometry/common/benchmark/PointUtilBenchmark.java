@@ -0,0 +1,176 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.function.PointPredicate;
+import com.fudaowang.geometry.common.function.PointTransformer;
+import com.fudaowang.geometry.common.graph.AffineTransform2D;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.util.PointUtil;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.collections.Predicate;
+import org.apache.commons.collections.Transformer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointUtil中过滤与变换方法的性能测试,比较同一操作的几种写法:legacy开头的方法是改为数组直接操作之前的实现,
+ * 不带后缀的方法使用commons-collections的Predicate和Transformer,PointPredicate和PointTransformer后缀的方法按坐标操作,
+ * Buffer后缀的方法直接读写PointBuffer.chainedSteps对每个点逐步旋转和平移,每一步都创建新的点,
+ * composedSteps把这些步骤合成一个AffineTransform2D后对点集一次变换.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointUtilBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Point[] points;
+    private PointBuffer buffer;
+    private PointBuffer target;
+
+    private final Predicate predicate = new Predicate() {
+        public boolean evaluate(Object o) {
+            Point p = (Point) o;
+            return p.getX() > p.getY();
+        }
+    };
+
+    private final PointPredicate pointPredicate = new PointPredicate() {
+        public boolean evaluate(double x, double y) {
+            return x > y;
+        }
+    };
+
+    private final Transformer transformer = new Transformer() {
+        public Object transform(Object o) {
+            Point p = (Point) o;
+            return PointUtil.translation(p, 1, -1);
+        }
+    };
+
+    private final PointTransformer pointTransformer = new PointTransformer() {
+        public void transform(double x, double y, double[] result) {
+            result[0] = x + 1;
+            result[1] = y - 1;
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20130605L);
+        points = new Point[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = new Point(random.nextDouble() * 100, random.nextDouble() * 100);
+        }
+        buffer = new PointBuffer(points);
+        target = new PointBuffer(size);
+    }
+
+    @Benchmark
+    public Point[] legacyFilter() {
+        List<Point> list = new ArrayList<Point>();
+        CollectionUtils.addAll(list, points);
+        CollectionUtils.filter(list, predicate);
+        return list.toArray(new Point[list.size()]);
+    }
+
+    @Benchmark
+    public Point[] filter() {
+        return PointUtil.filter(points, predicate);
+    }
+
+    @Benchmark
+    public Point[] filterPointPredicate() {
+        return PointUtil.filter(points, pointPredicate);
+    }
+
+    @Benchmark
+    public PointBuffer filterBuffer() {
+        return PointUtil.filter(buffer, pointPredicate, target);
+    }
+
+    @Benchmark
+    public Point[] legacyCollect() {
+        List<Point> list = new ArrayList<Point>();
+        CollectionUtils.addAll(list, points);
+        Collection<Point> collection = CollectionUtils.collect(list, transformer);
+        return collection.toArray(new Point[collection.size()]);
+    }
+
+    @Benchmark
+    public Point[] collect() {
+        return PointUtil.collect(points, transformer);
+    }
+
+    @Benchmark
+    public Point[] collectPointTransformer() {
+        return PointUtil.collect(points, pointTransformer);
+    }
+
+    @Benchmark
+    public PointBuffer collectBuffer() {
+        return PointUtil.collect(buffer, pointTransformer, target);
+    }
+
+    @Benchmark
+    public boolean legacyExists() {
+        List<Point> list = new ArrayList<Point>();
+        CollectionUtils.addAll(list, points);
+        return CollectionUtils.exists(list, new Predicate() {
+            public boolean evaluate(Object o) {
+                return ((Point) o).getX() < 0;
+            }
+        });
+    }
+
+    @Benchmark
+    public boolean existsBuffer() {
+        return PointUtil.exists(buffer, new PointPredicate() {
+            public boolean evaluate(double x, double y) {
+                return x < 0;
+            }
+        });
+    }
+
+    /**
+     * 动画的一帧:每个点依次做10次旋转和平移
+     */
+    @Benchmark
+    public Point[] chainedSteps() {
+        Point center = new Point(50, 50);
+        Point[] result = new Point[points.length];
+        for (int i = 0; i < points.length; i++) {
+            Point point = points[i];
+            for (int step = 0; step < 5; step++) {
+                point = PointUtil.rotate(point, center, 0.1);
+                point = PointUtil.translation(point, 0.5, -0.5);
+            }
+            result[i] = point;
+        }
+        return result;
+    }
+
+    /**
+     * 动画的一帧:10次旋转和平移合成为一个变换,每个点只做一次矩阵乘法
+     */
+    @Benchmark
+    public PointBuffer composedSteps() {
+        AffineTransform2D transform = AffineTransform2D.IDENTITY;
+        for (int step = 0; step < 5; step++) {
+            transform = transform.compose(AffineTransform2D.rotate(50, 50, 0.1))
+                    .compose(AffineTransform2D.translation(0.5, -0.5));
+        }
+        return transform.transform(buffer, target);
+    }
+}
@@ -0,0 +1,69 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Polygon;
+import com.fudaowang.geometry.common.util.PolygonUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PolygonUtil的性能测试,coincide判断所有的多边形对是否重合,rotate和getAxialSymmetry对每个多边形旋转或作轴对称,
+ * 参数vertices为多边形的顶点数.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonUtilBenchmark {
+    @Param({"20", "200"})
+    public int size;
+
+    @Param({"4", "8"})
+    public int vertices;
+
+    private Polygon[] polygons;
+    private Point center;
+    private Line axis;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        polygons = data.polygons(size, vertices);
+        center = data.points(1)[0];
+        axis = data.lines(1)[0];
+    }
+
+    @Benchmark
+    public int coincide() {
+        int count = 0;
+        for (int i = 0; i < polygons.length; i++) {
+            for (int j = i + 1; j < polygons.length; j++) {
+                if (PolygonUtil.coincide(polygons[i], polygons[j])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void rotate(Blackhole blackhole) {
+        for (Polygon polygon : polygons) {
+            blackhole.consume(PolygonUtil.rotate(polygon, center, Math.PI / 3));
+        }
+    }
+
+    @Benchmark
+    public void getAxialSymmetry(Blackhole blackhole) {
+        for (Polygon polygon : polygons) {
+            blackhole.consume(PolygonUtil.getAxialSymmetry(polygon, axis));
+        }
+    }
+}
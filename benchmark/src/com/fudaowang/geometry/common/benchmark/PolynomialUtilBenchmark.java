@@ -0,0 +1,73 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.util.PolynomialUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PolynomialUtil中二次和四次方程求根的性能测试,比较逐个求根与批量求根,根写入同一个数组,求根过程中不应有内存分配.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialUtilBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private double[] quadratics;
+    private double[] quartics;
+    private double[] roots;
+    private int[] counts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20130618L);
+        quadratics = new double[3 * size];
+        quartics = new double[5 * size];
+        for (int i = 0; i < quadratics.length; i++) {
+            quadratics[i] = random.nextDouble() * 2 - 1;
+        }
+        for (int i = 0; i < quartics.length; i++) {
+            quartics[i] = random.nextDouble() * 2 - 1;
+        }
+        roots = new double[4 * size];
+        counts = new int[size];
+    }
+
+    @Benchmark
+    public int quadratic() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += PolynomialUtil.solveQuadratic(quadratics[3 * i], quadratics[3 * i + 1], quadratics[3 * i + 2], roots);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int quadraticBatch() {
+        return PolynomialUtil.solveQuadratic(quadratics, 0, size, roots, counts);
+    }
+
+    @Benchmark
+    public int quartic() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            int j = 5 * i;
+            total += PolynomialUtil.solveQuartic(quartics[j], quartics[j + 1], quartics[j + 2],
+                    quartics[j + 3], quartics[j + 4], roots);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int quarticBatch() {
+        return PolynomialUtil.solveQuartic(quartics, 0, size, roots, counts);
+    }
+}
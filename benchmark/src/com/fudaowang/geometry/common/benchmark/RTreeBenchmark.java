@@ -0,0 +1,94 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.index.RTree;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * R树点选查询的性能测试,比较逐个计算距离与用R树查询100个点附近的点,线段和圆,
+ * nearest查询每个点最近的5个图形.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RTreeBenchmark {
+    private static final double TOLERANCE = 0.05;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private Point[] points;
+    private Segment[] segments;
+    private Round[] rounds;
+    private Point[] queries;
+    private RTree<Object> tree;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        points = data.points(size);
+        segments = data.shortSegments(size, 0.5);
+        rounds = data.rounds(size);
+        queries = data.points(100);
+        List<Object> shapes = new ArrayList<Object>();
+        shapes.addAll(Arrays.asList(points));
+        shapes.addAll(Arrays.asList(segments));
+        shapes.addAll(Arrays.asList(rounds));
+        tree = new RTree<Object>(shapes);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int count = 0;
+        for (Point query : queries) {
+            for (Point point : points) {
+                if (PointUtil.distance(query, point) <= TOLERANCE) {
+                    count++;
+                }
+            }
+            for (Segment segment : segments) {
+                if (SegmentUtil.segmentDistance(query, segment) <= TOLERANCE) {
+                    count++;
+                }
+            }
+            for (Round round : rounds) {
+                if (RoundUtil.distance(query, round) <= TOLERANCE) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int within() {
+        int count = 0;
+        for (Point query : queries) {
+            count += tree.within(query, TOLERANCE).size();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void nearest(Blackhole blackhole) {
+        for (Point query : queries) {
+            blackhole.consume(tree.nearest(query, 5));
+        }
+    }
+}
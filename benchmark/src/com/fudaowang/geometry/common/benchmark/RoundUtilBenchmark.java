@@ -0,0 +1,92 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoundUtil的性能测试,intersectLine和intersectSegment求每条直线或线段与每个圆的交点并返回交点数组,
+ * 对应的Sink方法把交点写入同一个PointBuffer;getRelationship判断所有的圆对的位置关系.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundUtilBenchmark {
+    @Param({"20", "200"})
+    public int size;
+
+    private Round[] rounds;
+    private Line[] lines;
+    private Segment[] segments;
+    private final PointBuffer buffer = new PointBuffer();
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        rounds = data.rounds(size);
+        lines = data.lines(size);
+        segments = data.segments(size);
+    }
+
+    @Benchmark
+    public void intersectLine(Blackhole blackhole) {
+        for (Line line : lines) {
+            for (Round round : rounds) {
+                blackhole.consume(RoundUtil.intersect(line, round));
+            }
+        }
+    }
+
+    @Benchmark
+    public void intersectSegment(Blackhole blackhole) {
+        for (Segment segment : segments) {
+            for (Round round : rounds) {
+                blackhole.consume(RoundUtil.intersect(segment, round));
+            }
+        }
+    }
+
+    @Benchmark
+    public void getRelationship(Blackhole blackhole) {
+        for (int i = 0; i < rounds.length; i++) {
+            for (int j = i + 1; j < rounds.length; j++) {
+                blackhole.consume(RoundUtil.getRelationship(rounds[i], rounds[j]));
+            }
+        }
+    }
+
+    @Benchmark
+    public int intersectLineSink() {
+        int count = 0;
+        for (Line line : lines) {
+            for (Round round : rounds) {
+                buffer.clear();
+                count += RoundUtil.intersect(line, round, buffer);
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int intersectSegmentSink() {
+        int count = 0;
+        for (Segment segment : segments) {
+            for (Round round : rounds) {
+                buffer.clear();
+                count += RoundUtil.intersect(segment, round, buffer);
+            }
+        }
+        return count;
+    }
+}
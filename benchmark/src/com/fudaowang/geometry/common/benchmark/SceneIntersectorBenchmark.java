@@ -0,0 +1,68 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.scene.IntersectionGraph;
+import com.fudaowang.geometry.common.scene.SceneIntersector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 场景求交的性能测试,比较手写的两重循环,串行的SceneIntersector和并行的SceneIntersector.
+ * 场景以短线段为主,另有少量直线,圆,抛物线和反比例函数.比较不同核数下的扩展性时可以用-t和ParallelUtil.setPool调整线程数.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SceneIntersectorBenchmark {
+    @Param({"1000", "10000"})
+    public int size;
+
+    private List<Object> shapes;
+    private SceneIntersector intersector;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        int curves = Math.max(size / 200, 1);
+        shapes = new ArrayList<Object>();
+        shapes.addAll(Arrays.asList(data.lines(curves)));
+        shapes.addAll(Arrays.asList(data.rounds(curves)));
+        shapes.addAll(Arrays.asList(data.parabolas(curves)));
+        shapes.addAll(Arrays.asList(data.hyperbolas(curves)));
+        shapes.addAll(Arrays.asList(data.shortSegments(size - 4 * curves, 0.5)));
+        intersector = new SceneIntersector(1E-9, new BoundingBox(-BenchmarkData.RANGE, -BenchmarkData.RANGE,
+                BenchmarkData.RANGE, BenchmarkData.RANGE));
+    }
+
+    @Benchmark
+    public int nestedLoops() {
+        int count = 0;
+        for (int i = 0; i < shapes.size(); i++) {
+            for (int j = i + 1; j < shapes.size(); j++) {
+                Point[] points = SceneIntersector.intersect(shapes.get(i), shapes.get(j));
+                count += points.length;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public IntersectionGraph sequential() {
+        return intersector.intersect(shapes, false);
+    }
+
+    @Benchmark
+    public IntersectionGraph parallel() {
+        return intersector.intersect(shapes, true);
+    }
+}
@@ -0,0 +1,134 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.regex.FunctionPattern;
+import com.fudaowang.geometry.common.regex.GraphPattern;
+import com.fudaowang.geometry.common.scene.Scene;
+import com.fudaowang.geometry.common.scene.SceneParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 题目文档解析的性能测试.
+ * legacyRegex每行都重新编译正则表达式,与修改前FunctionPattern和GraphPattern的行为一致;
+ * regex使用预先编译的正则表达式;tokenizer使用SceneParser.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SceneParserBenchmark {
+    @Param({"100", "10000"})
+    public int records;
+
+    private String document;
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(20130617L);
+        StringBuilder builder = new StringBuilder("[X:40,Y:40,up:0,down:400,left:0,right:400]\nYUANDIAN,200,200\n");
+        for (int i = 0; i < records; i++) {
+            switch (i % 6) {
+                case 0:
+                case 1:
+                    builder.append('P').append(i).append('(').append(random.nextInt(8000) / 10.0 - 400).append(',')
+                            .append(random.nextInt(8000) / 10.0 - 400).append(",0,0)\n");
+                    break;
+                case 2:
+                    builder.append("(P").append(i - 2).append(",P").append(i - 1).append(")\n");
+                    break;
+                case 3:
+                    builder.append("(P").append(i - 3).append(',').append(random.nextInt(500) / 10.0 + 1).append(",0,0)\n");
+                    break;
+                case 4:
+                    builder.append("SimpleFunction(").append(random.nextInt(20) + 1).append(",-1,")
+                            .append(random.nextInt(1000) / 100.0).append(",0,0)\n");
+                    break;
+                default:
+                    builder.append(random.nextBoolean() ? "Parabola(" : "InverseFunction(").append(random.nextInt(9) + 1)
+                            .append(".5,0,-1,0,0)\n");
+                    break;
+            }
+        }
+        document = builder.toString();
+        lines = document.split("\n");
+    }
+
+    @Benchmark
+    public int legacyRegex() {
+        return regex(true);
+    }
+
+    @Benchmark
+    public int regex() {
+        return regex(false);
+    }
+
+    @Benchmark
+    public Scene tokenizer() {
+        return SceneParser.parse(document);
+    }
+
+    /**
+     * 逐行尝试各个正则表达式,构造出与SceneParser相同的图形
+     */
+    private int regex(boolean compile) {
+        Map<String, Point> points = new HashMap<String, Point>();
+        List<Object> graphs = new ArrayList<Object>();
+        List<String[]> references = new ArrayList<String[]>();
+        for (String line : lines) {
+            line = line + "\n";
+            Matcher matcher;
+            if ((matcher = pattern(FunctionPattern.linePattern(), compile).matcher(line)).find()) {
+                graphs.add(new Line(Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2)),
+                        Double.parseDouble(matcher.group(3))));
+            } else if ((matcher = pattern(FunctionPattern.parabolaPattern(), compile).matcher(line)).find()) {
+                graphs.add(new Parabola(Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2)),
+                        Double.parseDouble(matcher.group(3))));
+            } else if ((matcher = pattern(FunctionPattern.hyperbolaPattern(), compile).matcher(line)).find()) {
+                graphs.add(new Hyperbola(Double.parseDouble(matcher.group(1)), Double.parseDouble(matcher.group(2)),
+                        Double.parseDouble(matcher.group(3))));
+            } else if ((matcher = pattern(FunctionPattern.coordinatePattern(), compile).matcher(line)).find()) {
+                graphs.add(matcher.group(1));
+            } else if ((matcher = pattern(FunctionPattern.originPointPattern(), compile).matcher(line)).find()) {
+                graphs.add(matcher.group(1));
+            } else if ((matcher = pattern(GraphPattern.pointPattern(), compile).matcher(line)).find()) {
+                points.put(matcher.group(1), new Point(Double.parseDouble(matcher.group(2)), Double.parseDouble(matcher.group(3))));
+            } else if ((matcher = pattern(GraphPattern.segmentPattern(), compile).matcher(line)).find()) {
+                references.add(new String[]{matcher.group(1), matcher.group(2)});
+            } else if ((matcher = pattern(GraphPattern.roundPattern(), compile).matcher(line)).find()) {
+                references.add(new String[]{matcher.group(1), matcher.group(2), null});
+            }
+        }
+        for (String[] reference : references) {
+            if (reference.length == 2) {
+                graphs.add(new Segment(points.get(reference[0]), points.get(reference[1])));
+            } else {
+                graphs.add(new Round(points.get(reference[0]), Double.parseDouble(reference[1])));
+            }
+        }
+        return graphs.size() + points.size();
+    }
+
+    private static Pattern pattern(Pattern pattern, boolean compile) {
+        return compile ? Pattern.compile(pattern.pattern()) : pattern;
+    }
+}
@@ -0,0 +1,80 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.BoundingBoxUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 线段求交的性能测试,比较求所有相交的线段对的三种方法:bruteForce逐对调用linesIntersect,
+ * broadPhase先用包围盒排除不可能相交的线段对,sweep用扫描线算法求所有交点.distance求点到线段的距离.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentUtilBenchmark {
+    @Param({"50", "500", "5000"})
+    public int size;
+
+    private Segment[] segments;
+    private List<Segment> list;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        segments = data.shortSegments(size, 2);
+        list = Arrays.asList(segments);
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        int count = 0;
+        for (int i = 0; i < segments.length; i++) {
+            for (int j = i + 1; j < segments.length; j++) {
+                if (SegmentUtil.linesIntersect(segments[i], segments[j])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int broadPhase() {
+        List<BoundingBox> boxes = new ArrayList<BoundingBox>(segments.length);
+        for (Segment segment : segments) {
+            boxes.add(segment.getBoundingBox());
+        }
+        int count = 0;
+        for (int[] pair : BoundingBoxUtil.overlappingPairs(boxes)) {
+            if (SegmentUtil.linesIntersect(segments[pair[0]], segments[pair[1]])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void sweep(Blackhole blackhole) {
+        blackhole.consume(SegmentUtil.intersect(list));
+    }
+
+    @Benchmark
+    public void distance(Blackhole blackhole) {
+        for (int i = 1; i < segments.length; i++) {
+            blackhole.consume(SegmentUtil.distance(segments[i - 1].getP1(), segments[i]));
+        }
+    }
+}
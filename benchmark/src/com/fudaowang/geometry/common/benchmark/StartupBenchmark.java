@@ -0,0 +1,50 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Coordinate;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.LineUtil;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 启动性能测试:每次在新的JVM中只调用一次,测量从类加载到得到第一个结果的时间.
+ * 模拟批改进程处理一道题目的过程:建立坐标系,求直线与圆,直线与线段的交点,判断点到线段的距离并转换为绝对坐标.
+ * 运行时加上-jvmArgsAppend -verbose:class可以检查是否加载了java.awt中的类.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+    @Benchmark
+    public void firstResult(Blackhole blackhole) {
+        Coordinate coordinate = new Coordinate(200, 200, 40, 40);
+        Line line = new Line(1, -1, 1);
+        Round round = new Round(0, 0, 2);
+        Segment segment = new Segment(-3, 2, 3, -2);
+
+        Point[] points = RoundUtil.intersect(line, round);
+        if (points != null) {
+            for (Point point : points) {
+                blackhole.consume(PointUtil.toAbsoluteCoordinate(point, coordinate));
+                blackhole.consume(SegmentUtil.distance(point, segment));
+            }
+        }
+        Point point = LineUtil.intersect(line, segment, true);
+        blackhole.consume(PointUtil.distance(point, segment.getP1()));
+        blackhole.consume(SegmentUtil.linesIntersect(segment, new Segment(-3, -2, 3, 2)));
+        blackhole.consume(LineUtil.toAbsoluteCoordinate(line, coordinate));
+    }
+}
@@ -0,0 +1,75 @@
+package com.fudaowang.geometry.common.benchmark;
+
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Triangle;
+import com.fudaowang.geometry.common.util.TriangleUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 判断点是否在三角形内的性能测试,比较对每个点调用inTriangle,对点集批量调用与并行批量调用,
+ * locate和locateParallel在16个三角形中查找每个点所在的三角形.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriangleUtilBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Point[] points;
+    private PointBuffer buffer;
+    private Triangle triangle;
+    private Triangle[] triangles;
+    private boolean[] inside;
+    private int[] located;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(20130618L);
+        points = data.points(size);
+        buffer = new PointBuffer(points);
+        triangles = data.triangles(16);
+        triangle = triangles[0];
+        inside = new boolean[size];
+        located = new int[size];
+    }
+
+    @Benchmark
+    public int single() {
+        int count = 0;
+        for (Point point : points) {
+            if (TriangleUtil.inTriangle(point, triangle)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int batch() {
+        return TriangleUtil.inTriangle(buffer, triangle, inside, false);
+    }
+
+    @Benchmark
+    public int batchParallel() {
+        return TriangleUtil.inTriangle(buffer, triangle, inside, true);
+    }
+
+    @Benchmark
+    public int locate() {
+        return TriangleUtil.locate(buffer, triangles, located, false);
+    }
+
+    @Benchmark
+    public int locateParallel() {
+        return TriangleUtil.locate(buffer, triangles, located, true);
+    }
+}
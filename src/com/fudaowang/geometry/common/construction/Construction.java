@@ -0,0 +1,396 @@
+package com.fudaowang.geometry.common.construction;
+
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.LineUtil;
+import com.fudaowang.geometry.common.util.NumberUtil;
+import com.fudaowang.geometry.common.util.ParallelUtil;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 作图过程构成的有向无环图.自由结点是可以拖动的点等,其余每个结点对应一步作图运算,
+ * 例如求中点,垂足,平行线,切点和对称点.修改自由结点时只把它下游的结点标记为需要重算,
+ * 取值时按拓扑序只重算取值结点上游需要重算的结点,与修改无关的结点保持原来的结果.
+ * 也可以调用update一次重算所有需要重算的结点,并行时同一层的结点互不依赖,在线程池中同时计算.
+ * 运算的结果为null时下游结点的输入也为null,作图运算对null输入返回null.这个类不是线程安全的.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class Construction {
+    //并行重算时每个任务计算的最少结点数
+    private static final int THRESHOLD = 64;
+
+    private static final Operation<Segment> SEGMENT = new Operation<Segment>() {
+        public Segment compute(Object[] inputs) {
+            Point p1 = (Point) inputs[0];
+            Point p2 = (Point) inputs[1];
+            return p1 == null || p2 == null || PointUtil.coincide(p1, p2) ? null : new Segment(p1, p2);
+        }
+    };
+
+    private static final Operation<Line> LINE = new Operation<Line>() {
+        public Line compute(Object[] inputs) {
+            return LineUtil.getLine((Point) inputs[0], (Point) inputs[1]);
+        }
+    };
+
+    private static final Operation<Round> ROUND = new Operation<Round>() {
+        public Round compute(Object[] inputs) {
+            Point center = (Point) inputs[0];
+            Point point = (Point) inputs[1];
+            if (center == null || point == null) {
+                return null;
+            }
+            double radius = PointUtil.distance(center, point);
+            return NumberUtil.isMoreThanZero(radius) ? new Round(center, radius) : null;
+        }
+    };
+
+    private static final Operation<Point> MIDPOINT = new Operation<Point>() {
+        public Point compute(Object[] inputs) {
+            return SegmentUtil.getMidpoint((Segment) inputs[0]);
+        }
+    };
+
+    private static final Operation<Point> VERTICAL_POINT = new Operation<Point>() {
+        public Point compute(Object[] inputs) {
+            return LineUtil.verticalPoint((Point) inputs[0], (Line) inputs[1]);
+        }
+    };
+
+    private static final Operation<Line> PARALLEL_LINE = new Operation<Line>() {
+        public Line compute(Object[] inputs) {
+            return LineUtil.parallelLine((Point) inputs[0], (Line) inputs[1]);
+        }
+    };
+
+    private static final Operation<Point[]> TANGENT_POINT = new Operation<Point[]>() {
+        public Point[] compute(Object[] inputs) {
+            Point point = (Point) inputs[0];
+            Round round = (Round) inputs[1];
+            return point == null || round == null ? null : RoundUtil.tangentPoint(point, round);
+        }
+    };
+
+    private static final Operation<Point> AXIAL_SYMMETRY = new Operation<Point>() {
+        public Point compute(Object[] inputs) {
+            return PointUtil.getAxialSymmetry((Point) inputs[0], (Line) inputs[1]);
+        }
+    };
+
+    private final List<Node<?>> nodes = new ArrayList<Node<?>>();
+    private int dirtyCount;
+
+    /**
+     * 加入一个自由结点
+     *
+     * @param value 结点的初始值
+     * @return 自由结点
+     */
+    public <T> Variable<T> variable(T value) {
+        Variable<T> variable = new Variable<T>(this, value);
+        nodes.add(variable);
+        return variable;
+    }
+
+    /**
+     * 加入一个自由点
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 自由点的结点
+     */
+    public Variable<Point> point(double x, double y) {
+        return variable(new Point(x, y));
+    }
+
+    /**
+     * 加入一个由输入结点计算得到的结点,输入结点必须属于这个作图
+     *
+     * @param operation 结点的运算
+     * @param inputs    输入结点
+     * @return 新的结点, 在第一次取值时计算
+     */
+    public <T> Node<T> derive(Operation<T> operation, Node<?>... inputs) {
+        if (operation == null) {
+            throw new NullPointerException("运算为null");
+        }
+        for (Node<?> input : inputs) {
+            if (input == null) {
+                throw new NullPointerException("输入结点为null");
+            }
+            if (input.construction != this) {
+                throw new IllegalArgumentException("输入结点不属于这个作图");
+            }
+        }
+        Node<T> node = new Node<T>(this, operation, inputs.clone());
+        for (Node<?> input : inputs) {
+            input.dependents.add(node);
+        }
+        nodes.add(node);
+        dirtyCount++;
+        return node;
+    }
+
+    /**
+     * 加入以两点为端点的线段,两点重合时没有结果
+     *
+     * @param p1 第一个端点
+     * @param p2 第二个端点
+     * @return 线段的结点
+     */
+    public Node<Segment> segment(Node<Point> p1, Node<Point> p2) {
+        return derive(SEGMENT, p1, p2);
+    }
+
+    /**
+     * 加入过两点的直线,两点重合时没有结果
+     *
+     * @param p1 第一个点
+     * @param p2 第二个点
+     * @return 直线的结点
+     */
+    public Node<Line> line(Node<Point> p1, Node<Point> p2) {
+        return derive(LINE, p1, p2);
+    }
+
+    /**
+     * 加入以给定点为圆心,过另一点的圆,两点重合时没有结果
+     *
+     * @param center 圆心
+     * @param point  圆上的点
+     * @return 圆的结点
+     */
+    public Node<Round> round(Node<Point> center, Node<Point> point) {
+        return derive(ROUND, center, point);
+    }
+
+    /**
+     * 加入线段的中点
+     *
+     * @param segment 线段
+     * @return 中点的结点
+     * @see SegmentUtil#getMidpoint(Segment)
+     */
+    public Node<Point> midpoint(Node<Segment> segment) {
+        return derive(MIDPOINT, segment);
+    }
+
+    /**
+     * 加入点到直线的垂足
+     *
+     * @param point 点
+     * @param line  直线
+     * @return 垂足的结点
+     * @see LineUtil#verticalPoint(Point, Line)
+     */
+    public Node<Point> verticalPoint(Node<Point> point, Node<Line> line) {
+        return derive(VERTICAL_POINT, point, line);
+    }
+
+    /**
+     * 加入过点与直线平行的直线
+     *
+     * @param point 点
+     * @param line  直线
+     * @return 平行线的结点
+     * @see LineUtil#parallelLine(Point, Line)
+     */
+    public Node<Line> parallelLine(Node<Point> point, Node<Line> line) {
+        return derive(PARALLEL_LINE, point, line);
+    }
+
+    /**
+     * 加入过点作圆的切线的切点
+     *
+     * @param point 点
+     * @param round 圆
+     * @return 切点数组的结点, 可以用element取出其中的一个切点
+     * @see RoundUtil#tangentPoint(Point, Round)
+     */
+    public Node<Point[]> tangentPoint(Node<Point> point, Node<Round> round) {
+        return derive(TANGENT_POINT, point, round);
+    }
+
+    /**
+     * 加入点关于直线的对称点
+     *
+     * @param point 点
+     * @param axis  对称轴
+     * @return 对称点的结点
+     * @see PointUtil#getAxialSymmetry(Point, Line)
+     */
+    public Node<Point> axialSymmetry(Node<Point> point, Node<Line> axis) {
+        return derive(AXIAL_SYMMETRY, point, axis);
+    }
+
+    /**
+     * 加入点数组中的一个点,例如两个切点中的一个
+     *
+     * @param points 点数组
+     * @param index  点的下标
+     * @return 点的结点, 数组中没有这个下标时没有结果
+     */
+    public Node<Point> element(Node<Point[]> points, final int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("下标不能小于0");
+        }
+        return derive(new Operation<Point>() {
+            public Point compute(Object[] inputs) {
+                Point[] points = (Point[]) inputs[0];
+                return points == null || index >= points.length ? null : points[index];
+            }
+        }, points);
+    }
+
+    /**
+     * 获得结点的个数
+     *
+     * @return 结点的个数
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * 获得需要重算的结点的个数
+     *
+     * @return 需要重算的结点的个数
+     */
+    public int getDirtyCount() {
+        return dirtyCount;
+    }
+
+    /**
+     * 重算所有需要重算的结点
+     *
+     * @param parallel 是否并行计算同一层中互不依赖的结点
+     */
+    public void update(boolean parallel) {
+        if (dirtyCount == 0) {
+            return;
+        }
+        List<Node<?>> dirty = new ArrayList<Node<?>>(dirtyCount);
+        for (Node<?> node : nodes) {
+            if (node.dirty) {
+                dirty.add(node);
+            }
+        }
+        compute(dirty, parallel);
+    }
+
+    /**
+     * 重算给定结点和它所有需要重算的上游结点
+     *
+     * @param node     结点
+     * @param parallel 是否并行计算同一层中互不依赖的结点
+     */
+    public void update(Node<?> node, boolean parallel) {
+        if (node == null) {
+            throw new NullPointerException("结点为null");
+        }
+        if (node.construction != this) {
+            throw new IllegalArgumentException("结点不属于这个作图");
+        }
+        if (!node.dirty) {
+            return;
+        }
+        //干净结点的上游都是干净的,只需沿需要重算的结点向上查找
+        List<Node<?>> dirty = new ArrayList<Node<?>>();
+        List<Node<?>> stack = new ArrayList<Node<?>>();
+        node.marked = true;
+        stack.add(node);
+        while (!stack.isEmpty()) {
+            Node<?> current = stack.remove(stack.size() - 1);
+            dirty.add(current);
+            for (Node<?> input : current.inputs) {
+                if (input.dirty && !input.marked) {
+                    input.marked = true;
+                    stack.add(input);
+                }
+            }
+        }
+        for (Node<?> n : dirty) {
+            n.marked = false;
+        }
+        compute(dirty, parallel);
+    }
+
+    void invalidate(Variable<?> variable) {
+        //需要重算的结点的下游一定都需要重算,遇到时不必继续向下
+        List<Node<?>> stack = new ArrayList<Node<?>>(variable.dependents);
+        while (!stack.isEmpty()) {
+            Node<?> node = stack.remove(stack.size() - 1);
+            if (!node.dirty) {
+                node.dirty = true;
+                dirtyCount++;
+                stack.addAll(node.dependents);
+            }
+        }
+    }
+
+    private void compute(List<Node<?>> dirty, boolean parallel) {
+        //按层分组,同一层的结点互不依赖
+        List<List<Node<?>>> levels = new ArrayList<List<Node<?>>>();
+        for (Node<?> node : dirty) {
+            while (levels.size() <= node.depth) {
+                levels.add(new ArrayList<Node<?>>());
+            }
+            levels.get(node.depth).add(node);
+        }
+        for (List<Node<?>> level : levels) {
+            try {
+                if (parallel && level.size() > THRESHOLD) {
+                    ParallelUtil.getPool().invoke(new ComputeTask(level, 0, level.size()));
+                } else {
+                    for (Node<?> node : level) {
+                        node.compute();
+                    }
+                }
+            } finally {
+                //运算抛出异常时已经算完的结点仍然是干净的
+                for (Node<?> node : level) {
+                    if (!node.dirty) {
+                        dirtyCount--;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 并行计算一层中的结点
+     */
+    private static class ComputeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Node<?>> level;
+        private final int start;
+        private final int end;
+
+        ComputeTask(List<Node<?>> level, int start, int end) {
+            this.level = level;
+            this.start = start;
+            this.end = end;
+        }
+
+        protected void compute() {
+            if (end - start <= THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    level.get(i).compute();
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new ComputeTask(level, start, middle), new ComputeTask(level, middle, end));
+        }
+    }
+}
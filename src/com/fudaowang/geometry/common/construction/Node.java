@@ -0,0 +1,92 @@
+package com.fudaowang.geometry.common.construction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 作图中的一个结点,保存一步运算,它的输入结点和计算结果.
+ * 输入变化后结点被标记为需要重算,直到下一次取值时才重新计算
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class Node<T> {
+    protected final Construction construction;
+    protected final Operation<T> operation;
+    protected final Node<?>[] inputs;
+    protected final List<Node<?>> dependents = new ArrayList<Node<?>>();
+    //结点在作图中的层数,自由结点为0,其余结点比它最深的输入多1,按层数递增的顺序计算满足拓扑序
+    protected final int depth;
+
+    protected T value;
+    protected boolean dirty;
+    //查找上游结点时的访问标记
+    boolean marked;
+
+    Node(Construction construction, Operation<T> operation, Node<?>[] inputs) {
+        this.construction = construction;
+        this.operation = operation;
+        this.inputs = inputs;
+        int depth = 0;
+        for (Node<?> input : inputs) {
+            depth = Math.max(depth, input.depth + 1);
+        }
+        this.depth = depth;
+        this.dirty = operation != null;
+    }
+
+    /**
+     * 获得结点的值,若结点需要重算,先按拓扑序重算它和它所有需要重算的上游结点
+     *
+     * @return 结点的值, 没有结果时返回null
+     */
+    public T get() {
+        if (dirty) {
+            construction.update(this, false);
+        }
+        return value;
+    }
+
+    /**
+     * 判断结点是否需要重算
+     *
+     * @return 输入变化后还没有重算时返回true
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * 获得结点所属的作图
+     *
+     * @return 作图
+     */
+    public Construction getConstruction() {
+        return construction;
+    }
+
+    /**
+     * 获得结点在作图中的层数
+     *
+     * @return 自由结点为0, 其余结点比它最深的输入多1
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    void compute() {
+        Object[] values = new Object[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            values[i] = inputs[i].value;
+        }
+        value = operation.compute(values);
+        dirty = false;
+    }
+
+    public String toString() {
+        return "Node{" +
+                "depth=" + depth +
+                ", dirty=" + dirty +
+                ", value=" + value +
+                '}';
+    }
+}
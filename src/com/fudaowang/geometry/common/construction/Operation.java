@@ -0,0 +1,17 @@
+package com.fudaowang.geometry.common.construction;
+
+/**
+ * 作图结点上的一步运算,由输入结点的值计算出结点的值
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public interface Operation<T> {
+
+    /**
+     * 计算结点的值,运算不应修改输入,并行重算时可能在多个线程中同时调用
+     *
+     * @param inputs 输入结点的值,顺序与构造结点时给出的输入一致,某个输入没有结果时为null
+     * @return 结点的值, 没有结果时返回null
+     */
+    T compute(Object[] inputs);
+}
@@ -0,0 +1,24 @@
+package com.fudaowang.geometry.common.construction;
+
+/**
+ * 作图中的自由结点,例如可以拖动的点.修改它的值时所有下游结点都被标记为需要重算
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class Variable<T> extends Node<T> {
+
+    Variable(Construction construction, T value) {
+        super(construction, null, new Node<?>[0]);
+        this.value = value;
+    }
+
+    /**
+     * 修改结点的值,下游结点在下一次取值时才重新计算
+     *
+     * @param value 新的值
+     */
+    public void set(T value) {
+        this.value = value;
+        construction.invalidate(this);
+    }
+}
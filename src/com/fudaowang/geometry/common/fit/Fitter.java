@@ -0,0 +1,190 @@
+package com.fudaowang.geometry.common.fit;
+
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.util.ParallelUtil;
+
+import java.util.Collection;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 用流式累加的方式从大量采样点拟合图形的基类.拟合器只保存固定个数的累加量,与点的个数无关,
+ * 点可以逐个加入,也可以从坐标数组批量加入.两个拟合器可以合并,合并的结果与把两组点加入同一个拟合器相同,
+ * 因此可以把点分成若干段分别累加后再合并,批量加入时的并行模式就是这样在ParallelUtil的线程池中计算的.
+ * 拟合器不是线程安全的.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public abstract class Fitter<T extends Fitter<T>> {
+
+    /**
+     * 加入一个点
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     */
+    public abstract void add(double x, double y);
+
+    /**
+     * 把另一个拟合器中累加的点合并到这个拟合器中,另一个拟合器不变
+     *
+     * @param other 另一个拟合器
+     */
+    public abstract void merge(T other);
+
+    /**
+     * 获得已加入的点的个数
+     *
+     * @return 点的个数
+     */
+    public abstract long getCount();
+
+    /**
+     * 清除所有已加入的点
+     */
+    public abstract void clear();
+
+    /**
+     * 构造一个与这个拟合器类型相同的空拟合器,用于并行时累加各段的点
+     *
+     * @return 空的拟合器
+     */
+    protected abstract T create();
+
+    /**
+     * 加入一个点
+     *
+     * @param point 点
+     */
+    public void add(Point point) {
+        if (point == null) {
+            throw new NullPointerException("点为null");
+        }
+        add(point.getX(), point.getY());
+    }
+
+    /**
+     * 加入数组中的所有点
+     *
+     * @param points 点的数组
+     */
+    public void addAll(Point... points) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        for (Point point : points) {
+            add(point);
+        }
+    }
+
+    /**
+     * 加入集合中的所有点
+     *
+     * @param points 点的集合
+     */
+    public void addAll(Collection<Point> points) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        for (Point point : points) {
+            add(point);
+        }
+    }
+
+    /**
+     * 加入点集中的所有点
+     *
+     * @param buffer 点集
+     */
+    public void addAll(PointBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("点集为null");
+        }
+        addAll(buffer.getXs(), buffer.getYs(), 0, buffer.size(), false);
+    }
+
+    /**
+     * 批量加入点(xs[i],ys[i]),offset<=i<offset+length,计算过程中不创建对象
+     *
+     * @param xs     点的横坐标数组
+     * @param ys     点的纵坐标数组
+     * @param offset 第一个点的序号
+     * @param length 点的个数
+     */
+    public void addAll(double[] xs, double[] ys, int offset, int length) {
+        addAll(xs, ys, offset, length, false);
+    }
+
+    /**
+     * 批量加入点(xs[i],ys[i]),offset<=i<offset+length
+     *
+     * @param xs       点的横坐标数组
+     * @param ys       点的纵坐标数组
+     * @param offset   第一个点的序号
+     * @param length   点的个数
+     * @param parallel 是否使用ParallelUtil的线程池分段累加后合并
+     */
+    public void addAll(double[] xs, double[] ys, int offset, int length, boolean parallel) {
+        if (xs == null || ys == null) {
+            throw new NullPointerException("坐标数组为null");
+        }
+        if (offset < 0 || length < 0 || offset + length > xs.length || offset + length > ys.length) {
+            throw new IndexOutOfBoundsException("序号越界:" + offset + "," + length);
+        }
+        if (parallel && length > ParallelUtil.THRESHOLD) {
+            merge(ParallelUtil.getPool().invoke(new FitTask<T>(create(), xs, ys, offset, offset + length)));
+        } else {
+            addRange(xs, ys, offset, offset + length);
+        }
+    }
+
+    /**
+     * 加入第from到to个点,子类可以覆盖这个方法,先对整段求和再一次性合并
+     *
+     * @param xs   点的横坐标数组
+     * @param ys   点的纵坐标数组
+     * @param from 第一个点的序号
+     * @param to   最后一个点的序号加1
+     */
+    protected void addRange(double[] xs, double[] ys, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(xs[i], ys[i]);
+        }
+    }
+
+    /**
+     * 把一段点二分后分别累加,结果按顺序合并
+     */
+    private static class FitTask<T extends Fitter<T>> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final T fitter;
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+
+        FitTask(T fitter, double[] xs, double[] ys, int from, int to) {
+            this.fitter = fitter;
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= ParallelUtil.THRESHOLD) {
+                fitter.addRange(xs, ys, from, to);
+                return fitter;
+            }
+            int middle = (from + to) >>> 1;
+            FitTask<T> left = new FitTask<T>(fitter.create(), xs, ys, from, middle);
+            left.fork();
+            T right = new FitTask<T>(fitter, xs, ys, middle, to).compute();
+            T result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+}
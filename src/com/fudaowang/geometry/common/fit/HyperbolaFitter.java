@@ -0,0 +1,186 @@
+package com.fudaowang.geometry.common.fit;
+
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.util.NumberUtil;
+import com.fudaowang.geometry.common.util.ParallelUtil;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 拟合反比例函数y=k/(x-x0)+y0.把方程乘开写成xy=y0x+x0y+(k-x0y0),对y0,x0和k-x0y0是线性的,
+ * 用最小二乘法使各点的代数残差(x-x0)(y-y0)-k的平方和最小.
+ * 以重心为原点时法方程分成一个二元方程和一个一元方程,只需要二阶到四阶的中心矩.
+ * 代数残差在靠近渐近线的地方比纵坐标的残差小,在远离原点的地方比纵坐标的残差大,
+ * 对笔画识别来说结果足够接近,也不需要在参数空间中搜索.
+ * 状态只有坐标的幂和,可以合并.静态的fit方法一次拟合多个笔画,可以并行计算.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class HyperbolaFitter extends Fitter<HyperbolaFitter> {
+    /**
+     * 归一化后法方程的行列式小于此值时认为点在一条直线上
+     */
+    private static final double SINGULAR = 1E-9;
+
+    private final PowerSums sums = new PowerSums();
+
+    @Override
+    public void add(double x, double y) {
+        sums.add(x, y);
+    }
+
+    @Override
+    protected void addRange(double[] xs, double[] ys, int from, int to) {
+        sums.addRange(xs, ys, from, to);
+    }
+
+    @Override
+    public void merge(HyperbolaFitter other) {
+        if (other == null) {
+            throw new NullPointerException("拟合器为null");
+        }
+        sums.merge(other.sums);
+    }
+
+    @Override
+    public long getCount() {
+        return sums.getCount();
+    }
+
+    @Override
+    public void clear() {
+        sums.clear();
+    }
+
+    @Override
+    protected HyperbolaFitter create() {
+        return new HyperbolaFitter();
+    }
+
+    /**
+     * 求拟合的反比例函数
+     *
+     * @return 拟合的反比例函数, 少于三个点, 点在一条直线上或k在最小精度范围内为0时返回null
+     */
+    public Hyperbola getHyperbola() {
+        double[] solution = solve();
+        if (solution == null || NumberUtil.isZero(solution[0])) {
+            return null;
+        }
+        return new Hyperbola(solution[0], solution[1], solution[2]);
+    }
+
+    /**
+     * 求代数残差(x-x0)(y-y0)-k的均方根,与|k|的比值可以用来判断笔画是否是反比例函数的图像
+     *
+     * @return 代数残差的均方根, 无法拟合时为NaN
+     */
+    public double getRms() {
+        double[] solution = solve();
+        return solution == null ? Double.NaN : solution[3];
+    }
+
+    /**
+     * 以重心为原点,设X=x-mx,Y=y-my,方程为XY=PX+QY+R,其中P=y0-my,Q=x0-mx,R=k-PQ.
+     * 由ΣX=ΣY=0,R=ΣXY/n,P和Q由二元方程求出
+     *
+     * @return k, x0, y0和代数残差的均方根, 无法拟合时返回null
+     */
+    private double[] solve() {
+        long n = sums.getCount();
+        if (n < 3) {
+            return null;
+        }
+        double[] s = sums.getCentralSums();
+        double sxx = s[PowerSums.index(2, 0)];
+        double sxy = s[PowerSums.index(1, 1)];
+        double syy = s[PowerSums.index(0, 2)];
+        double sxxy = s[PowerSums.index(2, 1)];
+        double sxyy = s[PowerSums.index(1, 2)];
+        if (NumberUtil.isZero(sxx / n) || NumberUtil.isZero(syy / n)) {
+            return null;
+        }
+        double determinant = sxx * syy - sxy * sxy;
+        if (determinant < SINGULAR * sxx * syy) {
+            return null;
+        }
+        double p = (sxxy * syy - sxyy * sxy) / determinant;
+        double q = (sxyy * sxx - sxxy * sxy) / determinant;
+        double r = sxy / n;
+        double residual = s[PowerSums.index(2, 2)] - p * sxxy - q * sxyy - r * sxy;
+        return new double[]{r + p * q, q + sums.getMeanX(), p + sums.getMeanY(), Math.sqrt(Math.max(residual, 0) / n)};
+    }
+
+    /**
+     * 批量拟合多个笔画,第i个笔画由点(xs[j],ys[j])组成,bounds[i]<=j<bounds[i+1]
+     *
+     * @param xs       所有笔画的点的横坐标
+     * @param ys       所有笔画的点的纵坐标
+     * @param bounds   各笔画的起始序号,最后一个元素是最后一个笔画的结束序号,长度为笔画数加1
+     * @param parallel 是否使用ParallelUtil的线程池并行计算
+     * @return 各笔画拟合的反比例函数, 无法拟合的笔画对应null
+     */
+    public static Hyperbola[] fit(double[] xs, double[] ys, int[] bounds, boolean parallel) {
+        if (xs == null || ys == null) {
+            throw new NullPointerException("坐标数组为null");
+        }
+        if (bounds == null) {
+            throw new NullPointerException("笔画的序号数组为null");
+        }
+        for (int i = 0; i < bounds.length; i++) {
+            if (bounds[i] < 0 || bounds[i] > xs.length || bounds[i] > ys.length
+                    || (i > 0 && bounds[i] < bounds[i - 1])) {
+                throw new IndexOutOfBoundsException("笔画的序号越界:" + i + "," + bounds[i]);
+            }
+        }
+        Hyperbola[] result = new Hyperbola[Math.max(bounds.length - 1, 0)];
+        FitTask task = new FitTask(xs, ys, bounds, 0, result.length, result, parallel);
+        if (parallel && result.length > 1 && bounds[result.length] - bounds[0] > ParallelUtil.THRESHOLD) {
+            ParallelUtil.getPool().invoke(task);
+        } else {
+            task.compute();
+        }
+        return result;
+    }
+
+    /**
+     * 拟合第from到to个笔画,点数多于ParallelUtil.THRESHOLD时按笔画二分,每段使用一个拟合器
+     */
+    private static class FitTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] xs;
+        private final double[] ys;
+        private final int[] bounds;
+        private final int from;
+        private final int to;
+        private final Hyperbola[] result;
+        private final boolean parallel;
+
+        FitTask(double[] xs, double[] ys, int[] bounds, int from, int to, Hyperbola[] result, boolean parallel) {
+            this.xs = xs;
+            this.ys = ys;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+            this.result = result;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            if (parallel && to - from > 1 && bounds[to] - bounds[from] > ParallelUtil.THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new FitTask(xs, ys, bounds, from, middle, result, true),
+                        new FitTask(xs, ys, bounds, middle, to, result, true));
+                return;
+            }
+            HyperbolaFitter fitter = new HyperbolaFitter();
+            for (int i = from; i < to; i++) {
+                fitter.clear();
+                fitter.addRange(xs, ys, bounds[i], bounds[i + 1]);
+                result[i] = fitter.getHyperbola();
+            }
+        }
+    }
+}
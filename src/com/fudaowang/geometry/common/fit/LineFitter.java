@@ -0,0 +1,196 @@
+package com.fudaowang.geometry.common.fit;
+
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.util.NumberUtil;
+
+/**
+ * 用正交回归(整体最小二乘)拟合直线,使所有点到直线的距离的平方和最小.
+ * 与y对x的回归不同,竖直的直线和水平的直线一样可以拟合.
+ * 只保存点的个数,重心和以重心为原点的二阶矩,逐个加入点时用Welford的方法更新,批量加入时先对整段求重心和二阶矩,
+ * 合并时用Chan的公式,避免直接累加坐标的平方和在坐标较大时损失精度.
+ * 拟合的直线经过重心,法向量是二阶矩矩阵较小的特征值对应的特征向量,这个特征值就是残差的平方和.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class LineFitter extends Fitter<LineFitter> {
+    private long count;
+    private double meanX;
+    private double meanY;
+    private double sxx;
+    private double syy;
+    private double sxy;
+
+    @Override
+    public void add(double x, double y) {
+        count++;
+        double dx = x - meanX;
+        double dy = y - meanY;
+        meanX += dx / count;
+        meanY += dy / count;
+        sxx += dx * (x - meanX);
+        syy += dy * (y - meanY);
+        sxy += dx * (y - meanY);
+    }
+
+    @Override
+    protected void addRange(double[] xs, double[] ys, int from, int to) {
+        if (to <= from) {
+            return;
+        }
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = from; i < to; i++) {
+            sumX += xs[i];
+            sumY += ys[i];
+        }
+        int n = to - from;
+        double mx = sumX / n;
+        double my = sumY / n;
+        double xx = 0;
+        double yy = 0;
+        double xy = 0;
+        for (int i = from; i < to; i++) {
+            double dx = xs[i] - mx;
+            double dy = ys[i] - my;
+            xx += dx * dx;
+            yy += dy * dy;
+            xy += dx * dy;
+        }
+        merge(n, mx, my, xx, yy, xy);
+    }
+
+    @Override
+    public void merge(LineFitter other) {
+        if (other == null) {
+            throw new NullPointerException("拟合器为null");
+        }
+        merge(other.count, other.meanX, other.meanY, other.sxx, other.syy, other.sxy);
+    }
+
+    private void merge(long n, double mx, double my, double xx, double yy, double xy) {
+        if (n == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = n;
+            meanX = mx;
+            meanY = my;
+            sxx = xx;
+            syy = yy;
+            sxy = xy;
+            return;
+        }
+        long total = count + n;
+        double dx = mx - meanX;
+        double dy = my - meanY;
+        double weight = (double) count * n / total;
+        meanX += dx * n / total;
+        meanY += dy * n / total;
+        sxx += xx + dx * dx * weight;
+        syy += yy + dy * dy * weight;
+        sxy += xy + dx * dy * weight;
+        count = total;
+    }
+
+    @Override
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        count = 0;
+        meanX = 0;
+        meanY = 0;
+        sxx = 0;
+        syy = 0;
+        sxy = 0;
+    }
+
+    @Override
+    protected LineFitter create() {
+        return new LineFitter();
+    }
+
+    /**
+     * 获得已加入的点的重心的横坐标
+     *
+     * @return 重心的横坐标, 没有点时为NaN
+     */
+    public double getMeanX() {
+        return count == 0 ? Double.NaN : meanX;
+    }
+
+    /**
+     * 获得已加入的点的重心的纵坐标
+     *
+     * @return 重心的纵坐标, 没有点时为NaN
+     */
+    public double getMeanY() {
+        return count == 0 ? Double.NaN : meanY;
+    }
+
+    /**
+     * 求拟合的直线ax+by+c=0,其中(a,b)是单位法向量
+     *
+     * @return 拟合的直线, 少于两个点或所有点在最小精度范围内重合时返回null
+     */
+    public Line getLine() {
+        if (count < 2 || NumberUtil.isZero((sxx + syy) / count)) {
+            return null;
+        }
+        //二阶矩矩阵较大的特征值对应直线的方向,方向角为2*angle=atan2(2sxy,sxx-syy)的一半
+        double angle = 0.5 * Math.atan2(2 * sxy, sxx - syy);
+        double a = -Math.sin(angle);
+        double b = Math.cos(angle);
+        return new Line(a, b, -a * meanX - b * meanY);
+    }
+
+    /**
+     * 求所有点到拟合的直线的距离的平方和
+     *
+     * @return 残差的平方和, 少于两个点时为0
+     */
+    public double getResidual() {
+        if (count < 2) {
+            return 0;
+        }
+        double half = 0.5 * (sxx - syy);
+        double residual = 0.5 * (sxx + syy) - Math.sqrt(half * half + sxy * sxy);
+        return residual < 0 ? 0 : residual;
+    }
+
+    /**
+     * 求所有点到拟合的直线的距离的均方根,可以与判断点在直线上时使用的精度比较
+     *
+     * @return 距离的均方根, 没有点时为0
+     */
+    public double getRms() {
+        return count == 0 ? 0 : Math.sqrt(getResidual() / count);
+    }
+
+    /**
+     * 求点沿拟合的直线方向的分布与垂直方向的分布之比的平方根,越大说明点越接近一条直线,
+     * 可以用来区分直线形的笔画和圆点一样聚在一起的笔画
+     *
+     * @return 两个方向上均方根之比, 点完全共线时为正无穷, 少于两个点或点全部重合时为0
+     */
+    public double getElongation() {
+        double half = 0.5 * (sxx - syy);
+        double major = 0.5 * (sxx + syy) + Math.sqrt(half * half + sxy * sxy);
+        if (count < 2 || major == 0) {
+            return 0;
+        }
+        double minor = getResidual();
+        return minor == 0 ? Double.POSITIVE_INFINITY : Math.sqrt(major / minor);
+    }
+
+    public String toString() {
+        return "LineFitter{" +
+                "count=" + count +
+                ", meanX=" + meanX +
+                ", meanY=" + meanY +
+                ", rms=" + getRms() +
+                '}';
+    }
+}
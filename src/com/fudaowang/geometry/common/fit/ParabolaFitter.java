@@ -0,0 +1,147 @@
+package com.fudaowang.geometry.common.fit;
+
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.util.NumberUtil;
+
+/**
+ * 用最小二乘法拟合抛物线y=ax^2+bx+c,使各点纵坐标的残差的平方和最小.
+ * 只保存点的坐标的幂和,法方程在求解时由以重心为原点的中心矩构造,并把横坐标按标准差归一化,
+ * 这样法方程的系数都在1附近,可以直接用消元公式求解而不会损失精度.
+ * 点的横坐标至少要有三个不同的值.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class ParabolaFitter extends Fitter<ParabolaFitter> {
+    /**
+     * 归一化后法方程的行列式小于此值时认为横坐标的不同值少于三个
+     */
+    private static final double SINGULAR = 1E-9;
+
+    private final PowerSums sums = new PowerSums();
+
+    @Override
+    public void add(double x, double y) {
+        sums.add(x, y);
+    }
+
+    @Override
+    protected void addRange(double[] xs, double[] ys, int from, int to) {
+        sums.addRange(xs, ys, from, to);
+    }
+
+    @Override
+    public void merge(ParabolaFitter other) {
+        if (other == null) {
+            throw new NullPointerException("拟合器为null");
+        }
+        sums.merge(other.sums);
+    }
+
+    @Override
+    public long getCount() {
+        return sums.getCount();
+    }
+
+    @Override
+    public void clear() {
+        sums.clear();
+    }
+
+    @Override
+    protected ParabolaFitter create() {
+        return new ParabolaFitter();
+    }
+
+    /**
+     * 求拟合的抛物线
+     *
+     * @return 拟合的抛物线, 横坐标的不同值少于三个或二次项系数在最小精度范围内为0时返回null
+     */
+    public Parabola getParabola() {
+        double[] solution = solve();
+        if (solution == null || NumberUtil.isZero(solution[0])) {
+            return null;
+        }
+        return new Parabola(solution[0], solution[1], solution[2]);
+    }
+
+    /**
+     * 求各点纵坐标与拟合的抛物线的差的平方和
+     *
+     * @return 残差的平方和, 无法拟合时为NaN
+     */
+    public double getResidual() {
+        double[] solution = solve();
+        return solution == null ? Double.NaN : solution[3];
+    }
+
+    /**
+     * 求各点纵坐标与拟合的抛物线的差的均方根
+     *
+     * @return 残差的均方根, 无法拟合时为NaN
+     */
+    public double getRms() {
+        return Math.sqrt(getResidual() / getCount());
+    }
+
+    /**
+     * 求决定系数,即拟合的抛物线能解释的纵坐标变化所占的比例,越接近1说明点越接近抛物线
+     *
+     * @return 决定系数, 无法拟合时为NaN, 纵坐标都相同时为1
+     */
+    public double getDetermination() {
+        double[] solution = solve();
+        if (solution == null) {
+            return Double.NaN;
+        }
+        double total = solution[4];
+        return total == 0 ? 1 : 1 - solution[3] / total;
+    }
+
+    /**
+     * 在以重心为原点,横坐标除以标准差s的坐标系u=(x-mx)/s中解法方程,
+     * 中心矩m1=0,m2=1,方程可以直接消元
+     *
+     * @return a, b, c, 残差的平方和和纵坐标的中心二阶矩之和, 无法拟合时返回null
+     */
+    private double[] solve() {
+        long n = sums.getCount();
+        if (n < 3) {
+            return null;
+        }
+        double[] central = sums.getCentralSums();
+        double variance = central[PowerSums.index(2, 0)] / n;
+        if (NumberUtil.isZero(variance)) {
+            return null;
+        }
+        double s = Math.sqrt(variance);
+        double m3 = central[PowerSums.index(3, 0)] / (n * variance * s);
+        double m4 = central[PowerSums.index(4, 0)] / (n * variance * variance);
+        double t1 = central[PowerSums.index(1, 1)] / (n * s);
+        double t2 = central[PowerSums.index(2, 1)] / (n * variance);
+        double determinant = m4 - m3 * m3 - 1;
+        if (determinant < SINGULAR) {
+            return null;
+        }
+        //归一化后的方程为m4A+m3B+C=t2,m3A+B=t1,A+C=0
+        double ua = (t2 - m3 * t1) / determinant;
+        double ub = t1 - m3 * ua;
+        double uc = -ua;
+        double syy = central[PowerSums.index(0, 2)];
+        double residual = syy - n * (ua * t2 + ub * t1);
+
+        //y-my=A(x-mx)^2+B(x-mx)+C,其中A=ua/s^2,B=ub/s
+        double a = ua / variance;
+        double b = ub / s;
+        double mx = sums.getMeanX();
+        double my = sums.getMeanY();
+        return new double[]{a, b - 2 * a * mx, (a * mx - b) * mx + uc + my, Math.max(residual, 0), syy};
+    }
+
+    public String toString() {
+        return "ParabolaFitter{" +
+                "count=" + getCount() +
+                ", rms=" + getRms() +
+                '}';
+    }
+}
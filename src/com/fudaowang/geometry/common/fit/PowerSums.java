@@ -0,0 +1,211 @@
+package com.fudaowang.geometry.common.fit;
+
+/**
+ * 点的坐标的幂和Σ(x-ox)^i(y-oy)^j,0<=i+j<=4,拟合二次曲线时的法方程和残差都可以由它们算出.
+ * 原点(ox,oy)取第一个加入的点,使幂和不受坐标绝对值大小的影响;合并时用二项式展开把另一组幂和平移到这个原点.
+ * 求解时再平移到重心,得到中心矩.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+final class PowerSums {
+    /**
+     * 幂和的最高次数
+     */
+    static final int DEGREE = 4;
+
+    private static final int SIZE = (DEGREE + 1) * (DEGREE + 2) / 2;
+
+    private static final double[][] BINOMIAL = new double[DEGREE + 1][DEGREE + 1];
+
+    static {
+        for (int n = 0; n <= DEGREE; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + (k < n ? BINOMIAL[n - 1][k] : 0);
+            }
+        }
+    }
+
+    private long count;
+    private double originX;
+    private double originY;
+    private final double[] sums = new double[SIZE];
+
+    /**
+     * 求Σx^iy^j在数组中的序号,按次数从低到高,同一次数按j从小到大排列
+     *
+     * @param i x的次数
+     * @param j y的次数
+     * @return 序号
+     */
+    static int index(int i, int j) {
+        int degree = i + j;
+        return degree * (degree + 1) / 2 + j;
+    }
+
+    void add(double x, double y) {
+        if (count == 0) {
+            originX = x;
+            originY = y;
+        }
+        count++;
+        double dx = x - originX;
+        double dy = y - originY;
+        double xx = dx * dx;
+        double xy = dx * dy;
+        double yy = dy * dy;
+        double[] s = sums;
+        s[0] += 1;
+        s[1] += dx;
+        s[2] += dy;
+        s[3] += xx;
+        s[4] += xy;
+        s[5] += yy;
+        s[6] += xx * dx;
+        s[7] += xx * dy;
+        s[8] += dx * yy;
+        s[9] += yy * dy;
+        s[10] += xx * xx;
+        s[11] += xx * xy;
+        s[12] += xx * yy;
+        s[13] += xy * yy;
+        s[14] += yy * yy;
+    }
+
+    void addRange(double[] xs, double[] ys, int from, int to) {
+        if (to <= from) {
+            return;
+        }
+        if (count == 0) {
+            originX = xs[from];
+            originY = ys[from];
+        }
+        double ox = originX;
+        double oy = originY;
+        double s1 = 0, s2 = 0, s3 = 0, s4 = 0, s5 = 0, s6 = 0, s7 = 0;
+        double s8 = 0, s9 = 0, s10 = 0, s11 = 0, s12 = 0, s13 = 0, s14 = 0;
+        for (int i = from; i < to; i++) {
+            double dx = xs[i] - ox;
+            double dy = ys[i] - oy;
+            double xx = dx * dx;
+            double xy = dx * dy;
+            double yy = dy * dy;
+            s1 += dx;
+            s2 += dy;
+            s3 += xx;
+            s4 += xy;
+            s5 += yy;
+            s6 += xx * dx;
+            s7 += xx * dy;
+            s8 += dx * yy;
+            s9 += yy * dy;
+            s10 += xx * xx;
+            s11 += xx * xy;
+            s12 += xx * yy;
+            s13 += xy * yy;
+            s14 += yy * yy;
+        }
+        double[] s = sums;
+        s[0] += to - from;
+        s[1] += s1;
+        s[2] += s2;
+        s[3] += s3;
+        s[4] += s4;
+        s[5] += s5;
+        s[6] += s6;
+        s[7] += s7;
+        s[8] += s8;
+        s[9] += s9;
+        s[10] += s10;
+        s[11] += s11;
+        s[12] += s12;
+        s[13] += s13;
+        s[14] += s14;
+        count += to - from;
+    }
+
+    void merge(PowerSums other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            originX = other.originX;
+            originY = other.originY;
+        }
+        double[] shifted = shift(other.sums, other.originX - originX, other.originY - originY);
+        for (int k = 0; k < SIZE; k++) {
+            sums[k] += shifted[k];
+        }
+        count += other.count;
+    }
+
+    void clear() {
+        count = 0;
+        originX = 0;
+        originY = 0;
+        for (int k = 0; k < SIZE; k++) {
+            sums[k] = 0;
+        }
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * 获得重心的横坐标
+     *
+     * @return 重心的横坐标, 没有点时为NaN
+     */
+    double getMeanX() {
+        return count == 0 ? Double.NaN : originX + sums[1] / count;
+    }
+
+    /**
+     * 获得重心的纵坐标
+     *
+     * @return 重心的纵坐标, 没有点时为NaN
+     */
+    double getMeanY() {
+        return count == 0 ? Double.NaN : originY + sums[2] / count;
+    }
+
+    /**
+     * 求以重心为原点的幂和,按index给出的顺序排列,一阶的幂和为0
+     *
+     * @return 中心幂和
+     */
+    double[] getCentralSums() {
+        double[] central = shift(sums, -sums[1] / count, -sums[2] / count);
+        central[1] = 0;
+        central[2] = 0;
+        return central;
+    }
+
+    /**
+     * 把以某点为原点的幂和平移:Σ(x+dx)^i(y+dy)^j=ΣC(i,a)C(j,b)dx^(i-a)dy^(j-b)Σx^ay^b
+     */
+    private static double[] shift(double[] sums, double dx, double dy) {
+        double[] px = new double[DEGREE + 1];
+        double[] py = new double[DEGREE + 1];
+        px[0] = 1;
+        py[0] = 1;
+        for (int k = 1; k <= DEGREE; k++) {
+            px[k] = px[k - 1] * dx;
+            py[k] = py[k - 1] * dy;
+        }
+        double[] result = new double[SIZE];
+        for (int i = 0; i <= DEGREE; i++) {
+            for (int j = 0; i + j <= DEGREE; j++) {
+                double sum = 0;
+                for (int a = 0; a <= i; a++) {
+                    for (int b = 0; b <= j; b++) {
+                        sum += BINOMIAL[i][a] * BINOMIAL[j][b] * px[i - a] * py[j - b] * sums[index(a, b)];
+                    }
+                }
+                result[index(i, j)] = sum;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,154 @@
+package com.fudaowang.geometry.common.fit;
+
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.util.NumberUtil;
+
+/**
+ * 用代数方法拟合圆,把圆写成A(x^2+y^2)+Bx+Cy+D=0,在约束B^2+C^2-4AD=1下使各点代入后的平方和最小(Pratt的方法).
+ * 这个约束使代数距离近似于几何距离的2r倍,大圆弧和小圆弧都不会向小半径偏.
+ * 求解只需要以重心为原点的中心矩,按Chernov的做法用牛顿迭代求特征多项式最小的非负根,
+ * 迭代从0开始,0对应的解就是Kåsa的方法的结果.
+ * 状态只有坐标的幂和,加入点时不创建对象.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class RoundFitter extends Fitter<RoundFitter> {
+    /**
+     * 牛顿迭代的最大次数
+     */
+    private static final int MAX_ITERATIONS = 20;
+
+    private final PowerSums sums = new PowerSums();
+
+    @Override
+    public void add(double x, double y) {
+        sums.add(x, y);
+    }
+
+    @Override
+    protected void addRange(double[] xs, double[] ys, int from, int to) {
+        sums.addRange(xs, ys, from, to);
+    }
+
+    @Override
+    public void merge(RoundFitter other) {
+        if (other == null) {
+            throw new NullPointerException("拟合器为null");
+        }
+        sums.merge(other.sums);
+    }
+
+    @Override
+    public long getCount() {
+        return sums.getCount();
+    }
+
+    @Override
+    public void clear() {
+        sums.clear();
+    }
+
+    @Override
+    protected RoundFitter create() {
+        return new RoundFitter();
+    }
+
+    /**
+     * 求拟合的圆
+     *
+     * @return 拟合的圆, 少于三个点, 点都重合或都在一条直线上时返回null
+     */
+    public Round getRound() {
+        double[] solution = solve();
+        return solution == null ? null : new Round(solution[0], solution[1], solution[2]);
+    }
+
+    /**
+     * 求各点到拟合的圆的距离的均方根的近似值.点到圆心的距离为d时,(d^2-r^2)/2r在d接近r时等于d-r,
+     * 用它代替几何距离就可以由幂和直接算出,不需要再遍历各点.
+     * 结果可以与RoundUtil.onRound的精度比较,判断笔画是否是圆
+     *
+     * @return 距离的均方根, 无法拟合时为NaN
+     */
+    public double getRms() {
+        double[] solution = solve();
+        return solution == null ? Double.NaN : solution[3];
+    }
+
+    /**
+     * 求圆心(相对重心),半径和残差的均方根
+     *
+     * @return 圆心的横纵坐标, 半径和均方根, 无法拟合时返回null
+     */
+    private double[] solve() {
+        long n = sums.getCount();
+        if (n < 3) {
+            return null;
+        }
+        double[] s = sums.getCentralSums();
+        double mxx = s[PowerSums.index(2, 0)] / n;
+        double mxy = s[PowerSums.index(1, 1)] / n;
+        double myy = s[PowerSums.index(0, 2)] / n;
+        double mxz = (s[PowerSums.index(3, 0)] + s[PowerSums.index(1, 2)]) / n;
+        double myz = (s[PowerSums.index(2, 1)] + s[PowerSums.index(0, 3)]) / n;
+        double mzz = (s[PowerSums.index(4, 0)] + 2 * s[PowerSums.index(2, 2)] + s[PowerSums.index(0, 4)]) / n;
+        double mz = mxx + myy;
+        if (NumberUtil.isZero(mz)) {
+            return null;
+        }
+        double covariance = mxx * myy - mxy * mxy;
+        double mxz2 = mxz * mxz;
+        double myz2 = myz * myz;
+
+        //特征多项式4x^4+a2x^2+a1x+a0,从x=0开始牛顿迭代,函数值的绝对值变大或根为负时退回Kåsa的解
+        double a2 = 4 * covariance - 3 * mz * mz - mzz;
+        double a1 = mzz * mz + 4 * covariance * mz - mxz2 - myz2 - mz * mz * mz;
+        double a0 = mxz2 * myy + myz2 * mxx - mzz * covariance - 2 * mxz * myz * mxy + mz * mz * covariance;
+        double root = 0;
+        double value = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double last = value;
+            value = a0 + root * (a1 + root * (a2 + 4 * root * root));
+            if (Math.abs(value) > Math.abs(last)) {
+                root = 0;
+                break;
+            }
+            double derivative = a1 + root * (2 * a2 + 16 * root * root);
+            double previous = root;
+            root = previous - value / derivative;
+            if (Double.isNaN(root) || root < 0) {
+                root = 0;
+                break;
+            }
+            if (Math.abs(root - previous) <= NumberUtil.MIN_VALUE * Math.abs(root)) {
+                break;
+            }
+        }
+
+        //点在一条直线上时行列式为0,圆心在无穷远处
+        double determinant = root * root - root * mz + covariance;
+        if (Math.abs(determinant) <= NumberUtil.MIN_VALUE * mz * mz) {
+            return null;
+        }
+        double cx = (mxz * (myy - root) - myz * mxy) / determinant / 2;
+        double cy = (myz * (mxx - root) - mxz * mxy) / determinant / 2;
+        double radius = Math.sqrt(cx * cx + cy * cy + mz + 2 * root);
+        if (!NumberUtil.isMoreThanZero(radius) || Double.isInfinite(radius)) {
+            return null;
+        }
+
+        //Σ(X^2+Y^2-2cxX-2cyY+e)^2,e=cx^2+cy^2-r^2,其中ΣX=ΣY=0
+        double e = cx * cx + cy * cy - radius * radius;
+        double algebraic = mzz + 4 * cx * cx * mxx + 4 * cy * cy * myy + e * e
+                - 4 * cx * mxz - 4 * cy * myz + 2 * e * mz + 8 * cx * cy * mxy;
+        double rms = Math.sqrt(Math.max(algebraic, 0)) / (2 * radius);
+        return new double[]{cx + sums.getMeanX(), cy + sums.getMeanY(), radius, rms};
+    }
+
+    public String toString() {
+        return "RoundFitter{" +
+                "count=" + getCount() +
+                ", rms=" + getRms() +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.fudaowang.geometry.common.function;
+
+/**
+ * 接收交点坐标的回调,求交方法把每个交点的横纵坐标传给它,用于替代每次返回新建的Point数组
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public interface IntersectionSink {
+
+    /**
+     * 接收一个交点
+     *
+     * @param x 交点的横坐标
+     * @param y 交点的纵坐标
+     */
+    void accept(double x, double y);
+}
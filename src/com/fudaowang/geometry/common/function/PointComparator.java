@@ -0,0 +1,20 @@
+package com.fudaowang.geometry.common.function;
+
+/**
+ * 以两点的横纵坐标为参数的比较方法,用于对点集进行原地排序
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public interface PointComparator {
+
+    /**
+     * 比较点(x1,y1)与点(x2,y2)的先后顺序
+     *
+     * @param x1 第一个点的横坐标
+     * @param y1 第一个点的纵坐标
+     * @param x2 第二个点的横坐标
+     * @param y2 第二个点的纵坐标
+     * @return 第一个点在前返回负数, 在后返回正数, 相同返回0
+     */
+    int compare(double x1, double y1, double x2, double y2);
+}
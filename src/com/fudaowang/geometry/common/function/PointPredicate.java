@@ -0,0 +1,18 @@
+package com.fudaowang.geometry.common.function;
+
+/**
+ * 以点的横纵坐标为参数的判定条件,用于替代需要装箱和类型转换的Predicate
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public interface PointPredicate {
+
+    /**
+     * 判断点(x,y)是否符合条件
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 若点符合条件, 则返回true
+     */
+    boolean evaluate(double x, double y);
+}
@@ -0,0 +1,18 @@
+package com.fudaowang.geometry.common.function;
+
+/**
+ * 以点的横纵坐标为参数的变换方法,变换结果写入调用方提供的数组,用于替代需要创建对象的Transformer
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public interface PointTransformer {
+
+    /**
+     * 对点(x,y)进行变换
+     *
+     * @param x      点的横坐标
+     * @param y      点的纵坐标
+     * @param result 长度至少为2的数组,变换后的横坐标写入result[0],纵坐标写入result[1]
+     */
+    void transform(double x, double y, double[] result);
+}
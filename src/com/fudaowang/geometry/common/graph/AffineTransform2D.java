@@ -0,0 +1,508 @@
+package com.fudaowang.geometry.common.graph;
+
+import com.fudaowang.geometry.common.util.NumberUtil;
+
+/**
+ * 表示平面上的仿射变换,点(x,y)变换为(m00*x+m01*y+m02, m10*x+m11*y+m12).
+ * 变换是不可变的,多次旋转,平移,拉伸,对称等操作可以先用compose合成为一个变换,
+ * 再对图形的每个顶点只做一次矩阵乘法,中间不产生新的点.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class AffineTransform2D {
+    /**
+     * 恒等变换
+     */
+    public static final AffineTransform2D IDENTITY = new AffineTransform2D(1, 0, 0, 0, 1, 0);
+
+    protected final double m00;
+    protected final double m01;
+    protected final double m02;
+    protected final double m10;
+    protected final double m11;
+    protected final double m12;
+
+    /**
+     * 利用变换矩阵的六个元素构造仿射变换
+     *
+     * @param m00 横坐标关于x的系数
+     * @param m01 横坐标关于y的系数
+     * @param m02 横坐标的平移量
+     * @param m10 纵坐标关于x的系数
+     * @param m11 纵坐标关于y的系数
+     * @param m12 纵坐标的平移量
+     */
+    public AffineTransform2D(double m00, double m01, double m02, double m10, double m11, double m12) {
+        if (Double.isNaN(m00) || Double.isNaN(m01) || Double.isNaN(m02)
+                || Double.isNaN(m10) || Double.isNaN(m11) || Double.isNaN(m12)) {
+            throw new IllegalArgumentException("变换矩阵的元素必须是有效值");
+        }
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+    }
+
+    /**
+     * 沿横坐标正方向平移x,沿纵坐标正方向平移y的变换
+     *
+     * @param x 横坐标平移的长度
+     * @param y 纵坐标平移的长度
+     * @return 平移变换
+     */
+    public static AffineTransform2D translation(double x, double y) {
+        return new AffineTransform2D(1, 0, x, 0, 1, y);
+    }
+
+    /**
+     * 以center为中心,逆时针旋转angle角度的变换
+     *
+     * @param center 中心点
+     * @param angle  旋转的角度,此处为弧度值
+     * @return 旋转变换
+     */
+    public static AffineTransform2D rotate(Point center, double angle) {
+        if (center == null) {
+            throw new NullPointerException("中心点为null");
+        }
+        return rotateAndStretch(center.getX(), center.getY(), angle, 1);
+    }
+
+    /**
+     * 以点(cx,cy)为中心,逆时针旋转angle角度的变换
+     *
+     * @param cx    中心点的横坐标
+     * @param cy    中心点的纵坐标
+     * @param angle 旋转的角度,此处为弧度值
+     * @return 旋转变换
+     */
+    public static AffineTransform2D rotate(double cx, double cy, double angle) {
+        return rotateAndStretch(cx, cy, angle, 1);
+    }
+
+    /**
+     * 以center为中心,将距离拉伸到ratio倍的变换
+     *
+     * @param center 中心点
+     * @param ratio  拉伸的倍数
+     * @return 拉伸变换
+     */
+    public static AffineTransform2D stretch(Point center, double ratio) {
+        if (center == null) {
+            throw new NullPointerException("中心点为null");
+        }
+        return stretch(center.getX(), center.getY(), ratio);
+    }
+
+    /**
+     * 以点(cx,cy)为中心,将距离拉伸到ratio倍的变换
+     *
+     * @param cx    中心点的横坐标
+     * @param cy    中心点的纵坐标
+     * @param ratio 拉伸的倍数
+     * @return 拉伸变换
+     */
+    public static AffineTransform2D stretch(double cx, double cy, double ratio) {
+        return new AffineTransform2D(ratio, 0, cx - cx * ratio, 0, ratio, cy - cy * ratio);
+    }
+
+    /**
+     * 以center为中心,逆时针旋转angle角度并将距离拉伸到ratio倍的变换
+     *
+     * @param center 中心点
+     * @param angle  旋转的角度,此处为弧度值
+     * @param ratio  拉伸的倍数
+     * @return 旋转并拉伸的变换
+     */
+    public static AffineTransform2D rotateAndStretch(Point center, double angle, double ratio) {
+        if (center == null) {
+            throw new NullPointerException("中心点为null");
+        }
+        return rotateAndStretch(center.getX(), center.getY(), angle, ratio);
+    }
+
+    /**
+     * 以点(cx,cy)为中心,逆时针旋转angle角度并将距离拉伸到ratio倍的变换
+     *
+     * @param cx    中心点的横坐标
+     * @param cy    中心点的纵坐标
+     * @param angle 旋转的角度,此处为弧度值
+     * @param ratio 拉伸的倍数
+     * @return 旋转并拉伸的变换
+     */
+    public static AffineTransform2D rotateAndStretch(double cx, double cy, double angle, double ratio) {
+        double cos = Math.cos(angle) * ratio;
+        double sin = Math.sin(angle) * ratio;
+        return new AffineTransform2D(cos, -sin, cx - cx * cos + cy * sin, sin, cos, cy - cx * sin - cy * cos);
+    }
+
+    /**
+     * 关于center的中心对称变换
+     *
+     * @param center 对称中心
+     * @return 中心对称变换
+     */
+    public static AffineTransform2D centralSymmetry(Point center) {
+        if (center == null) {
+            throw new NullPointerException("对称中心为null");
+        }
+        return stretch(center.getX(), center.getY(), -1);
+    }
+
+    /**
+     * 关于直线axis的轴对称变换
+     *
+     * @param axis 对称轴
+     * @return 轴对称变换
+     */
+    public static AffineTransform2D axialSymmetry(Line axis) {
+        if (axis == null) {
+            throw new NullPointerException("对称轴为null");
+        }
+        return axialSymmetry(axis.getA(), axis.getB(), axis.getC());
+    }
+
+    /**
+     * 关于直线ax+by+c=0的轴对称变换
+     *
+     * @param a 直线的系数a
+     * @param b 直线的系数b
+     * @param c 直线的系数c
+     * @return 轴对称变换
+     */
+    public static AffineTransform2D axialSymmetry(double a, double b, double c) {
+        if (NumberUtil.isZero(a) && NumberUtil.isZero(b)) {
+            throw new IllegalArgumentException("直线方程的系数a和系数b不能同时为0");
+        }
+        double n = a * a + b * b;
+        double ab = -2 * a * b / n;
+        return new AffineTransform2D(1 - 2 * a * a / n, ab, -2 * a * c / n, ab, 1 - 2 * b * b / n, -2 * b * c / n);
+    }
+
+    /**
+     * 将相对坐标转化为绝对坐标的变换
+     *
+     * @param coordinate 相对坐标系
+     * @return 坐标转换的变换
+     */
+    public static AffineTransform2D toAbsoluteCoordinate(Coordinate coordinate) {
+        if (coordinate == null) {
+            throw new NullPointerException("坐标系为null");
+        }
+        return toAbsoluteCoordinate(coordinate.getOriginX(), coordinate.getOriginY(),
+                coordinate.getSpaceX(), coordinate.getSpaceY());
+    }
+
+    /**
+     * 将相对坐标转化为绝对坐标的变换,绝对坐标的纵坐标方向与相对坐标相反
+     *
+     * @param originX 原点的横坐标
+     * @param originY 原点的纵坐标
+     * @param spaceX  横坐标单位长度的间隔
+     * @param spaceY  纵坐标单位长度的间隔
+     * @return 坐标转换的变换
+     */
+    public static AffineTransform2D toAbsoluteCoordinate(double originX, double originY, double spaceX, double spaceY) {
+        if (NumberUtil.isMoreThanZero(spaceX) && NumberUtil.isMoreThanZero(spaceY)) {
+            return new AffineTransform2D(spaceX, 0, originX, 0, -spaceY, originY);
+        }
+
+        throw new IllegalArgumentException("单位长度的坐标间隔必须大于0");
+    }
+
+    /**
+     * 将绝对坐标转化为相对坐标的变换
+     *
+     * @param coordinate 相对坐标系
+     * @return 坐标转换的变换
+     */
+    public static AffineTransform2D toRelativeCoordinate(Coordinate coordinate) {
+        if (coordinate == null) {
+            throw new NullPointerException("坐标系为null");
+        }
+        return toRelativeCoordinate(coordinate.getOriginX(), coordinate.getOriginY(),
+                coordinate.getSpaceX(), coordinate.getSpaceY());
+    }
+
+    /**
+     * 将绝对坐标转化为相对坐标的变换
+     *
+     * @param originX 原点的横坐标
+     * @param originY 原点的纵坐标
+     * @param spaceX  横坐标单位长度的间隔
+     * @param spaceY  纵坐标单位长度的间隔
+     * @return 坐标转换的变换
+     */
+    public static AffineTransform2D toRelativeCoordinate(double originX, double originY, double spaceX, double spaceY) {
+        if (NumberUtil.isMoreThanZero(spaceX) && NumberUtil.isMoreThanZero(spaceY)) {
+            return new AffineTransform2D(1 / spaceX, 0, -originX / spaceX, 0, -1 / spaceY, originY / spaceY);
+        }
+
+        throw new IllegalArgumentException("单位长度的坐标间隔必须大于0");
+    }
+
+    /**
+     * 合成两个变换,得到的变换相当于先做当前变换,再做next变换
+     *
+     * @param next 之后进行的变换
+     * @return 合成后的变换
+     */
+    public AffineTransform2D compose(AffineTransform2D next) {
+        if (next == null) {
+            throw new NullPointerException("变换为null");
+        }
+        return new AffineTransform2D(
+                next.m00 * m00 + next.m01 * m10, next.m00 * m01 + next.m01 * m11, next.m00 * m02 + next.m01 * m12 + next.m02,
+                next.m10 * m00 + next.m11 * m10, next.m10 * m01 + next.m11 * m11, next.m10 * m02 + next.m11 * m12 + next.m12);
+    }
+
+    /**
+     * 求逆变换
+     *
+     * @return 逆变换
+     */
+    public AffineTransform2D invert() {
+        double det = getDeterminant();
+        if (NumberUtil.isZero(det)) {
+            throw new IllegalArgumentException("变换不可逆");
+        }
+        return new AffineTransform2D(
+                m11 / det, -m01 / det, (m01 * m12 - m11 * m02) / det,
+                -m10 / det, m00 / det, (m10 * m02 - m00 * m12) / det);
+    }
+
+    /**
+     * 获得线性部分的行列式,其绝对值为变换前后面积的比例,为负数时变换改变图形的方向
+     *
+     * @return 行列式的值
+     */
+    public double getDeterminant() {
+        return m00 * m11 - m01 * m10;
+    }
+
+    /**
+     * 判断变换是否为相似变换,即由旋转,平移,等比拉伸和对称组合而成,相似变换将圆变换为圆
+     *
+     * @return 是相似变换时返回true
+     */
+    public boolean isSimilarity() {
+        return (NumberUtil.equal(m00, m11) && NumberUtil.equal(m01, -m10))
+                || (NumberUtil.equal(m00, -m11) && NumberUtil.equal(m01, m10));
+    }
+
+    /**
+     * 求点(x,y)变换后的横坐标
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 变换后的横坐标
+     */
+    public double transformX(double x, double y) {
+        return m00 * x + m01 * y + m02;
+    }
+
+    /**
+     * 求点(x,y)变换后的纵坐标
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 变换后的纵坐标
+     */
+    public double transformY(double x, double y) {
+        return m10 * x + m11 * y + m12;
+    }
+
+    /**
+     * 求点(x,y)变换后的点
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 变换后的点
+     */
+    public Point transform(double x, double y) {
+        return new Point(m00 * x + m01 * y + m02, m10 * x + m11 * y + m12);
+    }
+
+    /**
+     * 求点变换后的点
+     *
+     * @param point 给定的点
+     * @return 变换后的点
+     */
+    public Point transform(Point point) {
+        return point == null ? null : transform(point.getX(), point.getY());
+    }
+
+    /**
+     * 求线段变换后的线段
+     *
+     * @param segment 给定的线段
+     * @return 变换后的线段
+     */
+    public Segment transform(Segment segment) {
+        if (segment == null) {
+            return null;
+        }
+        return new Segment(transform(segment.getP1()), transform(segment.getP2()));
+    }
+
+    /**
+     * 求三角形变换后的三角形
+     *
+     * @param triangle 给定的三角形
+     * @return 变换后的三角形
+     */
+    public Triangle transform(Triangle triangle) {
+        if (triangle == null) {
+            return null;
+        }
+        return new Triangle(transform(triangle.getP1()), transform(triangle.getP2()), transform(triangle.getP3()));
+    }
+
+    /**
+     * 求多边形变换后的多边形
+     *
+     * @param polygon 给定的多边形
+     * @return 变换后的多边形
+     */
+    public Polygon transform(Polygon polygon) {
+        if (polygon == null) {
+            return null;
+        }
+        Point[] result = new Point[polygon.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = transform(polygon.getPoint(i));
+        }
+        return new Polygon(result);
+    }
+
+    /**
+     * 求直线变换后的直线.点(x,y)在变换后的直线上当且仅当其逆变换的点在原直线上,
+     * 因此变换后直线的系数由原直线的系数与逆变换的矩阵相乘得到
+     *
+     * @param line 给定的直线
+     * @return 变换后的直线
+     */
+    public Line transform(Line line) {
+        if (line == null) {
+            return null;
+        }
+        AffineTransform2D inverse = invert();
+        double a = line.getA();
+        double b = line.getB();
+        return new Line(a * inverse.m00 + b * inverse.m10, a * inverse.m01 + b * inverse.m11,
+                a * inverse.m02 + b * inverse.m12 + line.getC());
+    }
+
+    /**
+     * 求圆变换后的圆,变换必须是相似变换
+     *
+     * @param round 给定的圆
+     * @return 变换后的圆
+     */
+    public Round transform(Round round) {
+        if (round == null) {
+            return null;
+        }
+        if (!isSimilarity()) {
+            throw new IllegalArgumentException("变换不是相似变换,圆变换后不再是圆");
+        }
+        double x = round.getX();
+        double y = round.getY();
+        return new Round(transformX(x, y), transformY(x, y), round.getRadius() * Math.sqrt(Math.abs(getDeterminant())));
+    }
+
+    /**
+     * 将点集中的每个点做变换,结果写入target
+     *
+     * @param source 给定的点集
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public PointBuffer transform(PointBuffer source, PointBuffer target) {
+        if (source == null || target == null) {
+            return null;
+        }
+
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            txs[i] = m00 * x + m01 * y + m02;
+            tys[i] = m10 * x + m11 * y + m12;
+        }
+        return target;
+    }
+
+    /**
+     * 获得横坐标关于x的系数
+     *
+     * @return 横坐标关于x的系数
+     */
+    public double getM00() {
+        return m00;
+    }
+
+    /**
+     * 获得横坐标关于y的系数
+     *
+     * @return 横坐标关于y的系数
+     */
+    public double getM01() {
+        return m01;
+    }
+
+    /**
+     * 获得横坐标的平移量
+     *
+     * @return 横坐标的平移量
+     */
+    public double getM02() {
+        return m02;
+    }
+
+    /**
+     * 获得纵坐标关于x的系数
+     *
+     * @return 纵坐标关于x的系数
+     */
+    public double getM10() {
+        return m10;
+    }
+
+    /**
+     * 获得纵坐标关于y的系数
+     *
+     * @return 纵坐标关于y的系数
+     */
+    public double getM11() {
+        return m11;
+    }
+
+    /**
+     * 获得纵坐标的平移量
+     *
+     * @return 纵坐标的平移量
+     */
+    public double getM12() {
+        return m12;
+    }
+
+    public String toString() {
+        return "AffineTransform2D{" +
+                "m00=" + m00 +
+                ", m01=" + m01 +
+                ", m02=" + m02 +
+                ", m10=" + m10 +
+                ", m11=" + m11 +
+                ", m12=" + m12 +
+                '}';
+    }
+}
@@ -0,0 +1,195 @@
+package com.fudaowang.geometry.common.graph;
+
+/**
+ * 表示与坐标轴平行的矩形包围盒,包括边界.包围盒是不可变的,可以被图形缓存和在多个线程之间共享.
+ * 坐标范围可以是无穷大,用于表示不受限制的窗口.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class BoundingBox {
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+
+    /**
+     * 利用坐标范围构造包围盒
+     *
+     * @param minX 横坐标的最小值
+     * @param minY 纵坐标的最小值
+     * @param maxX 横坐标的最大值
+     * @param maxY 纵坐标的最大值
+     */
+    public BoundingBox(double minX, double minY, double maxX, double maxY) {
+        if (!(minX <= maxX) || !(minY <= maxY)) {
+            throw new IllegalArgumentException("包围盒的最小值不能大于最大值");
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+    }
+
+    /**
+     * 求包含给定的点的最小包围盒
+     *
+     * @param points 给定的点
+     * @return 包围盒
+     */
+    public static BoundingBox of(Point... points) {
+        if (points == null || points.length == 0) {
+            throw new IllegalArgumentException("点集不能为空");
+        }
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Point point : points) {
+            double x = point.getX();
+            double y = point.getY();
+            if (x < minX) {
+                minX = x;
+            }
+            if (x > maxX) {
+                maxX = x;
+            }
+            if (y < minY) {
+                minY = y;
+            }
+            if (y > maxY) {
+                maxY = y;
+            }
+        }
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * 判断两个包围盒是否相交,包括边界接触
+     *
+     * @param other 另一个包围盒
+     * @return 相交时返回true
+     */
+    public boolean intersects(BoundingBox other) {
+        return minX <= other.maxX && other.minX <= maxX && minY <= other.maxY && other.minY <= maxY;
+    }
+
+    /**
+     * 判断两个包围盒在给定的精度范围内是否相交
+     *
+     * @param other     另一个包围盒
+     * @param precision 给定的精度
+     * @return 相交时返回true
+     */
+    public boolean intersects(BoundingBox other, double precision) {
+        return minX - precision <= other.maxX && other.minX - precision <= maxX
+                && minY - precision <= other.maxY && other.minY - precision <= maxY;
+    }
+
+    /**
+     * 判断点(x,y)是否在包围盒内,包括边界
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 在包围盒内时返回true
+     */
+    public boolean contains(double x, double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * 求两个包围盒的公共部分
+     *
+     * @param other 另一个包围盒
+     * @return 公共部分, 若不相交则返回null
+     */
+    public BoundingBox intersection(BoundingBox other) {
+        if (!intersects(other)) {
+            return null;
+        }
+        return new BoundingBox(Math.max(minX, other.minX), Math.max(minY, other.minY),
+                Math.min(maxX, other.maxX), Math.min(maxY, other.maxY));
+    }
+
+    /**
+     * 求同时包含两个包围盒的最小包围盒
+     *
+     * @param other 另一个包围盒
+     * @return 合并后的包围盒
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY));
+    }
+
+    /**
+     * 判断包围盒是否是有限的
+     *
+     * @return 四个坐标都是有限值时返回true
+     */
+    public boolean isFinite() {
+        return !Double.isInfinite(minX) && !Double.isInfinite(minY) && !Double.isInfinite(maxX) && !Double.isInfinite(maxY);
+    }
+
+    /**
+     * 获得横坐标的最小值
+     *
+     * @return 横坐标的最小值
+     */
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * 获得纵坐标的最小值
+     *
+     * @return 纵坐标的最小值
+     */
+    public double getMinY() {
+        return minY;
+    }
+
+    /**
+     * 获得横坐标的最大值
+     *
+     * @return 横坐标的最大值
+     */
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * 获得纵坐标的最大值
+     *
+     * @return 纵坐标的最大值
+     */
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * 获得包围盒的宽度
+     *
+     * @return 宽度
+     */
+    public double getWidth() {
+        return maxX - minX;
+    }
+
+    /**
+     * 获得包围盒的高度
+     *
+     * @return 高度
+     */
+    public double getHeight() {
+        return maxY - minY;
+    }
+
+    public String toString() {
+        return "BoundingBox{" +
+                "minX=" + minX +
+                ", minY=" + minY +
+                ", maxX=" + maxX +
+                ", maxY=" + maxY +
+                '}';
+    }
+}
@@ -0,0 +1,328 @@
+package com.fudaowang.geometry.common.graph;
+
+import com.fudaowang.geometry.common.util.NumberUtil;
+import com.fudaowang.geometry.common.util.PointUtil;
+
+import java.util.Arrays;
+
+/**
+ * 可以逐个加入点的凸包,用于笔画和作图的点不断增加时随时得到外框.
+ * 分别保存按横坐标(相同时按纵坐标)从小到大排列的下凸链和上凸链,加入点时二分查找它在链中的位置,
+ * 在凸包外时插入并删除两侧不再是顶点的点,每个点最多被删除一次,加入n个点的总时间为O(nlogn)加上数组移动的开销,
+ * 凸包的顶点通常很少,移动的开销可以忽略.
+ * 共线和重合的判定规则与PointUtil.getConvexHull一致,加入同样的点得到同样的顶点.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class ConvexHull {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Chain lower;
+    private final Chain upper;
+
+    /**
+     * 构造一个空的凸包
+     */
+    public ConvexHull() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造一个指定初始容量的空凸包
+     *
+     * @param capacity 每条凸链的初始容量
+     */
+    public ConvexHull(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能小于0");
+        }
+        this.lower = new Chain(capacity, 1);
+        this.upper = new Chain(capacity, -1);
+    }
+
+    /**
+     * 加入点(x,y)
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 凸包改变时返回true, 点在凸包内或边上时返回false
+     */
+    public boolean add(double x, double y) {
+        boolean changed = lower.insert(x, y);
+        return upper.insert(x, y) || changed;
+    }
+
+    /**
+     * 加入点
+     *
+     * @param point 点
+     * @return 凸包改变时返回true, 点在凸包内或边上时返回false
+     */
+    public boolean add(Point point) {
+        if (point == null) {
+            throw new NullPointerException("点为null");
+        }
+        return add(point.getX(), point.getY());
+    }
+
+    /**
+     * 加入点集中所有的点
+     *
+     * @param points 点集
+     * @return 凸包改变时返回true
+     */
+    public boolean addAll(PointBuffer points) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        return addAll(points.getXs(), points.getYs(), 0, points.size());
+    }
+
+    /**
+     * 加入点(xs[i],ys[i]),offset<=i<offset+length
+     *
+     * @param xs     点的横坐标数组
+     * @param ys     点的纵坐标数组
+     * @param offset 第一个点的序号
+     * @param length 点的个数
+     * @return 凸包改变时返回true
+     */
+    public boolean addAll(double[] xs, double[] ys, int offset, int length) {
+        if (xs == null || ys == null) {
+            throw new NullPointerException("坐标数组为null");
+        }
+        if (offset < 0 || length < 0 || offset + length > xs.length || offset + length > ys.length) {
+            throw new IndexOutOfBoundsException("序号越界:" + offset + "," + length);
+        }
+        boolean changed = false;
+        for (int i = offset; i < offset + length; i++) {
+            if (add(xs[i], ys[i])) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 把另一个凸包合并进来,合并后是两个凸包的并集的凸包
+     *
+     * @param other 另一个凸包
+     * @return 凸包改变时返回true
+     */
+    public boolean merge(ConvexHull other) {
+        if (other == null) {
+            throw new NullPointerException("凸包为null");
+        }
+        return addAll(other.getPoints(null));
+    }
+
+    /**
+     * 判断点(x,y)是否在凸包内或边上,与凸包的边的叉积不小于-NumberUtil.MIN_VALUE时看作在边上
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 在凸包内或边上时返回true
+     */
+    public boolean contains(double x, double y) {
+        return lower.contains(x, y) && upper.contains(x, y);
+    }
+
+    /**
+     * 判断点是否在凸包内或边上
+     *
+     * @param point 点
+     * @return 在凸包内或边上时返回true, 点为null时返回false
+     */
+    public boolean contains(Point point) {
+        return point != null && contains(point.getX(), point.getY());
+    }
+
+    /**
+     * 获得凸包的顶点个数
+     *
+     * @return 顶点个数, 点都重合时为1, 点都共线时为2
+     */
+    public int size() {
+        return lower.size <= 1 ? lower.size : lower.size + upper.size - 2;
+    }
+
+    /**
+     * 判断凸包是否为空
+     *
+     * @return 没有加入过点时返回true
+     */
+    public boolean isEmpty() {
+        return lower.size == 0;
+    }
+
+    /**
+     * 清空凸包,不释放已分配的数组
+     */
+    public void clear() {
+        lower.size = 0;
+        upper.size = 0;
+    }
+
+    /**
+     * 获得凸包的顶点,结果写入target
+     *
+     * @param target 保存顶点的点集,为null时创建新的点集
+     * @return 保存顶点的点集, 顶点从最左下的点开始按逆时针排列
+     */
+    public PointBuffer getPoints(PointBuffer target) {
+        int size = size();
+        if (target == null) {
+            target = new PointBuffer(size);
+        }
+        target.resize(size);
+        double[] xs = target.getXs();
+        double[] ys = target.getYs();
+        System.arraycopy(lower.xs, 0, xs, 0, lower.size);
+        System.arraycopy(lower.ys, 0, ys, 0, lower.size);
+        for (int i = upper.size - 2, j = lower.size; i > 0; i--, j++) {
+            xs[j] = upper.xs[i];
+            ys[j] = upper.ys[i];
+        }
+        return target;
+    }
+
+    /**
+     * 获得凸包的顶点
+     *
+     * @return 顶点的数组, 从最左下的点开始按逆时针排列
+     */
+    public Point[] toArray() {
+        return getPoints(null).toArray();
+    }
+
+    /**
+     * 把凸包转化为多边形
+     *
+     * @return 多边形, 顶点少于3个时返回null
+     */
+    public Polygon toPolygon() {
+        return size() < 3 ? null : new Polygon(toArray());
+    }
+
+    /**
+     * 获得凸包的包围盒,即所有加入的点的包围盒
+     *
+     * @return 包围盒, 凸包为空时返回null
+     */
+    public BoundingBox getBoundingBox() {
+        if (isEmpty()) {
+            return null;
+        }
+        double minY = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < lower.size; i++) {
+            minY = Math.min(minY, lower.ys[i]);
+        }
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < upper.size; i++) {
+            maxY = Math.max(maxY, upper.ys[i]);
+        }
+        return new BoundingBox(lower.xs[0], minY, lower.xs[lower.size - 1], maxY);
+    }
+
+    public String toString() {
+        return "ConvexHull{" +
+                "points=" + Arrays.asList(toArray()) +
+                '}';
+    }
+
+    /**
+     * 按横坐标(相同时按纵坐标)从小到大排列的凸链,下凸链的sign为1,相邻三个顶点严格左转;
+     * 上凸链的sign为-1,相邻三个顶点严格右转
+     */
+    private static class Chain {
+        private final int sign;
+        private double[] xs;
+        private double[] ys;
+        private int size;
+
+        Chain(int capacity, int sign) {
+            this.xs = new double[capacity];
+            this.ys = new double[capacity];
+            this.sign = sign;
+        }
+
+        /**
+         * 插入点(x,y)并删除两侧不再是顶点的点
+         *
+         * @return 凸链改变时返回true
+         */
+        boolean insert(double x, double y) {
+            int position = search(x, y);
+            if (onChain(position, x, y)) {
+                return false;
+            }
+
+            int left = position;
+            while (left >= 2 && !isConvex(xs[left - 2], ys[left - 2], xs[left - 1], ys[left - 1], x, y)) {
+                left--;
+            }
+            int right = position;
+            while (right + 1 < size && !isConvex(x, y, xs[right], ys[right], xs[right + 1], ys[right + 1])) {
+                right++;
+            }
+
+            //用点(x,y)替换[left,right)之间的点
+            if (left == right && size == xs.length) {
+                int capacity = xs.length + (xs.length >> 1) + 1;
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+            }
+            System.arraycopy(xs, right, xs, left + 1, size - right);
+            System.arraycopy(ys, right, ys, left + 1, size - right);
+            xs[left] = x;
+            ys[left] = y;
+            size += 1 - (right - left);
+            return true;
+        }
+
+        /**
+         * 判断点(x,y)是否在凸链的内侧或凸链上
+         */
+        boolean contains(double x, double y) {
+            return onChain(search(x, y), x, y);
+        }
+
+        /**
+         * 判断序号为position的插入位置上的点(x,y)是否与相邻的顶点重合,或在两个相邻顶点之间且不在凸链的外侧
+         */
+        private boolean onChain(int position, double x, double y) {
+            if (position > 0 && PointUtil.coincide(xs[position - 1], ys[position - 1], x, y)) {
+                return true;
+            }
+            if (position < size && PointUtil.coincide(xs[position], ys[position], x, y)) {
+                return true;
+            }
+            return position > 0 && position < size
+                    && !isConvex(xs[position - 1], ys[position - 1], x, y, xs[position], ys[position]);
+        }
+
+        /**
+         * 判断点(x2,y2)在点(x1,y1)与点(x3,y3)之间是否是凸链的顶点,叉积不大于NumberUtil.MIN_VALUE时看作共线
+         */
+        private boolean isConvex(double x1, double y1, double x2, double y2, double x3, double y3) {
+            return NumberUtil.isMoreThanZero(sign * ((x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1)));
+        }
+
+        /**
+         * 二分查找第一个大于点(x,y)的顶点的序号
+         */
+        private int search(double x, double y) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (xs[middle] < x || (xs[middle] == x && ys[middle] <= y)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
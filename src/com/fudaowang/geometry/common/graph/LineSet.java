@@ -0,0 +1,329 @@
+package com.fudaowang.geometry.common.graph;
+
+import com.fudaowang.geometry.common.util.LineUtil;
+import com.fudaowang.geometry.common.util.NumberUtil;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 在给定精度范围内唯一的直线集.
+ * 每条直线先归一化为单位法向量的形式,再按法向量倾角的二倍角(与法向量方向无关)和原点到直线的垂足分别量化,
+ * 判断重合时只需检查相邻的3*3*3个网格,因此添加和查找的期望时间为O(1),判定规则与LineUtil.coincide一致.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class LineSet extends AbstractCollection<Line> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int EMPTY = -1;
+
+    /**
+     * 垂足所在网格序号的绝对值不小于此值时,相邻的网格序号已无法用double区分,查找时改为逐个比较
+     */
+    private static final double MAX_CELL = 4503599627370496.0;//2^52
+
+    private final double precision;
+    private final int angleCells;
+    private final double angleCellSize;
+    private final double offsetCellSize;
+
+    private Line[] lines;
+    private double[] as;
+    private double[] bs;
+    private double[] cs;
+    private int[] next;
+    private int[] heads;
+    private int size;
+
+    /**
+     * 构造在最小精度范围内唯一的直线集
+     */
+    public LineSet() {
+        this(NumberUtil.MIN_VALUE);
+    }
+
+    /**
+     * 构造在给定精度范围内唯一的直线集
+     *
+     * @param precision 给定的精度
+     */
+    public LineSet(double precision) {
+        this(precision, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造在给定精度范围内唯一的直线集
+     *
+     * @param precision 给定的精度
+     * @param capacity  初始容量
+     */
+    public LineSet(double precision, int capacity) {
+        if (Double.isNaN(precision) || Double.isInfinite(precision)) {
+            throw new IllegalArgumentException("精度必须是一个有效值");
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能小于0");
+        }
+        this.precision = precision < NumberUtil.MIN_VALUE ? NumberUtil.MIN_VALUE : precision;
+
+        //两直线重合时|sin(θ1-θ2)|小于精度,二倍角之差小于2*asin(precision)
+        double angle = this.precision >= 1 ? Math.PI : 2 * Math.asin(this.precision) * (1 + 1E-6);
+        this.angleCells = Math.max(1, (int) Math.min(Integer.MAX_VALUE, Math.floor(2 * Math.PI / angle)));
+        this.angleCellSize = 2 * Math.PI / angleCells;
+        //两直线重合时垂足之间的距离不超过√2倍精度,再留出余量
+        this.offsetCellSize = 4 * this.precision;
+
+        capacity = Math.max(capacity, 1);
+        this.lines = new Line[capacity];
+        this.as = new double[capacity];
+        this.bs = new double[capacity];
+        this.cs = new double[capacity];
+        this.next = new int[capacity];
+        this.heads = new int[tableSize(capacity)];
+        Arrays.fill(heads, EMPTY);
+    }
+
+    /**
+     * 获得直线集的精度
+     *
+     * @return 判定两直线重合时使用的精度
+     */
+    public double getPrecision() {
+        return precision;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 向直线集中添加直线,若直线集内已存在与之重合的直线则不添加
+     *
+     * @param line 需要添加的直线
+     * @return 若添加成功则返回true
+     */
+    @Override
+    public boolean add(Line line) {
+        if (line == null || indexOf(line) != EMPTY) {
+            return false;
+        }
+        append(line);
+        return true;
+    }
+
+    /**
+     * 判断直线集内是否存在与给定直线重合的直线
+     *
+     * @param o 给定的直线
+     * @return 若存在重合的直线, 则返回true
+     */
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Line && indexOf((Line) o) != EMPTY;
+    }
+
+    /**
+     * 在给定精度范围内判断直线集内是否存在与给定直线重合的直线.
+     * 给定精度不大于直线集精度时使用网格查找,否则逐个比较.
+     *
+     * @param line      给定的直线
+     * @param precision 给定的精度
+     * @return 若存在重合的直线, 则返回true
+     */
+    public boolean contains(Line line, double precision) {
+        return line != null && indexOf(line.getA(), line.getB(), line.getC(), precision) != EMPTY;
+    }
+
+    /**
+     * 获得直线集内与给定直线重合的直线
+     *
+     * @param line 给定的直线
+     * @return 重合的直线, 若不存在则返回null
+     */
+    public Line find(Line line) {
+        int index = line == null ? EMPTY : indexOf(line);
+        return index == EMPTY ? null : lines[index];
+    }
+
+    /**
+     * 获得直线集内第index个添加的直线
+     *
+     * @param index 直线的序号
+     * @return 直线
+     */
+    public Line get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("序号越界:" + index);
+        }
+        return lines[index];
+    }
+
+    /**
+     * 获得直线集内与给定直线重合的直线的序号
+     *
+     * @param line 给定的直线
+     * @return 直线的序号, 若不存在则返回-1
+     */
+    public int indexOf(Line line) {
+        return indexOf(line.getA(), line.getB(), line.getC(), precision);
+    }
+
+    /**
+     * 在给定精度范围内获得直线集内与直线ax+by+c=0重合的直线的序号
+     *
+     * @param a         直线的系数a
+     * @param b         直线的系数b
+     * @param c         直线的系数c
+     * @param precision 给定的精度
+     * @return 直线的序号, 若不存在则返回-1
+     */
+    public int indexOf(double a, double b, double c, double precision) {
+        if (!LineUtil.isLogical(a, b)) {
+            return EMPTY;
+        }
+
+        if (precision > this.precision) {
+            return scan(a, b, c, precision);
+        }
+
+        double h = Math.sqrt(a * a + b * b);
+        a /= h;
+        b /= h;
+        c /= h;
+        long angle = angleCell(a, b);
+        double fx = offsetCell(-c * a);
+        double fy = offsetCell(-c * b);
+        if (!(Math.abs(fx) < MAX_CELL && Math.abs(fy) < MAX_CELL)) {
+            return scan(a, b, c, precision);
+        }
+        int mask = heads.length - 1;
+        for (long i = angle - 1; i <= angle + 1; i++) {
+            long wrapped = (i % angleCells + angleCells) % angleCells;
+            for (int j = -1; j <= 1; j++) {
+                for (int k = -1; k <= 1; k++) {
+                    for (int n = heads[hash(wrapped, fx + j, fy + k) & mask]; n != EMPTY; n = next[n]) {
+                        if (LineUtil.coincide(as[n], bs[n], cs[n], a, b, c, precision)) {
+                            return n;
+                        }
+                    }
+                }
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * 逐个比较,获得与直线ax+by+c=0在给定精度范围内重合的直线的序号
+     */
+    private int scan(double a, double b, double c, double precision) {
+        for (int i = 0; i < size; i++) {
+            if (LineUtil.coincide(as[i], bs[i], cs[i], a, b, c, precision)) {
+                return i;
+            }
+        }
+        return EMPTY;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(lines, 0, size, null);
+        Arrays.fill(heads, EMPTY);
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Line> iterator() {
+        return new Iterator<Line>() {
+            private int index = 0;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            public Line next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return lines[index++];
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("直线集不支持删除");
+            }
+        };
+    }
+
+    private void append(Line line) {
+        if (size == lines.length) {
+            grow();
+        }
+        double h = Math.sqrt(line.getA() * line.getA() + line.getB() * line.getB());
+        int index = size++;
+        lines[index] = line;
+        as[index] = line.getA() / h;
+        bs[index] = line.getB() / h;
+        cs[index] = line.getC() / h;
+        link(index);
+    }
+
+    private void link(int index) {
+        double a = as[index];
+        double b = bs[index];
+        double c = cs[index];
+        long angle = angleCell(a, b);
+        int bucket = hash(angle, offsetCell(-c * a), offsetCell(-c * b)) & (heads.length - 1);
+        next[index] = heads[bucket];
+        heads[bucket] = index;
+    }
+
+    private void grow() {
+        int capacity = lines.length + (lines.length >> 1) + 1;
+        lines = Arrays.copyOf(lines, capacity);
+        as = Arrays.copyOf(as, capacity);
+        bs = Arrays.copyOf(bs, capacity);
+        cs = Arrays.copyOf(cs, capacity);
+        next = Arrays.copyOf(next, capacity);
+
+        int tableSize = tableSize(capacity);
+        if (tableSize > heads.length) {
+            heads = new int[tableSize];
+            Arrays.fill(heads, EMPTY);
+            for (int i = 0; i < size; i++) {
+                link(i);
+            }
+        }
+    }
+
+    private long angleCell(double a, double b) {
+        double angle = 2 * Math.atan2(b, a);
+        if (angle < 0) {
+            angle += 2 * Math.PI;
+        }
+        return Math.min(angleCells - 1, (long) Math.floor(angle / angleCellSize));
+    }
+
+    /**
+     * 求垂足坐标所在网格的序号,用double表示,垂足离原点很远时不会像long一样溢出
+     */
+    private double offsetCell(double value) {
+        //加0.0把-0.0变成0.0,使两者散列到同一个网格
+        return Math.floor(value / offsetCellSize) + 0.0;
+    }
+
+    private static int hash(long angle, double fx, double fy) {
+        long h = angle * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(fx) * 0xC2B2AE3D27D4EB4FL
+                + Double.doubleToLongBits(fy) * 0x165667B19E3779F9L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSize(int capacity) {
+        int size = 1;
+        while (size < capacity * 4 / 3 + 1) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,281 @@
+package com.fudaowang.geometry.common.graph;
+
+import com.fudaowang.geometry.common.function.IntersectionSink;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 以两个平行的double数组保存横纵坐标的点集,用于批量计算时避免为每个点创建Point对象.
+ * 点集实现了IntersectionSink,可以作为求交方法的可重用输出缓冲区,清空后反复使用
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class PointBuffer implements IntersectionSink {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    protected double[] xs;
+    protected double[] ys;
+    protected int size;
+
+    /**
+     * 构造一个空的点集
+     */
+    public PointBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造一个指定初始容量的空点集
+     *
+     * @param capacity 初始容量
+     */
+    public PointBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能小于0");
+        }
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * 利用横坐标数组和纵坐标数组构造点集,点集直接使用给定的数组而不进行复制
+     *
+     * @param xs 横坐标数组
+     * @param ys 纵坐标数组
+     */
+    public PointBuffer(double[] xs, double[] ys) {
+        if (xs == null || ys == null) {
+            throw new NullPointerException("坐标数组为null");
+        }
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("横坐标数组与纵坐标数组的长度必须相同");
+        }
+        this.xs = xs;
+        this.ys = ys;
+        this.size = xs.length;
+    }
+
+    /**
+     * 利用点的数组构造点集
+     *
+     * @param points 点的数组
+     */
+    public PointBuffer(Point... points) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        this.xs = new double[points.length];
+        this.ys = new double[points.length];
+        for (Point point : points) {
+            add(point);
+        }
+    }
+
+    /**
+     * 利用点的集合构造点集
+     *
+     * @param collection 点的集合
+     */
+    public PointBuffer(Collection<Point> collection) {
+        if (collection == null) {
+            throw new NullPointerException("点集为null");
+        }
+        this.xs = new double[collection.size()];
+        this.ys = new double[collection.size()];
+        for (Point point : collection) {
+            add(point);
+        }
+    }
+
+    /**
+     * 获得点集内点的个数
+     *
+     * @return 点的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断点集是否为空
+     *
+     * @return 若点集内没有点, 则返回true
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 获得点集当前的容量
+     *
+     * @return 不重新分配数组时最多能保存的点的个数
+     */
+    public int capacity() {
+        return xs.length;
+    }
+
+    /**
+     * 获得第index个点的横坐标
+     *
+     * @param index 点的序号
+     * @return 点的横坐标
+     */
+    public double getX(int index) {
+        checkIndex(index);
+        return xs[index];
+    }
+
+    /**
+     * 获得第index个点的纵坐标
+     *
+     * @param index 点的序号
+     * @return 点的纵坐标
+     */
+    public double getY(int index) {
+        checkIndex(index);
+        return ys[index];
+    }
+
+    /**
+     * 获得第index个点
+     *
+     * @param index 点的序号
+     * @return 新构造的点
+     */
+    public Point getPoint(int index) {
+        checkIndex(index);
+        return new Point(xs[index], ys[index]);
+    }
+
+    /**
+     * 获得保存横坐标的数组,数组长度可能大于点的个数,只有前size()个值有效
+     *
+     * @return 横坐标数组
+     */
+    public double[] getXs() {
+        return xs;
+    }
+
+    /**
+     * 获得保存纵坐标的数组,数组长度可能大于点的个数,只有前size()个值有效
+     *
+     * @return 纵坐标数组
+     */
+    public double[] getYs() {
+        return ys;
+    }
+
+    /**
+     * 设定第index个点的坐标
+     *
+     * @param index 点的序号
+     * @param x     点的横坐标
+     * @param y     点的纵坐标
+     */
+    public void set(int index, double x, double y) {
+        checkIndex(index);
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    /**
+     * 在点集末尾添加点(x,y)
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     */
+    public void add(double x, double y) {
+        ensureCapacity(size + 1);
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    /**
+     * 接收一个交点,添加到点集末尾
+     *
+     * @param x 交点的横坐标
+     * @param y 交点的纵坐标
+     */
+    public void accept(double x, double y) {
+        add(x, y);
+    }
+
+    /**
+     * 在点集末尾添加点
+     *
+     * @param point 需要添加的点
+     */
+    public void add(Point point) {
+        if (point == null) {
+            throw new NullPointerException("点为null");
+        }
+        add(point.getX(), point.getY());
+    }
+
+    /**
+     * 清空点集,不释放已分配的数组
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 将点集的大小调整为size,容量不足时才会重新分配数组
+     *
+     * @param size 新的点的个数
+     */
+    public void resize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("点的个数不能小于0");
+        }
+        ensureCapacity(size);
+        this.size = size;
+    }
+
+    /**
+     * 保证点集的容量不小于capacity
+     *
+     * @param capacity 需要的最小容量
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= xs.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, xs.length + (xs.length >> 1) + 1);
+        xs = Arrays.copyOf(xs, newCapacity);
+        ys = Arrays.copyOf(ys, newCapacity);
+    }
+
+    /**
+     * 将点集转化为Point数组
+     *
+     * @return Point的数组
+     */
+    public Point[] toArray() {
+        Point[] points = new Point[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = new Point(xs[i], ys[i]);
+        }
+        return points;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("序号越界:" + index);
+        }
+    }
+
+    public String toString() {
+        StringBuilder builder = new StringBuilder("PointBuffer{size=").append(size).append(", points=[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append('(').append(xs[i]).append(',').append(ys[i]).append(')');
+        }
+        return builder.append("]}").toString();
+    }
+}
@@ -0,0 +1,311 @@
+package com.fudaowang.geometry.common.graph;
+
+import com.fudaowang.geometry.common.util.NumberUtil;
+import com.fudaowang.geometry.common.util.PointUtil;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 在给定精度范围内坐标唯一的点集.
+ * 以精度为边长将平面划分为网格,每个点按所在网格散列,判断重合时只需检查相邻的3*3个网格,
+ * 因此添加和查找的期望时间为O(1),判定规则与PointUtil.coincide(p, q, precision)一致.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class PointSet extends AbstractCollection<Point> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int EMPTY = -1;
+
+    private final double precision;
+    private final double cellSize;
+
+    private Point[] points;
+    private double[] xs;
+    private double[] ys;
+    private int[] next;
+    private int[] heads;
+    private int size;
+
+    /**
+     * 构造在最小精度范围内坐标唯一的点集
+     */
+    public PointSet() {
+        this(NumberUtil.MIN_VALUE);
+    }
+
+    /**
+     * 构造在给定精度范围内坐标唯一的点集
+     *
+     * @param precision 给定的精度
+     */
+    public PointSet(double precision) {
+        this(precision, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造在给定精度范围内坐标唯一的点集
+     *
+     * @param precision 给定的精度
+     * @param capacity  初始容量
+     */
+    public PointSet(double precision, int capacity) {
+        if (Double.isNaN(precision) || Double.isInfinite(precision)) {
+            throw new IllegalArgumentException("精度必须是一个有效值");
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("容量不能小于0");
+        }
+        this.precision = precision < NumberUtil.MIN_VALUE ? NumberUtil.MIN_VALUE : precision;
+        this.cellSize = this.precision * (1 + 1E-6);//略大于精度,避免除法的舍入误差使相距小于精度的两点落在不相邻的网格内
+        capacity = Math.max(capacity, 1);
+        this.points = new Point[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.next = new int[capacity];
+        this.heads = new int[tableSize(capacity)];
+        Arrays.fill(heads, EMPTY);
+    }
+
+    /**
+     * 获得点集的精度
+     *
+     * @return 判定两点重合时使用的精度
+     */
+    public double getPrecision() {
+        return precision;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 向点集中添加点,若点集内已存在与之重合的点则不添加
+     *
+     * @param point 需要添加的点
+     * @return 若添加成功则返回true
+     */
+    @Override
+    public boolean add(Point point) {
+        if (point == null) {
+            return false;
+        }
+        if (indexOf(point.getX(), point.getY()) != EMPTY) {
+            return false;
+        }
+        append(point);
+        return true;
+    }
+
+    /**
+     * 向点集中添加点(x,y),若点集内已存在与之重合的点则不添加
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 若添加成功则返回true
+     */
+    public boolean add(double x, double y) {
+        if (indexOf(x, y) != EMPTY) {
+            return false;
+        }
+        append(new Point(x, y));
+        return true;
+    }
+
+    /**
+     * 判断点集内是否存在与给定点重合的点
+     *
+     * @param o 给定的点
+     * @return 若存在重合的点, 则返回true
+     */
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Point)) {
+            return false;
+        }
+        Point point = (Point) o;
+        return indexOf(point.getX(), point.getY()) != EMPTY;
+    }
+
+    /**
+     * 判断点集内是否存在与点(x,y)重合的点
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 若存在重合的点, 则返回true
+     */
+    public boolean contains(double x, double y) {
+        return indexOf(x, y) != EMPTY;
+    }
+
+    /**
+     * 在给定精度范围内判断点集内是否存在与点(x,y)重合的点.
+     * 给定精度不大于点集精度时使用网格查找,否则逐个比较.
+     *
+     * @param x         点的横坐标
+     * @param y         点的纵坐标
+     * @param precision 给定的精度
+     * @return 若存在重合的点, 则返回true
+     */
+    public boolean contains(double x, double y, double precision) {
+        return indexOf(x, y, precision) != EMPTY;
+    }
+
+    /**
+     * 获得点集内与点(x,y)重合的点
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 重合的点, 若不存在则返回null
+     */
+    public Point find(double x, double y) {
+        int index = indexOf(x, y);
+        return index == EMPTY ? null : points[index];
+    }
+
+    /**
+     * 获得点集内第index个添加的点
+     *
+     * @param index 点的序号
+     * @return 点
+     */
+    public Point get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("序号越界:" + index);
+        }
+        return points[index];
+    }
+
+    /**
+     * 获得点集内与点(x,y)重合的点的序号
+     *
+     * @param x 点的横坐标
+     * @param y 点的纵坐标
+     * @return 点的序号, 若不存在则返回-1
+     */
+    public int indexOf(double x, double y) {
+        return indexOf(x, y, precision);
+    }
+
+    /**
+     * 在给定精度范围内获得点集内与点(x,y)重合的点的序号
+     *
+     * @param x         点的横坐标
+     * @param y         点的纵坐标
+     * @param precision 给定的精度
+     * @return 点的序号, 若不存在则返回-1
+     */
+    public int indexOf(double x, double y, double precision) {
+        if (precision > this.precision) {
+            for (int i = 0; i < size; i++) {
+                if (PointUtil.coincide(xs[i], ys[i], x, y, precision)) {
+                    return i;
+                }
+            }
+            return EMPTY;
+        }
+
+        double cx = cell(x);
+        double cy = cell(y);
+        int mask = heads.length - 1;
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                for (int k = heads[hash(cx + i, cy + j) & mask]; k != EMPTY; k = next[k]) {
+                    if (PointUtil.coincide(xs[k], ys[k], x, y, precision)) {
+                        return k;
+                    }
+                }
+            }
+        }
+        return EMPTY;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(points, 0, size, null);
+        Arrays.fill(heads, EMPTY);
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Point> iterator() {
+        return new Iterator<Point>() {
+            private int index = 0;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            public Point next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return points[index++];
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException("点集不支持删除");
+            }
+        };
+    }
+
+    private void append(Point point) {
+        if (size == points.length) {
+            grow();
+        }
+        int index = size++;
+        points[index] = point;
+        xs[index] = point.getX();
+        ys[index] = point.getY();
+        link(index);
+    }
+
+    private void link(int index) {
+        int bucket = hash(cell(xs[index]), cell(ys[index])) & (heads.length - 1);
+        next[index] = heads[bucket];
+        heads[bucket] = index;
+    }
+
+    private void grow() {
+        int capacity = points.length + (points.length >> 1) + 1;
+        points = Arrays.copyOf(points, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        next = Arrays.copyOf(next, capacity);
+
+        int tableSize = tableSize(capacity);
+        if (tableSize > heads.length) {
+            heads = new int[tableSize];
+            Arrays.fill(heads, EMPTY);
+            for (int i = 0; i < size; i++) {
+                link(i);
+            }
+        }
+    }
+
+    /**
+     * 求坐标所在网格的序号.序号用double表示,坐标很大时不会像long一样溢出;
+     * 序号的绝对值不小于2^53时相邻的序号无法区分,但此时坐标的最小间隔已经大于精度,重合的点坐标相同,仍落在同一个网格内
+     */
+    private double cell(double value) {
+        //加0.0把-0.0变成0.0,使两者散列到同一个网格
+        return Math.floor(value / cellSize) + 0.0;
+    }
+
+    private static int hash(double cx, double cy) {
+        long h = Double.doubleToLongBits(cx) * 0x9E3779B97F4A7C15L + Double.doubleToLongBits(cy) * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSize(int capacity) {
+        int size = 1;
+        while (size < capacity * 4 / 3 + 1) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
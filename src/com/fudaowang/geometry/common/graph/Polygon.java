@@ -16,8 +16,10 @@ import java.util.Collection;
 public class Polygon {
     protected Point[] points;
 
+    private BoundingBox boundingBox;
+
     /**
-     * 利用已知点集来构造多边形,点集的长度不能小于3
+     * 利用已知点集来构造多边形,点集的长度不能小于3.多边形保存点集的副本,之后修改给定的数组不影响多边形
      *
      * @param points 给定的点集
      */
@@ -28,7 +30,7 @@ public class Polygon {
         if (points.length < 3) {
             throw new IllegalArgumentException("多边形点的个数必须大于2");
         }
-        this.points = points;
+        this.points = points.clone();
     }
 
     /**
@@ -47,12 +49,46 @@ public class Polygon {
     }
 
     /**
-     * 获得多边形的点集
+     * 获得多边形的点集.以前的版本返回多边形内部的数组,现在返回副本,修改返回的数组不再影响多边形;
+     * 只需要读取顶点时使用size和getPoint,不复制数组
      *
-     * @return 点集
+     * @return 点集的副本, 修改它不影响多边形
      */
     public Point[] getPoints() {
-        return points;
+        return points.clone();
+    }
+
+    /**
+     * 获得多边形的顶点个数
+     *
+     * @return 顶点个数
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * 获得多边形的第index个顶点
+     *
+     * @param index 顶点的序号,从0开始
+     * @return 顶点
+     */
+    public Point getPoint(int index) {
+        return points[index];
+    }
+
+    /**
+     * 获得多边形的包围盒,第一次调用时计算并缓存.多边形的点集不可修改,缓存始终有效
+     *
+     * @return 包围盒
+     */
+    public BoundingBox getBoundingBox() {
+        BoundingBox box = boundingBox;
+        if (box == null) {
+            box = BoundingBox.of(points);
+            boundingBox = box;
+        }
+        return box;
     }
 
     public String toString() {
@@ -15,6 +15,8 @@ public class Round {
     protected final double y;
     protected final double radius;
 
+    private BoundingBox boundingBox;
+
     /**
      * 利用圆心和半径长来构造圆
      *
@@ -78,6 +80,20 @@ public class Round {
         return radius;
     }
 
+    /**
+     * 获得圆的包围盒,第一次调用时计算并缓存
+     *
+     * @return 包围盒
+     */
+    public BoundingBox getBoundingBox() {
+        BoundingBox box = boundingBox;
+        if (box == null) {
+            box = new BoundingBox(x - radius, y - radius, x + radius, y + radius);
+            boundingBox = box;
+        }
+        return box;
+    }
+
     public String toString() {
         return "Round{" +
                 "x=" + x +
@@ -22,6 +22,8 @@ public class Segment extends Line {
      */
     protected Point p2;
 
+    private BoundingBox boundingBox;
+
     /**
      * 利用两个已知点构造线段
      *
@@ -78,6 +80,20 @@ public class Segment extends Line {
         return p2;
     }
 
+    /**
+     * 获得线段的包围盒,第一次调用时计算并缓存
+     *
+     * @return 包围盒
+     */
+    public BoundingBox getBoundingBox() {
+        BoundingBox box = boundingBox;
+        if (box == null) {
+            box = BoundingBox.of(p1, p2);
+            boundingBox = box;
+        }
+        return box;
+    }
+
     public String toString() {
         return "Segment{" +
                 "p1=" + p1 +
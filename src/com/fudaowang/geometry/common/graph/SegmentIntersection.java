@@ -0,0 +1,90 @@
+package com.fudaowang.geometry.common.graph;
+
+/**
+ * 表示两条线段相交的结果,包括两条线段在输入集合中的序号和交点
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class SegmentIntersection {
+    protected final Segment segment1;
+    protected final Segment segment2;
+    protected final int index1;
+    protected final int index2;
+    protected final Point point;
+
+    /**
+     * 构造两条线段的相交结果
+     *
+     * @param segment1 第一条线段
+     * @param index1   第一条线段在输入集合中的序号
+     * @param segment2 第二条线段
+     * @param index2   第二条线段在输入集合中的序号
+     * @param point    交点
+     */
+    public SegmentIntersection(Segment segment1, int index1, Segment segment2, int index2, Point point) {
+        if (segment1 == null || segment2 == null) {
+            throw new NullPointerException("线段为null");
+        }
+        if (point == null) {
+            throw new NullPointerException("交点为null");
+        }
+        this.segment1 = segment1;
+        this.segment2 = segment2;
+        this.index1 = index1;
+        this.index2 = index2;
+        this.point = point;
+    }
+
+    /**
+     * 获得第一条线段
+     *
+     * @return 第一条线段
+     */
+    public Segment getSegment1() {
+        return segment1;
+    }
+
+    /**
+     * 获得第二条线段
+     *
+     * @return 第二条线段
+     */
+    public Segment getSegment2() {
+        return segment2;
+    }
+
+    /**
+     * 获得第一条线段在输入集合中的序号
+     *
+     * @return 第一条线段的序号
+     */
+    public int getIndex1() {
+        return index1;
+    }
+
+    /**
+     * 获得第二条线段在输入集合中的序号
+     *
+     * @return 第二条线段的序号
+     */
+    public int getIndex2() {
+        return index2;
+    }
+
+    /**
+     * 获得两条线段的交点
+     *
+     * @return 交点
+     */
+    public Point getPoint() {
+        return point;
+    }
+
+    public String toString() {
+        return "SegmentIntersection{" +
+                "index1=" + index1 +
+                ", index2=" + index2 +
+                ", point=" + point +
+                '}';
+    }
+}
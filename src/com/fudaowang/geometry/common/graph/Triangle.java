@@ -15,6 +15,8 @@ public class Triangle {
     protected Point p2;
     protected Point p3;
 
+    private BoundingBox boundingBox;
+
     /**
      * 利用三个已知点构造三角形
      *
@@ -81,6 +83,20 @@ public class Triangle {
         return p3;
     }
 
+    /**
+     * 获得三角形的包围盒,第一次调用时计算并缓存
+     *
+     * @return 包围盒
+     */
+    public BoundingBox getBoundingBox() {
+        BoundingBox box = boundingBox;
+        if (box == null) {
+            box = BoundingBox.of(p1, p2, p3);
+            boundingBox = box;
+        }
+        return box;
+    }
+
     public String toString() {
         return "Triangle{" +
                 "p1=" + p1 +
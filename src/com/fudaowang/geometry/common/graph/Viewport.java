@@ -0,0 +1,457 @@
+package com.fudaowang.geometry.common.graph;
+
+import com.fudaowang.geometry.common.util.NumberUtil;
+
+/**
+ * 表示一个不可变的相对坐标系,与Coordinate的含义相同:原点和横纵坐标的单位长度都是绝对坐标下的值,
+ * 绝对坐标的纵坐标方向与相对坐标相反,坐标范围是绝对坐标下的范围.
+ * 单位长度的倒数,坐标范围对应的相对坐标以及坐标转换的仿射变换在构造时计算好,
+ * 转换坐标时只做乘法和加法,不再检查单位长度.所有的域都是final的,同一个对象可以在多个线程之间共享.
+ * 使用Viewport.builder()构造.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class Viewport {
+    private final double originX;
+    private final double originY;
+    private final double spaceX;
+    private final double spaceY;
+    private final double inverseSpaceX;
+    private final double inverseSpaceY;
+    private final boolean symmetrical;
+
+    private final double minX;
+    private final double maxX;
+    private final double minY;
+    private final double maxY;
+
+    private final double relativeMinX;
+    private final double relativeMaxX;
+    private final double relativeMinY;
+    private final double relativeMaxY;
+    private final BoundingBox bounds;
+    private final BoundingBox relativeBounds;
+
+    private final AffineTransform2D absoluteTransform;
+    private final AffineTransform2D relativeTransform;
+
+    private Viewport(Builder builder) {
+        this.originX = builder.originX;
+        this.originY = builder.originY;
+        this.spaceX = builder.spaceX;
+        this.spaceY = builder.spaceY;
+        this.inverseSpaceX = 1 / spaceX;
+        this.inverseSpaceY = 1 / spaceY;
+        this.symmetrical = NumberUtil.equal(spaceX, spaceY);
+
+        this.minX = builder.minX;
+        this.maxX = builder.maxX;
+        this.minY = builder.minY;
+        this.maxY = builder.maxY;
+
+        this.relativeMinX = toRelativeX(minX);
+        this.relativeMaxX = toRelativeX(maxX);
+        //绝对坐标的纵坐标方向与相对坐标相反
+        this.relativeMinY = toRelativeY(maxY);
+        this.relativeMaxY = toRelativeY(minY);
+        this.bounds = new BoundingBox(minX, minY, maxX, maxY);
+        this.relativeBounds = new BoundingBox(relativeMinX, relativeMinY, relativeMaxX, relativeMaxY);
+
+        this.absoluteTransform = new AffineTransform2D(spaceX, 0, originX, 0, -spaceY, originY);
+        this.relativeTransform = new AffineTransform2D(inverseSpaceX, 0, -originX * inverseSpaceX,
+                0, -inverseSpaceY, originY * inverseSpaceY);
+    }
+
+    /**
+     * 获得构造坐标系的Builder
+     *
+     * @return Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 利用Coordinate构造坐标系,坐标范围取Coordinate当前的值
+     *
+     * @param coordinate 相对坐标系
+     * @return 坐标系, 若coordinate为null则返回null
+     */
+    public static Viewport valueOf(Coordinate coordinate) {
+        if (coordinate == null) {
+            return null;
+        }
+        return builder().origin(coordinate.getOriginX(), coordinate.getOriginY())
+                .space(coordinate.getSpaceX(), coordinate.getSpaceY())
+                .bounds(coordinate.getMinX(), coordinate.getMaxX(), coordinate.getMinY(), coordinate.getMaxY())
+                .build();
+    }
+
+    /**
+     * 转化为Coordinate,用于只接受Coordinate的方法
+     *
+     * @return 新的Coordinate对象
+     */
+    public Coordinate toCoordinate() {
+        Coordinate coordinate = new Coordinate(originX, originY, spaceX, spaceY);
+        coordinate.setMinX(minX);
+        coordinate.setMaxX(maxX);
+        coordinate.setMinY(minY);
+        coordinate.setMaxY(maxY);
+        return coordinate;
+    }
+
+    /**
+     * 将相对横坐标转换为绝对横坐标
+     *
+     * @param x 相对横坐标
+     * @return 绝对横坐标
+     */
+    public double toAbsoluteX(double x) {
+        return originX + x * spaceX;
+    }
+
+    /**
+     * 将相对纵坐标转换为绝对纵坐标
+     *
+     * @param y 相对纵坐标
+     * @return 绝对纵坐标
+     */
+    public double toAbsoluteY(double y) {
+        return originY - y * spaceY;
+    }
+
+    /**
+     * 将绝对横坐标转换为相对横坐标
+     *
+     * @param x 绝对横坐标
+     * @return 相对横坐标
+     */
+    public double toRelativeX(double x) {
+        return (x - originX) * inverseSpaceX;
+    }
+
+    /**
+     * 将绝对纵坐标转换为相对纵坐标
+     *
+     * @param y 绝对纵坐标
+     * @return 相对纵坐标
+     */
+    public double toRelativeY(double y) {
+        return (originY - y) * inverseSpaceY;
+    }
+
+    /**
+     * 将相对坐标下的点转化为绝对坐标下的点
+     *
+     * @param point 给定的点
+     * @return 绝对坐标下的点
+     */
+    public Point toAbsolute(Point point) {
+        return point == null ? null : new Point(toAbsoluteX(point.getX()), toAbsoluteY(point.getY()));
+    }
+
+    /**
+     * 将绝对坐标下的点转化为相对坐标下的点
+     *
+     * @param point 给定的点
+     * @return 相对坐标下的点
+     */
+    public Point toRelative(Point point) {
+        return point == null ? null : new Point(toRelativeX(point.getX()), toRelativeY(point.getY()));
+    }
+
+    /**
+     * 判断绝对坐标下的点(x,y)是否在坐标范围内,包括边界
+     *
+     * @param x 点的绝对横坐标
+     * @param y 点的绝对纵坐标
+     * @return 在坐标范围内时返回true
+     */
+    public boolean contains(double x, double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * 判断相对坐标下的点(x,y)是否在坐标范围内,包括边界
+     *
+     * @param x 点的相对横坐标
+     * @param y 点的相对纵坐标
+     * @return 在坐标范围内时返回true
+     */
+    public boolean containsRelative(double x, double y) {
+        return x >= relativeMinX && x <= relativeMaxX && y >= relativeMinY && y <= relativeMaxY;
+    }
+
+    /**
+     * 获得绝对坐标下的坐标范围
+     *
+     * @return 坐标范围的包围盒
+     */
+    public BoundingBox getBounds() {
+        return bounds;
+    }
+
+    /**
+     * 获得相对坐标下的坐标范围,用于裁剪直线,抛物线等无界图形的包围盒
+     *
+     * @return 坐标范围的包围盒
+     */
+    public BoundingBox getRelativeBounds() {
+        return relativeBounds;
+    }
+
+    /**
+     * 获得相对坐标转化为绝对坐标的仿射变换
+     *
+     * @return 仿射变换
+     */
+    public AffineTransform2D getAbsoluteTransform() {
+        return absoluteTransform;
+    }
+
+    /**
+     * 获得绝对坐标转化为相对坐标的仿射变换
+     *
+     * @return 仿射变换
+     */
+    public AffineTransform2D getRelativeTransform() {
+        return relativeTransform;
+    }
+
+    /**
+     * 获得原点的横坐标
+     *
+     * @return 原点的横坐标
+     */
+    public double getOriginX() {
+        return originX;
+    }
+
+    /**
+     * 获得原点的纵坐标
+     *
+     * @return 原点的纵坐标
+     */
+    public double getOriginY() {
+        return originY;
+    }
+
+    /**
+     * 获得横坐标单位长度值
+     *
+     * @return 横坐标单位长度值
+     */
+    public double getSpaceX() {
+        return spaceX;
+    }
+
+    /**
+     * 获得纵坐标单位长度值
+     *
+     * @return 纵坐标单位长度值
+     */
+    public double getSpaceY() {
+        return spaceY;
+    }
+
+    /**
+     * 获得横坐标单位长度值的倒数
+     *
+     * @return 横坐标单位长度值的倒数
+     */
+    public double getInverseSpaceX() {
+        return inverseSpaceX;
+    }
+
+    /**
+     * 获得纵坐标单位长度值的倒数
+     *
+     * @return 纵坐标单位长度值的倒数
+     */
+    public double getInverseSpaceY() {
+        return inverseSpaceY;
+    }
+
+    /**
+     * 判断坐标系的横坐标间距与纵坐标间距是否均匀
+     *
+     * @return 若横坐标间距和纵坐标间距一致, 则返回true
+     */
+    public boolean isSymmetrical() {
+        return symmetrical;
+    }
+
+    /**
+     * 获得绝对坐标下横坐标的最小值
+     *
+     * @return 横坐标的最小值
+     */
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * 获得绝对坐标下横坐标的最大值
+     *
+     * @return 横坐标的最大值
+     */
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * 获得绝对坐标下纵坐标的最小值
+     *
+     * @return 纵坐标的最小值
+     */
+    public double getMinY() {
+        return minY;
+    }
+
+    /**
+     * 获得绝对坐标下纵坐标的最大值
+     *
+     * @return 纵坐标的最大值
+     */
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * 获得相对坐标下横坐标的最小值
+     *
+     * @return 横坐标的最小值
+     */
+    public double getRelativeMinX() {
+        return relativeMinX;
+    }
+
+    /**
+     * 获得相对坐标下横坐标的最大值
+     *
+     * @return 横坐标的最大值
+     */
+    public double getRelativeMaxX() {
+        return relativeMaxX;
+    }
+
+    /**
+     * 获得相对坐标下纵坐标的最小值
+     *
+     * @return 纵坐标的最小值
+     */
+    public double getRelativeMinY() {
+        return relativeMinY;
+    }
+
+    /**
+     * 获得相对坐标下纵坐标的最大值
+     *
+     * @return 纵坐标的最大值
+     */
+    public double getRelativeMaxY() {
+        return relativeMaxY;
+    }
+
+    public String toString() {
+        return "Viewport{" +
+                "originX=" + originX +
+                ", originY=" + originY +
+                ", spaceX=" + spaceX +
+                ", spaceY=" + spaceY +
+                ", minX=" + minX +
+                ", maxX=" + maxX +
+                ", minY=" + minY +
+                ", maxY=" + maxY +
+                '}';
+    }
+
+    /**
+     * 构造Viewport的类,未设定坐标范围时范围不受限制
+     */
+    public static class Builder {
+        private double originX;
+        private double originY;
+        private double spaceX = Double.NaN;
+        private double spaceY = Double.NaN;
+        private double minX = Double.NEGATIVE_INFINITY;
+        private double maxX = Double.POSITIVE_INFINITY;
+        private double minY = Double.NEGATIVE_INFINITY;
+        private double maxY = Double.POSITIVE_INFINITY;
+
+        private Builder() {
+        }
+
+        /**
+         * 设定原点
+         *
+         * @param originX 原点的横坐标
+         * @param originY 原点的纵坐标
+         * @return Builder本身
+         */
+        public Builder origin(double originX, double originY) {
+            this.originX = originX;
+            this.originY = originY;
+            return this;
+        }
+
+        /**
+         * 设定横纵坐标相同的单位长度
+         *
+         * @param space 单位长度值
+         * @return Builder本身
+         */
+        public Builder space(double space) {
+            return space(space, space);
+        }
+
+        /**
+         * 设定横纵坐标的单位长度
+         *
+         * @param spaceX 横坐标单位长度值
+         * @param spaceY 纵坐标单位长度值
+         * @return Builder本身
+         */
+        public Builder space(double spaceX, double spaceY) {
+            this.spaceX = spaceX;
+            this.spaceY = spaceY;
+            return this;
+        }
+
+        /**
+         * 设定绝对坐标下的坐标范围
+         *
+         * @param minX 横坐标的最小值
+         * @param maxX 横坐标的最大值
+         * @param minY 纵坐标的最小值
+         * @param maxY 纵坐标的最大值
+         * @return Builder本身
+         */
+        public Builder bounds(double minX, double maxX, double minY, double maxY) {
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minY = minY;
+            this.maxY = maxY;
+            return this;
+        }
+
+        /**
+         * 构造坐标系
+         *
+         * @return 坐标系
+         */
+        public Viewport build() {
+            if (!NumberUtil.isMoreThanZero(spaceX) || !NumberUtil.isMoreThanZero(spaceY)) {
+                throw new IllegalArgumentException("单位长度的坐标间隔必须大于0");
+            }
+            if (Double.isNaN(originX) || Double.isNaN(originY)) {
+                throw new IllegalArgumentException("原点必须是一个有效值");
+            }
+            if (!(minX <= maxX) || !(minY <= maxY)) {
+                throw new IllegalArgumentException("坐标范围的最小值不能大于最大值");
+            }
+            return new Viewport(this);
+        }
+    }
+}
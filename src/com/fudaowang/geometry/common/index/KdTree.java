@@ -0,0 +1,362 @@
+package com.fudaowang.geometry.common.index;
+
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.util.RoundUtil;
+
+/**
+ * 静态的二维KD树,用于在点集中查找最近的点,最近的k个点,圆内的点和距离最近的点对.
+ * 构造时把坐标复制到两个连续的数组中,按横纵坐标交替地用快速选择算法把中位数放到区间中间,
+ * 整棵树隐含在数组里,构造的时间为O(n log n),不分配节点对象.
+ * 查询返回点在构造时的下标,除了每次查询一个很小的状态对象以外不分配内存.
+ * 构造后树不再改变,可以在多个线程中同时查询.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class KdTree {
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] indexes;
+    private final int size;
+
+    /**
+     * 利用点集构造KD树
+     *
+     * @param buffer 点集
+     */
+    public KdTree(PointBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("点集为null");
+        }
+        size = buffer.size();
+        xs = new double[size];
+        ys = new double[size];
+        indexes = new int[size];
+        System.arraycopy(buffer.getXs(), 0, xs, 0, size);
+        System.arraycopy(buffer.getYs(), 0, ys, 0, size);
+        for (int i = 0; i < size; i++) {
+            if (Double.isNaN(xs[i]) || Double.isNaN(ys[i])) {
+                throw new IllegalArgumentException("点的坐标必须是一个有效值");
+            }
+            indexes[i] = i;
+        }
+        build(0, size, true);
+    }
+
+    /**
+     * 利用点构造KD树
+     *
+     * @param points 点
+     */
+    public KdTree(Point... points) {
+        this(points == null ? null : new PointBuffer(points));
+    }
+
+    /**
+     * 获得点的个数
+     *
+     * @return 点的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 查找距离点(x,y)最近的点
+     *
+     * @param x 给定点的横坐标
+     * @param y 给定点的纵坐标
+     * @return 最近的点的下标, 点集为空时返回-1
+     */
+    public int nearest(double x, double y) {
+        Search search = new Search(-1, Double.POSITIVE_INFINITY);
+        nearest(0, size, true, x, y, search);
+        return search.best < 0 ? -1 : indexes[search.best];
+    }
+
+    /**
+     * 查找距离点(x,y)最近的k个点
+     *
+     * @param x      给定点的横坐标
+     * @param y      给定点的纵坐标
+     * @param k      点的个数
+     * @param result 保存点的下标的数组,长度不能小于k
+     * @return 找到的点的个数, 不超过k和点集的大小
+     */
+    public int kNearest(double x, double y, int k, int[] result) {
+        return kNearest(x, y, k, result, new double[Math.max(k, 0)]);
+    }
+
+    /**
+     * 查找距离点(x,y)最近的k个点,结果按距离从近到远排列,调用者提供数组时不分配内存
+     *
+     * @param x         给定点的横坐标
+     * @param y         给定点的纵坐标
+     * @param k         点的个数
+     * @param result    保存点的下标的数组,长度不能小于k
+     * @param distances 保存距离的平方的数组,长度不能小于k
+     * @return 找到的点的个数, 不超过k和点集的大小
+     */
+    public int kNearest(double x, double y, int k, int[] result, double[] distances) {
+        if (k <= 0) {
+            return 0;
+        }
+        if (result.length < k || distances.length < k) {
+            throw new IllegalArgumentException("保存结果的数组长度不能小于k");
+        }
+        Neighbours neighbours = new Neighbours(k, result, distances);
+        kNearest(0, size, true, x, y, neighbours);
+        return neighbours.count;
+    }
+
+    /**
+     * 查找在圆心为(x,y),半径为radius的圆内的点,判断条件与RoundUtil.inRound一致
+     *
+     * @param x      圆心的横坐标
+     * @param y      圆心的纵坐标
+     * @param radius 圆的半径
+     * @param result 保存点的下标的数组,超出数组长度的点只计数不保存
+     * @return 圆内的点的个数, 大于数组长度时调用者可以用更大的数组重新查询
+     */
+    public int withinRadius(double x, double y, double radius, int[] result) {
+        if (result == null) {
+            throw new NullPointerException("保存结果的数组为null");
+        }
+        Collector collector = new Collector(result);
+        withinRadius(0, size, true, x, y, radius, collector);
+        return collector.count;
+    }
+
+    /**
+     * 查找在圆心为(x,y),半径为radius的圆内的点,判断条件与RoundUtil.inRound一致
+     *
+     * @param x      圆心的横坐标
+     * @param y      圆心的纵坐标
+     * @param radius 圆的半径
+     * @return 圆内的点的下标
+     */
+    public int[] withinRadius(double x, double y, double radius) {
+        int[] result = new int[16];
+        int count = withinRadius(x, y, radius, result);
+        if (count > result.length) {
+            result = new int[count];
+            withinRadius(x, y, radius, result);
+        }
+        int[] copy = new int[count];
+        System.arraycopy(result, 0, copy, 0, count);
+        return copy;
+    }
+
+    /**
+     * 求距离最近的点对.依次查找每个点的最近点,用已找到的最短距离剪枝,总时间为O(n log n)
+     *
+     * @return 两个点的下标, 较小的在前, 点的个数少于2时返回null
+     */
+    public int[] closestPair() {
+        if (size < 2) {
+            return null;
+        }
+        int first = -1;
+        int second = -1;
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size && best > 0; i++) {
+            Search search = new Search(i, best);
+            nearest(0, size, true, xs[i], ys[i], search);
+            if (search.best >= 0) {
+                first = i;
+                second = search.best;
+                best = search.bestDistanceSq;
+            }
+        }
+        int i1 = indexes[first];
+        int i2 = indexes[second];
+        return i1 < i2 ? new int[]{i1, i2} : new int[]{i2, i1};
+    }
+
+    private void nearest(int low, int high, boolean splitX, double x, double y, Search search) {
+        if (low >= high) {
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        if (middle != search.exclude) {
+            double dx = x - xs[middle];
+            double dy = y - ys[middle];
+            double distanceSq = dx * dx + dy * dy;
+            if (distanceSq < search.bestDistanceSq) {
+                search.bestDistanceSq = distanceSq;
+                search.best = middle;
+            }
+        }
+        double difference = splitX ? x - xs[middle] : y - ys[middle];
+        if (difference < 0) {
+            nearest(low, middle, !splitX, x, y, search);
+            if (difference * difference < search.bestDistanceSq) {
+                nearest(middle + 1, high, !splitX, x, y, search);
+            }
+        } else {
+            nearest(middle + 1, high, !splitX, x, y, search);
+            if (difference * difference < search.bestDistanceSq) {
+                nearest(low, middle, !splitX, x, y, search);
+            }
+        }
+    }
+
+    private void kNearest(int low, int high, boolean splitX, double x, double y, Neighbours neighbours) {
+        if (low >= high) {
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        double dx = x - xs[middle];
+        double dy = y - ys[middle];
+        neighbours.offer(indexes[middle], dx * dx + dy * dy);
+        double difference = splitX ? dx : dy;
+        if (difference < 0) {
+            kNearest(low, middle, !splitX, x, y, neighbours);
+            if (difference * difference < neighbours.worst()) {
+                kNearest(middle + 1, high, !splitX, x, y, neighbours);
+            }
+        } else {
+            kNearest(middle + 1, high, !splitX, x, y, neighbours);
+            if (difference * difference < neighbours.worst()) {
+                kNearest(low, middle, !splitX, x, y, neighbours);
+            }
+        }
+    }
+
+    private void withinRadius(int low, int high, boolean splitX, double x, double y, double radius, Collector collector) {
+        if (low >= high) {
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        if (RoundUtil.inRound(xs[middle], ys[middle], x, y, radius)) {
+            collector.add(indexes[middle]);
+        }
+        //圆内的点到圆心的距离小于半径,分割线另一侧的点与圆心在分割方向上的距离已经不小于半径时不用再查找
+        double difference = splitX ? x - xs[middle] : y - ys[middle];
+        if (difference < radius) {
+            withinRadius(low, middle, !splitX, x, y, radius, collector);
+        }
+        if (-difference < radius) {
+            withinRadius(middle + 1, high, !splitX, x, y, radius, collector);
+        }
+    }
+
+    private void build(int low, int high, boolean splitX) {
+        while (high - low > 1) {
+            int middle = (low + high) >>> 1;
+            select(low, high - 1, middle, splitX);
+            build(low, middle, !splitX);
+            //右半部分用循环代替递归
+            low = middle + 1;
+            splitX = !splitX;
+        }
+    }
+
+    /**
+     * 用快速选择算法调整[left,right]区间,使第k个位置上是按分割方向排序后的第k个点,
+     * 其左边的点都不大于它,右边的点都不小于它
+     */
+    private void select(int left, int right, int k, boolean splitX) {
+        double[] keys = splitX ? xs : ys;
+        while (right > left) {
+            double pivot = keys[k];
+            int i = left;
+            int j = right;
+            do {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (pivot < keys[j]) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            } while (i <= j);
+            if (j < k) {
+                left = i;
+            }
+            if (k < i) {
+                right = j;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+        double y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+        int index = indexes[i];
+        indexes[i] = indexes[j];
+        indexes[j] = index;
+    }
+
+    /**
+     * 最近点查询的状态,exclude是查询时跳过的位置
+     */
+    private static final class Search {
+        final int exclude;
+        int best = -1;
+        double bestDistanceSq;
+
+        Search(int exclude, double bestDistanceSq) {
+            this.exclude = exclude;
+            this.bestDistanceSq = bestDistanceSq;
+        }
+    }
+
+    /**
+     * 按距离排序的最近k个点,用插入排序维护
+     */
+    private static final class Neighbours {
+        final int k;
+        final int[] indexes;
+        final double[] distances;
+        int count;
+
+        Neighbours(int k, int[] indexes, double[] distances) {
+            this.k = k;
+            this.indexes = indexes;
+            this.distances = distances;
+        }
+
+        double worst() {
+            return count < k ? Double.POSITIVE_INFINITY : distances[k - 1];
+        }
+
+        void offer(int index, double distanceSq) {
+            if (count == k && distanceSq >= distances[k - 1]) {
+                return;
+            }
+            int i = count < k ? count++ : k - 1;
+            while (i > 0 && distances[i - 1] > distanceSq) {
+                distances[i] = distances[i - 1];
+                indexes[i] = indexes[i - 1];
+                i--;
+            }
+            distances[i] = distanceSq;
+            indexes[i] = index;
+        }
+    }
+
+    private static final class Collector {
+        final int[] result;
+        int count;
+
+        Collector(int[] result) {
+            this.result = result;
+        }
+
+        void add(int index) {
+            if (count < result.length) {
+                result[count] = index;
+            }
+            count++;
+        }
+    }
+}
@@ -0,0 +1,646 @@
+package com.fudaowang.geometry.common.index;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Polygon;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.graph.Triangle;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 以图形的包围盒为索引的R树,用于点选和吸附时查找给定点附近的图形.
+ * 支持的图形有点,线段,圆,三角形和多边形.用图形集合构造时按STR(Sort-Tile-Recursive)算法批量装载,
+ * 之后可以逐个插入和删除图形,插入时节点按二次分裂算法分裂,删除时不足最小数量的节点被解散,其中的图形重新插入.
+ * 图形到点的距离:点为两点距离,线段为到线段上最近点的距离,圆为到圆周的距离,三角形和多边形为到各边的最短距离.
+ * 图形按引用区分,加入索引后不应再修改图形的坐标.查询可以在多个线程中同时进行,但不能与插入和删除同时进行.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ *
+ * @param <T> 图形的类型
+ */
+public class RTree<T> {
+    private static final int MAX_ENTRIES = 16;
+    private static final int MIN_ENTRIES = 6;
+
+    private Node root = new Node(1);
+    private int size;
+
+    /**
+     * 构造空的R树
+     */
+    public RTree() {
+    }
+
+    /**
+     * 利用图形集合构造R树,按STR算法批量装载
+     *
+     * @param shapes 图形集合
+     */
+    public RTree(Collection<? extends T> shapes) {
+        if (shapes == null) {
+            throw new NullPointerException("图形集合为null");
+        }
+        List<Box> entries = new ArrayList<Box>(shapes.size());
+        for (T shape : shapes) {
+            entries.add(new Entry(shape));
+        }
+        size = entries.size();
+        root = pack(entries);
+    }
+
+    /**
+     * 获得图形的数量
+     *
+     * @return 图形的数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 判断R树是否为空
+     *
+     * @return 没有图形时返回true
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 插入一个图形
+     *
+     * @param shape 图形
+     */
+    public void insert(T shape) {
+        insertEntry(new Entry(shape));
+        size++;
+    }
+
+    /**
+     * 用给定的包围盒插入一个图形,可以用于裁剪到窗口内的直线,抛物线等其他图形,包围盒必须是有限的.
+     * 不支持计算距离的图形只能用窗口查询
+     *
+     * @param shape 图形
+     * @param box   图形的包围盒
+     */
+    public void insert(T shape, BoundingBox box) {
+        insertEntry(new Entry(shape, box));
+        size++;
+    }
+
+    /**
+     * 删除一个图形,按引用查找
+     *
+     * @param shape 图形
+     * @return 图形存在并被删除时返回true
+     */
+    public boolean delete(T shape) {
+        if (shape == null) {
+            return false;
+        }
+        return delete(shape, getBoundingBox(shape));
+    }
+
+    /**
+     * 删除用给定的包围盒插入的图形,按引用查找
+     *
+     * @param shape 图形
+     * @param box   插入时使用的包围盒
+     * @return 图形存在并被删除时返回true
+     */
+    public boolean delete(T shape, BoundingBox box) {
+        if (shape == null) {
+            return false;
+        }
+        Entry target = new Entry(shape, box);
+        List<Entry> orphans = new ArrayList<Entry>();
+        if (!delete(root, target, orphans)) {
+            return false;
+        }
+        size--;
+        if (root.children.isEmpty()) {
+            root = new Node(1);
+        }
+        for (Entry orphan : orphans) {
+            insertEntry(orphan);
+        }
+        while (!root.leaf() && root.children.size() == 1) {
+            root = (Node) root.children.get(0);
+        }
+        return true;
+    }
+
+    /**
+     * 查找包围盒与窗口相交的所有图形
+     *
+     * @param window 窗口
+     * @return 图形的列表
+     */
+    public List<T> search(BoundingBox window) {
+        if (window == null) {
+            throw new NullPointerException("窗口为null");
+        }
+        List<T> result = new ArrayList<T>();
+        search(window.getMinX(), window.getMinY(), window.getMaxX(), window.getMaxY(), result);
+        return result;
+    }
+
+    /**
+     * 查找与给定点的距离不大于tolerance的所有图形,先用包围盒筛选,再计算精确的距离
+     *
+     * @param point     给定的点
+     * @param tolerance 允许的距离
+     * @return 图形的列表, 不保证按距离排序
+     */
+    public List<T> within(Point point, double tolerance) {
+        if (point == null) {
+            throw new NullPointerException("给定的点为null");
+        }
+        double x = point.getX();
+        double y = point.getY();
+        List<T> candidates = new ArrayList<T>();
+        search(x - tolerance, y - tolerance, x + tolerance, y + tolerance, candidates);
+        List<T> result = new ArrayList<T>();
+        for (T shape : candidates) {
+            if (distance(point, shape) <= tolerance) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查找距离给定点最近的图形
+     *
+     * @param point 给定的点
+     * @return 最近的图形, 若R树为空则返回null
+     */
+    public T nearest(Point point) {
+        List<T> result = nearest(point, 1);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * 查找距离给定点最近的k个图形.按节点包围盒到点的距离优先展开,
+     * 叶子中的图形以精确距离排队,出队的图形一定比队列中其余的图形和节点更近
+     *
+     * @param point 给定的点
+     * @param k     图形的个数
+     * @return 按距离从近到远排列的图形, 个数不超过k
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> nearest(Point point, int k) {
+        if (point == null) {
+            throw new NullPointerException("给定的点为null");
+        }
+        List<T> result = new ArrayList<T>();
+        if (k <= 0 || size == 0) {
+            return result;
+        }
+        double x = point.getX();
+        double y = point.getY();
+        PriorityQueue<Candidate> queue = new PriorityQueue<Candidate>();
+        queue.add(new Candidate(root, root.distance(x, y)));
+        while (!queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (candidate.item instanceof Entry) {
+                result.add((T) ((Entry) candidate.item).shape);
+                if (result.size() == k) {
+                    break;
+                }
+                continue;
+            }
+            Node node = (Node) candidate.item;
+            for (Box child : node.children) {
+                double distance = node.leaf() ? distance(point, ((Entry) child).shape) : child.distance(x, y);
+                queue.add(new Candidate(child, distance));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获得所有图形的包围盒
+     *
+     * @return 包围盒, 若R树为空则返回null
+     */
+    public BoundingBox getBoundingBox() {
+        return size == 0 ? null : new BoundingBox(root.minX, root.minY, root.maxX, root.maxY);
+    }
+
+    /**
+     * 求图形的包围盒
+     *
+     * @param shape 图形
+     * @return 包围盒
+     */
+    static BoundingBox getBoundingBox(Object shape) {
+        if (shape instanceof Point) {
+            Point point = (Point) shape;
+            return new BoundingBox(point.getX(), point.getY(), point.getX(), point.getY());
+        } else if (shape instanceof Segment) {
+            return ((Segment) shape).getBoundingBox();
+        } else if (shape instanceof Round) {
+            return ((Round) shape).getBoundingBox();
+        } else if (shape instanceof Triangle) {
+            return ((Triangle) shape).getBoundingBox();
+        } else if (shape instanceof Polygon) {
+            return ((Polygon) shape).getBoundingBox();
+        } else if (shape == null) {
+            throw new NullPointerException("图形为null");
+        }
+        throw new IllegalArgumentException("不支持的图形类型:" + shape.getClass().getName());
+    }
+
+    /**
+     * 求点到图形的距离
+     *
+     * @param point 给定的点
+     * @param shape 图形
+     * @return 点到图形的距离
+     */
+    static double distance(Point point, Object shape) {
+        if (shape instanceof Point) {
+            return PointUtil.distance(point, (Point) shape);
+        } else if (shape instanceof Segment) {
+            return SegmentUtil.segmentDistance(point, (Segment) shape);
+        } else if (shape instanceof Round) {
+            return RoundUtil.distance(point, (Round) shape);
+        } else if (shape instanceof Triangle) {
+            Triangle triangle = (Triangle) shape;
+            return distance(point, new Point[]{triangle.getP1(), triangle.getP2(), triangle.getP3()});
+        } else if (shape instanceof Polygon) {
+            return distance(point, (Polygon) shape);
+        }
+        throw new IllegalArgumentException("不支持的图形类型:" + shape.getClass().getName());
+    }
+
+    private static double distance(Point point, Point[] points) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < points.length; i++) {
+            Point p1 = points[i];
+            Point p2 = points[(i + 1) % points.length];
+            min = Math.min(min, SegmentUtil.segmentDistance(point.getX(), point.getY(),
+                    p1.getX(), p1.getY(), p2.getX(), p2.getY()));
+        }
+        return min;
+    }
+
+    private static double distance(Point point, Polygon polygon) {
+        double min = Double.POSITIVE_INFINITY;
+        int n = polygon.size();
+        for (int i = 0; i < n; i++) {
+            Point p1 = polygon.getPoint(i);
+            Point p2 = polygon.getPoint((i + 1) % n);
+            min = Math.min(min, SegmentUtil.segmentDistance(point.getX(), point.getY(),
+                    p1.getX(), p1.getY(), p2.getX(), p2.getY()));
+        }
+        return min;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void search(double minX, double minY, double maxX, double maxY, List<T> result) {
+        if (size == 0) {
+            return;
+        }
+        List<Node> stack = new ArrayList<Node>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            for (Box child : node.children) {
+                if (child.intersects(minX, minY, maxX, maxY)) {
+                    if (node.leaf()) {
+                        result.add((T) ((Entry) child).shape);
+                    } else {
+                        stack.add((Node) child);
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertEntry(Entry entry) {
+        Node sibling = insert(root, entry);
+        if (sibling != null) {
+            Node newRoot = new Node(root.height + 1);
+            newRoot.add(root);
+            newRoot.add(sibling);
+            root = newRoot;
+        }
+    }
+
+    /**
+     * 将图形插入node的子树,node分裂时返回分裂出的新节点
+     */
+    private static Node insert(Node node, Entry entry) {
+        if (node.leaf()) {
+            node.add(entry);
+        } else {
+            Node child = chooseSubtree(node, entry);
+            Node sibling = insert(child, entry);
+            //子节点的包围盒的并集仍然等于原包围盒加上新图形的包围盒
+            node.extend(entry);
+            if (sibling != null) {
+                node.children.add(sibling);
+            }
+        }
+        return node.children.size() > MAX_ENTRIES ? split(node) : null;
+    }
+
+    /**
+     * 选择加入图形后面积增加最少的子节点,增加相同时选择面积较小的
+     */
+    private static Node chooseSubtree(Node node, Box box) {
+        Node best = null;
+        double bestEnlargement = Double.POSITIVE_INFINITY;
+        double bestArea = Double.POSITIVE_INFINITY;
+        for (Box child : node.children) {
+            double area = child.area();
+            double enlargement = child.unionArea(box) - area;
+            if (enlargement < bestEnlargement || (enlargement == bestEnlargement && area < bestArea)) {
+                best = (Node) child;
+                bestEnlargement = enlargement;
+                bestArea = area;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 二次分裂算法:选择合并后浪费面积最大的两个子节点作为两组的种子,
+     * 其余的子节点依次分给加入后面积增加较少的一组,并保证每组至少有MIN_ENTRIES个子节点
+     */
+    private static Node split(Node node) {
+        List<Box> children = new ArrayList<Box>(node.children);
+        int seed1 = 0;
+        int seed2 = 1;
+        double worst = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < children.size(); i++) {
+            for (int j = i + 1; j < children.size(); j++) {
+                Box b1 = children.get(i);
+                Box b2 = children.get(j);
+                double waste = b1.unionArea(b2) - b1.area() - b2.area();
+                if (waste > worst) {
+                    worst = waste;
+                    seed1 = i;
+                    seed2 = j;
+                }
+            }
+        }
+        Node group1 = node;
+        Node group2 = new Node(node.height);
+        group1.children.clear();
+        group1.reset();
+        group1.add(children.get(seed1));
+        group2.add(children.get(seed2));
+        children.remove(seed2);
+        children.remove(seed1);
+
+        while (!children.isEmpty()) {
+            if (group1.children.size() + children.size() == MIN_ENTRIES) {
+                for (Box child : children) {
+                    group1.add(child);
+                }
+                break;
+            }
+            if (group2.children.size() + children.size() == MIN_ENTRIES) {
+                for (Box child : children) {
+                    group2.add(child);
+                }
+                break;
+            }
+            //选择对两组偏好差别最大的子节点
+            int next = 0;
+            double maxDifference = Double.NEGATIVE_INFINITY;
+            double nextD1 = 0;
+            double nextD2 = 0;
+            for (int i = 0; i < children.size(); i++) {
+                Box child = children.get(i);
+                double d1 = group1.unionArea(child) - group1.area();
+                double d2 = group2.unionArea(child) - group2.area();
+                double difference = Math.abs(d1 - d2);
+                if (difference > maxDifference) {
+                    maxDifference = difference;
+                    next = i;
+                    nextD1 = d1;
+                    nextD2 = d2;
+                }
+            }
+            Box child = children.remove(next);
+            if (nextD1 < nextD2 || (nextD1 == nextD2 && group1.children.size() <= group2.children.size())) {
+                group1.add(child);
+            } else {
+                group2.add(child);
+            }
+        }
+        return group2;
+    }
+
+    /**
+     * 从node的子树中删除图形,不足最小数量的子节点被解散,其中的图形加入orphans
+     */
+    private static boolean delete(Node node, Entry target, List<Entry> orphans) {
+        if (node.leaf()) {
+            for (int i = 0; i < node.children.size(); i++) {
+                if (((Entry) node.children.get(i)).shape == target.shape) {
+                    node.children.remove(i);
+                    node.recompute();
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int i = 0; i < node.children.size(); i++) {
+            Node child = (Node) node.children.get(i);
+            if (child.contains(target) && delete(child, target, orphans)) {
+                if (child.children.size() < MIN_ENTRIES) {
+                    node.children.remove(i);
+                    collect(child, orphans);
+                }
+                node.recompute();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collect(Node node, List<Entry> entries) {
+        for (Box child : node.children) {
+            if (node.leaf()) {
+                entries.add((Entry) child);
+            } else {
+                collect((Node) child, entries);
+            }
+        }
+    }
+
+    /**
+     * STR批量装载:按包围盒中心的横坐标排序后切成竖条,每个竖条内按中心的纵坐标排序后每MAX_ENTRIES个装成一个节点,
+     * 逐层向上直到只剩一个节点
+     */
+    private static Node pack(List<Box> items) {
+        int height = 1;
+        while (items.size() > MAX_ENTRIES) {
+            int count = items.size();
+            int nodeCount = (count + MAX_ENTRIES - 1) / MAX_ENTRIES;
+            int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+            int sliceSize = sliceCount * MAX_ENTRIES;
+            Collections.sort(items, CENTER_X);
+            List<Box> nodes = new ArrayList<Box>(nodeCount);
+            for (int start = 0; start < count; start += sliceSize) {
+                List<Box> slice = items.subList(start, Math.min(start + sliceSize, count));
+                Collections.sort(slice, CENTER_Y);
+                for (int i = 0; i < slice.size(); i += MAX_ENTRIES) {
+                    Node node = new Node(height);
+                    for (Box item : slice.subList(i, Math.min(i + MAX_ENTRIES, slice.size()))) {
+                        node.add(item);
+                    }
+                    nodes.add(node);
+                }
+            }
+            items = nodes;
+            height++;
+        }
+        Node root = new Node(height);
+        for (Box item : items) {
+            root.add(item);
+        }
+        return root;
+    }
+
+    private static final Comparator<Box> CENTER_X = new Comparator<Box>() {
+        public int compare(Box b1, Box b2) {
+            return Double.compare(b1.minX + b1.maxX, b2.minX + b2.maxX);
+        }
+    };
+
+    private static final Comparator<Box> CENTER_Y = new Comparator<Box>() {
+        public int compare(Box b1, Box b2) {
+            return Double.compare(b1.minY + b1.maxY, b2.minY + b2.maxY);
+        }
+    };
+
+    /**
+     * 节点和图形共用的包围盒
+     */
+    private static class Box {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+
+        double area() {
+            return (maxX - minX) * (maxY - minY);
+        }
+
+        double unionArea(Box box) {
+            return (Math.max(maxX, box.maxX) - Math.min(minX, box.minX))
+                    * (Math.max(maxY, box.maxY) - Math.min(minY, box.minY));
+        }
+
+        boolean intersects(double minX, double minY, double maxX, double maxY) {
+            return this.minX <= maxX && minX <= this.maxX && this.minY <= maxY && minY <= this.maxY;
+        }
+
+        boolean contains(Box box) {
+            return minX <= box.minX && box.maxX <= maxX && minY <= box.minY && box.maxY <= maxY;
+        }
+
+        /**
+         * 点(x,y)到包围盒的距离,点在包围盒内时为0
+         */
+        double distance(double x, double y) {
+            double dx = Math.max(Math.max(minX - x, x - maxX), 0);
+            double dy = Math.max(Math.max(minY - y, y - maxY), 0);
+            return Math.sqrt(dx * dx + dy * dy);
+        }
+
+        void extend(Box box) {
+            minX = Math.min(minX, box.minX);
+            minY = Math.min(minY, box.minY);
+            maxX = Math.max(maxX, box.maxX);
+            maxY = Math.max(maxY, box.maxY);
+        }
+
+        void reset() {
+            minX = Double.POSITIVE_INFINITY;
+            minY = Double.POSITIVE_INFINITY;
+            maxX = Double.NEGATIVE_INFINITY;
+            maxY = Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    private static class Entry extends Box {
+        final Object shape;
+
+        Entry(Object shape) {
+            this(shape, getBoundingBox(shape));
+        }
+
+        Entry(Object shape, BoundingBox box) {
+            if (shape == null || box == null) {
+                throw new NullPointerException("图形和包围盒不能为null");
+            }
+            if (!box.isFinite()) {
+                throw new IllegalArgumentException("包围盒必须是有限的");
+            }
+            this.shape = shape;
+            minX = box.getMinX();
+            minY = box.getMinY();
+            maxX = box.getMaxX();
+            maxY = box.getMaxY();
+        }
+    }
+
+    /**
+     * 树的节点,叶子节点的高度为1,子节点是图形;其余节点的子节点是高度少1的节点
+     */
+    private static class Node extends Box {
+        final int height;
+        final List<Box> children = new ArrayList<Box>(MAX_ENTRIES + 1);
+
+        Node(int height) {
+            this.height = height;
+        }
+
+        boolean leaf() {
+            return height == 1;
+        }
+
+        void add(Box child) {
+            children.add(child);
+            extend(child);
+        }
+
+        void recompute() {
+            reset();
+            for (Box child : children) {
+                extend(child);
+            }
+        }
+    }
+
+    private static class Candidate implements Comparable<Candidate> {
+        final Box item;
+        final double distance;
+
+        Candidate(Box item, double distance) {
+            this.item = item;
+            this.distance = distance;
+        }
+
+        public int compareTo(Candidate o) {
+            return Double.compare(distance, o.distance);
+        }
+    }
+}
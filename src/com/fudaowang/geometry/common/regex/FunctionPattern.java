@@ -3,7 +3,8 @@ package com.fudaowang.geometry.common.regex;
 import java.util.regex.Pattern;
 
 /**
- * 解析几何图形信息读取用正则表达式
+ * 解析几何图形信息读取用正则表达式.
+ * 正则表达式在类加载时编译一次,各方法返回同一个Pattern实例,Pattern不可变,可以在多个线程中共享.
  * Created with IntelliJ IDEA.
  * User: dongxin
  * Date: 3/7/13
@@ -11,6 +12,12 @@ import java.util.regex.Pattern;
  * To change this template use File | Settings | File Templates.
  */
 public class FunctionPattern {
+    private static final Pattern LINE_PATTERN = Pattern.compile("SimpleFunction\\((\\-?[\\d\\.]+),(\\-?[\\d\\.]+),(\\-?[\\d\\.]+)[\\-\\d,]+\\)");
+    private static final Pattern PARABOLA_PATTERN = Pattern.compile("Parabola\\((\\-?[\\d\\.]+),(\\-?[\\d\\.]+),(\\-?[\\d\\.]+),([\\-\\d,]+)\\)");
+    private static final Pattern HYPERBOLA_PATTERN = Pattern.compile("InverseFunction\\((\\-?\\d+\\.?\\d*),(\\-?\\d+\\.?\\d*),(\\-?\\d+\\.?\\d*)[\\d\\-,]+\\)\n");
+    private static final Pattern COORDINATE_PATTERN = Pattern.compile("\\[X:([\\d\\.]+),Y:([\\d\\.]+),up:([\\d\\.]+),down:([\\d\\.]+),left:([\\d\\.]+),right:([\\d\\.]+)");
+    private static final Pattern ORIGIN_POINT_PATTERN = Pattern.compile("YUANDIAN,([\\d\\.]+),([\\d\\.]+)");
+
     /**
      * 组1:直线的系数A
      * 组2:直线的系数B
@@ -19,7 +26,7 @@ public class FunctionPattern {
      * @return 匹配直线的正则表达式
      */
     public static Pattern linePattern() {
-        return Pattern.compile("SimpleFunction\\((\\-?[\\d\\.]+),(\\-?[\\d\\.]+),(\\-?[\\d\\.]+)[\\-\\d,]+\\)");
+        return LINE_PATTERN;
     }
 
     /**
@@ -30,7 +37,7 @@ public class FunctionPattern {
      * @return 匹配抛物线的正则表达式
      */
     public static Pattern parabolaPattern() {
-        return Pattern.compile("Parabola\\((\\-?[\\d\\.]+),(\\-?[\\d\\.]+),(\\-?[\\d\\.]+),([\\-\\d,]+)\\)");
+        return PARABOLA_PATTERN;
     }
 
     /**
@@ -41,7 +48,7 @@ public class FunctionPattern {
      * @return 匹配双曲线的正则表达式
      */
     public static Pattern hyperbolaPattern() {
-        return Pattern.compile("InverseFunction\\((\\-?\\d+\\.?\\d*),(\\-?\\d+\\.?\\d*),(\\-?\\d+\\.?\\d*)[\\d\\-,]+\\)\n");
+        return HYPERBOLA_PATTERN;
     }
 
     /**
@@ -55,7 +62,7 @@ public class FunctionPattern {
      * @return 匹配坐标系的正则表达式
      */
     public static Pattern coordinatePattern() {
-        return Pattern.compile("\\[X:([\\d\\.]+),Y:([\\d\\.]+),up:([\\d\\.]+),down:([\\d\\.]+),left:([\\d\\.]+),right:([\\d\\.]+)");
+        return COORDINATE_PATTERN;
     }
 
     /**
@@ -65,6 +72,6 @@ public class FunctionPattern {
      * @return 匹配坐标系原点的正则表达式
      */
     public static Pattern originPointPattern() {
-        return Pattern.compile("YUANDIAN,([\\d\\.]+),([\\d\\.]+)");
+        return ORIGIN_POINT_PATTERN;
     }
 }
@@ -3,7 +3,8 @@ package com.fudaowang.geometry.common.regex;
 import java.util.regex.Pattern;
 
 /**
- * 常用的几何图形信息读取用的正则表达式
+ * 常用的几何图形信息读取用的正则表达式.
+ * 正则表达式在类加载时编译一次,各方法返回同一个Pattern实例,Pattern不可变,可以在多个线程中共享.
  * Created with IntelliJ IDEA.
  * User: dongxin
  * Date: 3/7/13
@@ -11,6 +12,10 @@ import java.util.regex.Pattern;
  * To change this template use File | Settings | File Templates.
  */
 public class GraphPattern {
+    private static final Pattern POINT_PATTERN = Pattern.compile("(\\w+)\\((\\-?[\\d\\.]+),(\\-?[\\d\\.]+)[\\-\\d,]+");
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("\\((\\w+),(\\w+)\\)");
+    private static final Pattern ROUND_PATTERN = Pattern.compile("\\((\\w+),([\\d\\.]+)[\\d\\-,]+\\)");
+
     /**
      * 组1:点的名称,限定为字母
      * 组2:点的横坐标
@@ -19,7 +24,7 @@ public class GraphPattern {
      * @return 匹配点的正则表达式
      */
     public static Pattern pointPattern() {
-        return Pattern.compile("(\\w+)\\((\\-?[\\d\\.]+),(\\-?[\\d\\.]+)[\\-\\d,]+");
+        return POINT_PATTERN;
     }
 
     /**
@@ -29,7 +34,7 @@ public class GraphPattern {
      * @return 匹配线段的正则表达式
      */
     public static Pattern segmentPattern() {
-        return Pattern.compile("\\((\\w+),(\\w+)\\)");
+        return SEGMENT_PATTERN;
     }
 
     /**
@@ -39,6 +44,6 @@ public class GraphPattern {
      * @return 匹配圆的正则表达式
      */
     public static Pattern roundPattern() {
-        return Pattern.compile("\\((\\w+),([\\d\\.]+)[\\d\\-,]+\\)");
+        return ROUND_PATTERN;
     }
 }
@@ -0,0 +1,242 @@
+package com.fudaowang.geometry.common.scene;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.index.RTree;
+import com.fudaowang.geometry.common.util.NumberUtil;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 增量维护场景中图形两两之间的交点,用于交互编辑时拖动图形.
+ * 包围盒有限的图形保存在R树中,加入,删除或替换一个图形时只用R树查找与它的包围盒相交的图形,
+ * 重新计算这一个图形与它们的交点,每次修改的代价与场景的大小无关,只与附近的图形数有关.
+ * 没有窗口时直线,抛物线等无界图形的包围盒是无限的,它们不放进R树,每次修改都与它们比较.
+ * 修改的结果以IntersectionDelta的形式返回.求交规则与SceneIntersector相同.
+ * 图形按引用区分,修改图形时应构造新的图形并调用replace.这个类不是线程安全的.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class IncrementalIntersector {
+    private static final ShapeIntersection[] EMPTY = new ShapeIntersection[0];
+
+    private final double precision;
+    private final BoundingBox window;
+    private final RTree<Object> index = new RTree<Object>();
+    private final List<Object> unbounded = new ArrayList<Object>();
+    private final Map<Object, Entry> entries = new IdentityHashMap<Object, Entry>();
+
+    /**
+     * 构造在最小精度范围内比较包围盒,不限制范围的增量求交器
+     */
+    public IncrementalIntersector() {
+        this(NumberUtil.MIN_VALUE, null);
+    }
+
+    /**
+     * 构造增量求交器
+     *
+     * @param precision 比较包围盒时使用的精度
+     * @param window    只求窗口内的交点,为null时不限制范围
+     */
+    public IncrementalIntersector(double precision, BoundingBox window) {
+        if (Double.isNaN(precision) || Double.isInfinite(precision)) {
+            throw new IllegalArgumentException("精度必须是一个有效值");
+        }
+        this.precision = Math.max(precision, NumberUtil.MIN_VALUE);
+        this.window = window;
+    }
+
+    /**
+     * 加入一个图形,求它与已有图形的交点
+     *
+     * @param shape 图形,可以是Line,HalfLine,Segment,Round,Parabola和Hyperbola
+     * @return 新增的交点
+     */
+    public IntersectionDelta add(Object shape) {
+        IntersectionDelta delta = new IntersectionDelta();
+        add(shape, delta);
+        return delta;
+    }
+
+    /**
+     * 删除一个图形和它上面的交点
+     *
+     * @param shape 图形
+     * @return 删除的交点, 图形不存在时没有变化
+     */
+    public IntersectionDelta remove(Object shape) {
+        IntersectionDelta delta = new IntersectionDelta();
+        remove(shape, delta);
+        return delta;
+    }
+
+    /**
+     * 用新的图形替换已有的图形,例如拖动后的线段.相当于先删除再加入,变化合并在一起返回
+     *
+     * @param oldShape 已有的图形
+     * @param newShape 新的图形
+     * @return 交点的变化
+     */
+    public IntersectionDelta replace(Object oldShape, Object newShape) {
+        if (!entries.containsKey(oldShape)) {
+            throw new IllegalArgumentException("图形不存在");
+        }
+        IntersectionDelta delta = new IntersectionDelta();
+        remove(oldShape, delta);
+        add(newShape, delta);
+        return delta;
+    }
+
+    /**
+     * 判断是否包含给定的图形
+     *
+     * @param shape 图形
+     * @return 包含时返回true
+     */
+    public boolean contains(Object shape) {
+        return entries.containsKey(shape);
+    }
+
+    /**
+     * 获得图形的个数
+     *
+     * @return 图形的个数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 获得当前所有的交点,顺序不确定
+     *
+     * @return 交点的列表
+     */
+    public List<ShapeIntersection> getIntersections() {
+        List<ShapeIntersection> result = new ArrayList<ShapeIntersection>();
+        for (Map.Entry<Object, Entry> e : entries.entrySet()) {
+            for (ShapeIntersection[] intersections : e.getValue().pairs.values()) {
+                for (ShapeIntersection intersection : intersections) {
+                    //每个交点在两个图形中各保存一次,只从第一个图形取
+                    if (intersection.getShape1() == e.getKey()) {
+                        result.add(intersection);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获得给定图形上的交点
+     *
+     * @param shape 图形
+     * @return 交点的列表, 图形不存在时为空
+     */
+    public List<ShapeIntersection> getIntersections(Object shape) {
+        List<ShapeIntersection> result = new ArrayList<ShapeIntersection>();
+        Entry entry = entries.get(shape);
+        if (entry != null) {
+            for (ShapeIntersection[] intersections : entry.pairs.values()) {
+                for (ShapeIntersection intersection : intersections) {
+                    result.add(intersection);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void add(Object shape, IntersectionDelta delta) {
+        if (shape == null) {
+            throw new NullPointerException("图形为null");
+        }
+        if (entries.containsKey(shape)) {
+            throw new IllegalArgumentException("图形已存在");
+        }
+        BoundingBox box = SceneIntersector.getBoundingBox(shape, window, precision);
+        Entry entry = new Entry(box);
+        entries.put(shape, entry);
+        if (box == null) {
+            return;
+        }
+
+        List<Object> candidates = index.search(new BoundingBox(box.getMinX() - precision, box.getMinY() - precision,
+                box.getMaxX() + precision, box.getMaxY() + precision));
+        for (Object other : unbounded) {
+            if (box.intersects(entries.get(other).box, precision)) {
+                candidates.add(other);
+            }
+        }
+        for (Object other : candidates) {
+            ShapeIntersection[] intersections = intersect(shape, other);
+            if (intersections.length > 0) {
+                entry.pairs.put(other, intersections);
+                entries.get(other).pairs.put(shape, intersections);
+                for (ShapeIntersection intersection : intersections) {
+                    delta.added.add(intersection);
+                }
+            }
+        }
+
+        if (box.isFinite()) {
+            index.insert(shape, box);
+        } else {
+            unbounded.add(shape);
+        }
+    }
+
+    private void remove(Object shape, IntersectionDelta delta) {
+        Entry entry = entries.remove(shape);
+        if (entry == null) {
+            return;
+        }
+        for (Map.Entry<Object, ShapeIntersection[]> pair : entry.pairs.entrySet()) {
+            entries.get(pair.getKey()).pairs.remove(shape);
+            for (ShapeIntersection intersection : pair.getValue()) {
+                delta.removed.add(intersection);
+            }
+        }
+        if (entry.box == null) {
+            return;
+        }
+        if (entry.box.isFinite()) {
+            index.delete(shape, entry.box);
+        } else {
+            for (int i = 0; i < unbounded.size(); i++) {
+                if (unbounded.get(i) == shape) {
+                    unbounded.remove(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    private ShapeIntersection[] intersect(Object shape, Object other) {
+        Point[] points = SceneIntersector.intersect(shape, other);
+        if (points.length == 0) {
+            return EMPTY;
+        }
+        List<ShapeIntersection> result = new ArrayList<ShapeIntersection>(points.length);
+        for (Point point : points) {
+            if (window == null || window.contains(point.getX(), point.getY())) {
+                result.add(new ShapeIntersection(other, shape, point));
+            }
+        }
+        return result.toArray(new ShapeIntersection[result.size()]);
+    }
+
+    /**
+     * 图形的包围盒和与其他图形的交点
+     */
+    private static class Entry {
+        final BoundingBox box;
+        final Map<Object, ShapeIntersection[]> pairs = new IdentityHashMap<Object, ShapeIntersection[]>();
+
+        Entry(BoundingBox box) {
+            this.box = box;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fudaowang.geometry.common.scene;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一次修改引起的交点变化,包括新增的交点和删除的交点.
+ * 删除的交点与当初新增时是同一个对象,可以按引用从外部保存的交点集中移除
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class IntersectionDelta {
+    protected final List<ShapeIntersection> added = new ArrayList<ShapeIntersection>();
+    protected final List<ShapeIntersection> removed = new ArrayList<ShapeIntersection>();
+
+    /**
+     * 获得新增的交点
+     *
+     * @return 新增的交点
+     */
+    public List<ShapeIntersection> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    /**
+     * 获得删除的交点
+     *
+     * @return 删除的交点
+     */
+    public List<ShapeIntersection> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * 判断是否没有变化
+     *
+     * @return 没有新增和删除的交点时返回true
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    public String toString() {
+        return "IntersectionDelta{" +
+                "added=" + added.size() +
+                ", removed=" + removed.size() +
+                '}';
+    }
+}
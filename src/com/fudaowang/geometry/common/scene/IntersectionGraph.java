@@ -0,0 +1,195 @@
+package com.fudaowang.geometry.common.scene;
+
+import com.fudaowang.geometry.common.graph.Point;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 图形与交点之间的关系图:每个交点关联经过它的所有图形,每个图形关联它上面的所有交点.
+ * 图形和交点都用序号表示,图形的序号是求交时输入集合中的序号,交点的序号按去重后第一次出现的顺序排列.
+ * 关系用压缩的邻接数组保存,构造后不可改变.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class IntersectionGraph {
+    private final List<?> shapes;
+    private final List<Point> points;
+    private final int[] pointOffsets;
+    private final int[] pointShapes;
+    private final int[] shapeOffsets;
+    private final int[] shapePoints;
+
+    /**
+     * 构造关系图
+     *
+     * @param shapes 图形
+     * @param points 去重后的交点
+     * @param hits   相交记录,每三个数依次是第一个图形的序号,第二个图形的序号和交点的序号
+     * @param length 相交记录的数组中有效的长度
+     */
+    public IntersectionGraph(List<?> shapes, List<Point> points, int[] hits, int length) {
+        if (shapes == null || points == null || hits == null) {
+            throw new NullPointerException("图形,交点和相交记录不能为null");
+        }
+        if (length % 3 != 0 || length > hits.length) {
+            throw new IllegalArgumentException("相交记录的长度必须是3的倍数且不能超过数组长度");
+        }
+        this.shapes = Collections.unmodifiableList(shapes);
+        this.points = Collections.unmodifiableList(points);
+
+        //每条相交记录产生两条点到图形的边和两条图形到点的边
+        int[] pointEdges = new int[length / 3 * 2];
+        int[] shapeEdges = new int[length / 3 * 2];
+        int[] pointOwners = new int[pointEdges.length];
+        int[] shapeOwners = new int[shapeEdges.length];
+        for (int i = 0, e = 0; i < length; i += 3, e += 2) {
+            pointOwners[e] = hits[i + 2];
+            pointEdges[e] = hits[i];
+            pointOwners[e + 1] = hits[i + 2];
+            pointEdges[e + 1] = hits[i + 1];
+            shapeOwners[e] = hits[i];
+            shapeEdges[e] = hits[i + 2];
+            shapeOwners[e + 1] = hits[i + 1];
+            shapeEdges[e + 1] = hits[i + 2];
+        }
+        pointOffsets = new int[points.size() + 1];
+        pointShapes = compress(pointOwners, pointEdges, pointOffsets);
+        shapeOffsets = new int[shapes.size() + 1];
+        shapePoints = compress(shapeOwners, shapeEdges, shapeOffsets);
+    }
+
+    /**
+     * 获得所有的图形
+     *
+     * @return 图形的列表
+     */
+    public List<?> getShapes() {
+        return shapes;
+    }
+
+    /**
+     * 获得去重后的所有交点
+     *
+     * @return 交点的列表
+     */
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    /**
+     * 获得经过给定交点的图形的序号
+     *
+     * @param pointIndex 交点的序号
+     * @return 图形的序号, 从小到大排列
+     */
+    public int[] getShapeIndexes(int pointIndex) {
+        return Arrays.copyOfRange(pointShapes, pointOffsets[pointIndex], pointOffsets[pointIndex + 1]);
+    }
+
+    /**
+     * 获得给定图形上交点的序号
+     *
+     * @param shapeIndex 图形的序号
+     * @return 交点的序号, 从小到大排列
+     */
+    public int[] getPointIndexes(int shapeIndex) {
+        return Arrays.copyOfRange(shapePoints, shapeOffsets[shapeIndex], shapeOffsets[shapeIndex + 1]);
+    }
+
+    /**
+     * 获得经过给定交点的图形
+     *
+     * @param pointIndex 交点的序号
+     * @return 图形的列表
+     */
+    public List<Object> getShapes(int pointIndex) {
+        final int from = pointOffsets[pointIndex];
+        final int to = pointOffsets[pointIndex + 1];
+        return new AbstractList<Object>() {
+            @Override
+            public Object get(int index) {
+                return shapes.get(pointShapes[from + index]);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    /**
+     * 获得给定图形上的交点
+     *
+     * @param shapeIndex 图形的序号
+     * @return 交点的列表
+     */
+    public List<Point> getPoints(int shapeIndex) {
+        final int from = shapeOffsets[shapeIndex];
+        final int to = shapeOffsets[shapeIndex + 1];
+        return new AbstractList<Point>() {
+            @Override
+            public Point get(int index) {
+                return points.get(shapePoints[from + index]);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    /**
+     * 获得关系图中边的总数,即每个交点经过的图形数之和
+     *
+     * @return 边的总数
+     */
+    public int getEdgeCount() {
+        return pointShapes.length;
+    }
+
+    /**
+     * 把(owner,target)形式的边按owner分组,组内排序并去掉重复的边
+     */
+    private static int[] compress(int[] owners, int[] targets, int[] offsets) {
+        int groups = offsets.length - 1;
+        int[] counts = new int[groups + 1];
+        for (int owner : owners) {
+            counts[owner + 1]++;
+        }
+        for (int i = 0; i < groups; i++) {
+            counts[i + 1] += counts[i];
+        }
+        int[] sorted = new int[targets.length];
+        int[] cursor = counts.clone();
+        for (int i = 0; i < owners.length; i++) {
+            sorted[cursor[owners[i]]++] = targets[i];
+        }
+        int size = 0;
+        for (int g = 0; g < groups; g++) {
+            offsets[g] = size;
+            int from = counts[g];
+            int to = counts[g + 1];
+            Arrays.sort(sorted, from, to);
+            for (int i = from; i < to; i++) {
+                if (i == from || sorted[i] != sorted[i - 1]) {
+                    sorted[size++] = sorted[i];
+                }
+            }
+        }
+        offsets[groups] = size;
+        return Arrays.copyOf(sorted, size);
+    }
+
+    public String toString() {
+        return "IntersectionGraph{" +
+                "shapes=" + shapes.size() +
+                ", points=" + points.size() +
+                ", edges=" + pointShapes.length +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+package com.fudaowang.geometry.common.scene;
+
+import com.fudaowang.geometry.common.graph.Coordinate;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 从题目文档中解析出的几何图形集合,包括坐标系,命名的点,线段,圆和函数图像
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class Scene {
+    protected Coordinate coordinate;
+    protected final Map<String, Point> points = new LinkedHashMap<String, Point>();
+    protected final List<Segment> segments = new ArrayList<Segment>();
+    protected final List<Round> rounds = new ArrayList<Round>();
+    protected final List<Line> lines = new ArrayList<Line>();
+    protected final List<Parabola> parabolas = new ArrayList<Parabola>();
+    protected final List<Hyperbola> hyperbolas = new ArrayList<Hyperbola>();
+
+    /**
+     * 获得坐标系
+     *
+     * @return 坐标系, 若文档中没有坐标系信息则返回null
+     */
+    public Coordinate getCoordinate() {
+        return coordinate;
+    }
+
+    /**
+     * 设定坐标系
+     *
+     * @param coordinate 坐标系
+     */
+    public void setCoordinate(Coordinate coordinate) {
+        this.coordinate = coordinate;
+    }
+
+    /**
+     * 获得按名称保存的点,顺序与文档中出现的顺序一致
+     *
+     * @return 点的名称到点的映射
+     */
+    public Map<String, Point> getPoints() {
+        return points;
+    }
+
+    /**
+     * 获得给定名称的点
+     *
+     * @param name 点的名称
+     * @return 点, 若不存在则返回null
+     */
+    public Point getPoint(String name) {
+        return points.get(name);
+    }
+
+    /**
+     * 获得所有的线段
+     *
+     * @return 线段的列表
+     */
+    public List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * 获得所有的圆
+     *
+     * @return 圆的列表
+     */
+    public List<Round> getRounds() {
+        return rounds;
+    }
+
+    /**
+     * 获得所有的直线
+     *
+     * @return 直线的列表
+     */
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    /**
+     * 获得所有的抛物线
+     *
+     * @return 抛物线的列表
+     */
+    public List<Parabola> getParabolas() {
+        return parabolas;
+    }
+
+    /**
+     * 获得所有的反比例函数图像
+     *
+     * @return 反比例函数的列表
+     */
+    public List<Hyperbola> getHyperbolas() {
+        return hyperbolas;
+    }
+
+    public String toString() {
+        return "Scene{" +
+                "coordinate=" + coordinate +
+                ", points=" + points +
+                ", segments=" + segments +
+                ", rounds=" + rounds +
+                ", lines=" + lines +
+                ", parabolas=" + parabolas +
+                ", hyperbolas=" + hyperbolas +
+                '}';
+    }
+}
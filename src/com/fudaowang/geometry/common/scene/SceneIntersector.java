@@ -0,0 +1,476 @@
+package com.fudaowang.geometry.common.scene;
+
+import com.fudaowang.geometry.common.function.IntersectionSink;
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.HalfLine;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.PointSet;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.BoundingBoxUtil;
+import com.fudaowang.geometry.common.util.HalfLineUtil;
+import com.fudaowang.geometry.common.util.HyperbolaUtil;
+import com.fudaowang.geometry.common.util.LineUtil;
+import com.fudaowang.geometry.common.util.NumberUtil;
+import com.fudaowang.geometry.common.util.ParabolaUtil;
+import com.fudaowang.geometry.common.util.ParallelUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 求场景中所有直线,射线,线段,圆,抛物线和反比例函数两两之间的交点,结果是图形与交点的关系图.
+ * 先求每个图形的包围盒(无界的图形裁剪到窗口内),按包围盒横坐标的最小值排序后,
+ * 每个图形只与横坐标范围重叠的图形比较,包围盒相交的图形对再按类型调用对应工具类的求交方法.
+ * 并行时按排序后的图形区间拆分任务,在ParallelUtil的线程池中计算,各任务的结果按顺序合并,
+ * 因此并行与串行的结果完全相同.求交时交点以坐标的形式直接写入任务的结果,不为每个交点创建Point对象,
+ * 合并到PointSet中时在精度范围内重合的交点只保留第一个.
+ * 工具类中没有求交方法的图形对(圆与圆,抛物线与反比例函数等)不计算.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class SceneIntersector {
+    /**
+     * 并行计算时每个任务处理的最少图形数
+     */
+    private static final int THRESHOLD = 32;
+
+    private static final int LINE = 0;
+    private static final int SEGMENT = 1;
+    private static final int ROUND = 2;
+    private static final int PARABOLA = 3;
+    private static final int HYPERBOLA = 4;
+
+    private static final BoundingBox UNLIMITED = new BoundingBox(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    private final double precision;
+    private final BoundingBox window;
+
+    /**
+     * 构造在最小精度范围内合并交点,不限制范围的求交器
+     */
+    public SceneIntersector() {
+        this(NumberUtil.MIN_VALUE, null);
+    }
+
+    /**
+     * 构造求交器
+     *
+     * @param precision 合并重合交点和比较包围盒时使用的精度
+     * @param window    只求窗口内的交点,为null时不限制范围
+     */
+    public SceneIntersector(double precision, BoundingBox window) {
+        if (Double.isNaN(precision) || Double.isInfinite(precision)) {
+            throw new IllegalArgumentException("精度必须是一个有效值");
+        }
+        this.precision = Math.max(precision, NumberUtil.MIN_VALUE);
+        this.window = window;
+    }
+
+    /**
+     * 获得精度
+     *
+     * @return 精度
+     */
+    public double getPrecision() {
+        return precision;
+    }
+
+    /**
+     * 获得窗口
+     *
+     * @return 窗口, 不限制范围时返回null
+     */
+    public BoundingBox getWindow() {
+        return window;
+    }
+
+    /**
+     * 并行求场景中所有图形的交点,图形依次是直线,线段,圆,抛物线和反比例函数
+     *
+     * @param scene 场景
+     * @return 关系图
+     */
+    public IntersectionGraph intersect(Scene scene) {
+        return intersect(scene, true);
+    }
+
+    /**
+     * 求场景中所有图形的交点,图形依次是直线,线段,圆,抛物线和反比例函数
+     *
+     * @param scene    场景
+     * @param parallel 是否使用ParallelUtil的线程池并行计算
+     * @return 关系图
+     */
+    public IntersectionGraph intersect(Scene scene, boolean parallel) {
+        if (scene == null) {
+            throw new NullPointerException("场景为null");
+        }
+        List<Object> shapes = new ArrayList<Object>();
+        shapes.addAll(scene.getLines());
+        shapes.addAll(scene.getSegments());
+        shapes.addAll(scene.getRounds());
+        shapes.addAll(scene.getParabolas());
+        shapes.addAll(scene.getHyperbolas());
+        return intersect(shapes, parallel);
+    }
+
+    /**
+     * 求图形之间的交点
+     *
+     * @param shapes   图形,可以是Line,HalfLine,Segment,Round,Parabola和Hyperbola
+     * @param parallel 是否使用ParallelUtil的线程池并行计算
+     * @return 关系图
+     */
+    public IntersectionGraph intersect(List<?> shapes, boolean parallel) {
+        if (shapes == null) {
+            throw new NullPointerException("图形集合为null");
+        }
+        int size = shapes.size();
+        final BoundingBox[] boxes = new BoundingBox[size];
+        int[] kinds = new int[size];
+        List<Integer> visible = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            Object shape = shapes.get(i);
+            kinds[i] = kind(shape);
+            boxes[i] = getBoundingBox(shape, window, precision);
+            if (boxes[i] != null) {
+                visible.add(i);
+            }
+        }
+        Integer[] sorted = visible.toArray(new Integer[visible.size()]);
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            public int compare(Integer i1, Integer i2) {
+                return Double.compare(boxes[i1].getMinX(), boxes[i2].getMinX());
+            }
+        });
+        int[] order = new int[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = sorted[i];
+        }
+
+        boolean split = parallel && order.length > THRESHOLD;
+        Sweep sweep = new Sweep(shapes, kinds, boxes, order, 0, order.length, split);
+        Hits hits = split ? ParallelUtil.getPool().invoke(sweep) : sweep.compute();
+
+        //按顺序合并交点,在精度范围内重合的交点使用同一个序号
+        PointSet set = new PointSet(precision, hits.size / 3 + 1);
+        int[] records = new int[hits.size];
+        for (int i = 0; i < hits.size; i += 3) {
+            double x = hits.coordinates[i / 3 * 2];
+            double y = hits.coordinates[i / 3 * 2 + 1];
+            int index = set.indexOf(x, y);
+            if (index < 0) {
+                index = set.size();
+                set.add(x, y);
+            }
+            records[i] = hits.records[i];
+            records[i + 1] = hits.records[i + 1];
+            records[i + 2] = index;
+        }
+        List<Point> points = new ArrayList<Point>(set);
+        return new IntersectionGraph(new ArrayList<Object>(shapes), points, records, records.length);
+    }
+
+    /**
+     * 按图形的类型求两个图形的交点
+     *
+     * @param shape1 第一个图形
+     * @param shape2 第二个图形
+     * @return 交点, 没有交点或不支持这两种图形时返回长度为0的数组
+     */
+    public static Point[] intersect(Object shape1, Object shape2) {
+        PointBuffer buffer = new PointBuffer(4);
+        intersect(shape1, shape2, buffer);
+        return buffer.toArray();
+    }
+
+    /**
+     * 按图形的类型求两个图形的交点,交点依次传给sink,不创建交点对象
+     *
+     * @param shape1 第一个图形
+     * @param shape2 第二个图形
+     * @param sink   接收交点的回调
+     * @return 交点的个数, 不支持这两种图形时为0
+     */
+    public static int intersect(Object shape1, Object shape2, IntersectionSink sink) {
+        if (sink == null) {
+            throw new NullPointerException("接收交点的回调为null");
+        }
+        return intersect(shape1, kind(shape1), shape2, kind(shape2), new Filter(sink, null));
+    }
+
+    private static int intersect(Object shape1, int kind1, Object shape2, int kind2, Filter filter) {
+        if (kind1 > kind2) {
+            return intersect(shape2, kind2, shape1, kind1, filter);
+        }
+        filter.reset(shape1, shape2);
+        switch (kind1 * 5 + kind2) {
+            case LINE * 5 + LINE:
+                LineUtil.intersect((Line) shape1, (Line) shape2, filter);
+                break;
+            case LINE * 5 + SEGMENT:
+                LineUtil.intersect((Line) shape1, (Segment) shape2, true, filter);
+                break;
+            case LINE * 5 + ROUND:
+                RoundUtil.intersect((Line) shape1, (Round) shape2, filter);
+                break;
+            case LINE * 5 + PARABOLA:
+                ParabolaUtil.intersect((Line) shape1, (Parabola) shape2, filter);
+                break;
+            case LINE * 5 + HYPERBOLA:
+                HyperbolaUtil.intersect((Line) shape1, (Hyperbola) shape2, filter);
+                break;
+            case SEGMENT * 5 + SEGMENT:
+                if (SegmentUtil.linesIntersect((Segment) shape1, (Segment) shape2)) {
+                    LineUtil.intersect((Line) shape1, (Line) shape2, filter);
+                }
+                break;
+            case SEGMENT * 5 + ROUND:
+                RoundUtil.intersect((Segment) shape1, (Round) shape2, filter);
+                break;
+            case SEGMENT * 5 + PARABOLA:
+                ParabolaUtil.intersect((Segment) shape1, (Parabola) shape2, filter);
+                break;
+            case SEGMENT * 5 + HYPERBOLA:
+                //反比例函数只有与直线求交的方法,交点由filter限定在线段上
+                filter.segment = (Segment) shape1;
+                HyperbolaUtil.intersect((Segment) shape1, (Hyperbola) shape2, filter);
+                break;
+            case ROUND * 5 + PARABOLA:
+            case ROUND * 5 + HYPERBOLA:
+                intersectRound((Round) shape1, shape2, kind2, filter);
+                break;
+            default:
+                break;
+        }
+        return filter.count;
+    }
+
+    /**
+     * 求圆与抛物线或反比例函数的交点,四次方程的根保存在filter的数组中.
+     * 放在单独的方法中使上面的分派方法保持较小,可以被内联,只求直线的交点时filter不需要在堆上分配
+     */
+    private static void intersectRound(Round round, Object curve, int kind, Filter filter) {
+        if (kind == PARABOLA) {
+            ParabolaUtil.intersect(round, (Parabola) curve, filter.roots(), filter);
+        } else {
+            HyperbolaUtil.intersect(round, (Hyperbola) curve, filter.roots(), filter);
+        }
+    }
+
+    private static int kind(Object shape) {
+        if (shape instanceof Segment) {
+            return SEGMENT;
+        } else if (shape instanceof Line) {
+            return LINE;
+        } else if (shape instanceof Round) {
+            return ROUND;
+        } else if (shape instanceof Parabola) {
+            return PARABOLA;
+        } else if (shape instanceof Hyperbola) {
+            return HYPERBOLA;
+        } else if (shape == null) {
+            throw new NullPointerException("图形为null");
+        }
+        throw new IllegalArgumentException("不支持的图形类型:" + shape.getClass().getName());
+    }
+
+    /**
+     * 求图形在窗口内的包围盒
+     *
+     * @param shape     图形
+     * @param window    窗口,为null时不限制范围
+     * @param precision 判断有界图形是否在窗口内的精度
+     * @return 包围盒, 图形不经过窗口时返回null
+     */
+    static BoundingBox getBoundingBox(Object shape, BoundingBox window, double precision) {
+        BoundingBox limit = window == null ? UNLIMITED : window;
+        BoundingBox box;
+        switch (kind(shape)) {
+            case SEGMENT:
+                box = ((Segment) shape).getBoundingBox();
+                break;
+            case ROUND:
+                box = ((Round) shape).getBoundingBox();
+                break;
+            case PARABOLA:
+                return BoundingBoxUtil.getBoundingBox((Parabola) shape, limit);
+            case HYPERBOLA:
+                return BoundingBoxUtil.getBoundingBox((Hyperbola) shape, limit);
+            default:
+                return shape instanceof HalfLine ? BoundingBoxUtil.getBoundingBox((HalfLine) shape, limit)
+                        : BoundingBoxUtil.getBoundingBox((Line) shape, limit);
+        }
+        return window == null || BoundingBoxUtil.mayIntersect(box, window, precision) ? box : null;
+    }
+
+    /**
+     * 过滤工具类求得的交点:去掉射线反方向上的交点,线段与反比例函数求交时去掉线段外的交点,
+     * 有窗口时去掉窗口外的交点,其余的传给target.每个任务重复使用同一个实例,
+     * 圆与抛物线,圆与反比例函数求交时四次方程的根也保存在它的数组中
+     */
+    private static class Filter implements IntersectionSink {
+        final IntersectionSink target;
+        final BoundingBox window;
+        private double[] roots;
+        HalfLine halfLine1;
+        HalfLine halfLine2;
+        Segment segment;
+        int count;
+
+        Filter(IntersectionSink target, BoundingBox window) {
+            this.target = target;
+            this.window = window;
+        }
+
+        /**
+         * 获得保存四次方程的根的数组,第一次使用时创建,只求直线和圆的交点时不分配
+         */
+        double[] roots() {
+            if (roots == null) {
+                roots = new double[4];
+            }
+            return roots;
+        }
+
+        void reset(Object shape1, Object shape2) {
+            halfLine1 = shape1 instanceof HalfLine ? (HalfLine) shape1 : null;
+            halfLine2 = shape2 instanceof HalfLine ? (HalfLine) shape2 : null;
+            segment = null;
+            count = 0;
+        }
+
+        public void accept(double x, double y) {
+            if (segment != null && !SegmentUtil.inSegment(x, y, segment.getP1().getX(), segment.getP1().getY(),
+                    segment.getP2().getX(), segment.getP2().getY())) {
+                return;
+            }
+            if (halfLine1 != null && !inHalfLine(x, y, halfLine1)) {
+                return;
+            }
+            if (halfLine2 != null && !inHalfLine(x, y, halfLine2)) {
+                return;
+            }
+            if (window != null && !window.contains(x, y)) {
+                return;
+            }
+            target.accept(x, y);
+            count++;
+        }
+
+        private static boolean inHalfLine(double x, double y, HalfLine halfLine) {
+            return HalfLineUtil.inHalfLine(x, y, halfLine.getX(), halfLine.getY(),
+                    halfLine.getA(), halfLine.getB(), halfLine.getC(), halfLine.getOrientation());
+        }
+    }
+
+    /**
+     * 一段连续的相交记录,每三个数依次是第一个图形的序号,第二个图形的序号和交点的序号(合并前为-1),
+     * 第i条记录的交点坐标保存在coordinates的第2i和2i+1个元素中.
+     * 求交时先设置当前的两个图形序号,再作为IntersectionSink接收交点
+     */
+    private static class Hits implements IntersectionSink {
+        int[] records = new int[48];
+        double[] coordinates = new double[32];
+        int size;
+        int index1;
+        int index2;
+
+        public void accept(double x, double y) {
+            if (size == records.length) {
+                records = Arrays.copyOf(records, size * 2);
+                coordinates = Arrays.copyOf(coordinates, size * 4 / 3);
+            }
+            coordinates[size / 3 * 2] = x;
+            coordinates[size / 3 * 2 + 1] = y;
+            records[size++] = index1;
+            records[size++] = index2;
+            records[size++] = -1;
+        }
+
+        Hits append(Hits other) {
+            if (other.size == 0) {
+                return this;
+            }
+            if (size + other.size > records.length) {
+                int capacity = Math.max(records.length * 2, size + other.size);
+                records = Arrays.copyOf(records, capacity);
+                coordinates = Arrays.copyOf(coordinates, capacity / 3 * 2);
+            }
+            System.arraycopy(other.records, 0, records, size, other.size);
+            System.arraycopy(other.coordinates, 0, coordinates, size / 3 * 2, other.size / 3 * 2);
+            size += other.size;
+            return this;
+        }
+    }
+
+    /**
+     * 处理排序后第from到to个图形,每个图形与其后横坐标范围重叠的图形比较
+     */
+    private class Sweep extends RecursiveTask<Hits> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<?> shapes;
+        private final int[] kinds;
+        private final BoundingBox[] boxes;
+        private final int[] order;
+        private final int from;
+        private final int to;
+        private final boolean parallel;
+
+        Sweep(List<?> shapes, int[] kinds, BoundingBox[] boxes, int[] order, int from, int to, boolean parallel) {
+            this.shapes = shapes;
+            this.kinds = kinds;
+            this.boxes = boxes;
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected Hits compute() {
+            if (parallel && to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                Sweep left = new Sweep(shapes, kinds, boxes, order, from, middle, true);
+                left.fork();
+                Hits right = new Sweep(shapes, kinds, boxes, order, middle, to, true).compute();
+                return left.join().append(right);
+            }
+            Hits hits = new Hits();
+            Filter filter = new Filter(hits, window);
+            for (int i = from; i < to; i++) {
+                int index1 = order[i];
+                BoundingBox box1 = boxes[index1];
+                double maxX = box1.getMaxX() + precision;
+                for (int j = i + 1; j < order.length; j++) {
+                    int index2 = order[j];
+                    BoundingBox box2 = boxes[index2];
+                    if (box2.getMinX() > maxX) {
+                        break;
+                    }
+                    if (!box1.intersects(box2, precision)) {
+                        continue;
+                    }
+                    Object shape1 = shapes.get(index1);
+                    Object shape2 = shapes.get(index2);
+                    hits.index1 = Math.min(index1, index2);
+                    hits.index2 = Math.max(index1, index2);
+                    intersect(shape1, kinds[index1], shape2, kinds[index2], filter);
+                }
+            }
+            return hits;
+        }
+    }
+}
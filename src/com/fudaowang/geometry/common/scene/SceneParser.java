@@ -0,0 +1,390 @@
+package com.fudaowang.geometry.common.scene;
+
+import com.fudaowang.geometry.common.graph.Coordinate;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.NumberUtil;
+import com.fudaowang.geometry.common.util.PointUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 题目文档的解析器,识别的记录与regex包中的正则表达式一致:
+ * <ul>
+ * <li>SimpleFunction(a,b,c,...) 直线ax+by+c=0</li>
+ * <li>Parabola(a,b,c,...) 抛物线y=ax^2+bx+c</li>
+ * <li>InverseFunction(k,x,y,...) 以(x,y)为原点的反比例函数</li>
+ * <li>[X:spaceX,Y:spaceY,up:..,down:..,left:..,right:..] 坐标系,原点由YUANDIAN,x,y给出</li>
+ * <li>A(x,y,...) 名称为A的点</li>
+ * <li>(A,B) 以点A和点B为端点的线段</li>
+ * <li>(A,r,...) 以点A为圆心,r为半径的圆</li>
+ * </ul>
+ * 解析只从前向后扫描一遍文本,不回溯,不使用正则表达式,直接构造图形对象.
+ * 无法识别的文本和不合法的记录(如系数全为0的直线)会被跳过.
+ * 线段和圆引用的点可以在文档中的任意位置定义,在扫描结束后统一查找.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class SceneParser {
+    private static final String LINE = "SimpleFunction(";
+    private static final String PARABOLA = "Parabola(";
+    private static final String HYPERBOLA = "InverseFunction(";
+    private static final String ORIGIN = "YUANDIAN,";
+
+    private static final double[] POWERS = {
+            1E0, 1E1, 1E2, 1E3, 1E4, 1E5, 1E6, 1E7, 1E8, 1E9, 1E10,
+            1E11, 1E12, 1E13, 1E14, 1E15, 1E16, 1E17, 1E18, 1E19, 1E20, 1E21, 1E22
+    };
+
+    private final CharSequence text;
+    private final int length;
+    private int pos;
+
+    private final Scene scene = new Scene();
+    private final List<String> segmentNames = new ArrayList<String>();
+    private final List<String> roundNames = new ArrayList<String>();
+    private final List<Double> radiuses = new ArrayList<Double>();
+
+    private boolean hasCoordinate;
+    private double spaceX;
+    private double spaceY;
+    private double up;
+    private double down;
+    private double left;
+    private double right;
+    private double originX;
+    private double originY;
+
+    private SceneParser(CharSequence text) {
+        this.text = text;
+        this.length = text.length();
+    }
+
+    /**
+     * 解析题目文档
+     *
+     * @param text 文档内容
+     * @return 解析出的图形集合, 若text为null则返回null
+     */
+    public static Scene parse(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        return new SceneParser(text).parse();
+    }
+
+    private Scene parse() {
+        while (pos < length) {
+            char ch = text.charAt(pos);
+            if (ch == '[') {
+                pos++;
+                coordinate();
+            } else if (ch == '(') {
+                pos++;
+                reference();
+            } else if (isWord(ch)) {
+                word();
+            } else {
+                pos++;
+            }
+        }
+        resolve();
+        return scene;
+    }
+
+    /**
+     * 以字母,数字或下划线开头的记录:函数,坐标系原点或点
+     */
+    private void word() {
+        if (accept(LINE)) {
+            double[] values = function();
+            if (values != null && !(NumberUtil.isZero(values[0]) && NumberUtil.isZero(values[1]))) {
+                scene.lines.add(new Line(values[0], values[1], values[2]));
+            }
+            return;
+        }
+        if (accept(PARABOLA)) {
+            double[] values = function();
+            if (values != null && !NumberUtil.isZero(values[0])) {
+                scene.parabolas.add(new Parabola(values[0], values[1], values[2]));
+            }
+            return;
+        }
+        if (accept(HYPERBOLA)) {
+            double[] values = function();
+            if (values != null && !NumberUtil.isZero(values[0])) {
+                scene.hyperbolas.add(new Hyperbola(values[0], values[1], values[2]));
+            }
+            return;
+        }
+        if (accept(ORIGIN)) {
+            double x = number();
+            if (!Double.isNaN(x) && accept(',')) {
+                double y = number();
+                if (!Double.isNaN(y)) {
+                    originX = x;
+                    originY = y;
+                }
+            }
+            return;
+        }
+
+        int start = pos;
+        while (pos < length && isWord(text.charAt(pos))) {
+            pos++;
+        }
+        int end = pos;
+        if (!accept('(')) {
+            return;
+        }
+        double x = number();
+        if (Double.isNaN(x) || !accept(',')) {
+            return;
+        }
+        double y = number();
+        if (Double.isNaN(y)) {
+            return;
+        }
+        skipTrailing();
+        accept(')');
+        scene.points.put(text.subSequence(start, end).toString(), new Point(x, y));
+    }
+
+    /**
+     * 函数的三个系数,之后的附加参数被忽略
+     */
+    private double[] function() {
+        double a = number();
+        if (Double.isNaN(a) || !accept(',')) {
+            return null;
+        }
+        double b = number();
+        if (Double.isNaN(b) || !accept(',')) {
+            return null;
+        }
+        double c = number();
+        if (Double.isNaN(c)) {
+            return null;
+        }
+        skipTrailing();
+        if (!accept(')')) {
+            return null;
+        }
+        return new double[]{a, b, c};
+    }
+
+    /**
+     * 坐标系信息,形如[X:40,Y:40,up:0,down:400,left:0,right:400]
+     */
+    private void coordinate() {
+        int found = 0;
+        while (pos < length) {
+            int start = pos;
+            while (pos < length && isWord(text.charAt(pos))) {
+                pos++;
+            }
+            int end = pos;
+            if (end == start || !accept(':')) {
+                break;
+            }
+            double value = number();
+            if (Double.isNaN(value)) {
+                break;
+            }
+            if (equals(start, end, "X")) {
+                spaceX = value;
+                found |= 1;
+            } else if (equals(start, end, "Y")) {
+                spaceY = value;
+                found |= 2;
+            } else if (equals(start, end, "up")) {
+                up = value;
+            } else if (equals(start, end, "down")) {
+                down = value;
+            } else if (equals(start, end, "left")) {
+                left = value;
+            } else if (equals(start, end, "right")) {
+                right = value;
+            }
+            if (!accept(',')) {
+                break;
+            }
+        }
+        accept(']');
+        if (found == 3) {
+            hasCoordinate = true;
+        }
+    }
+
+    /**
+     * 括号开头的记录:线段(A,B)或圆(A,r,...)
+     */
+    private void reference() {
+        int start = pos;
+        while (pos < length && isWord(text.charAt(pos))) {
+            pos++;
+        }
+        int end = pos;
+        if (end == start || !accept(',') || pos >= length) {
+            return;
+        }
+        char ch = text.charAt(pos);
+        if (isWord(ch) && !isDigit(ch)) {
+            int start2 = pos;
+            while (pos < length && isWord(text.charAt(pos))) {
+                pos++;
+            }
+            int end2 = pos;
+            if (accept(')')) {
+                segmentNames.add(text.subSequence(start, end).toString());
+                segmentNames.add(text.subSequence(start2, end2).toString());
+            }
+            return;
+        }
+        double radius = number();
+        if (Double.isNaN(radius)) {
+            return;
+        }
+        skipTrailing();
+        if (accept(')')) {
+            roundNames.add(text.subSequence(start, end).toString());
+            radiuses.add(radius);
+        }
+    }
+
+    /**
+     * 扫描结束后按名称查找线段和圆引用的点
+     */
+    private void resolve() {
+        if (hasCoordinate) {
+            Coordinate coordinate = new Coordinate(originX, originY, spaceX, spaceY);
+            coordinate.setMinX(left);
+            coordinate.setMaxX(right);
+            coordinate.setMinY(up);
+            coordinate.setMaxY(down);
+            scene.coordinate = coordinate;
+        }
+        for (int i = 0; i < segmentNames.size(); i += 2) {
+            Point p1 = scene.points.get(segmentNames.get(i));
+            Point p2 = scene.points.get(segmentNames.get(i + 1));
+            if (p1 != null && p2 != null && !PointUtil.coincide(p1, p2)) {
+                scene.segments.add(new Segment(p1, p2));
+            }
+        }
+        for (int i = 0; i < roundNames.size(); i++) {
+            Point center = scene.points.get(roundNames.get(i));
+            double radius = radiuses.get(i);
+            if (center != null && NumberUtil.isMoreThanZero(radius)) {
+                scene.rounds.add(new Round(center, radius));
+            }
+        }
+    }
+
+    /**
+     * 读取形如-12.5的十进制数,有效数字不超过15位时直接计算,结果与Double.parseDouble相同
+     *
+     * @return 读取的数值, 若当前位置不是数值则返回NaN
+     */
+    private double number() {
+        int start = pos;
+        boolean negative = false;
+        if (pos < length && text.charAt(pos) == '-') {
+            negative = true;
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int scale = 0;
+        boolean dot = false;
+        while (pos < length) {
+            char ch = text.charAt(pos);
+            if (isDigit(ch)) {
+                if (mantissa != 0 || ch != '0') {
+                    significant++;
+                }
+                if (significant <= 18) {
+                    mantissa = mantissa * 10 + (ch - '0');
+                    if (dot) {
+                        scale++;
+                    }
+                }
+                digits++;
+            } else if (ch == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (significant > 15 || scale >= POWERS.length) {
+            return Double.parseDouble(text.subSequence(start, pos).toString());
+        }
+        //mantissa与10的scale次幂都能精确表示为double,一次除法的结果即为最接近的double值
+        double value = scale == 0 ? mantissa : mantissa / POWERS[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * 跳过记录末尾形如,0,-1的附加参数
+     */
+    private void skipTrailing() {
+        while (pos < length) {
+            char ch = text.charAt(pos);
+            if (ch != ',' && ch != '-' && ch != '.' && !isDigit(ch)) {
+                break;
+            }
+            pos++;
+        }
+    }
+
+    private boolean accept(char ch) {
+        if (pos < length && text.charAt(pos) == ch) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean accept(String keyword) {
+        int end = pos + keyword.length();
+        if (end > length) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (text.charAt(pos + i) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        pos = end;
+        return true;
+    }
+
+    private boolean equals(int start, int end, String keyword) {
+        if (end - start != keyword.length()) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (text.charAt(start + i) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isWord(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || isDigit(ch) || ch == '_';
+    }
+}
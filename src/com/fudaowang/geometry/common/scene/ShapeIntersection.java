@@ -0,0 +1,81 @@
+package com.fudaowang.geometry.common.scene;
+
+import com.fudaowang.geometry.common.graph.Point;
+
+/**
+ * 表示两个图形的一个交点
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class ShapeIntersection {
+    protected final Object shape1;
+    protected final Object shape2;
+    protected final Point point;
+
+    /**
+     * 构造两个图形的交点
+     *
+     * @param shape1 第一个图形
+     * @param shape2 第二个图形
+     * @param point  交点
+     */
+    public ShapeIntersection(Object shape1, Object shape2, Point point) {
+        if (shape1 == null || shape2 == null) {
+            throw new NullPointerException("图形为null");
+        }
+        if (point == null) {
+            throw new NullPointerException("交点为null");
+        }
+        this.shape1 = shape1;
+        this.shape2 = shape2;
+        this.point = point;
+    }
+
+    /**
+     * 获得第一个图形
+     *
+     * @return 第一个图形
+     */
+    public Object getShape1() {
+        return shape1;
+    }
+
+    /**
+     * 获得第二个图形
+     *
+     * @return 第二个图形
+     */
+    public Object getShape2() {
+        return shape2;
+    }
+
+    /**
+     * 获得与给定图形相交的另一个图形
+     *
+     * @param shape 其中一个图形
+     * @return 另一个图形, 若给定的图形不是其中之一则返回null
+     */
+    public Object getOther(Object shape) {
+        if (shape == shape1) {
+            return shape2;
+        }
+        return shape == shape2 ? shape1 : null;
+    }
+
+    /**
+     * 获得交点
+     *
+     * @return 交点
+     */
+    public Point getPoint() {
+        return point;
+    }
+
+    public String toString() {
+        return "ShapeIntersection{" +
+                "shape1=" + shape1 +
+                ", shape2=" + shape2 +
+                ", point=" + point +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.HalfLine;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.graph.Viewport;
+import com.fudaowang.geometry.common.util.BoundingBoxUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * 包围盒的测试类
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class BoundingBoxUtilTest {
+    /**
+     * 测试无界图形在窗口内的包围盒
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetBoundingBox() throws Exception {
+        Viewport viewport = Viewport.builder().origin(400, 300).space(30).bounds(100, 700, 0, 600).build();
+        BoundingBox window = viewport.getRelativeBounds();
+        assertEquals(-10.0, window.getMinX());
+        assertEquals(10.0, window.getMaxX());
+        assertEquals(-10.0, window.getMinY());
+        assertEquals(10.0, window.getMaxY());
+
+        BoundingBox box = BoundingBoxUtil.getBoundingBox(new Line(1, -1, 0), window);
+        assertEquals(-10.0, box.getMinX(), 1E-9);
+        assertEquals(10.0, box.getMaxY(), 1E-9);
+        assertNull(BoundingBoxUtil.getBoundingBox(new Line(0, 1, -11), window));
+
+        box = BoundingBoxUtil.getBoundingBox(new HalfLine(0, 0, 1, 1), window);
+        assertEquals(0.0, box.getMinX(), 1E-9);
+        assertEquals(10.0, box.getMaxX(), 1E-9);
+
+        box = BoundingBoxUtil.getBoundingBox(new Parabola(1, 0, 0), window);
+        assertEquals(-Math.sqrt(10), box.getMinX(), 1E-9);
+        assertEquals(Math.sqrt(10), box.getMaxX(), 1E-9);
+        assertEquals(0.0, box.getMinY(), 1E-9);
+        assertEquals(10.0, box.getMaxY(), 1E-9);
+        assertNull(BoundingBoxUtil.getBoundingBox(new Parabola(1, 0, 11), window));
+
+        Hyperbola hyperbola = new Hyperbola(1, 0.5, -1);
+        box = BoundingBoxUtil.getBoundingBox(hyperbola, window);
+        for (double x = -10; x <= 10; x += 0.01) {
+            double y = hyperbola.getK() / (x - hyperbola.getX()) + hyperbola.getY();
+            if (window.contains(x, y)) {
+                assertTrue(box.contains(x, y));
+            }
+        }
+        assertEquals(-10.0, box.getMinX(), 1E-9);
+        assertEquals(-10.0, box.getMinY(), 1E-9);
+        assertEquals(10.0, box.getMaxY(), 1E-9);
+    }
+
+    /**
+     * 测试求相交的包围盒对
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testOverlappingPairs() throws Exception {
+        Random random = new Random(20130620L);
+        List<BoundingBox> boxes = new ArrayList<BoundingBox>();
+        for (int i = 0; i < 200; i++) {
+            double x = random.nextDouble() * 100;
+            double y = random.nextDouble() * 100;
+            Segment segment = new Segment(x, y, x + random.nextDouble() * 10 - 5, y + random.nextDouble() * 10 - 5);
+            boxes.add(i % 50 == 0 ? null : segment.getBoundingBox());
+        }
+        List<int[]> pairs = BoundingBoxUtil.overlappingPairs(boxes);
+        int count = 0;
+        for (int i = 0; i < boxes.size(); i++) {
+            for (int j = i + 1; j < boxes.size(); j++) {
+                if (BoundingBoxUtil.mayIntersect(boxes.get(i), boxes.get(j))) {
+                    count++;
+                }
+            }
+        }
+        assertEquals(count, pairs.size());
+        for (int[] pair : pairs) {
+            assertTrue(pair[0] < pair[1]);
+            assertTrue(BoundingBoxUtil.mayIntersect(boxes.get(pair[0]), boxes.get(pair[1])));
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.construction.Construction;
+import com.fudaowang.geometry.common.construction.Node;
+import com.fudaowang.geometry.common.construction.Operation;
+import com.fudaowang.geometry.common.construction.Variable;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.LineUtil;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * 作图结点图的测试类
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class ConstructionTest {
+    /**
+     * 测试各个作图结点的结果与直接调用工具方法一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testOperations() throws Exception {
+        Construction construction = new Construction();
+        Variable<Point> a = construction.point(0, 0);
+        Variable<Point> b = construction.point(4, 2);
+        Variable<Point> c = construction.point(1, 5);
+        Node<Segment> ab = construction.segment(a, b);
+        Node<Line> line = construction.line(a, b);
+        Node<Point> midpoint = construction.midpoint(ab);
+        Node<Point> foot = construction.verticalPoint(c, line);
+        Node<Line> parallel = construction.parallelLine(c, line);
+        Node<Point> symmetry = construction.axialSymmetry(c, line);
+        Node<Round> round = construction.round(a, b);
+        Node<Point[]> tangents = construction.tangentPoint(c, round);
+        Node<Point> tangent = construction.element(tangents, 1);
+        assertEquals(12, construction.size());
+        assertEquals(9, construction.getDirtyCount());
+
+        for (int i = 0; i < 2; i++) {
+            Line l = LineUtil.getLine(a.get(), b.get());
+            assertTrue(PointUtil.coincide(SegmentUtil.getMidpoint(a.get(), b.get()), midpoint.get()));
+            assertTrue(PointUtil.coincide(LineUtil.verticalPoint(c.get(), l), foot.get()));
+            assertTrue(LineUtil.coincide(LineUtil.parallelLine(c.get(), l), parallel.get()));
+            assertTrue(PointUtil.coincide(PointUtil.getAxialSymmetry(c.get(), l), symmetry.get()));
+            Point[] expected = RoundUtil.tangentPoint(c.get(), new Round(a.get(), PointUtil.distance(a.get(), b.get())));
+            assertEquals(2, tangents.get().length);
+            assertTrue(PointUtil.coincide(expected[1], tangent.get()));
+            b.set(new Point(-3, 1));
+        }
+
+        //两点重合时直线没有结果,下游结点也没有结果
+        b.set(new Point(0, 0));
+        assertNull(line.get());
+        assertNull(foot.get());
+        assertNull(symmetry.get());
+        assertNull(tangent.get());
+        assertNull(midpoint.get());
+
+        try {
+            new Construction().midpoint(ab);
+            fail();
+        } catch (IllegalArgumentException e) {
+            //输入结点属于另一个作图
+        }
+    }
+
+    /**
+     * 测试移动自由点时只在取值时重算受影响的结点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLazy() throws Exception {
+        Construction construction = new Construction();
+        Variable<Point> a = construction.point(0, 0);
+        Variable<Point> b = construction.point(4, 0);
+        Variable<Point> c = construction.point(1, 3);
+        final int[] counts = new int[2];
+        Node<Point> midpoint = construction.derive(new Operation<Point>() {
+            public Point compute(Object[] inputs) {
+                counts[0]++;
+                return SegmentUtil.getMidpoint((Point) inputs[0], (Point) inputs[1]);
+            }
+        }, a, b);
+        Node<Line> line = construction.line(a, b);
+        Node<Point> foot = construction.derive(new Operation<Point>() {
+            public Point compute(Object[] inputs) {
+                counts[1]++;
+                return LineUtil.verticalPoint((Point) inputs[0], (Line) inputs[1]);
+            }
+        }, c, line);
+        //以过中点的竖直线为对称轴
+        Node<Point> symmetry = construction.axialSymmetry(foot, construction.line(midpoint, construction.point(2, 5)));
+
+        assertTrue(PointUtil.coincide(new Point(1, 0), foot.get()));
+        assertEquals(0, counts[0]);
+        assertEquals(1, counts[1]);
+        assertTrue(midpoint.isDirty());
+        assertTrue(PointUtil.coincide(new Point(3, 0), symmetry.get()));
+        assertEquals(1, counts[0]);
+        assertEquals(0, construction.getDirtyCount());
+
+        //移动c不影响中点
+        c.set(new Point(3, 3));
+        assertTrue(foot.isDirty());
+        assertFalse(midpoint.isDirty());
+        assertEquals(1, counts[1]);
+        assertTrue(PointUtil.coincide(new Point(3, 0), foot.get()));
+        assertEquals(2, counts[1]);
+        assertTrue(symmetry.isDirty());
+        construction.update(false);
+        assertTrue(PointUtil.coincide(new Point(1, 0), symmetry.get()));
+        assertEquals(1, counts[0]);
+        assertEquals(0, construction.getDirtyCount());
+
+        //多次移动只在取值时重算一次
+        for (int i = 0; i < 10; i++) {
+            b.set(new Point(4, i));
+        }
+        assertEquals(1, counts[0]);
+        construction.update(foot, false);
+        assertEquals(1, counts[0]);
+        assertEquals(3, counts[1]);
+        assertTrue(midpoint.isDirty());
+        symmetry.get();
+        assertEquals(2, counts[0]);
+    }
+
+    /**
+     * 测试并行重算与顺序重算的结果相同
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParallel() throws Exception {
+        Random random = new Random(20130627L);
+        Construction sequential = new Construction();
+        Construction parallel = new Construction();
+        List<Variable<Point>> sequentialPoints = new ArrayList<Variable<Point>>();
+        List<Variable<Point>> parallelPoints = new ArrayList<Variable<Point>>();
+        List<Node<Point>> sequentialNodes = new ArrayList<Node<Point>>();
+        List<Node<Point>> parallelNodes = new ArrayList<Node<Point>>();
+        Variable<Point> sequentialCenter = sequential.point(0, 0);
+        Variable<Point> parallelCenter = parallel.point(0, 0);
+        for (int i = 0; i < 1000; i++) {
+            Point p1 = new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+            Point p2 = new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+            sequentialPoints.add(sequential.variable(p1));
+            parallelPoints.add(parallel.variable(p1));
+            sequentialNodes.add(chain(sequential, sequentialCenter, sequentialPoints.get(i), sequential.variable(p2)));
+            parallelNodes.add(chain(parallel, parallelCenter, parallelPoints.get(i), parallel.variable(p2)));
+        }
+        for (int round = 0; round < 3; round++) {
+            sequential.update(false);
+            parallel.update(true);
+            assertEquals(0, parallel.getDirtyCount());
+            for (int i = 0; i < sequentialNodes.size(); i++) {
+                Point expected = sequentialNodes.get(i).get();
+                Point actual = parallelNodes.get(i).get();
+                assertEquals(expected == null, actual == null);
+                if (expected != null) {
+                    assertEquals(expected.getX(), actual.getX());
+                    assertEquals(expected.getY(), actual.getY());
+                }
+            }
+            Point center = new Point(random.nextDouble(), random.nextDouble());
+            sequentialCenter.set(center);
+            parallelCenter.set(center);
+            for (int i = 0; i < 100; i++) {
+                int index = random.nextInt(sequentialPoints.size());
+                Point point = new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+                sequentialPoints.get(index).set(point);
+                parallelPoints.get(index).set(point);
+            }
+        }
+    }
+
+    private static Node<Point> chain(Construction construction, Node<Point> center, Node<Point> p1, Node<Point> p2) {
+        Node<Line> line = construction.line(p1, p2);
+        Node<Point> midpoint = construction.midpoint(construction.segment(p1, p2));
+        Node<Point> foot = construction.verticalPoint(center, line);
+        Node<Line> parallel = construction.parallelLine(midpoint, construction.line(center, foot));
+        return construction.axialSymmetry(center, parallel);
+    }
+}
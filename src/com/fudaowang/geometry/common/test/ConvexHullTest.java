@@ -0,0 +1,153 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.ConvexHull;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Polygon;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.PolygonUtil;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * 凸包的测试类
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class ConvexHullTest {
+    /**
+     * 测试求点的数组的凸包,包括内部的点,边上的点和重合的点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetConvexHull() throws Exception {
+        Point[] points = new Point[]{new Point(2, 2), new Point(0, 0), new Point(1, 1), new Point(2, 0),
+                new Point(1, 0), new Point(0, 2), new Point(0, 1), new Point(2, 2 + 1E-14), new Point(1, 2 - 1E-14)};
+        Point[] hull = PointUtil.getConvexHull(points);
+        assertEquals(4, hull.length);
+        assertTrue(PointUtil.coincide(new Point(0, 0), hull[0]));
+        assertTrue(PointUtil.coincide(new Point(2, 0), hull[1]));
+        assertTrue(PointUtil.coincide(new Point(2, 2), hull[2]));
+        assertTrue(PointUtil.coincide(new Point(0, 2), hull[3]));
+
+        //共线和重合
+        hull = PointUtil.getConvexHull(new Point[]{new Point(1, 1), new Point(3, 3), new Point(0, 0), new Point(2, 2)});
+        assertEquals(2, hull.length);
+        assertTrue(PointUtil.coincide(new Point(0, 0), hull[0]));
+        assertTrue(PointUtil.coincide(new Point(3, 3), hull[1]));
+        hull = PointUtil.getConvexHull(new Point[]{new Point(1, 1), new Point(1, 1 + 1E-14), new Point(1, 1)});
+        assertEquals(1, hull.length);
+        assertEquals(0, PointUtil.getConvexHull(new Point[0]).length);
+        assertNull(PointUtil.getConvexHull((Point[]) null));
+
+        Polygon polygon = PolygonUtil.getConvexHull(new Polygon(new Point(0, 0), new Point(4, 0), new Point(1, 1), new Point(0, 4)));
+        assertTrue(PolygonUtil.coincide(new Polygon(new Point(0, 0), new Point(4, 0), new Point(0, 4)), polygon));
+        assertNull(PolygonUtil.getConvexHull(new Point[]{new Point(0, 0), new Point(1, 1), new Point(2, 2)}));
+    }
+
+    /**
+     * 测试并行计算与串行计算的结果一致,以及结果写入原点集
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetConvexHullParallel() throws Exception {
+        Random random = new Random(20130708L);
+        int n = 100000;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double radius = Math.sqrt(random.nextDouble()) * 100;
+            xs[i] = radius * Math.cos(angle);
+            ys[i] = radius * Math.sin(angle);
+        }
+        PointBuffer serial = PointUtil.getConvexHull(xs, ys, 0, n, false, null);
+        PointBuffer parallel = PointUtil.getConvexHull(xs, ys, 0, n, true, new PointBuffer());
+        assertTrue(serial.size() > 3);
+        assertEquals(serial.size(), parallel.size());
+        for (int i = 0; i < serial.size(); i++) {
+            assertEquals(serial.getX(i), parallel.getX(i));
+            assertEquals(serial.getY(i), parallel.getY(i));
+        }
+
+        //相邻的三个顶点严格左转,所有点都在每条边的左侧或边上
+        int size = serial.size();
+        for (int i = 0; i < size; i++) {
+            double x1 = serial.getX(i), y1 = serial.getY(i);
+            double x2 = serial.getX((i + 1) % size), y2 = serial.getY((i + 1) % size);
+            for (int j = 0; j < n; j += 97) {
+                assertTrue((x2 - x1) * (ys[j] - y1) - (y2 - y1) * (xs[j] - x1) >= -1E-9);
+            }
+        }
+
+        PointBuffer buffer = new PointBuffer(xs.clone(), ys.clone());
+        assertSame(buffer, PointUtil.getConvexHull(buffer, buffer));
+        assertEquals(serial.size(), buffer.size());
+    }
+
+    /**
+     * 测试逐个加入点的凸包与一次求出的凸包一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testConvexHull() throws Exception {
+        Random random = new Random(20130708L);
+        ConvexHull hull = new ConvexHull(0);
+        assertTrue(hull.isEmpty());
+        assertNull(hull.getBoundingBox());
+        PointBuffer points = new PointBuffer();
+        for (int i = 0; i < 2000; i++) {
+            //整数坐标使共线和重合的点经常出现
+            double x = random.nextInt(41) - 20;
+            double y = random.nextInt(41) - 20;
+            points.add(x, y);
+            hull.add(x, y);
+            if (i % 100 == 0) {
+                assertHull(PointUtil.getConvexHull(points, null), hull.getPoints(null));
+            }
+        }
+        assertHull(PointUtil.getConvexHull(points, null), hull.getPoints(null));
+        assertFalse(hull.add(0, 0));
+        assertTrue(hull.contains(20, 0));
+        assertTrue(hull.contains(new Point(-20, -20)));
+        assertFalse(hull.contains(21, 0));
+        BoundingBox box = hull.getBoundingBox();
+        assertEquals(-20.0, box.getMinX());
+        assertEquals(20.0, box.getMaxY());
+
+        //重合,共线,再扩展成三角形
+        hull.clear();
+        assertTrue(hull.add(1, 1));
+        assertFalse(hull.add(1, 1 + 1E-14));
+        assertEquals(1, hull.size());
+        assertTrue(hull.add(3, 3));
+        assertFalse(hull.add(2, 2));
+        assertEquals(2, hull.size());
+        assertNull(hull.toPolygon());
+        assertTrue(hull.contains(2, 2));
+        assertFalse(hull.contains(2, 2.5));
+        assertTrue(hull.add(3, 1));
+        assertEquals(3, hull.size());
+        assertTrue(PolygonUtil.coincide(new Polygon(new Point(1, 1), new Point(3, 1), new Point(3, 3)), hull.toPolygon()));
+
+        ConvexHull other = new ConvexHull();
+        other.add(0, 5);
+        assertTrue(hull.merge(other));
+        assertEquals(4, hull.size());
+    }
+
+    private void assertHull(PointBuffer expected, PointBuffer actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getX(i), actual.getX(i));
+            assertEquals(expected.getY(i), actual.getY(i));
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.fit.HyperbolaFitter;
+import com.fudaowang.geometry.common.fit.LineFitter;
+import com.fudaowang.geometry.common.fit.ParabolaFitter;
+import com.fudaowang.geometry.common.fit.RoundFitter;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.util.HyperbolaUtil;
+import com.fudaowang.geometry.common.util.LineUtil;
+import com.fudaowang.geometry.common.util.ParabolaUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * 流式拟合的测试类
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class FitterTest {
+    /**
+     * 测试正交回归拟合直线,包括竖直的直线和远离原点的点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLineFitter() throws Exception {
+        Random random = new Random(20130702L);
+        //点在直线3x-4y+5=0两侧交替偏离0.01
+        LineFitter fitter = new LineFitter();
+        for (int i = 0; i < 1000; i++) {
+            double t = i * 0.1 - 50;
+            double offset = i % 2 == 0 ? 0.01 : -0.01;
+            fitter.add(1E6 + 4 * t / 5 + 3 * offset / 5, 1E6 + 3 * t / 5 - 4 * offset / 5);
+        }
+        Line line = fitter.getLine();
+        assertEquals(1000, fitter.getCount());
+        assertEquals(0.01, fitter.getRms(), 1E-6);
+        assertEquals(0.0, line.getA() * 4 + line.getB() * 3, 1E-5);
+        assertEquals(1.0, Math.abs(line.getA() * 3 - line.getB() * 4) / 5, 1E-9);
+        assertTrue(LineUtil.onLine(new Point(1E6, 1E6), line, 1E-6));
+        assertTrue(fitter.getElongation() > 1000);
+
+        fitter.clear();
+        for (int i = 0; i < 100; i++) {
+            fitter.add(2 + random.nextGaussian() * 1E-3, i);
+        }
+        line = fitter.getLine();
+        assertEquals(0.0, line.getB(), 1E-4);
+        assertEquals(-2.0, line.getC() / line.getA(), 1E-3);
+
+        fitter.clear();
+        assertNull(fitter.getLine());
+        fitter.add(1, 1);
+        fitter.add(1, 1);
+        assertNull(fitter.getLine());
+        assertEquals(0.0, fitter.getElongation());
+
+        Point[] points = {new Point(0, 0), new Point(1, 1.1), new Point(2, 1.9), new Point(3, 3)};
+        line = LineUtil.getLine(points);
+        assertTrue(LineUtil.onLine(new Point(1.5, 1.5), line, 1E-12));
+        assertEquals(1.0, -line.getA() / line.getB(), 0.05);
+        assertNull(LineUtil.getLine(new Point[]{new Point(0, 0)}));
+    }
+
+    /**
+     * 测试分段累加后合并和并行批量加入的结果与逐个加入相同
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLineFitterMerge() throws Exception {
+        Random random = new Random(20130702L);
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 50000; i++) {
+            double t = random.nextDouble() * 100;
+            buffer.add(t + random.nextGaussian() * 0.1, 0.5 * t + 3 + random.nextGaussian() * 0.1);
+        }
+        LineFitter single = new LineFitter();
+        for (int i = 0; i < buffer.size(); i++) {
+            single.add(buffer.getX(i), buffer.getY(i));
+        }
+        LineFitter first = new LineFitter();
+        first.addAll(buffer.getXs(), buffer.getYs(), 0, 20000);
+        LineFitter second = new LineFitter();
+        second.addAll(buffer.getXs(), buffer.getYs(), 20000, buffer.size() - 20000);
+        first.merge(second);
+        LineFitter parallel = new LineFitter();
+        parallel.addAll(buffer.getXs(), buffer.getYs(), 0, buffer.size(), true);
+
+        for (LineFitter fitter : new LineFitter[]{first, parallel}) {
+            assertEquals(single.getCount(), fitter.getCount());
+            assertEquals(single.getMeanX(), fitter.getMeanX(), 1E-9);
+            assertEquals(single.getMeanY(), fitter.getMeanY(), 1E-9);
+            assertEquals(single.getRms(), fitter.getRms(), 1E-9);
+            assertEquals(single.getLine().getA(), fitter.getLine().getA(), 1E-12);
+            assertEquals(single.getLine().getC(), fitter.getLine().getC(), 1E-9);
+        }
+        assertEquals(0.1, single.getRms(), 0.005);
+
+        try {
+            parallel.addAll(buffer.getXs(), buffer.getYs(), buffer.getXs().length - 5, 10);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals(50000, parallel.getCount());
+        }
+    }
+
+    /**
+     * 测试最小二乘拟合抛物线,包括横坐标重复和远离原点的点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParabolaFitter() throws Exception {
+        //y=2x^2-3x+1上横坐标在1000附近的点,每个横坐标取两次
+        ParabolaFitter fitter = new ParabolaFitter();
+        for (int i = 0; i < 200; i++) {
+            double x = 1000 + (i / 2) * 0.01;
+            fitter.add(x, ParabolaUtil.getY(2, -3, 1, x));
+        }
+        Parabola parabola = fitter.getParabola();
+        assertEquals(2.0, parabola.getA(), 1E-6);
+        assertEquals(ParabolaUtil.getY(2, -3, 1, 1000.5), ParabolaUtil.getY(parabola, 1000.5), 1E-6);
+        assertEquals(1.0, fitter.getDetermination(), 1E-12);
+
+        Random random = new Random(20130703L);
+        fitter.clear();
+        for (int i = 0; i < 5000; i++) {
+            double x = random.nextDouble() * 10 - 5;
+            fitter.add(x, ParabolaUtil.getY(-0.5, 1, 2, x) + random.nextGaussian() * 0.05);
+        }
+        parabola = fitter.getParabola();
+        assertEquals(-0.5, parabola.getA(), 1E-3);
+        assertEquals(1.0, parabola.getB(), 1E-3);
+        assertEquals(2.0, parabola.getC(), 5E-3);
+        assertEquals(0.05, fitter.getRms(), 2E-3);
+        assertTrue(fitter.getDetermination() > 0.99);
+
+        //只有两个不同的横坐标或点在直线上时无法拟合
+        fitter.clear();
+        for (int i = 0; i < 10; i++) {
+            fitter.add(i % 2, i);
+        }
+        assertNull(fitter.getParabola());
+        assertTrue(Double.isNaN(fitter.getRms()));
+        fitter.clear();
+        for (int i = 0; i < 10; i++) {
+            fitter.add(i, 2 * i + 1);
+        }
+        assertNull(fitter.getParabola());
+        assertEquals(0.0, fitter.getResidual(), 1E-12);
+
+        Point[] points = {new Point(-1, 1), new Point(0, 0), new Point(0, 0), new Point(1, 1), new Point(2, 4)};
+        parabola = ParabolaUtil.getParabola(points);
+        assertEquals(1.0, parabola.getA(), 1E-12);
+        assertEquals(0.0, parabola.getB(), 1E-12);
+        assertEquals(0.0, parabola.getC(), 1E-12);
+        assertNull(ParabolaUtil.getParabola(new Point[]{new Point(0, 0), new Point(1, 1)}));
+    }
+
+    /**
+     * 测试抛物线拟合器分段累加后合并和并行批量加入的结果与逐个加入相同
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParabolaFitterMerge() throws Exception {
+        Random random = new Random(20130703L);
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 40000; i++) {
+            double x = random.nextDouble() * 4 + 20;
+            buffer.add(x, ParabolaUtil.getY(1.5, -60, 600, x) + random.nextGaussian() * 0.1);
+        }
+        ParabolaFitter single = new ParabolaFitter();
+        for (int i = 0; i < buffer.size(); i++) {
+            single.add(buffer.getX(i), buffer.getY(i));
+        }
+        ParabolaFitter first = new ParabolaFitter();
+        first.addAll(buffer.getXs(), buffer.getYs(), 0, 15000);
+        ParabolaFitter second = new ParabolaFitter();
+        second.addAll(buffer.getXs(), buffer.getYs(), 15000, buffer.size() - 15000);
+        first.merge(second);
+        ParabolaFitter parallel = new ParabolaFitter();
+        parallel.addAll(buffer.getXs(), buffer.getYs(), 0, buffer.size(), true);
+
+        Parabola expected = single.getParabola();
+        assertEquals(1.5, expected.getA(), 0.01);
+        for (ParabolaFitter fitter : new ParabolaFitter[]{first, parallel}) {
+            assertEquals(single.getCount(), fitter.getCount());
+            Parabola parabola = fitter.getParabola();
+            assertEquals(expected.getA(), parabola.getA(), 1E-9);
+            assertEquals(ParabolaUtil.getY(expected, 22), ParabolaUtil.getY(parabola, 22), 1E-9);
+            assertEquals(single.getRms(), fitter.getRms(), 1E-9);
+        }
+    }
+
+    /**
+     * 测试拟合圆,包括只有一小段圆弧和带噪声的点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRoundFitter() throws Exception {
+        RoundFitter fitter = new RoundFitter();
+        for (int i = 0; i < 100; i++) {
+            double angle = i * 0.005;
+            fitter.add(500 + 50 * Math.cos(angle), -300 + 50 * Math.sin(angle));
+        }
+        Round round = fitter.getRound();
+        assertEquals(500.0, round.getX(), 1E-6);
+        assertEquals(-300.0, round.getY(), 1E-6);
+        assertEquals(50.0, round.getRadius(), 1E-6);
+        assertEquals(0.0, fitter.getRms(), 1E-6);
+
+        //点在半径2的圆两侧交替偏离0.01
+        Random random = new Random(20130704L);
+        fitter.clear();
+        for (int i = 0; i < 2000; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double radius = i % 2 == 0 ? 2.01 : 1.99;
+            fitter.add(1 + radius * Math.cos(angle), 2 + radius * Math.sin(angle));
+        }
+        round = fitter.getRound();
+        assertEquals(1.0, round.getX(), 1E-3);
+        assertEquals(2.0, round.getY(), 1E-3);
+        assertEquals(2.0, round.getRadius(), 1E-3);
+        assertEquals(0.01, fitter.getRms(), 1E-3);
+        assertTrue(RoundUtil.onRound(new Point(3.01, 2), round, 2 * fitter.getRms()));
+
+        fitter.clear();
+        for (int i = 0; i < 10; i++) {
+            fitter.add(i, 2 * i + 1);
+        }
+        assertNull(fitter.getRound());
+        assertTrue(Double.isNaN(fitter.getRms()));
+
+        round = RoundUtil.getRound(new Point[]{new Point(0, 1), new Point(1, 0), new Point(-1, 0)});
+        assertEquals(0.0, round.getX(), 1E-12);
+        assertEquals(0.0, round.getY(), 1E-12);
+        assertEquals(1.0, round.getRadius(), 1E-12);
+        assertNull(RoundUtil.getRound(new Point[]{new Point(0, 0), new Point(1, 1)}));
+    }
+
+    /**
+     * 测试圆拟合器分段累加后合并和并行批量加入的结果与逐个加入相同
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRoundFitterMerge() throws Exception {
+        Random random = new Random(20130704L);
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 30000; i++) {
+            double angle = random.nextDouble() * Math.PI;
+            double radius = 10 + random.nextGaussian() * 0.05;
+            buffer.add(-40 + radius * Math.cos(angle), 25 + radius * Math.sin(angle));
+        }
+        RoundFitter single = new RoundFitter();
+        for (int i = 0; i < buffer.size(); i++) {
+            single.add(buffer.getX(i), buffer.getY(i));
+        }
+        RoundFitter first = new RoundFitter();
+        first.addAll(buffer.getXs(), buffer.getYs(), 0, 10000);
+        RoundFitter second = new RoundFitter();
+        second.addAll(buffer.getXs(), buffer.getYs(), 10000, buffer.size() - 10000);
+        first.merge(second);
+        RoundFitter parallel = new RoundFitter();
+        parallel.addAll(buffer.getXs(), buffer.getYs(), 0, buffer.size(), true);
+
+        Round expected = single.getRound();
+        assertEquals(10.0, expected.getRadius(), 0.01);
+        assertEquals(0.05, single.getRms(), 0.005);
+        for (RoundFitter fitter : new RoundFitter[]{first, parallel}) {
+            assertEquals(single.getCount(), fitter.getCount());
+            Round round = fitter.getRound();
+            assertEquals(expected.getX(), round.getX(), 1E-9);
+            assertEquals(expected.getY(), round.getY(), 1E-9);
+            assertEquals(expected.getRadius(), round.getRadius(), 1E-9);
+            assertEquals(single.getRms(), fitter.getRms(), 1E-9);
+        }
+    }
+
+    /**
+     * 测试拟合反比例函数,包括两支上的点和带噪声的点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testHyperbolaFitter() throws Exception {
+        HyperbolaFitter fitter = new HyperbolaFitter();
+        for (int i = 1; i <= 50; i++) {
+            double x = 3 + i * 0.1;
+            fitter.add(x, HyperbolaUtil.getY(-2, 3, 1, x));
+            fitter.add(6 - x, HyperbolaUtil.getY(-2, 3, 1, 6 - x));
+        }
+        Hyperbola hyperbola = fitter.getHyperbola();
+        assertEquals(-2.0, hyperbola.getK(), 1E-9);
+        assertEquals(3.0, hyperbola.getX(), 1E-9);
+        assertEquals(1.0, hyperbola.getY(), 1E-9);
+        assertEquals(0.0, fitter.getRms(), 1E-9);
+
+        Random random = new Random(20130705L);
+        fitter.clear();
+        for (int i = 0; i < 3000; i++) {
+            double x = 100.5 + random.nextDouble() * 10;
+            fitter.add(x, HyperbolaUtil.getY(4, 100, -50, x) + random.nextGaussian() * 0.01);
+        }
+        hyperbola = fitter.getHyperbola();
+        assertEquals(4.0, hyperbola.getK(), 0.05);
+        assertEquals(100.0, hyperbola.getX(), 0.05);
+        assertEquals(-50.0, hyperbola.getY(), 0.01);
+        assertTrue(fitter.getRms() / Math.abs(hyperbola.getK()) < 0.05);
+
+        fitter.clear();
+        for (int i = 0; i < 10; i++) {
+            fitter.add(i, 2 * i + 1);
+        }
+        assertNull(fitter.getHyperbola());
+        assertTrue(Double.isNaN(fitter.getRms()));
+
+        hyperbola = HyperbolaUtil.getHyperbola(new Point[]{new Point(1, 1), new Point(2, 0.5), new Point(-1, -1)});
+        assertEquals(1.0, hyperbola.getK(), 1E-12);
+        assertEquals(0.0, hyperbola.getX(), 1E-12);
+        assertEquals(0.0, hyperbola.getY(), 1E-12);
+    }
+
+    /**
+     * 测试批量拟合多个笔画,并行与串行的结果相同
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testHyperbolaFitterBatch() throws Exception {
+        Random random = new Random(20130705L);
+        int strokes = 300;
+        int[] bounds = new int[strokes + 1];
+        PointBuffer buffer = new PointBuffer();
+        double[] expected = new double[strokes];
+        for (int i = 0; i < strokes; i++) {
+            bounds[i] = buffer.size();
+            expected[i] = random.nextDouble() * 4 + 1;
+            if (i == 7) {
+                //第8个笔画是直线
+                for (int j = 0; j < 100; j++) {
+                    buffer.add(j, j);
+                }
+                continue;
+            }
+            for (int j = 0; j < 100; j++) {
+                double x = 0.2 + j * 0.05;
+                buffer.add(x, HyperbolaUtil.getY(expected[i], 0, 1, x) + random.nextGaussian() * 1E-3);
+            }
+        }
+        bounds[strokes] = buffer.size();
+        Hyperbola[] sequential = HyperbolaFitter.fit(buffer.getXs(), buffer.getYs(), bounds, false);
+        Hyperbola[] parallel = HyperbolaFitter.fit(buffer.getXs(), buffer.getYs(), bounds, true);
+        assertEquals(strokes, sequential.length);
+        assertNull(sequential[7]);
+        assertNull(parallel[7]);
+        for (int i = 0; i < strokes; i++) {
+            if (i == 7) {
+                continue;
+            }
+            assertEquals(expected[i], sequential[i].getK(), 0.01);
+            assertEquals(sequential[i].getK(), parallel[i].getK());
+            assertEquals(sequential[i].getX(), parallel[i].getX());
+        }
+        assertEquals(0, HyperbolaFitter.fit(buffer.getXs(), buffer.getYs(), new int[0], true).length);
+        try {
+            HyperbolaFitter.fit(buffer.getXs(), buffer.getYs(), new int[]{0, 10, 5}, false);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.fudaowang.geometry.common.test;
 
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Viewport;
 import com.fudaowang.geometry.common.graph.Hyperbola;
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
 import com.fudaowang.geometry.common.util.HyperbolaUtil;
 import com.fudaowang.geometry.common.util.LineUtil;
 import com.fudaowang.geometry.common.util.NumberUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
 import org.junit.Test;
 
 import static junit.framework.TestCase.*;
@@ -49,4 +53,119 @@ public class HyperbolaUtilTest {
         points = HyperbolaUtil.intersect(l4, hyperbola);
         assertEquals(0, points.length);
     }
+
+    /**
+     * 测试利用Viewport转换反比例函数的坐标
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testViewport() throws Exception {
+        Viewport viewport = Viewport.builder().origin(200, 150).space(40, 25).build();
+        Hyperbola hyperbola = new Hyperbola(2, 1, -1);
+        Hyperbola absolute = HyperbolaUtil.toAbsoluteCoordinate(hyperbola, viewport);
+        for (double x = -2.5; x <= 5; x += 2) {
+            Point point = viewport.toAbsolute(new Point(x, HyperbolaUtil.getY(hyperbola, x)));
+            assertEquals(HyperbolaUtil.getY(absolute, point.getX()), point.getY(), 1E-9);
+        }
+        Hyperbola relative = HyperbolaUtil.toRelativeCoordinate(absolute, viewport);
+        assertEquals(relative.getK(), 2.0, 1E-12);
+        assertEquals(relative.getX(), 1.0, 1E-12);
+        assertEquals(relative.getY(), -1.0, 1E-12);
+    }
+
+    /**
+     * 测试计算圆与反比例函数的交点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectRound() throws Exception {
+        Hyperbola hyperbola = new Hyperbola(1, 0, 0);
+        //以原点为圆心,sqrt(2)为半径的圆与y=1/x在(1,1)和(-1,-1)相切
+        Point[] points = HyperbolaUtil.intersect(new Round(0, 0, Math.sqrt(2)), hyperbola);
+        assertEquals(2, points.length);
+        assertEquals(-1.0, points[0].getX(), 1E-9);
+        assertEquals(-1.0, points[0].getY(), 1E-9);
+        assertEquals(1.0, points[1].getX(), 1E-9);
+        assertEquals(1.0, points[1].getY(), 1E-9);
+
+        Round round = new Round(0, 0, 2);
+        points = HyperbolaUtil.intersect(round, hyperbola);
+        assertEquals(4, points.length);
+        for (Point point : points) {
+            assertTrue(RoundUtil.onRound(point, round, 1E-9));
+            assertEquals(1.0, point.getX() * point.getY(), 1E-9);
+        }
+        assertEquals(0, HyperbolaUtil.intersect(new Round(0, 0, 1), hyperbola).length);
+
+        hyperbola = new Hyperbola(-2, 1, 3);
+        round = new Round(2, 1, 1.5);
+        points = HyperbolaUtil.intersect(round, hyperbola);
+        assertEquals(2, points.length);
+        for (Point point : points) {
+            assertTrue(RoundUtil.onRound(point, round, 1E-9));
+            assertEquals(HyperbolaUtil.getY(hyperbola, point.getX()), point.getY(), 1E-9);
+        }
+    }
+
+    /**
+     * 测试把交点传给可重用的缓冲区
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectSink() throws Exception {
+        Hyperbola hyperbola = new Hyperbola(-2, 1, 3);
+        Round round = new Round(2, 1, 1.5);
+        Line line = new Line(1, 1, -3);
+        PointBuffer buffer = new PointBuffer(2);
+        for (int i = 0; i < 3; i++) {
+            buffer.clear();
+            assertEquals(2, HyperbolaUtil.intersect(round, hyperbola, buffer));
+            assertEquals(2, HyperbolaUtil.intersect(line, hyperbola, buffer));
+        }
+        Point[] points = HyperbolaUtil.intersect(round, hyperbola);
+        Point[] linePoints = HyperbolaUtil.intersect(line, hyperbola);
+        assertEquals(4, buffer.size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(points[i].getX(), buffer.getX(i));
+            assertEquals(points[i].getY(), buffer.getY(i));
+            assertEquals(linePoints[i].getX(), buffer.getX(i + 2));
+            assertEquals(linePoints[i].getY(), buffer.getY(i + 2));
+        }
+        assertEquals(0, HyperbolaUtil.intersect(new Line(0, 1, -3), hyperbola, buffer));
+        assertEquals(4, buffer.size());
+
+        //重复使用保存根的数组
+        double[] roots = new double[4];
+        buffer.clear();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(2, HyperbolaUtil.intersect(round, hyperbola, roots, buffer));
+        }
+        assertEquals(6, buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(points[i % 2].getX(), buffer.getX(i));
+            assertEquals(points[i % 2].getY(), buffer.getY(i));
+        }
+    }
+
+    /**
+     * 测试直线与反比例函数的交点的顺序:直线的系数a大于0时横坐标大的在前,小于0时横坐标小的在前
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectOrder() throws Exception {
+        Hyperbola hyperbola = new Hyperbola(1, 0, 0);
+        Point[] points = HyperbolaUtil.intersect(new Line(1, -1, 0), hyperbola);
+        assertEquals(2, points.length);
+        assertEquals(1.0, points[0].getX(), 1E-12);
+        assertEquals(-1.0, points[1].getX(), 1E-12);
+
+        points = HyperbolaUtil.intersect(new Line(-1, 1, 0), hyperbola);
+        assertEquals(2, points.length);
+        assertEquals(-1.0, points[0].getX(), 1E-12);
+        assertEquals(1.0, points[1].getX(), 1E-12);
+    }
 }
@@ -0,0 +1,115 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.scene.IncrementalIntersector;
+import com.fudaowang.geometry.common.scene.IntersectionDelta;
+import com.fudaowang.geometry.common.scene.SceneIntersector;
+import com.fudaowang.geometry.common.scene.ShapeIntersection;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * 增量求交的测试类,每次修改后与逐对计算的结果比较
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class IncrementalIntersectorTest {
+    /**
+     * 测试加入,拖动和删除图形时交点的变化
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDelta() throws Exception {
+        Random random = new Random(20130626L);
+        IncrementalIntersector intersector = new IncrementalIntersector();
+        //按变化维护的交点集
+        Set<ShapeIntersection> replica = Collections.newSetFromMap(new IdentityHashMap<ShapeIntersection, Boolean>());
+        List<Object> shapes = new ArrayList<Object>();
+        for (int i = 0; i < 300; i++) {
+            Object shape = shape(random, i);
+            shapes.add(shape);
+            apply(replica, intersector.add(shape));
+        }
+        check(intersector, replica, shapes);
+
+        for (int i = 0; i < 300; i++) {
+            int index = random.nextInt(shapes.size());
+            if (i % 5 == 0) {
+                apply(replica, intersector.remove(shapes.remove(index)));
+            } else {
+                Object shape = shape(random, index);
+                apply(replica, intersector.replace(shapes.get(index), shape));
+                shapes.set(index, shape);
+            }
+        }
+        check(intersector, replica, shapes);
+        assertEquals(shapes.size(), intersector.size());
+
+        IncrementalIntersector windowed = new IncrementalIntersector(1E-9, new BoundingBox(-10, -10, 10, 10));
+        Line line = new Line(0, 1, 0);
+        assertTrue(windowed.add(line).isEmpty());
+        Segment segment = new Segment(0, -1, 0, 1);
+        IntersectionDelta delta = windowed.add(segment);
+        assertEquals(1, delta.getAdded().size());
+        assertSame(line, delta.getAdded().get(0).getOther(segment));
+        delta = windowed.replace(segment, new Segment(20, -1, 20, 1));
+        assertEquals(1, delta.getRemoved().size());
+        assertEquals(0, delta.getAdded().size());
+        assertTrue(windowed.getIntersections().isEmpty());
+    }
+
+    private static Object shape(Random random, int i) {
+        double x = random.nextDouble() * 20 - 10;
+        double y = random.nextDouble() * 20 - 10;
+        switch (i % 10) {
+            case 0:
+                return new Line(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() * 4 - 2);
+            case 1:
+                return new Parabola(random.nextDouble() + 0.1, random.nextDouble() - 0.5, y);
+            case 2:
+                return new Hyperbola(random.nextDouble() + 0.1, x, y);
+            default:
+                return new Segment(x, y, x + random.nextDouble() * 4 - 2, y + random.nextDouble() * 4 - 2);
+        }
+    }
+
+    private static void apply(Set<ShapeIntersection> replica, IntersectionDelta delta) {
+        for (ShapeIntersection intersection : delta.getRemoved()) {
+            assertTrue(replica.remove(intersection));
+        }
+        for (ShapeIntersection intersection : delta.getAdded()) {
+            assertTrue(replica.add(intersection));
+        }
+    }
+
+    private static void check(IncrementalIntersector intersector, Set<ShapeIntersection> replica, List<Object> shapes) {
+        int expected = 0;
+        for (int i = 0; i < shapes.size(); i++) {
+            for (int j = i + 1; j < shapes.size(); j++) {
+                Point[] points = SceneIntersector.intersect(shapes.get(i), shapes.get(j));
+                expected += points.length;
+            }
+        }
+        assertTrue(expected > 0);
+        List<ShapeIntersection> intersections = intersector.getIntersections();
+        assertEquals(expected, intersections.size());
+        assertEquals(expected, replica.size());
+        for (ShapeIntersection intersection : intersections) {
+            assertTrue(replica.contains(intersection));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.index.KdTree;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * KD树的测试类,查询结果与逐个计算的结果比较
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class KdTreeTest {
+    /**
+     * 测试最近点,最近的k个点和圆内的点的查询
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testQuery() throws Exception {
+        Random random = new Random(20130624L);
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 3000; i++) {
+            //一部分点取在整数网格上,以覆盖坐标相同和在圆周上的情况
+            if (i % 3 == 0) {
+                buffer.add(random.nextInt(20), random.nextInt(20));
+            } else {
+                buffer.add(random.nextDouble() * 20, random.nextDouble() * 20);
+            }
+        }
+        KdTree tree = new KdTree(buffer);
+        assertEquals(3000, tree.size());
+
+        int[] result = new int[10];
+        double[] distances = new double[10];
+        for (int i = 0; i < 200; i++) {
+            double x = i % 2 == 0 ? random.nextInt(20) : random.nextDouble() * 20;
+            double y = i % 2 == 0 ? random.nextInt(20) : random.nextDouble() * 20;
+
+            double[] expected = new double[buffer.size()];
+            for (int j = 0; j < buffer.size(); j++) {
+                expected[j] = PointUtil.distance(x, y, buffer.getX(j), buffer.getY(j));
+            }
+            double[] sorted = expected.clone();
+            Arrays.sort(sorted);
+
+            int nearest = tree.nearest(x, y);
+            assertEquals(sorted[0], expected[nearest]);
+
+            assertEquals(10, tree.kNearest(x, y, 10, result, distances));
+            for (int j = 0; j < 10; j++) {
+                assertEquals(sorted[j], expected[result[j]]);
+            }
+
+            double radius = i % 2 == 0 ? 1 : random.nextDouble() * 2;
+            int count = 0;
+            for (int j = 0; j < buffer.size(); j++) {
+                if (RoundUtil.inRound(buffer.getX(j), buffer.getY(j), x, y, radius)) {
+                    count++;
+                }
+            }
+            int[] within = tree.withinRadius(x, y, radius);
+            assertEquals(count, within.length);
+            for (int index : within) {
+                assertTrue(RoundUtil.inRound(buffer.getX(index), buffer.getY(index), x, y, radius));
+            }
+        }
+        assertEquals(-1, new KdTree(new PointBuffer()).nearest(0, 0));
+    }
+
+    /**
+     * 测试距离最近的点对
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testClosestPair() throws Exception {
+        Random random = new Random(20130625L);
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 1000; i++) {
+            buffer.add(random.nextDouble() * 100, random.nextDouble() * 100);
+        }
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < buffer.size(); i++) {
+            for (int j = i + 1; j < buffer.size(); j++) {
+                min = Math.min(min, PointUtil.distance(buffer.getX(i), buffer.getY(i), buffer.getX(j), buffer.getY(j)));
+            }
+        }
+        int[] pair = new KdTree(buffer).closestPair();
+        assertTrue(pair[0] < pair[1]);
+        assertEquals(min, PointUtil.distance(buffer.getX(pair[0]), buffer.getY(pair[0]),
+                buffer.getX(pair[1]), buffer.getY(pair[1])));
+
+        buffer.add(buffer.getX(10), buffer.getY(10));
+        pair = new KdTree(buffer).closestPair();
+        assertEquals(10, pair[0]);
+        assertEquals(1000, pair[1]);
+        assertNull(new KdTree(buffer.getPoint(0)).closestPair());
+    }
+}
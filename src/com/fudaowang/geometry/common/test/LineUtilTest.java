@@ -1,7 +1,10 @@
 package com.fudaowang.geometry.common.test;
 
+import com.fudaowang.geometry.common.graph.Viewport;
 import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.LineSet;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
 import com.fudaowang.geometry.common.graph.Segment;
 import com.fudaowang.geometry.common.util.LineUtil;
 import com.fudaowang.geometry.common.util.NumberUtil;
@@ -12,6 +15,10 @@ import static junit.framework.TestCase.*;
 import com.fudaowang.geometry.common.util.SegmentUtil;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 /**
  * LineUtil的测试类
  * Created with IntelliJ IDEA.
@@ -342,4 +349,135 @@ public class LineUtilTest {
         assertTrue(PointUtil.coincide(s2.getP1(), new Point(1, -2)));
         assertTrue(PointUtil.coincide(s2.getP2(), new Point(1, -1)));
     }
+
+    /**
+     * 测试判断直线重合
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCoincide() throws Exception {
+        assertTrue(LineUtil.coincide(new Line(0, 1, -1), new Line(0, 2, -2)));
+        assertTrue(LineUtil.coincide(new Line(1, 0, 3), new Line(-2, 0, -6)));
+        assertTrue(LineUtil.coincide(l1, new Line(-3, 3, -3)));
+        assertTrue(LineUtil.coincide(new Line(p11, new Point(3, 2)), new Line(new Point(-1, 0), new Point(5, 3))));
+        assertFalse(LineUtil.coincide(l1, l_1));
+        assertFalse(LineUtil.coincide(l1, _l1));
+        assertTrue(LineUtil.coincide(l1, l_1, 3));
+    }
+
+    /**
+     * 测试使用散列的直线集去重,结果应与线性查找一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLineSet() throws Exception {
+        Point[] points = new Point[40];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(i % 5 - 2, i / 5 - 4);
+        }
+
+        List<Line> list = new ArrayList<Line>();
+        LineSet set = new LineSet();
+        for (int i = 0; i < points.length; i++) {
+            for (int j = 0; j < points.length; j++) {
+                if (i == j) {
+                    continue;
+                }
+                Line line = new Line(points[i], points[j]);
+                boolean added = !LineUtil.exist(list, line) && list.add(line);
+                assertEquals(added, set.add(line));
+            }
+        }
+        assertEquals(list.size(), set.size());
+        for (Line line : list) {
+            assertTrue(LineUtil.exist(set, line));
+            assertTrue(set.contains(LineUtil.translation(line, 1E-14, 0)));
+            assertFalse(set.contains(LineUtil.translation(line, line.getA() * 0.001, line.getB() * 0.001)));
+        }
+    }
+
+    /**
+     * 测试直线离原点很远,垂足的网格序号超出long的范围时直线集仍能去重
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLineSetLargeOffset() throws Exception {
+        LineSet set = new LineSet();
+        assertTrue(set.add(new Line(1, 0, -1E8)));
+        assertFalse(set.add(new Line(1, 0, -1E8)));
+        assertFalse(set.add(new Line(2, 0, -2E8)));
+        assertTrue(set.contains(new Line(1, 0, -1E8)));
+        assertTrue(set.add(new Line(0, 1, 4E7)));
+        assertFalse(set.add(new Line(0, 1, 4E7)));
+        assertTrue(set.add(new Line(1, 1, 1E300)));
+        assertFalse(set.add(new Line(1, 1, 1E300)));
+        assertTrue(set.add(new Line(1, 0, 0)));
+        assertEquals(4, set.size());
+    }
+
+    /**
+     * 测试利用Viewport转换直线的坐标
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testViewport() throws Exception {
+        Viewport viewport = Viewport.builder().origin(200, 150).space(40, 25).bounds(0, 400, 0, 300).build();
+        Line line = new Line(2, -3, 1);
+        Line absolute = LineUtil.toAbsoluteCoordinate(line, viewport);
+        for (double x = -5; x <= 5; x += 2.5) {
+            Point point = new Point(x, LineUtil.getY(line, x));
+            assertTrue(LineUtil.onLine(viewport.toAbsolute(point), absolute, 1E-9));
+        }
+        assertTrue(LineUtil.coincide(LineUtil.toRelativeCoordinate(absolute, viewport), line, 1E-9));
+
+        Viewport symmetrical = Viewport.builder().origin(200, 150).space(40).build();
+        assertTrue(LineUtil.coincide(LineUtil.toAbsoluteCoordinate(line, symmetrical),
+                LineUtil.toAbsoluteCoordinate(line, symmetrical.toCoordinate()), 1E-9));
+        assertNull(LineUtil.toAbsoluteCoordinate(line, (Viewport) null));
+
+        assertTrue(viewport.contains(0, 300));
+        assertFalse(viewport.containsRelative(-5.5, 0));
+        assertEquals(viewport.getRelativeMaxY(), 6.0);
+        try {
+            Viewport.builder().origin(0, 0).space(0, 1).build();
+            fail();
+        } catch (IllegalArgumentException e) {
+            //单位长度必须大于0
+        }
+    }
+
+    /**
+     * 测试批量计算点到直线的距离与逐个计算逐位一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchDistance() throws Exception {
+        Random random = new Random(20130628L);
+        PointBuffer points = new PointBuffer();
+        for (int i = 0; i < 517; i++) {
+            points.add(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+        }
+        Line line = new Line(0.3, -1.7, 2.5);
+        double[] result = new double[points.size() + 3];
+        assertSame(result, LineUtil.distance(points, line, result));
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(LineUtil.distance(points.getPoint(i), line), result[i]);
+        }
+        assertEquals(0.0, result[points.size()]);
+
+        LineUtil.distance(points.getXs(), points.getYs(), 10, 20, 0, 1, 0, result);
+        assertEquals(Math.abs(points.getY(10)), result[10]);
+        assertEquals(Math.abs(points.getY(29)), result[29]);
+        try {
+            LineUtil.distance(points, null, result);
+            fail();
+        } catch (NullPointerException e) {
+            //直线为null
+        }
+    }
 }
@@ -1,11 +1,16 @@
 package com.fudaowang.geometry.common.test;
 
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.graph.Viewport;
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Parabola;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
 import com.fudaowang.geometry.common.util.LineUtil;
 import com.fudaowang.geometry.common.util.NumberUtil;
 import com.fudaowang.geometry.common.util.ParabolaUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
 import org.junit.Test;
 
 import static junit.framework.TestCase.*;
@@ -97,4 +102,125 @@ public class ParabolaUtilTest {
         assertEquals(0.0, parabola.getB());
         assertEquals(0.0, parabola.getC());
     }
+
+    /**
+     * 测试利用Viewport转换抛物线的坐标
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testViewport() throws Exception {
+        Viewport viewport = Viewport.builder().origin(200, 150).space(40, 25).build();
+        Parabola parabola = new Parabola(0.5, -1, 2);
+        Parabola absolute = ParabolaUtil.toAbsoluteCoordinate(parabola, viewport);
+        for (double x = -4; x <= 4; x += 2) {
+            Point point = viewport.toAbsolute(new Point(x, ParabolaUtil.getY(parabola, x)));
+            assertTrue(ParabolaUtil.onParabola(point, absolute, 1E-9));
+        }
+        assertTrue(ParabolaUtil.coincide(ParabolaUtil.toRelativeCoordinate(absolute, viewport), parabola, 1E-9));
+    }
+
+    /**
+     * 测试计算圆与抛物线的交点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectRound() throws Exception {
+        //y=x^2与以(0,1)为圆心,1为半径的圆在原点相切,在(-1,1)和(1,1)相交
+        Parabola parabola = new Parabola(1, 0, 0);
+        Point[] points = ParabolaUtil.intersect(new Round(0, 1, 1), parabola);
+        assertEquals(3, points.length);
+        assertEquals(-1.0, points[0].getX(), 1E-12);
+        assertEquals(1.0, points[0].getY(), 1E-12);
+        assertEquals(0.0, points[1].getX(), 1E-12);
+        assertEquals(0.0, points[1].getY(), 1E-12);
+        assertEquals(1.0, points[2].getX(), 1E-12);
+
+        assertEquals(0, ParabolaUtil.intersect(new Round(0, -1, 0.5), parabola).length);
+        parabola = new Parabola(4, 0.3, -1);
+        Round round = new Round(0.05, 0, 0.8);
+        points = ParabolaUtil.intersect(round, parabola);
+        assertEquals(4, points.length);
+        for (Point point : points) {
+            assertTrue(RoundUtil.onRound(point, round, 1E-9));
+            assertTrue(ParabolaUtil.onParabola(point, parabola, 1E-9));
+        }
+        assertEquals(0, ParabolaUtil.intersect((Round) null, parabola).length);
+    }
+
+    /**
+     * 测试直线与抛物线相切
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectTangent() throws Exception {
+        //y=x^2在(1,1)的切线为y=2x-1
+        Point[] points = ParabolaUtil.intersect(new Line(2, -1, -1), new Parabola(1, 0, 0));
+        assertEquals(1, points.length);
+        assertEquals(1.0, points[0].getX(), 1E-12);
+        assertEquals(1.0, points[0].getY(), 1E-12);
+    }
+
+    /**
+     * 测试把交点传给可重用的缓冲区
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectSink() throws Exception {
+        Parabola parabola = new Parabola(1, 0, 0);
+        PointBuffer buffer = new PointBuffer();
+        //y=1与y=x^2交于(1,1)和(-1,1),a>0时横坐标大的在前,线段只包括(1,1)
+        assertEquals(2, ParabolaUtil.intersect(new Line(0, 1, -1), parabola, buffer));
+        assertEquals(1, ParabolaUtil.intersect(new Segment(0, 1, 2, 1), parabola, buffer));
+        assertEquals(3, buffer.size());
+        assertEquals(1.0, buffer.getX(0), 1E-12);
+        assertEquals(-1.0, buffer.getX(1), 1E-12);
+        assertEquals(1.0, buffer.getX(2), 1E-12);
+        assertEquals(1.0, buffer.getY(2), 1E-12);
+
+        buffer.clear();
+        Round round = new Round(0.05, 0, 0.8);
+        parabola = new Parabola(4, 0.3, -1);
+        assertEquals(4, ParabolaUtil.intersect(round, parabola, buffer));
+        Point[] points = ParabolaUtil.intersect(round, parabola);
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(points[i].getX(), buffer.getX(i));
+            assertEquals(points[i].getY(), buffer.getY(i));
+        }
+        assertEquals(0, ParabolaUtil.intersect(1, 1, 1, 1, 4, 0.3, -1, buffer));
+        assertEquals(4, buffer.size());
+
+        //重复使用保存根的数组
+        double[] roots = new double[4];
+        buffer.clear();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(4, ParabolaUtil.intersect(round, parabola, roots, buffer));
+        }
+        assertEquals(12, buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(points[i % 4].getX(), buffer.getX(i));
+            assertEquals(points[i % 4].getY(), buffer.getY(i));
+        }
+    }
+
+    /**
+     * 测试直线与抛物线的交点的顺序:抛物线的系数a大于0时横坐标大的在前,小于0时横坐标小的在前
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectOrder() throws Exception {
+        Point[] points = ParabolaUtil.intersect(new Line(1, -1, 0), new Parabola(1, 0, 0));
+        assertEquals(2, points.length);
+        assertEquals(1.0, points[0].getX(), 1E-12);
+        assertEquals(0.0, points[1].getX(), 1E-12);
+
+        points = ParabolaUtil.intersect(new Line(1, -1, 0), new Parabola(-1, 2, 0));
+        assertEquals(2, points.length);
+        assertEquals(0.0, points[0].getX(), 1E-12);
+        assertEquals(1.0, points[1].getX(), 1E-12);
+    }
 }
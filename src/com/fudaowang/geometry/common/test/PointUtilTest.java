@@ -1,10 +1,21 @@
 package com.fudaowang.geometry.common.test;
 
+import com.fudaowang.geometry.common.function.PointComparator;
+import com.fudaowang.geometry.common.function.PointPredicate;
+import com.fudaowang.geometry.common.function.PointTransformer;
+import com.fudaowang.geometry.common.graph.AffineTransform2D;
+import com.fudaowang.geometry.common.graph.Coordinate;
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.PointSet;
+import com.fudaowang.geometry.common.graph.Round;
 import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.CoordinateUtil;
 import com.fudaowang.geometry.common.util.NumberUtil;
+import com.fudaowang.geometry.common.util.LineUtil;
 import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
 
 import static junit.framework.TestCase.*;
 
@@ -13,6 +24,10 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 /**
  * Util的测试类
  * Created with IntelliJ IDEA.
@@ -239,4 +254,261 @@ public class PointUtilTest {
         Point p1 = PointUtil.translation(p11, 9, -11);
         assertTrue(PointUtil.coincide(p1, p10_10));
     }
+
+    /**
+     * 测试点集的批量变换与单点变换结果一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPointBufferTransform() throws Exception {
+        Point[] points = new Point[]{p11, p1010, p_1_1, p1_1, p_1010};
+        PointBuffer source = new PointBuffer(points);
+        PointBuffer target = new PointBuffer(points.length);
+        Point center = new Point(2, -3);
+        Line axis = new Line(1, -2, 3);
+
+        PointUtil.translation(source, 9, -11, target);
+        for (int i = 0; i < points.length; i++) {
+            assertTrue(PointUtil.coincide(target.getPoint(i), PointUtil.translation(points[i], 9, -11)));
+        }
+
+        PointUtil.rotate(source, center, Math.PI / 3.0, target);
+        for (int i = 0; i < points.length; i++) {
+            assertTrue(PointUtil.coincide(target.getPoint(i), PointUtil.rotate(points[i], center, Math.PI / 3.0), 1E-9));
+        }
+
+        PointUtil.stretch(source, center, -2.5, target);
+        for (int i = 0; i < points.length; i++) {
+            assertTrue(PointUtil.coincide(target.getPoint(i), PointUtil.stretch(points[i], center, -2.5), 1E-9));
+        }
+
+        PointUtil.getCentralSymmetry(source, center, target);
+        for (int i = 0; i < points.length; i++) {
+            assertTrue(PointUtil.coincide(target.getPoint(i), PointUtil.getCentralSymmetry(points[i], center)));
+        }
+
+        PointUtil.getAxialSymmetry(source, axis, target);
+        for (int i = 0; i < points.length; i++) {
+            assertTrue(PointUtil.coincide(target.getPoint(i), PointUtil.getAxialSymmetry(points[i], axis), 1E-9));
+        }
+
+        Coordinate coordinate = new Coordinate(300, 200, 20, 25);
+        PointUtil.toAbsoluteCoordinate(source, coordinate, target);
+        for (int i = 0; i < points.length; i++) {
+            assertTrue(PointUtil.coincide(target.getPoint(i), PointUtil.toAbsoluteCoordinate(points[i], coordinate)));
+        }
+
+        PointUtil.toRelativeCoordinate(target, coordinate, target);
+        for (int i = 0; i < points.length; i++) {
+            assertTrue(PointUtil.coincide(target.getPoint(i), points[i], 1E-9));
+        }
+    }
+
+    /**
+     * 测试以横纵坐标为参数的过滤,变换,判定与排序
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPrimitiveFunction() throws Exception {
+        Point[] points = new Point[]{p1010, p_1_1, p11, p_10_10, p1_1};
+        PointPredicate positive = new PointPredicate() {
+            public boolean evaluate(double x, double y) {
+                return x > 0 && y > 0;
+            }
+        };
+
+        Point[] filtered = PointUtil.filter(points, positive);
+        assertEquals(2, filtered.length);
+        assertSame(p1010, filtered[0]);
+        assertSame(p11, filtered[1]);
+
+        PointBuffer buffer = new PointBuffer(points);
+        PointUtil.filter(buffer, positive, buffer);
+        assertEquals(2, buffer.size());
+        assertTrue(PointUtil.coincide(buffer.getPoint(1), p11));
+
+        Point[] collected = PointUtil.collect(points, new PointTransformer() {
+            public void transform(double x, double y, double[] result) {
+                result[0] = -x;
+                result[1] = -y;
+            }
+        });
+        assertTrue(PointUtil.coincide(collected[0], p_10_10));
+        assertTrue(PointUtil.coincide(collected[4], p_11));
+
+        assertTrue(PointUtil.exists(points, positive));
+        assertFalse(PointUtil.exists(new PointBuffer(p_1_1, p_10_10), positive));
+
+        buffer = new PointBuffer(points);
+        PointUtil.sort(buffer, new PointComparator() {
+            public int compare(double x1, double y1, double x2, double y2) {
+                return Double.compare(x1 + y1, x2 + y2);
+            }
+        });
+        assertTrue(PointUtil.coincide(buffer.getPoint(0), p_10_10));
+        assertTrue(PointUtil.coincide(buffer.getPoint(4), p1010));
+    }
+
+    /**
+     * 测试使用网格散列的点集去重,结果应与线性查找一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPointSet() throws Exception {
+        double precision = 0.01;
+        Random random = new Random(20130607L);
+        List<Point> list = new ArrayList<Point>();
+        PointSet set = new PointSet(precision);
+        for (int i = 0; i < 5000; i++) {
+            Point p = new Point(random.nextInt(200) * 0.005 + random.nextDouble() * 0.001, random.nextInt(200) * 0.005);
+            assertEquals(PointUtil.addUnique(list, p, precision), PointUtil.addUnique(set, p, precision));
+        }
+        assertEquals(list.size(), set.size());
+        for (Point p : list) {
+            assertTrue(set.contains(p));
+            assertTrue(PointUtil.exist(set, p, precision));
+        }
+
+        set = new PointSet();
+        PointUtil.addUnique(set, p11, p1010, new Point(1, 1), p11);
+        assertEquals(2, set.size());
+        assertTrue(set.contains(1, 1));
+        assertFalse(set.contains(1, 1 + 1E-9));
+        assertTrue(set.contains(1, 1 + 1E-9, 1E-6));
+    }
+
+    /**
+     * 测试坐标很大,网格序号超出long的范围时点集仍能去重
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPointSetLargeCoordinate() throws Exception {
+        PointSet set = new PointSet();
+        assertTrue(set.add(new Point(1E8, 0)));
+        assertFalse(set.add(new Point(1E8, 0)));
+        assertEquals(1, set.size());
+        assertTrue(set.add(new Point(1E7, 1E7)));
+        assertTrue(set.contains(new Point(1E7, 1E7)));
+        assertTrue(set.add(-1E300, Double.MAX_VALUE));
+        assertFalse(set.add(-1E300, Double.MAX_VALUE));
+        assertTrue(set.add(Math.nextUp(1E8), 0));
+        assertTrue(set.add(0, 0));
+        assertFalse(set.add(-0.0, 0));
+        assertEquals(5, set.size());
+
+        //网格序号在2^53附近
+        double x = Math.scalb(1.0, 53) * set.getPrecision();
+        assertTrue(set.add(x, 0));
+        assertFalse(set.add(x, 0));
+        assertTrue(set.contains(x, 0));
+    }
+
+    /**
+     * 测试仿射变换与逐步调用PointUtil的结果一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAffineTransform() throws Exception {
+        Point center = new Point(1, -2);
+        Line axis = new Line(1, 2, -3);
+        AffineTransform2D transform = AffineTransform2D.rotate(center, Math.PI / 5)
+                .compose(AffineTransform2D.translation(3, -1))
+                .compose(AffineTransform2D.stretch(center, 1.5))
+                .compose(AffineTransform2D.axialSymmetry(axis));
+
+        Random random = new Random(20130619L);
+        for (int i = 0; i < 100; i++) {
+            Point point = new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+            Point expected = PointUtil.rotate(point, center, Math.PI / 5);
+            expected = PointUtil.translation(expected, 3, -1);
+            expected = PointUtil.stretch(expected, center, 1.5);
+            expected = PointUtil.getAxialSymmetry(expected, axis);
+            assertTrue(PointUtil.coincide(transform.transform(point), expected, 1E-9));
+            assertTrue(PointUtil.coincide(transform.invert().transform(expected), point, 1E-9));
+        }
+
+        Coordinate coordinate = new Coordinate(200, 200, 40, 20);
+        Point absolute = AffineTransform2D.toAbsoluteCoordinate(coordinate).transform(p1_1);
+        assertTrue(PointUtil.coincide(absolute, PointUtil.toAbsoluteCoordinate(p1_1, coordinate)));
+        assertTrue(PointUtil.coincide(AffineTransform2D.toRelativeCoordinate(coordinate).transform(absolute), p1_1));
+
+        //直线上的点变换后仍在变换后的直线上
+        Line line = transform.transform(new Line(p00, p1010));
+        assertTrue(LineUtil.onLine(transform.transform(p00), line, 1E-9));
+        assertTrue(LineUtil.onLine(transform.transform(p_10_10), line, 1E-9));
+
+        Round round = transform.transform(new Round(center, 2));
+        assertEquals(round.getRadius(), 3.0, 1E-9);
+        assertTrue(RoundUtil.onRound(transform.transform(new Point(3, -2)), round, 1E-9));
+        try {
+            AffineTransform2D.toAbsoluteCoordinate(coordinate).transform(round);
+            fail();
+        } catch (IllegalArgumentException e) {
+            //横纵坐标单位长度不同,圆变换后不再是圆
+        }
+
+        PointBuffer buffer = transform.transform(new PointBuffer(p11, p1_1), new PointBuffer());
+        assertTrue(PointUtil.coincide(buffer.getPoint(1), transform.transform(p1_1)));
+        assertNull(transform.transform((Point) null));
+        assertEquals(AffineTransform2D.IDENTITY.compose(transform).getM02(), transform.getM02());
+    }
+
+    /**
+     * 测试批量计算距离和坐标转换的结果与逐个计算逐位一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchKernel() throws Exception {
+        Random random = new Random(20130628L);
+        PointBuffer points = new PointBuffer();
+        for (int i = 0; i < 1003; i++) {
+            points.add(random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100);
+        }
+        double[] xs = points.getXs();
+        double[] ys = points.getYs();
+        double[] distances = PointUtil.distance(points, 3.5, -2.25, null);
+        assertEquals(points.size(), distances.length);
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(PointUtil.distance(xs[i], ys[i], 3.5, -2.25), distances[i]);
+        }
+
+        double[] result = new double[points.size()];
+        CoordinateUtil.toAbsoluteCoordinateX(xs, 1, 1000, 300, 20, result);
+        CoordinateUtil.toAbsoluteCoordinateY(ys, 1, 1000, 200, 25, result);
+        assertEquals(0.0, result[0]);
+        assertEquals(0.0, result[1001]);
+        for (int i = 1; i < 1001; i++) {
+            assertEquals(CoordinateUtil.toAbsoluteCoordinateY(ys[i], 200, 25), result[i]);
+        }
+        double[] copy = xs.clone();
+        CoordinateUtil.toRelativeCoordinateX(copy, 0, points.size(), 300, 20, copy);
+        CoordinateUtil.toRelativeCoordinateY(ys, 0, points.size(), 200, 25, result);
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(CoordinateUtil.toRelativeCoordinateX(xs[i], 300, 20), copy[i]);
+            assertEquals(CoordinateUtil.toRelativeCoordinateY(ys[i], 200, 25), result[i]);
+        }
+        CoordinateUtil.toAbsoluteCoordinateX(copy, 0, points.size(), 300, 20, copy);
+        for (int i = 0; i < points.size(); i++) {
+            assertEquals(xs[i], copy[i], 1E-9);
+        }
+
+        try {
+            PointUtil.distance(xs, ys, 0, points.size(), 0, 0, new double[10]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            //结果数组的长度不足
+        }
+        try {
+            CoordinateUtil.toRelativeCoordinateX(xs, xs.length - 5, 10, 0, 1, new double[xs.length + 5]);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            //超出坐标数组的范围
+        }
+    }
 }
@@ -32,4 +32,25 @@ public class PolygonUtilTest {
         Polygon p2 = PolygonUtil.rotate(source, new Point(-1, -1), -Math.PI / 2.0);
         assertTrue(PolygonUtil.coincide(p1, p2));
     }
+
+    /**
+     * 测试修改构造时传入的数组或getPoints返回的数组不影响多边形和缓存的包围盒
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBoundingBox() throws Exception {
+        Point[] points = new Point[]{new Point(0, 0), new Point(2, 0), new Point(1, 3)};
+        Polygon polygon = new Polygon(points);
+        assertEquals(3.0, polygon.getBoundingBox().getMaxY());
+        points[2] = new Point(1, 10);
+        polygon.getPoints()[0] = new Point(-5, -5);
+        assertEquals(0.0, polygon.getBoundingBox().getMinX());
+        assertEquals(3.0, polygon.getBoundingBox().getMaxY());
+        assertEquals(0.0, polygon.getPoints()[0].getX());
+        assertEquals(3.0, polygon.getPoints()[2].getY());
+        assertEquals(3, polygon.size());
+        assertEquals(2.0, polygon.getPoint(1).getX());
+        assertEquals(3.0, polygon.getPoint(2).getY());
+    }
 }
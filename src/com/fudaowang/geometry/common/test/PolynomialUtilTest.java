@@ -0,0 +1,196 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.util.PolynomialUtil;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * 多项式方程求根的测试类
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class PolynomialUtilTest {
+    /**
+     * 测试二次方程求根
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSolveQuadratic() throws Exception {
+        double[] roots = new double[2];
+        assertEquals(2, PolynomialUtil.solveQuadratic(1, -3, 2, roots));
+        assertEquals(1.0, roots[0]);
+        assertEquals(2.0, roots[1]);
+        assertEquals(1, PolynomialUtil.solveQuadratic(1, -2, 1, roots));
+        assertEquals(1.0, roots[0]);
+        assertEquals(0, PolynomialUtil.solveQuadratic(1, 0, 1, roots));
+        assertEquals(1, PolynomialUtil.solveQuadratic(0, 2, -1, roots));
+        assertEquals(0.5, roots[0]);
+        assertEquals(0, PolynomialUtil.solveQuadratic(0, 0, 1, roots));
+
+        //两个根相差很大时,直接用求根公式求小的根会损失全部精度
+        assertEquals(2, PolynomialUtil.solveQuadratic(1, -1E8, 1, roots));
+        assertEquals(1E-8, roots[0], 1E-22);
+        assertEquals(1E8, roots[1], 1E-6);
+        assertEquals(2, PolynomialUtil.solveQuadratic(-2, -1E9, 3, roots));
+        assertEquals(-5E8, roots[0], 1E-6);
+        assertEquals(3E-9, roots[1], 1E-23);
+
+        try {
+            PolynomialUtil.solveQuadratic(1, 0, -1, new double[1]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            //数组长度不足
+        }
+    }
+
+    /**
+     * 测试三次方程求根
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSolveCubic() throws Exception {
+        double[] roots = new double[3];
+        assertEquals(3, solve(new double[]{1, 2, 3}, roots));
+        assertRoots(new double[]{1, 2, 3}, roots);
+        assertEquals(2, solve(new double[]{1, 1, -2}, roots));
+        assertRoots(new double[]{-2, 1}, roots);
+        assertEquals(1, PolynomialUtil.solveCubic(1, 0, 0, -8, roots));
+        assertEquals(2.0, roots[0], 1E-15);
+        assertEquals(1, PolynomialUtil.solveCubic(1, 0, 1, 0, roots));
+        assertEquals(0.0, roots[0]);
+    }
+
+    /**
+     * 测试四次方程求根
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSolveQuartic() throws Exception {
+        double[] roots = new double[4];
+        assertEquals(4, solve(new double[]{-3, 0.5, 1, 2}, roots));
+        assertRoots(new double[]{-3, 0.5, 1, 2}, roots);
+        assertEquals(4, solve(new double[]{-2, -1, 1, 2}, roots));
+        assertRoots(new double[]{-2, -1, 1, 2}, roots);
+        //重根只返回一次
+        assertEquals(3, solve(new double[]{-1, 0, 0, 1}, roots));
+        assertRoots(new double[]{-1, 0, 1}, roots);
+        assertEquals(2, solve(new double[]{3, 3, -1, -1}, roots));
+        assertRoots(new double[]{-1, 3}, roots);
+        //(x^2+1)(x^2+2)和(x-1)^2(x^2+1)
+        assertEquals(0, PolynomialUtil.solveQuartic(1, 0, 3, 0, 2, roots));
+        assertEquals(1, PolynomialUtil.solveQuartic(1, -2, 2, -2, 1, roots));
+        assertEquals(1.0, roots[0], 1E-9);
+
+        Random random = new Random(20130629L);
+        for (int i = 0; i < 1000; i++) {
+            double[] expected = new double[4];
+            for (int j = 0; j < 4; j++) {
+                expected[j] = random.nextDouble() * 20 - 10;
+            }
+            Arrays.sort(expected);
+            if (expected[1] - expected[0] < 0.01 || expected[2] - expected[1] < 0.01 || expected[3] - expected[2] < 0.01) {
+                continue;
+            }
+            assertEquals(4, solve(expected, roots));
+            assertRoots(expected, roots);
+        }
+    }
+
+    /**
+     * 测试批量求根与逐个求根的结果相同
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatch() throws Exception {
+        Random random = new Random(20130629L);
+        int n = 200;
+        double[] quadratics = new double[3 * n];
+        double[] quartics = new double[5 * n];
+        for (int i = 0; i < quadratics.length; i++) {
+            quadratics[i] = random.nextDouble() * 2 - 1;
+        }
+        for (int i = 0; i < quartics.length; i++) {
+            quartics[i] = random.nextDouble() * 2 - 1;
+        }
+        double[] roots = new double[4 * n];
+        int[] counts = new int[n];
+        double[] single = new double[4];
+
+        int total = PolynomialUtil.solveQuadratic(quadratics, 0, n, roots, counts);
+        int sum = 0;
+        for (int i = 0; i < n; i++) {
+            int count = PolynomialUtil.solveQuadratic(quadratics[3 * i], quadratics[3 * i + 1], quadratics[3 * i + 2], single);
+            assertEquals(count, counts[i]);
+            for (int j = 0; j < count; j++) {
+                assertEquals(single[j], roots[2 * i + j]);
+            }
+            sum += count;
+        }
+        assertEquals(sum, total);
+
+        total = PolynomialUtil.solveQuartic(quartics, 0, n, roots, counts);
+        sum = 0;
+        for (int i = 0; i < n; i++) {
+            int count = PolynomialUtil.solveQuartic(quartics[5 * i], quartics[5 * i + 1], quartics[5 * i + 2],
+                    quartics[5 * i + 3], quartics[5 * i + 4], single);
+            assertEquals(count, counts[i]);
+            for (int j = 0; j < count; j++) {
+                assertEquals(single[j], roots[4 * i + j]);
+                //误差按各项的绝对值之和计算,根很大时多项式的值也很大
+                double x = roots[4 * i + j];
+                double f = 0;
+                double scale = 0;
+                for (int k = 0; k < 5; k++) {
+                    f = f * x + quartics[5 * i + k];
+                    scale = scale * Math.abs(x) + Math.abs(quartics[5 * i + k]);
+                }
+                assertEquals(0.0, f, 1E-12 * scale);
+            }
+            sum += count;
+        }
+        assertEquals(sum, total);
+        assertTrue(sum > 0);
+    }
+
+    /**
+     * 按给定的根展开多项式后求根
+     */
+    private static int solve(double[] expected, double[] roots) {
+        double[] coefficients = {1};
+        for (double root : expected) {
+            double[] next = new double[coefficients.length + 1];
+            for (int i = 0; i < coefficients.length; i++) {
+                next[i] += coefficients[i];
+                next[i + 1] -= coefficients[i] * root;
+            }
+            coefficients = next;
+        }
+        if (coefficients.length == 4) {
+            return PolynomialUtil.solveCubic(coefficients[0], coefficients[1], coefficients[2], coefficients[3], roots);
+        }
+        return PolynomialUtil.solveQuartic(coefficients[0], coefficients[1], coefficients[2], coefficients[3],
+                coefficients[4], roots);
+    }
+
+    private static void assertRoots(double[] expected, double[] roots) {
+        double[] distinct = expected.clone();
+        Arrays.sort(distinct);
+        int n = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[n++] = distinct[i];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            assertEquals(distinct[i], roots[i], 1E-9 * Math.max(1, Math.abs(distinct[i])));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Polygon;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.index.RTree;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.RoundUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * R树的测试类,查询结果与逐个计算的结果比较
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class RTreeTest {
+    /**
+     * 测试批量装载后的窗口查询,距离查询和最近图形查询
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testQuery() throws Exception {
+        Random random = new Random(20130621L);
+        List<Object> shapes = shapes(random, 2000);
+        RTree<Object> tree = new RTree<Object>(shapes);
+        assertEquals(2000, tree.size());
+        check(random, tree, shapes);
+    }
+
+    /**
+     * 测试逐个插入和删除
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testInsertAndDelete() throws Exception {
+        Random random = new Random(20130622L);
+        List<Object> shapes = shapes(random, 1000);
+        RTree<Object> tree = new RTree<Object>();
+        for (Object shape : shapes) {
+            tree.insert(shape);
+        }
+        check(random, tree, shapes);
+
+        List<Object> remaining = new ArrayList<Object>();
+        for (int i = 0; i < shapes.size(); i++) {
+            if (i % 3 == 0) {
+                assertTrue(tree.delete(shapes.get(i)));
+            } else {
+                remaining.add(shapes.get(i));
+            }
+        }
+        assertFalse(tree.delete(shapes.get(0)));
+        assertEquals(remaining.size(), tree.size());
+        check(random, tree, remaining);
+
+        for (Object shape : remaining) {
+            assertTrue(tree.delete(shape));
+        }
+        assertTrue(tree.isEmpty());
+        assertNull(tree.nearest(new Point(0, 0)));
+    }
+
+    private static List<Object> shapes(Random random, int count) {
+        List<Object> shapes = new ArrayList<Object>();
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble() * 1000;
+            double y = random.nextDouble() * 1000;
+            switch (i % 4) {
+                case 0:
+                    shapes.add(new Point(x, y));
+                    break;
+                case 1:
+                    shapes.add(new Segment(x, y, x + random.nextDouble() * 40 - 20, y + random.nextDouble() * 40 - 20));
+                    break;
+                case 2:
+                    shapes.add(new Round(new Point(x, y), 1 + random.nextDouble() * 10));
+                    break;
+                default:
+                    shapes.add(new Polygon(new Point(x, y), new Point(x + 10, y), new Point(x + 5, y + 10)));
+                    break;
+            }
+        }
+        return shapes;
+    }
+
+    private static void check(Random random, RTree<Object> tree, List<Object> shapes) {
+        for (int i = 0; i < 50; i++) {
+            Point point = new Point(random.nextDouble() * 1000, random.nextDouble() * 1000);
+
+            HashSet<Object> expected = new HashSet<Object>();
+            for (Object shape : shapes) {
+                if (distance(point, shape) <= 15) {
+                    expected.add(shape);
+                }
+            }
+            assertEquals(expected, new HashSet<Object>(tree.within(point, 15)));
+
+            List<Object> nearest = tree.nearest(point, 5);
+            assertEquals(5, nearest.size());
+            double fifth = distance(point, nearest.get(4));
+            int closer = 0;
+            for (Object shape : shapes) {
+                if (distance(point, shape) < fifth) {
+                    closer++;
+                }
+            }
+            assertTrue(closer <= 4);
+            for (int j = 1; j < nearest.size(); j++) {
+                assertTrue(distance(point, nearest.get(j - 1)) <= distance(point, nearest.get(j)));
+            }
+
+            BoundingBox window = new BoundingBox(point.getX(), point.getY(), point.getX() + 50, point.getY() + 30);
+            int count = 0;
+            for (Object shape : shapes) {
+                if (window.intersects(box(shape))) {
+                    count++;
+                }
+            }
+            assertEquals(count, tree.search(window).size());
+        }
+    }
+
+    private static BoundingBox box(Object shape) {
+        if (shape instanceof Point) {
+            return BoundingBox.of((Point) shape);
+        } else if (shape instanceof Segment) {
+            return ((Segment) shape).getBoundingBox();
+        } else if (shape instanceof Round) {
+            return ((Round) shape).getBoundingBox();
+        }
+        return ((Polygon) shape).getBoundingBox();
+    }
+
+    private static double distance(Point point, Object shape) {
+        if (shape instanceof Point) {
+            return PointUtil.distance(point, (Point) shape);
+        } else if (shape instanceof Segment) {
+            return SegmentUtil.segmentDistance(point, (Segment) shape);
+        } else if (shape instanceof Round) {
+            return RoundUtil.distance(point, (Round) shape);
+        }
+        Point[] points = ((Polygon) shape).getPoints();
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < points.length; i++) {
+            min = Math.min(min, SegmentUtil.segmentDistance(point, new Segment(points[i], points[(i + 1) % points.length])));
+        }
+        return min;
+    }
+}
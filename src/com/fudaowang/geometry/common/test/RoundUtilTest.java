@@ -2,8 +2,11 @@ package com.fudaowang.geometry.common.test;
 
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
 import com.fudaowang.geometry.common.graph.Round;
 import com.fudaowang.geometry.common.graph.RoundRelation;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.util.LineUtil;
 import com.fudaowang.geometry.common.util.NumberUtil;
 import com.fudaowang.geometry.common.util.PointUtil;
 import com.fudaowang.geometry.common.util.RoundUtil;
@@ -145,4 +148,61 @@ public class RoundUtilTest {
         relation = RoundUtil.getRelationship(r1, r2, 1);
         assertEquals(relation, RoundRelation.SEPARATE);
     }
+
+    /**
+     * 测试计算圆与斜线和水平线的交点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectChord() throws Exception {
+        Round round = new Round(0, 0, 2);
+        Point[] points = RoundUtil.intersect(new Line(0, 1, -1), round);
+        assertEquals(2, points.length);
+        assertEquals(-Math.sqrt(3), Math.min(points[0].getX(), points[1].getX()), 1E-12);
+        assertEquals(Math.sqrt(3), Math.max(points[0].getX(), points[1].getX()), 1E-12);
+        assertEquals(1.0, points[0].getY(), 1E-12);
+        assertEquals(1.0, points[1].getY(), 1E-12);
+
+        Line line = new Line(1, 2, -1);
+        round = new Round(3, -1, 2.5);
+        points = RoundUtil.intersect(line, round);
+        assertEquals(2, points.length);
+        for (Point point : points) {
+            assertTrue(RoundUtil.onRound(point, round, 1E-12));
+            assertTrue(LineUtil.onLine(point, line, 1E-12));
+        }
+        assertEquals(0, RoundUtil.intersect(new Line(1, 0, -5), new Round(0, 0, 2)).length);
+    }
+
+    /**
+     * 测试把交点传给可重用的缓冲区
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectSink() throws Exception {
+        Round round = new Round(3, -1, 2.5);
+        Line line = new Line(1, 2, -1);
+        PointBuffer buffer = new PointBuffer();
+        assertEquals(2, RoundUtil.intersect(line, round, buffer));
+        Point[] points = RoundUtil.intersect(line, round);
+        assertEquals(2, buffer.size());
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(points[i].getX(), buffer.getX(i));
+            assertEquals(points[i].getY(), buffer.getY(i));
+        }
+
+        //线段只经过其中一个交点,结果追加在缓冲区末尾
+        Segment segment = new Segment(points[0].getX() - 2, points[0].getY() + 1, points[0].getX() + 0.2, points[0].getY() - 0.1);
+        assertEquals(1, RoundUtil.intersect(segment, round, buffer));
+        assertEquals(3, buffer.size());
+        assertTrue(PointUtil.coincide(points[0], buffer.getPoint(2)));
+
+        buffer.clear();
+        assertEquals(0, RoundUtil.intersect(new Line(1, 0, -10), round, buffer));
+        assertEquals(0, RoundUtil.intersect(0, 0, 1, 0, 0, 1, buffer));
+        assertEquals(0, buffer.size());
+        assertEquals(0, RoundUtil.intersect(line, null, buffer));
+    }
 }
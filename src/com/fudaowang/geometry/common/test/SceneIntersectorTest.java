@@ -0,0 +1,121 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.function.IntersectionSink;
+import com.fudaowang.geometry.common.graph.HalfLine;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointSet;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.scene.IntersectionGraph;
+import com.fudaowang.geometry.common.scene.SceneIntersector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * 场景求交的测试类
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class SceneIntersectorTest {
+    /**
+     * 测试求交结果与逐对计算的结果一致,并且并行与串行的结果相同
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersect() throws Exception {
+        Random random = new Random(20130625L);
+        List<Object> shapes = new ArrayList<Object>();
+        for (int i = 0; i < 600; i++) {
+            double x = random.nextDouble() * 20 - 10;
+            double y = random.nextDouble() * 20 - 10;
+            switch (i % 10) {
+                case 0:
+                    shapes.add(new Line(random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() * 4 - 2));
+                    break;
+                case 1:
+                    shapes.add(new Parabola(random.nextDouble() + 0.1, random.nextDouble() - 0.5, y));
+                    break;
+                case 2:
+                    shapes.add(new Hyperbola(random.nextDouble() + 0.1, x, y));
+                    break;
+                default:
+                    shapes.add(new Segment(x, y, x + random.nextDouble() * 4 - 2, y + random.nextDouble() * 4 - 2));
+                    break;
+            }
+        }
+        //同一个交点经过三条线段
+        shapes.add(new Segment(20, 20, 22, 22));
+        shapes.add(new Segment(20, 22, 22, 20));
+        shapes.add(new Segment(21, 20, 21, 22));
+
+        SceneIntersector intersector = new SceneIntersector(1E-9, null);
+        IntersectionGraph graph = intersector.intersect(shapes, false);
+        IntersectionGraph parallel = intersector.intersect(shapes, true);
+        assertEquals(graph.getPoints().size(), parallel.getPoints().size());
+        for (int i = 0; i < graph.getPoints().size(); i++) {
+            assertEquals(graph.getPoints().get(i).getX(), parallel.getPoints().get(i).getX());
+            assertEquals(graph.getPoints().get(i).getY(), parallel.getPoints().get(i).getY());
+        }
+        assertEquals(graph.getEdgeCount(), parallel.getEdgeCount());
+
+        PointSet expected = new PointSet(1E-9);
+        int hits = 0;
+        for (int i = 0; i < shapes.size(); i++) {
+            for (int j = i + 1; j < shapes.size(); j++) {
+                for (Point point : SceneIntersector.intersect(shapes.get(i), shapes.get(j))) {
+                    expected.add(point);
+                    hits++;
+                }
+            }
+        }
+        assertTrue(hits > 0);
+        assertEquals(expected.size(), graph.getPoints().size());
+        for (Point point : graph.getPoints()) {
+            assertTrue(expected.contains(point));
+        }
+
+        int last = graph.getPoints().size() - 1;
+        assertEquals(21.0, graph.getPoints().get(last).getX(), 1E-9);
+        assertEquals(3, graph.getShapeIndexes(last).length);
+        assertEquals(shapes.get(600), graph.getShapes(last).get(0));
+        assertTrue(graph.getPoints(602).contains(graph.getPoints().get(last)));
+    }
+
+    /**
+     * 测试按图形类型求交时把交点传给回调,射线反方向上的交点被去掉
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersectSink() throws Exception {
+        final List<Point> points = new ArrayList<Point>();
+        IntersectionSink sink = new IntersectionSink() {
+            public void accept(double x, double y) {
+                points.add(new Point(x, y));
+            }
+        };
+        Round round = new Round(0, 0, 2);
+        assertEquals(2, SceneIntersector.intersect(new Line(0, 1, -1), round, sink));
+        HalfLine halfLine = new HalfLine(new Point(0, 1), new Point(1, 1));
+        assertEquals(1, SceneIntersector.intersect(round, halfLine, sink));
+        assertEquals(3, points.size());
+        assertEquals(Math.sqrt(3), points.get(2).getX(), 1E-12);
+
+        Segment segment = new Segment(0, 0.5, 3, 0.5);
+        Hyperbola hyperbola = new Hyperbola(1, 0, 0);
+        assertEquals(1, SceneIntersector.intersect(segment, hyperbola, sink));
+        assertEquals(2.0, points.get(3).getX(), 1E-12);
+        assertEquals(1, SceneIntersector.intersect(segment, hyperbola).length);
+        assertEquals(0, SceneIntersector.intersect(round, new Round(1, 1, 1), sink));
+        assertEquals(4, points.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.graph.Coordinate;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.regex.FunctionPattern;
+import com.fudaowang.geometry.common.regex.GraphPattern;
+import com.fudaowang.geometry.common.scene.Scene;
+import com.fudaowang.geometry.common.scene.SceneParser;
+import com.fudaowang.geometry.common.util.PointUtil;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * 题目文档解析的测试类
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class SceneParserTest {
+    private String document = "[X:40,Y:40,up:0,down:400,left:0,right:400]\n" +
+            "YUANDIAN,200,200\n" +
+            "A(1.5,-2,0,0)\n" +
+            "B(-3,4.25,0,0)\n" +
+            "(A,B)\n" +
+            "(B,2.5,0,0)\n" +
+            "(A,C)\n" +
+            "SimpleFunction(1,-1,2,0,0)\n" +
+            "SimpleFunction(0,0,2,0,0)\n" +
+            "Parabola(0.5,0,-1,0,0)\n" +
+            "InverseFunction(2,1,-1,0,0)\n";
+
+    /**
+     * 测试解析题目文档
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParse() throws Exception {
+        Scene scene = SceneParser.parse(document);
+
+        Coordinate coordinate = scene.getCoordinate();
+        assertEquals(coordinate.getOriginX(), 200.0);
+        assertEquals(coordinate.getOriginY(), 200.0);
+        assertEquals(coordinate.getSpaceX(), 40.0);
+        assertEquals(coordinate.getSpaceY(), 40.0);
+        assertEquals(coordinate.getMinY(), 0.0);
+        assertEquals(coordinate.getMaxY(), 400.0);
+        assertEquals(coordinate.getMaxX(), 400.0);
+
+        assertEquals(scene.getPoints().size(), 2);
+        assertTrue(PointUtil.coincide(scene.getPoint("A"), new Point(1.5, -2)));
+        assertTrue(PointUtil.coincide(scene.getPoint("B"), new Point(-3, 4.25)));
+
+        //引用了不存在的点C的线段被忽略
+        assertEquals(scene.getSegments().size(), 1);
+        Segment segment = scene.getSegments().get(0);
+        assertSame(segment.getP1(), scene.getPoint("A"));
+        assertSame(segment.getP2(), scene.getPoint("B"));
+
+        assertEquals(scene.getRounds().size(), 1);
+        Round round = scene.getRounds().get(0);
+        assertEquals(round.getX(), -3.0);
+        assertEquals(round.getRadius(), 2.5);
+
+        //系数全为0的直线被忽略
+        assertEquals(scene.getLines().size(), 1);
+        Line line = scene.getLines().get(0);
+        assertEquals(line.getA(), 1.0);
+        assertEquals(line.getB(), -1.0);
+        assertEquals(line.getC(), 2.0);
+
+        Parabola parabola = scene.getParabolas().get(0);
+        assertEquals(parabola.getA(), 0.5);
+        assertEquals(parabola.getC(), -1.0);
+
+        Hyperbola hyperbola = scene.getHyperbolas().get(0);
+        assertEquals(hyperbola.getK(), 2.0);
+        assertEquals(hyperbola.getY(), -1.0);
+
+        assertNull(SceneParser.parse(null));
+        assertTrue(SceneParser.parse("").getPoints().isEmpty());
+        assertNull(SceneParser.parse("no records here").getCoordinate());
+    }
+
+    /**
+     * 测试解析的结果与正则表达式一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParseSameAsPattern() throws Exception {
+        assertSame(FunctionPattern.linePattern(), FunctionPattern.linePattern());
+        assertSame(GraphPattern.pointPattern(), GraphPattern.pointPattern());
+
+        Random random = new Random(20130617L);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            builder.append("P").append(i).append('(').append(random.nextInt(2000) / 100.0 - 10).append(',')
+                    .append(random.nextDouble() * 20 - 10).append(",0,0)\n");
+            builder.append("SimpleFunction(").append(random.nextInt(100) / 7.0).append(',')
+                    .append(-random.nextInt(100) - 1).append(',').append(random.nextDouble()).append(",0,0)\n");
+        }
+        String text = builder.toString();
+        Scene scene = SceneParser.parse(text);
+
+        Matcher matcher = GraphPattern.pointPattern().matcher(text);
+        int count = 0;
+        while (matcher.find()) {
+            if (matcher.group(1).equals("SimpleFunction")) {
+                continue;
+            }
+            Point point = scene.getPoint(matcher.group(1));
+            assertEquals(point.getX(), Double.parseDouble(matcher.group(2)));
+            assertEquals(point.getY(), Double.parseDouble(matcher.group(3)));
+            count++;
+        }
+        assertEquals(count, scene.getPoints().size());
+
+        matcher = FunctionPattern.linePattern().matcher(text);
+        count = 0;
+        while (matcher.find()) {
+            Line line = scene.getLines().get(count++);
+            assertEquals(line.getA(), Double.parseDouble(matcher.group(1)));
+            assertEquals(line.getB(), Double.parseDouble(matcher.group(2)));
+            assertEquals(line.getC(), Double.parseDouble(matcher.group(3)));
+        }
+        assertEquals(count, scene.getLines().size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.fudaowang.geometry.common.test;
+
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.graph.SegmentIntersection;
+import com.fudaowang.geometry.common.util.AngleUtil;
+import com.fudaowang.geometry.common.util.PointUtil;
+import com.fudaowang.geometry.common.util.SegmentUtil;
+import org.junit.Test;
+
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static junit.framework.TestCase.*;
+
+/**
+ * SegmentUtil的测试类
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class SegmentUtilTest {
+
+    /**
+     * 测试扫描线求所有线段的交点
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testIntersect() throws Exception {
+        List<Segment> segments = new ArrayList<Segment>();
+        segments.add(new Segment(0, 0, 2, 2));
+        segments.add(new Segment(0, 2, 2, 0));
+        segments.add(new Segment(1, -1, 1, 3));
+        segments.add(new Segment(3, 0, 4, 0));
+        List<SegmentIntersection> result = SegmentUtil.intersect(segments);
+        assertEquals(result.size(), 3);
+        for (SegmentIntersection intersection : result) {
+            assertTrue(intersection.getIndex1() < intersection.getIndex2());
+            assertTrue(PointUtil.coincide(intersection.getPoint(), new Point(1, 1)));
+        }
+
+        //端点相接与共线重叠
+        segments.clear();
+        segments.add(new Segment(0, 0, 2, 0));
+        segments.add(new Segment(2, 0, 2, 2));
+        segments.add(new Segment(1, 0, 3, 0));
+        result = SegmentUtil.intersect(segments);
+        assertEquals(found(result), expected(segments));
+
+        assertNull(SegmentUtil.intersect(null));
+        assertTrue(SegmentUtil.intersect(new ArrayList<Segment>()).isEmpty());
+
+        //整数坐标上大量共点,共线的线段与逐对判断的结果一致
+        Random random = new Random(20130613L);
+        for (int n = 0; n < 200; n++) {
+            segments.clear();
+            while (segments.size() < 30) {
+                int x1 = random.nextInt(6);
+                int y1 = random.nextInt(6);
+                int x2 = random.nextInt(6);
+                int y2 = random.nextInt(6);
+                if (x1 != x2 || y1 != y2) {
+                    segments.add(new Segment(x1, y1, x2, y2));
+                }
+            }
+            result = SegmentUtil.intersect(segments, 1E-9);
+            assertEquals(found(result), expected(segments));
+            for (SegmentIntersection intersection : result) {
+                assertTrue(SegmentUtil.onSegment(intersection.getPoint(), intersection.getSegment1(), 1E-6));
+                assertTrue(SegmentUtil.onSegment(intersection.getPoint(), intersection.getSegment2(), 1E-6));
+            }
+        }
+    }
+
+    private Set<String> found(List<SegmentIntersection> result) {
+        Set<String> set = new HashSet<String>();
+        for (SegmentIntersection intersection : result) {
+            set.add(intersection.getIndex1() + "," + intersection.getIndex2());
+        }
+        return set;
+    }
+
+    private Set<String> expected(List<Segment> segments) {
+        Set<String> set = new HashSet<String>();
+        for (int i = 0; i < segments.size(); i++) {
+            for (int j = i + 1; j < segments.size(); j++) {
+                if (SegmentUtil.linesIntersect(segments.get(i), segments.get(j))) {
+                    set.add(i + "," + j);
+                }
+            }
+        }
+        return set;
+    }
+
+    /**
+     * 测试距离与相交的计算结果与java.awt.geom中的实现逐位一致
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSameAsAwt() throws Exception {
+        Random random = new Random(20130620L);
+        for (int i = 0; i < 20000; i++) {
+            //一半的数据取在小网格上,以覆盖共线,端点重合等退化情况
+            double[] v = new double[8];
+            for (int j = 0; j < v.length; j++) {
+                v[j] = i % 2 == 0 ? random.nextInt(4) : random.nextDouble() * 200 - 100;
+            }
+            assertEquals(PointUtil.distance(v[0], v[1], v[2], v[3]), Point2D.distance(v[0], v[1], v[2], v[3]));
+            assertEquals(Double.doubleToLongBits(SegmentUtil.distance(v[0], v[1], v[4], v[5], v[2], v[3])),
+                    Double.doubleToLongBits(Line2D.ptLineDist(v[2], v[3], v[4], v[5], v[0], v[1])));
+            assertEquals(Double.doubleToLongBits(SegmentUtil.segmentDistance(v[0], v[1], v[2], v[3], v[4], v[5])),
+                    Double.doubleToLongBits(Line2D.ptSegDist(v[2], v[3], v[4], v[5], v[0], v[1])));
+            boolean expected = Line2D.linesIntersect(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7]);
+            assertEquals(SegmentUtil.linesIntersect(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7]), expected);
+            assertEquals(AngleUtil.pointInAngle(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7]), expected);
+        }
+    }
+}
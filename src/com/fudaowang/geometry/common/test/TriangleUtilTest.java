@@ -2,12 +2,16 @@ package com.fudaowang.geometry.common.test;
 
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
 import com.fudaowang.geometry.common.graph.Segment;
 import com.fudaowang.geometry.common.graph.Triangle;
 import com.fudaowang.geometry.common.util.PointUtil;
 import com.fudaowang.geometry.common.util.TriangleUtil;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import static junit.framework.TestCase.*;
 
 /**
@@ -51,6 +55,59 @@ public class TriangleUtilTest {
         assertFalse(TriangleUtil.inTriangle(p, triangle));
     }
 
+    /**
+     * 测试批量判断点是否在三角形内
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testInTriangleBatch() throws Exception {
+        Random random = new Random(20130614L);
+        PointBuffer points = new PointBuffer(20000);
+        for (int i = 0; i < 20000; i++) {
+            points.add(random.nextDouble() * 4 - 2, random.nextDouble() * 4 - 2);
+        }
+        points.add(1, -1);
+        points.add(0, -1);
+
+        boolean[] result = new boolean[points.size()];
+        int count = TriangleUtil.inTriangle(points, triangle, result);
+        int expected = 0;
+        for (int i = 0; i < points.size(); i++) {
+            boolean inside = TriangleUtil.inTriangle(points.getPoint(i), triangle);
+            assertEquals(result[i], inside);
+            if (inside) {
+                expected++;
+            }
+        }
+        assertEquals(count, expected);
+        assertFalse(result[points.size() - 1]);
+        assertFalse(result[points.size() - 2]);
+
+        boolean[] parallel = new boolean[points.size()];
+        assertEquals(TriangleUtil.inTriangle(points, triangle, parallel, true), count);
+        assertTrue(Arrays.equals(parallel, result));
+
+        //把正方形[-1,1]*[-1,1]分成两个三角形
+        double[] triangles = {-1, -1, 1, -1, 1, 1, -1, -1, 1, 1, -1, 1};
+        int[] located = new int[points.size()];
+        count = TriangleUtil.locate(points, triangles, located);
+        for (int i = 0; i < points.size(); i++) {
+            double x = points.getX(i);
+            double y = points.getY(i);
+            if (located[i] == 0) {
+                assertTrue(x < 1 && y > -1 && y < x);
+            } else if (located[i] == 1) {
+                assertTrue(x > -1 && y < 1 && y > x);
+            } else {
+                assertEquals(located[i], -1);
+            }
+        }
+        int[] locatedParallel = new int[points.size()];
+        assertEquals(TriangleUtil.locate(points, triangles, locatedParallel, true), count);
+        assertTrue(Arrays.equals(located, locatedParallel));
+    }
+
     /**
      * 测试旋转三角形
      *
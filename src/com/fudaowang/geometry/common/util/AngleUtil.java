@@ -139,7 +139,7 @@ public class AngleUtil {
      * @return 若点在夹角内, 则返回true
      */
     public static boolean pointInAngle(double x, double y, double vx, double vy, double x1, double y1, double x2, double y2) {
-        return java.awt.geom.Line2D.linesIntersect(x, y, vx, vy, x1, y1, x2, y2);
+        return GeometryKernel.linesIntersect(x, y, vx, vy, x1, y1, x2, y2);
     }
 
     /**
@@ -0,0 +1,110 @@
+package com.fudaowang.geometry.common.util;
+
+/**
+ * 批量距离与坐标转换的内层循环.这个类本身是标量实现,循环中没有分支和方法调用,JIT可以把它编译为SIMD指令.
+ * 可选的vector源码目录中的VectorBatchKernel用jdk.incubator.vector显式向量化,它在JDK 16以上,
+ * 在类路径上并且启动时加了--add-modules jdk.incubator.vector时才会被加载,否则使用标量实现.
+ * 系统属性geometry.batch.kernel为scalar时强制使用标量实现.
+ * 两种实现只使用逐个元素的加减乘除,取绝对值和开方,不使用融合乘加,结果与逐个调用标量方法逐位一致.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+class BatchKernel {
+    private static final String VECTOR_KERNEL = "com.fudaowang.geometry.common.util.VectorBatchKernel";
+
+    /**
+     * 获得当前使用的实现
+     *
+     * @return 向量实现可用时返回向量实现, 否则返回标量实现
+     */
+    static BatchKernel get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * 获得当前使用的实现的名称,用于性能测试时确认加载的实现
+     *
+     * @return vector或scalar
+     */
+    String getName() {
+        return "scalar";
+    }
+
+    /**
+     * result[i]为点(xs[i],ys[i])到点(x,y)的距离,from<=i<to
+     */
+    void pointDistance(double[] xs, double[] ys, int from, int to, double x, double y, double[] result) {
+        for (int i = from; i < to; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            result[i] = Math.sqrt(dx * dx + dy * dy);
+        }
+    }
+
+    /**
+     * result[i]为|a*xs[i]+b*ys[i]+c|/denominator,from<=i<to
+     */
+    void lineDistance(double[] xs, double[] ys, int from, int to,
+                      double a, double b, double c, double denominator, double[] result) {
+        for (int i = from; i < to; i++) {
+            result[i] = Math.abs(a * xs[i] + b * ys[i] + c) / denominator;
+        }
+    }
+
+    /**
+     * result[i]=origin+values[i]*scale,from<=i<to,result可以与values相同
+     */
+    void multiplyAdd(double[] values, int from, int to, double origin, double scale, double[] result) {
+        for (int i = from; i < to; i++) {
+            result[i] = origin + values[i] * scale;
+        }
+    }
+
+    /**
+     * result[i]=origin-values[i]*scale,from<=i<to,result可以与values相同
+     */
+    void multiplySubtract(double[] values, int from, int to, double origin, double scale, double[] result) {
+        for (int i = from; i < to; i++) {
+            result[i] = origin - values[i] * scale;
+        }
+    }
+
+    /**
+     * result[i]=(values[i]-origin)/divisor,from<=i<to,result可以与values相同
+     */
+    void subtractDivide(double[] values, int from, int to, double origin, double divisor, double[] result) {
+        for (int i = from; i < to; i++) {
+            result[i] = (values[i] - origin) / divisor;
+        }
+    }
+
+    /**
+     * result[i]=(origin-values[i])/divisor,from<=i<to,result可以与values相同
+     */
+    void reverseSubtractDivide(double[] values, int from, int to, double origin, double divisor, double[] result) {
+        for (int i = from; i < to; i++) {
+            result[i] = (origin - values[i]) / divisor;
+        }
+    }
+
+    /**
+     * 第一次使用时才选择实现.向量实现的类不在类路径上,或者启动时没有加--add-modules jdk.incubator.vector
+     * 而无法链接时退回标量实现,其他错误照常抛出
+     */
+    private static class Holder {
+        static final BatchKernel INSTANCE = load();
+
+        private static BatchKernel load() {
+            if ("scalar".equals(System.getProperty("geometry.batch.kernel"))) {
+                return new BatchKernel();
+            }
+            try {
+                return (BatchKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                return new BatchKernel();
+            } catch (LinkageError e) {
+                return new BatchKernel();
+            }
+        }
+    }
+}
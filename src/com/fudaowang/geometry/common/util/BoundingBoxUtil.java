@@ -0,0 +1,333 @@
+package com.fudaowang.geometry.common.util;
+
+import com.fudaowang.geometry.common.graph.BoundingBox;
+import com.fudaowang.geometry.common.graph.Coordinate;
+import com.fudaowang.geometry.common.graph.HalfLine;
+import com.fudaowang.geometry.common.graph.Hyperbola;
+import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.Parabola;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 包围盒的工具类,用于在精确求交之前快速排除不可能相交的图形对.
+ * 线段,三角形,多边形和圆的包围盒由图形自己缓存;直线,射线,抛物线和反比例函数是无界的,
+ * 它们的包围盒是图形在给定窗口(通常是Viewport.getRelativeBounds()或getWindow(Coordinate))内部分的包围盒,
+ * 图形不经过窗口时返回null.包围盒不相交的两个图形在窗口内一定没有交点.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class BoundingBoxUtil {
+    /**
+     * 求Coordinate的坐标范围在相对坐标下的窗口
+     *
+     * @param coordinate 相对坐标系
+     * @return 相对坐标下的窗口
+     */
+    public static BoundingBox getWindow(Coordinate coordinate) {
+        if (coordinate == null) {
+            return null;
+        }
+        double spaceX = coordinate.getSpaceX();
+        double spaceY = coordinate.getSpaceY();
+        if (!NumberUtil.isMoreThanZero(spaceX) || !NumberUtil.isMoreThanZero(spaceY)) {
+            throw new IllegalArgumentException("单位长度的坐标间隔必须大于0");
+        }
+        //绝对坐标的纵坐标方向与相对坐标相反
+        return new BoundingBox(
+                CoordinateUtil.toRelativeCoordinateX(coordinate.getMinX(), coordinate.getOriginX(), spaceX),
+                CoordinateUtil.toRelativeCoordinateY(coordinate.getMaxY(), coordinate.getOriginY(), spaceY),
+                CoordinateUtil.toRelativeCoordinateX(coordinate.getMaxX(), coordinate.getOriginX(), spaceX),
+                CoordinateUtil.toRelativeCoordinateY(coordinate.getMinY(), coordinate.getOriginY(), spaceY));
+    }
+
+    /**
+     * 求直线在窗口内部分的包围盒
+     *
+     * @param line   给定的直线
+     * @param window 窗口
+     * @return 包围盒, 若直线不经过窗口则返回null
+     */
+    public static BoundingBox getBoundingBox(Line line, BoundingBox window) {
+        if (line == null || window == null) {
+            return null;
+        }
+        double a = line.getA();
+        double b = line.getB();
+        double c = line.getC();
+        //直线上的一点,取绝对值较大的系数做除数
+        double x0 = Math.abs(b) >= Math.abs(a) ? 0 : -c / a;
+        double y0 = Math.abs(b) >= Math.abs(a) ? -c / b : 0;
+        return clip(x0, y0, b, -a, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, window);
+    }
+
+    /**
+     * 求射线在窗口内部分的包围盒
+     *
+     * @param halfLine 给定的射线
+     * @param window   窗口
+     * @return 包围盒, 若射线不经过窗口则返回null
+     */
+    public static BoundingBox getBoundingBox(HalfLine halfLine, BoundingBox window) {
+        if (halfLine == null || window == null) {
+            return null;
+        }
+        double dx = halfLine.getB();
+        double dy = -halfLine.getA();
+        double sign;
+        switch (halfLine.getOrientation()) {
+            case X:
+                sign = dx;
+                break;
+            case MINUS_X:
+                sign = -dx;
+                break;
+            case Y:
+                sign = dy;
+                break;
+            default:
+                sign = -dy;
+                break;
+        }
+        if (sign == 0) {
+            //方向与直线不符时无法确定射线的范围,按整条直线处理
+            return getBoundingBox((Line) halfLine, window);
+        }
+        if (sign < 0) {
+            dx = -dx;
+            dy = -dy;
+        }
+        return clip(halfLine.getX(), halfLine.getY(), dx, dy, 0, Double.POSITIVE_INFINITY, window);
+    }
+
+    /**
+     * 求抛物线在窗口内部分的包围盒.抛物线以顶点为界分为两个单调的部分,分别求包围盒后合并
+     *
+     * @param parabola 给定的抛物线
+     * @param window   窗口
+     * @return 包围盒, 若抛物线不经过窗口则返回null
+     */
+    public static BoundingBox getBoundingBox(Parabola parabola, BoundingBox window) {
+        if (parabola == null || window == null) {
+            return null;
+        }
+        final double a = parabola.getA();
+        final double vx = -parabola.getB() / (2 * a);
+        final double vy = parabola.getC() - parabola.getB() * parabola.getB() / (4 * a);
+        double minX = window.getMinX();
+        double maxX = window.getMaxX();
+
+        BoundingBox left = null;
+        if (minX <= vx) {
+            double x2 = Math.min(vx, maxX);
+            left = monotone(minX, parabolaY(a, vx, vy, minX), x2, parabolaY(a, vx, vy, x2), window, new Inverse() {
+                public double x(double y) {
+                    return vx - Math.sqrt(Math.max(0, (y - vy) / a));
+                }
+            });
+        }
+        BoundingBox right = null;
+        if (maxX >= vx) {
+            double x1 = Math.max(vx, minX);
+            right = monotone(x1, parabolaY(a, vx, vy, x1), maxX, parabolaY(a, vx, vy, maxX), window, new Inverse() {
+                public double x(double y) {
+                    return vx + Math.sqrt(Math.max(0, (y - vy) / a));
+                }
+            });
+        }
+        return union(left, right);
+    }
+
+    /**
+     * 求反比例函数图像在窗口内部分的包围盒.两支曲线分别单调,分别求包围盒后合并
+     *
+     * @param hyperbola 给定的反比例函数
+     * @param window    窗口
+     * @return 包围盒, 若图像不经过窗口则返回null
+     */
+    public static BoundingBox getBoundingBox(Hyperbola hyperbola, BoundingBox window) {
+        if (hyperbola == null || window == null) {
+            return null;
+        }
+        final double k = hyperbola.getK();
+        final double hx = hyperbola.getX();
+        final double hy = hyperbola.getY();
+        double minX = window.getMinX();
+        double maxX = window.getMaxX();
+        Inverse inverse = new Inverse() {
+            public double x(double y) {
+                return k / (y - hy) + hx;
+            }
+        };
+        //靠近渐近线一侧的纵坐标趋于无穷
+        double infinity = k > 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+
+        BoundingBox left = null;
+        if (minX < hx) {
+            double x2 = Math.min(hx, maxX);
+            double y2 = x2 == hx ? -infinity : k / (x2 - hx) + hy;
+            left = monotone(minX, k / (minX - hx) + hy, x2, y2, window, inverse);
+        }
+        BoundingBox right = null;
+        if (maxX > hx) {
+            double x1 = Math.max(hx, minX);
+            double y1 = x1 == hx ? infinity : k / (x1 - hx) + hy;
+            right = monotone(x1, y1, maxX, k / (maxX - hx) + hy, window, inverse);
+        }
+        return union(left, right);
+    }
+
+    /**
+     * 判断两个包围盒是否在最小精度范围内相交
+     *
+     * @param b1 第一个包围盒
+     * @param b2 第二个包围盒
+     * @return 相交时返回true, 任意一个为null时返回false
+     */
+    public static boolean mayIntersect(BoundingBox b1, BoundingBox b2) {
+        return mayIntersect(b1, b2, NumberUtil.MIN_VALUE);
+    }
+
+    /**
+     * 判断两个包围盒是否在给定的精度范围内相交
+     *
+     * @param b1        第一个包围盒
+     * @param b2        第二个包围盒
+     * @param precision 给定的精度
+     * @return 相交时返回true, 任意一个为null时返回false
+     */
+    public static boolean mayIntersect(BoundingBox b1, BoundingBox b2, double precision) {
+        return b1 != null && b2 != null && b1.intersects(b2, precision);
+    }
+
+    /**
+     * 在最小精度范围内求包围盒集合中所有相交的包围盒对
+     *
+     * @param boxes 包围盒集合,可以包含null
+     * @return 相交的包围盒对的下标, 每一对中较小的下标在前
+     */
+    public static List<int[]> overlappingPairs(List<BoundingBox> boxes) {
+        return overlappingPairs(boxes, NumberUtil.MIN_VALUE);
+    }
+
+    /**
+     * 在给定的精度范围内求包围盒集合中所有相交的包围盒对.
+     * 按横坐标的最小值排序后扫描,只比较横坐标范围重叠的包围盒,结果的顺序与扫描顺序相同
+     *
+     * @param boxes     包围盒集合,可以包含null
+     * @param precision 给定的精度
+     * @return 相交的包围盒对的下标, 每一对中较小的下标在前
+     */
+    public static List<int[]> overlappingPairs(final List<BoundingBox> boxes, double precision) {
+        if (boxes == null) {
+            return null;
+        }
+        precision = Math.max(precision, NumberUtil.MIN_VALUE);
+
+        List<Integer> order = new ArrayList<Integer>(boxes.size());
+        for (int i = 0; i < boxes.size(); i++) {
+            if (boxes.get(i) != null) {
+                order.add(i);
+            }
+        }
+        Integer[] indexes = order.toArray(new Integer[order.size()]);
+        Arrays.sort(indexes, new Comparator<Integer>() {
+            public int compare(Integer i1, Integer i2) {
+                return Double.compare(boxes.get(i1).getMinX(), boxes.get(i2).getMinX());
+            }
+        });
+
+        List<int[]> result = new ArrayList<int[]>();
+        List<Integer> active = new ArrayList<Integer>();
+        for (Integer index : indexes) {
+            BoundingBox box = boxes.get(index);
+            Iterator<Integer> iterator = active.iterator();
+            while (iterator.hasNext()) {
+                Integer other = iterator.next();
+                BoundingBox otherBox = boxes.get(other);
+                if (otherBox.getMaxX() + precision < box.getMinX()) {
+                    iterator.remove();
+                } else if (box.intersects(otherBox, precision)) {
+                    result.add(index < other ? new int[]{index, other} : new int[]{other, index});
+                }
+            }
+            active.add(index);
+        }
+        return result;
+    }
+
+    /**
+     * 单调曲线的反函数
+     */
+    private interface Inverse {
+        double x(double y);
+    }
+
+    private static double parabolaY(double a, double vx, double vy, double x) {
+        //顶点式在x为无穷大时不会出现无穷大相减
+        double dx = x - vx;
+        return vy + a * dx * dx;
+    }
+
+    /**
+     * 求横坐标范围[x1,x2]内单调曲线在窗口内部分的包围盒
+     */
+    private static BoundingBox monotone(double x1, double y1, double x2, double y2, BoundingBox window, Inverse inverse) {
+        double low = Math.max(Math.min(y1, y2), window.getMinY());
+        double high = Math.min(Math.max(y1, y2), window.getMaxY());
+        if (!(low <= high)) {
+            return null;
+        }
+        double xLow = low == y1 ? x1 : low == y2 ? x2 : clamp(inverse.x(low), x1, x2);
+        double xHigh = high == y1 ? x1 : high == y2 ? x2 : clamp(inverse.x(high), x1, x2);
+        return new BoundingBox(Math.min(xLow, xHigh), low, Math.max(xLow, xHigh), high);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        if (Double.isNaN(value)) {
+            return min;
+        }
+        return value < min ? min : value > max ? max : value;
+    }
+
+    /**
+     * 用Liang-Barsky算法将参数范围为[t0,t1]的直线(x0+t*dx,y0+t*dy)裁剪到窗口内
+     */
+    private static BoundingBox clip(double x0, double y0, double dx, double dy, double t0, double t1, BoundingBox window) {
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x0 - window.getMinX(), window.getMaxX() - x0, y0 - window.getMinY(), window.getMaxY() - y0};
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) {
+                    return null;
+                }
+                continue;
+            }
+            double r = q[i] / p[i];
+            if (p[i] < 0) {
+                t0 = Math.max(t0, r);
+            } else {
+                t1 = Math.min(t1, r);
+            }
+            if (t0 > t1) {
+                return null;
+            }
+        }
+        double xa = dx == 0 ? x0 : x0 + t0 * dx;
+        double xb = dx == 0 ? x0 : x0 + t1 * dx;
+        double ya = dy == 0 ? y0 : y0 + t0 * dy;
+        double yb = dy == 0 ? y0 : y0 + t1 * dy;
+        return new BoundingBox(Math.min(xa, xb), Math.min(ya, yb), Math.max(xa, xb), Math.max(ya, yb));
+    }
+
+    private static BoundingBox union(BoundingBox b1, BoundingBox b2) {
+        if (b1 == null) {
+            return b2;
+        }
+        return b2 == null ? b1 : b1.union(b2);
+    }
+}
@@ -2,6 +2,7 @@ package com.fudaowang.geometry.common.util;
 
 import com.fudaowang.geometry.common.graph.Coordinate;
 import com.fudaowang.geometry.common.graph.CoordinateName;
+import com.fudaowang.geometry.common.graph.Viewport;
 
 /**
  * 对坐标系相关操作的类
@@ -99,4 +100,110 @@ public class CoordinateUtil {
     public static double toRelativeCoordinateY(double value, double origin, double space) {
         return (origin - value) / space;
     }
+
+    /**
+     * 批量将相对横坐标转换为绝对横坐标,offset<=i<offset+length,结果可以写回values.
+     * 由BatchKernel计算,可用时使用Vector API,结果与逐个调用toAbsoluteCoordinateX逐位一致
+     *
+     * @param values 需要转换的横坐标数组
+     * @param offset 第一个值的序号
+     * @param length 值的个数
+     * @param origin 相对坐标原点的横坐标值
+     * @param space  相对坐标的横坐标间距
+     * @param result 保存转换结果的数组,result[i]对应values[i],可以与values相同
+     */
+    public static void toAbsoluteCoordinateX(double[] values, int offset, int length, double origin, double space, double[] result) {
+        if (result == null) {
+            throw new NullPointerException("结果数组为null");
+        }
+        GeometryKernel.checkRange(values, values, offset, length, result.length);
+        BatchKernel.get().multiplyAdd(values, offset, offset + length, origin, space, result);
+    }
+
+    /**
+     * 批量将相对纵坐标转换为绝对纵坐标,offset<=i<offset+length,结果可以写回values.
+     * 由BatchKernel计算,可用时使用Vector API,结果与逐个调用toAbsoluteCoordinateY逐位一致
+     *
+     * @param values 需要转换的纵坐标数组
+     * @param offset 第一个值的序号
+     * @param length 值的个数
+     * @param origin 相对坐标原点的纵坐标值
+     * @param space  相对坐标的纵坐标间距
+     * @param result 保存转换结果的数组,result[i]对应values[i],可以与values相同
+     */
+    public static void toAbsoluteCoordinateY(double[] values, int offset, int length, double origin, double space, double[] result) {
+        if (result == null) {
+            throw new NullPointerException("结果数组为null");
+        }
+        GeometryKernel.checkRange(values, values, offset, length, result.length);
+        BatchKernel.get().multiplySubtract(values, offset, offset + length, origin, space, result);
+    }
+
+    /**
+     * 批量将绝对横坐标转换为相对横坐标,offset<=i<offset+length,结果可以写回values.
+     * 由BatchKernel计算,可用时使用Vector API,结果与逐个调用toRelativeCoordinateX逐位一致
+     *
+     * @param values 需要转换的横坐标数组
+     * @param offset 第一个值的序号
+     * @param length 值的个数
+     * @param origin 相对坐标原点的横坐标值
+     * @param space  相对坐标的横坐标间距
+     * @param result 保存转换结果的数组,result[i]对应values[i],可以与values相同
+     */
+    public static void toRelativeCoordinateX(double[] values, int offset, int length, double origin, double space, double[] result) {
+        if (result == null) {
+            throw new NullPointerException("结果数组为null");
+        }
+        GeometryKernel.checkRange(values, values, offset, length, result.length);
+        BatchKernel.get().subtractDivide(values, offset, offset + length, origin, space, result);
+    }
+
+    /**
+     * 批量将绝对纵坐标转换为相对纵坐标,offset<=i<offset+length,结果可以写回values.
+     * 由BatchKernel计算,可用时使用Vector API,结果与逐个调用toRelativeCoordinateY逐位一致
+     *
+     * @param values 需要转换的纵坐标数组
+     * @param offset 第一个值的序号
+     * @param length 值的个数
+     * @param origin 相对坐标原点的纵坐标值
+     * @param space  相对坐标的纵坐标间距
+     * @param result 保存转换结果的数组,result[i]对应values[i],可以与values相同
+     */
+    public static void toRelativeCoordinateY(double[] values, int offset, int length, double origin, double space, double[] result) {
+        if (result == null) {
+            throw new NullPointerException("结果数组为null");
+        }
+        GeometryKernel.checkRange(values, values, offset, length, result.length);
+        BatchKernel.get().reverseSubtractDivide(values, offset, offset + length, origin, space, result);
+    }
+
+    /**
+     * 将相对坐标值转换为绝对坐标值
+     *
+     * @param value          需要转换的坐标值
+     * @param viewport       相对坐标系
+     * @param coordinateName 坐标系的名称
+     * @return 转换后的绝对坐标值
+     */
+    public static double toAbsoluteCoordinate(double value, Viewport viewport, CoordinateName coordinateName) {
+        if (viewport == null) {
+            return Double.NaN;
+        }
+        return coordinateName == CoordinateName.X ? viewport.toAbsoluteX(value) : viewport.toAbsoluteY(value);
+    }
+
+    /**
+     * 将绝对坐标值转换为相对坐标值
+     *
+     * @param value          需要转换的坐标值
+     * @param viewport       相对坐标系
+     * @param coordinateName 坐标系的名称
+     * @return 转换后的相对坐标值
+     */
+    public static double toRelativeCoordinate(double value, Viewport viewport, CoordinateName coordinateName) {
+        if (viewport == null) {
+            return Double.NaN;
+        }
+        return coordinateName == CoordinateName.X ? viewport.toRelativeX(value) : viewport.toRelativeY(value);
+    }
 }
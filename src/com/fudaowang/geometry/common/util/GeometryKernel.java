@@ -0,0 +1,219 @@
+package com.fudaowang.geometry.common.util;
+
+import com.fudaowang.geometry.common.function.IntersectionSink;
+
+/**
+ * 工具类内部使用的基本几何计算:两点距离,点到直线和线段的距离,点相对于有向线段的方向和线段相交的判断.
+ * 计算步骤与java.awt.geom.Point2D和Line2D中的同名方法完全相同,结果逐位一致,
+ * 但不需要加载AWT的类,减少无界面的短时进程的启动时间.此外还包括批量计算和求交方法共用的检查和输出.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+final class GeometryKernel {
+    private GeometryKernel() {
+    }
+
+    /**
+     * 求点(x1,y1)与点(x2,y2)之间的距离,与Point2D.distance一致
+     *
+     * @param x1 第一个点的横坐标
+     * @param y1 第一个点的纵坐标
+     * @param x2 第二个点的横坐标
+     * @param y2 第二个点的纵坐标
+     * @return 两点之间的距离
+     */
+    static double distance(double x1, double y1, double x2, double y2) {
+        x1 -= x2;
+        y1 -= y2;
+        return Math.sqrt(x1 * x1 + y1 * y1);
+    }
+
+    /**
+     * 求点(px,py)到经过点(x1,y1)和点(x2,y2)的直线的距离的平方,与Line2D.ptLineDistSq一致
+     *
+     * @param x1 直线上第一个点的横坐标
+     * @param y1 直线上第一个点的纵坐标
+     * @param x2 直线上第二个点的横坐标
+     * @param y2 直线上第二个点的纵坐标
+     * @param px 给定点的横坐标
+     * @param py 给定点的纵坐标
+     * @return 距离的平方
+     */
+    static double ptLineDistSq(double x1, double y1, double x2, double y2, double px, double py) {
+        x2 -= x1;
+        y2 -= y1;
+        px -= x1;
+        py -= y1;
+        double dot = px * x2 + py * y2;
+        double projection = dot * dot / (x2 * x2 + y2 * y2);
+        double lengthSq = px * px + py * py - projection;
+        if (lengthSq < 0) {
+            lengthSq = 0;
+        }
+        return lengthSq;
+    }
+
+    /**
+     * 求点(px,py)到经过点(x1,y1)和点(x2,y2)的直线的距离,与Line2D.ptLineDist一致
+     *
+     * @param x1 直线上第一个点的横坐标
+     * @param y1 直线上第一个点的纵坐标
+     * @param x2 直线上第二个点的横坐标
+     * @param y2 直线上第二个点的纵坐标
+     * @param px 给定点的横坐标
+     * @param py 给定点的纵坐标
+     * @return 点到直线的距离
+     */
+    static double ptLineDist(double x1, double y1, double x2, double y2, double px, double py) {
+        return Math.sqrt(ptLineDistSq(x1, y1, x2, y2, px, py));
+    }
+
+    /**
+     * 求点(px,py)到以点(x1,y1)和点(x2,y2)为端点的线段的距离的平方,与Line2D.ptSegDistSq一致
+     *
+     * @param x1 线段第一个端点的横坐标
+     * @param y1 线段第一个端点的纵坐标
+     * @param x2 线段第二个端点的横坐标
+     * @param y2 线段第二个端点的纵坐标
+     * @param px 给定点的横坐标
+     * @param py 给定点的纵坐标
+     * @return 距离的平方
+     */
+    static double ptSegDistSq(double x1, double y1, double x2, double y2, double px, double py) {
+        x2 -= x1;
+        y2 -= y1;
+        px -= x1;
+        py -= y1;
+        double dot = px * x2 + py * y2;
+        double projection;
+        if (dot <= 0.0) {
+            //投影在第一个端点之前
+            projection = 0.0;
+        } else {
+            px = x2 - px;
+            py = y2 - py;
+            dot = px * x2 + py * y2;
+            if (dot <= 0.0) {
+                //投影在第二个端点之后
+                projection = 0.0;
+            } else {
+                projection = dot * dot / (x2 * x2 + y2 * y2);
+            }
+        }
+        double lengthSq = px * px + py * py - projection;
+        if (lengthSq < 0) {
+            lengthSq = 0;
+        }
+        return lengthSq;
+    }
+
+    /**
+     * 求点(px,py)到以点(x1,y1)和点(x2,y2)为端点的线段的距离,与Line2D.ptSegDist一致
+     *
+     * @param x1 线段第一个端点的横坐标
+     * @param y1 线段第一个端点的纵坐标
+     * @param x2 线段第二个端点的横坐标
+     * @param y2 线段第二个端点的纵坐标
+     * @param px 给定点的横坐标
+     * @param py 给定点的纵坐标
+     * @return 点到线段的距离
+     */
+    static double ptSegDist(double x1, double y1, double x2, double y2, double px, double py) {
+        return Math.sqrt(ptSegDistSq(x1, y1, x2, y2, px, py));
+    }
+
+    /**
+     * 求点(px,py)相对于从点(x1,y1)到点(x2,y2)的有向线段的方向,与Line2D.relativeCCW一致.
+     * 点在线段所在直线上时,若点在线段延长线的后方返回-1,在线段上返回0,在线段延长线的前方返回1
+     *
+     * @param x1 线段起点的横坐标
+     * @param y1 线段起点的纵坐标
+     * @param x2 线段终点的横坐标
+     * @param y2 线段终点的纵坐标
+     * @param px 给定点的横坐标
+     * @param py 给定点的纵坐标
+     * @return 1, 0或-1
+     */
+    static int orientation(double x1, double y1, double x2, double y2, double px, double py) {
+        x2 -= x1;
+        y2 -= y1;
+        px -= x1;
+        py -= y1;
+        double ccw = px * y2 - py * x2;
+        if (ccw == 0.0) {
+            //点在直线上,用投影的位置判断点在线段的前方,后方还是线段上
+            ccw = px * x2 + py * y2;
+            if (ccw > 0.0) {
+                px -= x2;
+                py -= y2;
+                ccw = px * x2 + py * y2;
+                if (ccw < 0.0) {
+                    ccw = 0.0;
+                }
+            }
+        }
+        return (ccw < 0.0) ? -1 : ((ccw > 0.0) ? 1 : 0);
+    }
+
+    /**
+     * 判断线段(x1,y1)-(x2,y2)与线段(x3,y3)-(x4,y4)是否相交,包括端点接触和共线重叠,与Line2D.linesIntersect一致
+     *
+     * @param x1 第一条线段起点的横坐标
+     * @param y1 第一条线段起点的纵坐标
+     * @param x2 第一条线段终点的横坐标
+     * @param y2 第一条线段终点的纵坐标
+     * @param x3 第二条线段起点的横坐标
+     * @param y3 第二条线段起点的纵坐标
+     * @param x4 第二条线段终点的横坐标
+     * @param y4 第二条线段终点的纵坐标
+     * @return 相交时返回true
+     */
+    static boolean linesIntersect(double x1, double y1, double x2, double y2,
+                                  double x3, double y3, double x4, double y4) {
+        return orientation(x1, y1, x2, y2, x3, y3) * orientation(x1, y1, x2, y2, x4, y4) <= 0
+                && orientation(x3, y3, x4, y4, x1, y1) * orientation(x3, y3, x4, y4, x2, y2) <= 0;
+    }
+
+    /**
+     * 检查批量计算的坐标数组和结果数组的范围
+     *
+     * @param xs           横坐标数组
+     * @param ys           纵坐标数组
+     * @param offset       第一个点的序号
+     * @param length       点的个数
+     * @param resultLength 结果数组的长度,没有结果数组时为-1
+     */
+    static void checkRange(double[] xs, double[] ys, int offset, int length, int resultLength) {
+        if (xs == null || ys == null) {
+            throw new NullPointerException("坐标数组为null");
+        }
+        if (offset < 0 || length < 0 || offset + length > xs.length || offset + length > ys.length) {
+            throw new IndexOutOfBoundsException("序号越界:" + offset + "," + length);
+        }
+        if (resultLength >= 0 && offset + length > resultLength) {
+            throw new IllegalArgumentException("结果数组的长度不足");
+        }
+    }
+
+    /**
+     * 把求得的交点传给sink,bounded为true时只接收线段(x1,y1)-(x2,y2)上的交点
+     *
+     * @param x       交点的横坐标
+     * @param y       交点的纵坐标
+     * @param bounded 是否限定交点在线段上
+     * @param x1      线段第一个端点的横坐标
+     * @param y1      线段第一个端点的纵坐标
+     * @param x2      线段第二个端点的横坐标
+     * @param y2      线段第二个端点的纵坐标
+     * @param sink    接收交点的回调
+     * @return 交点被接收时返回1, 否则返回0
+     */
+    static int accept(double x, double y, boolean bounded, double x1, double y1, double x2, double y2,
+                      IntersectionSink sink) {
+        if (bounded && !SegmentUtil.inSegment(x, y, x1, y1, x2, y2)) {
+            return 0;
+        }
+        sink.accept(x, y);
+        return 1;
+    }
+}
@@ -1,12 +1,14 @@
 package com.fudaowang.geometry.common.util;
 
+import com.fudaowang.geometry.common.fit.HyperbolaFitter;
+import com.fudaowang.geometry.common.function.IntersectionSink;
 import com.fudaowang.geometry.common.graph.Coordinate;
 import com.fudaowang.geometry.common.graph.Hyperbola;
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Point;
-
-import java.util.ArrayList;
-import java.util.List;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+import com.fudaowang.geometry.common.graph.Round;
+import com.fudaowang.geometry.common.graph.Viewport;
 
 /**
  * 反比例函数相关的工具类
@@ -22,7 +24,7 @@ public class HyperbolaUtil {
      *
      * @param line      直线
      * @param hyperbola 反比例函数
-     * @return 反比例函数与直线的交点
+     * @return 反比例函数与直线的交点, 直线的系数a大于0时按横坐标从大到小排列, 小于0时从小到大排列
      */
     public static Point[] intersect(Line line, Hyperbola hyperbola) {
         if (hyperbola == null || line == null) {
@@ -31,55 +33,204 @@ public class HyperbolaUtil {
         return intersect(line.getA(), line.getB(), line.getC(), hyperbola.getK(), hyperbola.getX(), hyperbola.getY());
     }
 
+    /**
+     * 求反比例函数与直线的交点,直线的系数a大于0时交点按横坐标从大到小,小于0时从小到大依次传给sink,不创建交点对象
+     *
+     * @param line      直线
+     * @param hyperbola 反比例函数
+     * @param sink      接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(Line line, Hyperbola hyperbola, IntersectionSink sink) {
+        if (hyperbola == null || line == null) {
+            return 0;
+        }
+        return intersect(line.getA(), line.getB(), line.getC(), hyperbola.getK(), hyperbola.getX(), hyperbola.getY(), sink);
+    }
+
     /**
      * 求反比例函数y=k/x与直线ax+by+c=0的交点
      *
      * @param a 直线的系数a
      * @param b 直线的系数b
-     * @param c 直线的系数c    @return 反比例函数与直线的交点
+     * @param c 直线的系数c
      * @param k 反比例函数的系数k
      * @param x 反比例函数原点的横坐标
      * @param y 反比例函数原点的纵坐标
      */
     public static Point[] intersect(double a, double b, double c, double k, double x, double y) {
+        PointBuffer buffer = new PointBuffer(2);
+        intersect(a, b, c, k, x, y, buffer);
+        return buffer.toArray();
+    }
+
+    /**
+     * 求反比例函数y=k/x与直线ax+by+c=0的交点,直线的系数a大于0时交点按横坐标从大到小,小于0时从小到大依次传给sink,不创建交点对象
+     *
+     * @param a    直线的系数a
+     * @param b    直线的系数b
+     * @param c    直线的系数c
+     * @param k    反比例函数的系数k
+     * @param x    反比例函数原点的横坐标
+     * @param y    反比例函数原点的纵坐标
+     * @param sink 接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(double a, double b, double c, double k, double x, double y, IntersectionSink sink) {
+        if (sink == null) {
+            throw new NullPointerException("接收交点的回调为null");
+        }
         if (NumberUtil.isZero(k)) {
-            return new Point[0];
+            return 0;
         }
 
         if (NumberUtil.isZero(a) && NumberUtil.isZero(b)) {
-            return new Point[0];
+            return 0;
         }
 
-        double b0 = b * y - a * x + c;
-        double delta = Math.pow(b0, 2) - 4 * a * (b * k - b * x * y - c * x);
-        if (NumberUtil.isZero(delta)) {
-            double px = -b0 / (2.0 * a);
-            if (NumberUtil.equal(px, x) || Double.isNaN(px)) {
-                return new Point[0];
+        //设u=px-x,则py=k/u+y,代入直线方程后两边乘以u得到au^2+(ax+by+c)u+bk=0
+        double[] roots = new double[2];
+        int count = PolynomialUtil.solveQuadratic(a, a * x + b * y + c, b * k, roots);
+        int accepted = 0;
+        //与原来的求根公式一致,先给出取正号的根:a>0时按横坐标从大到小,a<0时从小到大
+        for (int i = 0; i < count; i++) {
+            double u = roots[a > 0 ? count - 1 - i : i];
+            if (!NumberUtil.isZero(u)) {
+                sink.accept(x + u, k / u + y);
+                accepted++;
             }
-            double py = getY(k, x, y, px);
-            return new Point[]{new Point(px, py)};
         }
+        return accepted;
+    }
 
-        if (delta < 0) {
+    /**
+     * 求圆与反比例函数的交点
+     *
+     * @param round     圆
+     * @param hyperbola 反比例函数
+     * @return 交点数组, 可能有0-4个点, 按横坐标从小到大排列
+     */
+    public static Point[] intersect(Round round, Hyperbola hyperbola) {
+        if (round == null || hyperbola == null) {
             return new Point[0];
         }
+        return intersectRound(round.getX(), round.getY(), round.getRadius(), hyperbola.getK(), hyperbola.getX(), hyperbola.getY());
+    }
 
-        double px1 = (-b0 + Math.sqrt(delta)) / (2.0 * a);
-        double py1 = getY(k, x, y, px1);
-        double px2 = (-b0 - Math.sqrt(delta)) / (2.0 * a);
-        double py2 = getY(k, x, y, px2);
+    /**
+     * 求圆与反比例函数的交点,交点按横坐标从小到大依次传给sink,不创建交点对象
+     *
+     * @param round     圆
+     * @param hyperbola 反比例函数
+     * @param sink      接收交点的回调
+     * @return 交点的个数, 0-4个
+     */
+    public static int intersect(Round round, Hyperbola hyperbola, IntersectionSink sink) {
+        if (round == null || hyperbola == null) {
+            return 0;
+        }
+        return intersectRound(round.getX(), round.getY(), round.getRadius(),
+                hyperbola.getK(), hyperbola.getX(), hyperbola.getY(), sink);
+    }
 
-        List<Point> list = new ArrayList<Point>();
-        if (!Double.isNaN(py1)) {
-            list.add(new Point(px1, py1));
+    /**
+     * 求圆与反比例函数的交点,四次方程的根保存在roots中,重复使用同一个数组时不分配内存.交点按横坐标从小到大依次传给sink
+     *
+     * @param round     圆
+     * @param hyperbola 反比例函数
+     * @param roots     保存四次方程的根的数组,长度至少为4
+     * @param sink      接收交点的回调
+     * @return 交点的个数, 0-4个
+     */
+    public static int intersect(Round round, Hyperbola hyperbola, double[] roots, IntersectionSink sink) {
+        if (round == null || hyperbola == null) {
+            return 0;
         }
+        return intersectRound(round.getX(), round.getY(), round.getRadius(),
+                hyperbola.getK(), hyperbola.getX(), hyperbola.getY(), roots, sink);
+    }
 
-        if (!Double.isNaN(py2)) {
-            list.add(new Point(px2, py2));
+    /**
+     * 求圆(px-cx)^2+(py-cy)^2=radius^2与反比例函数y=k/x的交点
+     *
+     * @param cx     圆心的横坐标
+     * @param cy     圆心的纵坐标
+     * @param radius 圆的半径
+     * @param k      反比例函数的系数k
+     * @param x      反比例函数原点的横坐标
+     * @param y      反比例函数原点的纵坐标
+     * @return 交点数组, 可能有0-4个点, 按横坐标从小到大排列
+     */
+    public static Point[] intersectRound(double cx, double cy, double radius, double k, double x, double y) {
+        PointBuffer buffer = new PointBuffer(4);
+        intersectRound(cx, cy, radius, k, x, y, buffer);
+        return buffer.toArray();
+    }
+
+    /**
+     * 求圆(px-cx)^2+(py-cy)^2=radius^2与反比例函数y=k/x的交点,交点按横坐标从小到大依次传给sink,不创建交点对象,
+     * 但每次调用都会创建保存四次方程的根的数组,反复调用时使用可以传入roots的版本
+     *
+     * @param cx     圆心的横坐标
+     * @param cy     圆心的纵坐标
+     * @param radius 圆的半径
+     * @param k      反比例函数的系数k
+     * @param x      反比例函数原点的横坐标
+     * @param y      反比例函数原点的纵坐标
+     * @param sink   接收交点的回调
+     * @return 交点的个数, 0-4个
+     */
+    public static int intersectRound(double cx, double cy, double radius, double k, double x, double y,
+                                     IntersectionSink sink) {
+        return intersectRound(cx, cy, radius, k, x, y, new double[4], sink);
+    }
+
+    /**
+     * 求圆(px-cx)^2+(py-cy)^2=radius^2与反比例函数y=k/x的交点,四次方程的根保存在调用者提供的数组中,
+     * 重复使用同一个数组时不分配内存.交点按横坐标从小到大依次传给sink
+     *
+     * @param cx     圆心的横坐标
+     * @param cy     圆心的纵坐标
+     * @param radius 圆的半径
+     * @param k      反比例函数的系数k
+     * @param x      反比例函数原点的横坐标
+     * @param y      反比例函数原点的纵坐标
+     * @param roots  保存四次方程的根的数组,长度至少为4,原有的内容会被覆盖
+     * @param sink   接收交点的回调
+     * @return 交点的个数, 0-4个
+     */
+    public static int intersectRound(double cx, double cy, double radius, double k, double x, double y,
+                                     double[] roots, IntersectionSink sink) {
+        if (sink == null) {
+            throw new NullPointerException("接收交点的回调为null");
+        }
+        if (NumberUtil.isZero(k)) {
+            return 0;
+        }
+        //设u=px-x,代入圆的方程后两边乘以u^2得到u的四次方程,常数项k^2不为0,因此根都不为0
+        double dx = cx - x;
+        double dy = cy - y;
+        int count = PolynomialUtil.solveQuartic(1, -2 * dx, dx * dx + (dy - radius) * (dy + radius), -2 * k * dy, k * k, roots);
+        for (int i = 0; i < count; i++) {
+            double u = roots[i];
+            sink.accept(x + u, k / u + y);
         }
+        return count;
+    }
 
-        return PointUtil.toArray(list);
+    /**
+     * 用点集生成反比例函数,用HyperbolaFitter拟合,三个点在同一个反比例函数的图像上时就是这个反比例函数
+     *
+     * @param points 反比例函数图像上的点集
+     * @return 生成的反比例函数, 少于三个点或点在一条直线上时返回null
+     */
+    public static Hyperbola getHyperbola(Point[] points) {
+        if (points == null || points.length < 3) {
+            return null;
+        }
+        HyperbolaFitter fitter = new HyperbolaFitter();
+        fitter.addAll(points);
+        return fitter.getHyperbola();
     }
 
     /**
@@ -216,6 +367,37 @@ public class HyperbolaUtil {
         return new Hyperbola(k, point);
     }
 
+    /**
+     * 将相对坐标下的反比例函数转化为绝对坐标.
+     * 函数的原点按点的方式转换,由于纵坐标方向相反,系数k变为-k*spaceX*spaceY,横纵坐标单位长度可以不同
+     *
+     * @param hyperbola 给定的反比例函数
+     * @param viewport  相对坐标
+     * @return 绝对坐标下的反比例函数
+     */
+    public static Hyperbola toAbsoluteCoordinate(Hyperbola hyperbola, Viewport viewport) {
+        if (hyperbola == null || viewport == null) {
+            return null;
+        }
+        return new Hyperbola(-hyperbola.getK() * viewport.getSpaceX() * viewport.getSpaceY(),
+                viewport.toAbsoluteX(hyperbola.getX()), viewport.toAbsoluteY(hyperbola.getY()));
+    }
+
+    /**
+     * 将绝对坐标下的反比例函数转化为相对坐标
+     *
+     * @param hyperbola 给定的反比例函数
+     * @param viewport  相对坐标
+     * @return 相对坐标下的反比例函数
+     */
+    public static Hyperbola toRelativeCoordinate(Hyperbola hyperbola, Viewport viewport) {
+        if (hyperbola == null || viewport == null) {
+            return null;
+        }
+        return new Hyperbola(-hyperbola.getK() * viewport.getInverseSpaceX() * viewport.getInverseSpaceY(),
+                viewport.toRelativeX(hyperbola.getX()), viewport.toRelativeY(hyperbola.getY()));
+    }
+
     /**
      * 在最小精度范围内判断两个双曲线是否重合
      *
@@ -1,9 +1,14 @@
 package com.fudaowang.geometry.common.util;
 
+import com.fudaowang.geometry.common.fit.LineFitter;
+import com.fudaowang.geometry.common.function.IntersectionSink;
 import com.fudaowang.geometry.common.graph.Coordinate;
 import com.fudaowang.geometry.common.graph.Line;
+import com.fudaowang.geometry.common.graph.LineSet;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
 import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.graph.Viewport;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -53,6 +58,47 @@ public class LineUtil {
         return new Point(x, y);
     }
 
+    /**
+     * 求直线a1x+b1y+c1=0与直线a2x+b2y+c2=0的交点,交点传给sink,不创建交点对象
+     *
+     * @param a1   第一条直线的系数a
+     * @param b1   第一条直线的系数b
+     * @param c1   第一条直线的系数c
+     * @param a2   第二条直线的系数a
+     * @param b2   第二条直线的系数b
+     * @param c2   第二条直线的系数c
+     * @param sink 接收交点的回调
+     * @return 交点的个数, 两直线平行时为0
+     */
+    public static int intersect(double a1, double b1, double c1, double a2, double b2, double c2, IntersectionSink sink) {
+        if (sink == null) {
+            throw new NullPointerException("接收交点的回调为null");
+        }
+        double denominator = a1 * b2 - a2 * b1;
+        if (NumberUtil.isZero(denominator)) {
+            return 0;
+        }
+
+        sink.accept((c2 * b1 - c1 * b2) / denominator, (c1 * a2 - a1 * c2) / denominator);
+        return 1;
+    }
+
+    /**
+     * 求两条直线的交点,交点传给sink,不创建交点对象
+     *
+     * @param line1 第一条直线
+     * @param line2 第二条直线
+     * @param sink  接收交点的回调
+     * @return 交点的个数, 两直线平行时为0
+     */
+    public static int intersect(Line line1, Line line2, IntersectionSink sink) {
+        if (line1 == null || line2 == null) {
+            return 0;
+        }
+
+        return intersect(line1.getA(), line1.getB(), line1.getC(), line2.getA(), line2.getB(), line2.getC(), sink);
+    }
+
     /**
      * 找出两条直线的交点,若两线平行则返回null;
      * 不能用来作判定两线平行的依据,实际上几乎总是会找出交点,绝对精度上的平行是不太可能的.
@@ -84,6 +130,24 @@ public class LineUtil {
         return intersect(line, segment.getP1(), segment.getP2(), inSegment);
     }
 
+    /**
+     * 求线段与直线的交点,交点传给sink,不创建交点对象
+     *
+     * @param line      直线
+     * @param segment   线段
+     * @param inSegment 限定交点是否在线段内
+     * @param sink      接收交点的回调
+     * @return 交点的个数, 0或1
+     */
+    public static int intersect(Line line, Segment segment, boolean inSegment, IntersectionSink sink) {
+        if (segment == null || line == null) {
+            return 0;
+        }
+        Point p1 = segment.getP1();
+        Point p2 = segment.getP2();
+        return intersect(line.getA(), line.getB(), line.getC(), p1.getX(), p1.getY(), p2.getX(), p2.getY(), inSegment, sink);
+    }
+
     /**
      * 求点p1与p2构成的线段与直线的交点
      *
@@ -129,6 +193,44 @@ public class LineUtil {
         return point;
     }
 
+    /**
+     * 求由点(x1,y1)和点(x2,y2)构成的线段,与直线ax+by+c=0的交点,交点传给sink,不创建交点对象
+     *
+     * @param a         直线的系数a
+     * @param b         直线的系数b
+     * @param c         直线的系数c
+     * @param x1        线段的第一个点的横坐标
+     * @param y1        线段的第一个点的纵坐标
+     * @param x2        线段的第二个点的横坐标
+     * @param y2        线段的第二个点的纵坐标
+     * @param inSegment 限定交点是否在线段内
+     * @param sink      接收交点的回调
+     * @return 交点的个数, 0或1
+     */
+    public static int intersect(double a, double b, double c, double x1, double y1, double x2, double y2,
+                                boolean inSegment, IntersectionSink sink) {
+        if (sink == null) {
+            throw new NullPointerException("接收交点的回调为null");
+        }
+        if (PointUtil.coincide(x1, y1, x2, y2)) {
+            return 0;
+        }
+        double la = y2 - y1;
+        double lb = x1 - x2;
+        double lc = -lb * y1 - la * x1;
+        double denominator = la * b - a * lb;
+        if (NumberUtil.isZero(denominator)) {
+            return 0;
+        }
+        double x = (c * lb - lc * b) / denominator;
+        double y = (lc * a - la * c) / denominator;
+        if (inSegment && !SegmentUtil.inSegment(x, y, x1, y1, x2, y2)) {
+            return 0;
+        }
+        sink.accept(x, y);
+        return 1;
+    }
+
     /**
      * 求点(px,py)到直线ax+by+c=0的距离
      *
@@ -157,6 +259,51 @@ public class LineUtil {
         return distance(point.getX(), point.getY(), line.getA(), line.getB(), line.getC());
     }
 
+    /**
+     * 批量计算点集中每个点到直线的距离
+     *
+     * @param points 点集
+     * @param line   直线
+     * @param result 保存距离的数组,长度不小于点的个数,为null时创建新的数组
+     * @return 保存距离的数组, result[i]为第i个点到直线的距离
+     */
+    public static double[] distance(PointBuffer points, Line line, double[] result) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        if (line == null) {
+            throw new NullPointerException("直线为null");
+        }
+        if (result == null) {
+            result = new double[points.size()];
+        }
+        distance(points.getXs(), points.getYs(), 0, points.size(), line.getA(), line.getB(), line.getC(), result);
+        return result;
+    }
+
+    /**
+     * 批量计算点(xs[i],ys[i])到直线ax+by+c=0的距离,offset<=i<offset+length.
+     * 分母只计算一次,由BatchKernel计算,可用时使用Vector API,结果与逐个调用distance逐位一致
+     *
+     * @param xs     点的横坐标数组
+     * @param ys     点的纵坐标数组
+     * @param offset 第一个点的序号
+     * @param length 点的个数
+     * @param a      直线的系数a
+     * @param b      直线的系数b
+     * @param c      直线的系数c
+     * @param result 保存距离的数组,result[i]对应第i个点
+     */
+    public static void distance(double[] xs, double[] ys, int offset, int length,
+                                double a, double b, double c, double[] result) {
+        if (result == null) {
+            throw new NullPointerException("结果数组为null");
+        }
+        GeometryKernel.checkRange(xs, ys, offset, length, result.length);
+        double denominator = Math.sqrt(a * a + b * b);
+        BatchKernel.get().lineDistance(xs, ys, offset, offset + length, a, b, c, denominator, result);
+    }
+
     /**
      * 在指定的精度范围内,判断点是否在直线上
      *
@@ -316,7 +463,7 @@ public class LineUtil {
     }
 
     /**
-     * 用点集生成直线
+     * 用点集生成直线,多于两个点时用LineFitter拟合
      *
      * @param points 直线上的点集
      * @return 生成的直线
@@ -326,13 +473,21 @@ public class LineUtil {
     }
 
     /**
-     * 用点集生成直线
+     * 用点集生成直线,两个点时过这两个点,多于两个点时用LineFitter拟合,使各点到直线的距离的平方和最小
      *
      * @param points 直线上的点集
      * @return 生成的直线
      */
     public static Line getLine(Point[] points) {
-        return points == null || points.length < 2 ? null : getLine(points[0], points[1]);
+        if (points == null || points.length < 2) {
+            return null;
+        }
+        if (points.length == 2) {
+            return getLine(points[0], points[1]);
+        }
+        LineFitter fitter = new LineFitter();
+        fitter.addAll(points);
+        return fitter.getLine();
     }
 
     /**
@@ -711,31 +866,35 @@ public class LineUtil {
     }
 
     /**
-     * 判断两直线是否在给定的精度内重合
+     * 判断两直线是否在给定的精度内重合.
+     * 先将两直线的法向量(a,b)归一化,再比较系数两两之间的交叉积,
+     * 即a1*b2与a2*b1,a1*c2与a2*c1,b1*c2与b2*c1均在精度范围内相等时认为两直线重合.
      *
      * @param a1        第一条直线的系数a
      * @param b1        第一条直线的系数b
+     * @param c1        第一条直线的系数c
      * @param a2        第二条直线的系数a
      * @param b2        第二条直线的系数b
+     * @param c2        第二条直线的系数c
      * @param precision 给定的精度
      * @return 若两直线重合, 则返回true
      */
     public static boolean coincide(double a1, double b1, double c1, double a2, double b2, double c2, double precision) {
-        if (NumberUtil.isZero(a1) && NumberUtil.isZero(a2) && NumberUtil.equal(b1 * c2, b2 * c1, precision)) {
-            return true;
-        }
-
-        if (NumberUtil.isZero(b1) && NumberUtil.isZero(b2) && NumberUtil.equal(a1 * c2, a2 * c1, precision)) {
-            return true;
-        }
-
-        if (NumberUtil.isZero(a1) && NumberUtil.isZero(a2) && NumberUtil.isZero(b1) && NumberUtil.isZero(b2)) {
-            if (NumberUtil.equal(b1 * c2, b2 * c1, precision) && NumberUtil.equal(a1 * c2, a2 * c1, precision)) {
-                return true;
-            }
+        if (!isLogical(a1, b1) || !isLogical(a2, b2)) {
+            return false;
         }
 
-        return false;
+        double h1 = Math.sqrt(a1 * a1 + b1 * b1);
+        double h2 = Math.sqrt(a2 * a2 + b2 * b2);
+        a1 /= h1;
+        b1 /= h1;
+        c1 /= h1;
+        a2 /= h2;
+        b2 /= h2;
+        c2 /= h2;
+        return NumberUtil.equal(a1 * b2, a2 * b1, precision)
+                && NumberUtil.equal(a1 * c2, a2 * c1, precision)
+                && NumberUtil.equal(b1 * c2, b2 * c1, precision);
     }
 
     /**
@@ -941,6 +1100,44 @@ public class LineUtil {
         return toRelativeCoordinate(a, b, c, originX, originY, space, space);
     }
 
+    /**
+     * 将相对坐标下的直线转化为绝对坐标下的直线.
+     * 直线ax+by+c=0上的点(x,y)对应绝对坐标(originX+x*spaceX, originY-y*spaceY),代入后直接得到系数,
+     * 横纵坐标单位长度相同时结果与toAbsoluteCoordinate(Line, Coordinate)一致
+     *
+     * @param line     给定的直线
+     * @param viewport 相对坐标
+     * @return 绝对坐标下的直线
+     */
+    public static Line toAbsoluteCoordinate(Line line, Viewport viewport) {
+        if (line == null || viewport == null) {
+            return null;
+        }
+        //方程两边同乘以-spaceX
+        double ratio = viewport.getSpaceX() / viewport.getSpaceY();
+        double a = line.getA();
+        double b = line.getB() * ratio;
+        return new Line(-a, b, a * viewport.getOriginX() - b * viewport.getOriginY() - line.getC() * viewport.getSpaceX());
+    }
+
+    /**
+     * 将绝对坐标下的直线转化为相对坐标下的直线
+     *
+     * @param line     给定的直线
+     * @param viewport 相对坐标
+     * @return 相对坐标下的直线
+     */
+    public static Line toRelativeCoordinate(Line line, Viewport viewport) {
+        if (line == null || viewport == null) {
+            return null;
+        }
+        //方程两边同除以spaceX
+        double a = line.getA();
+        double b = line.getB();
+        return new Line(a, -b * viewport.getSpaceY() * viewport.getInverseSpaceX(),
+                (a * viewport.getOriginX() + b * viewport.getOriginY() + line.getC()) * viewport.getInverseSpaceX());
+    }
+
     /**
      * 判断直线集里是否存在与给定直线重合的直线
      *
@@ -965,6 +1162,10 @@ public class LineUtil {
             return false;
         }
 
+        if (collection instanceof LineSet) {
+            return ((LineSet) collection).contains(line, precision);
+        }
+
         for (Line l : collection) {
             if (coincide(l, line, precision)) {
                 return true;
@@ -0,0 +1,156 @@
+package com.fudaowang.geometry.common.util;
+
+import com.fudaowang.geometry.common.function.PointComparator;
+import com.fudaowang.geometry.common.graph.PointBuffer;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 用单调链算法(Andrew的算法)求点集的凸包.点按横坐标(相同时按纵坐标)从小到大排序后,
+ * 从左向右扫描一次得到下凸链,从右向左扫描一次得到上凸链,时间复杂度为O(nlogn).
+ * 扫描时叉积不大于NumberUtil.MIN_VALUE的三个点看作共线,中间的点不作为顶点;在最小精度范围内重合的点只保留一个.
+ * 并行时把点集分段分别求凸包,再把相邻两段凸包的顶点合并后重新求凸包,凸包的顶点数很少,合并的代价可以忽略.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+class MonotoneChain {
+    /**
+     * 先比较横坐标,横坐标相同时比较纵坐标
+     */
+    static final PointComparator LEXICOGRAPHIC = new PointComparator() {
+        @Override
+        public int compare(double x1, double y1, double x2, double y2) {
+            int result = Double.compare(x1, x2);
+            return result != 0 ? result : Double.compare(y1, y2);
+        }
+    };
+
+    /**
+     * 求点(xs[i],ys[i])的凸包,from<=i<to,不修改坐标数组
+     *
+     * @param xs       横坐标数组
+     * @param ys       纵坐标数组
+     * @param from     第一个点的序号
+     * @param to       最后一个点的序号加1
+     * @param parallel 是否使用ParallelUtil的线程池并行计算
+     * @return 凸包的顶点, 从最左下的点开始按逆时针排列
+     */
+    static PointBuffer hull(double[] xs, double[] ys, int from, int to, boolean parallel) {
+        if (parallel && to - from > ParallelUtil.THRESHOLD) {
+            return ParallelUtil.getPool().invoke(new HullTask(xs, ys, from, to));
+        }
+        return hullRange(xs, ys, from, to);
+    }
+
+    private static PointBuffer hullRange(double[] xs, double[] ys, int from, int to) {
+        int n = to - from;
+        double[] sx = Arrays.copyOfRange(xs, from, to);
+        double[] sy = Arrays.copyOfRange(ys, from, to);
+        PointUtil.sort(sx, sy, 0, n - 1, LEXICOGRAPHIC);
+        return chain(sx, sy, n);
+    }
+
+    /**
+     * 对已经排好序的点求凸包
+     *
+     * @param xs 按LEXICOGRAPHIC排序的点的横坐标数组
+     * @param ys 按LEXICOGRAPHIC排序的点的纵坐标数组
+     * @param n  点的个数
+     * @return 凸包的顶点, 从最左下的点开始按逆时针排列
+     */
+    private static PointBuffer chain(double[] xs, double[] ys, int n) {
+        if (n == 0) {
+            return new PointBuffer(0);
+        }
+        double[] hx = new double[2 * n];
+        double[] hy = new double[2 * n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            k = push(hx, hy, k, 1, xs[i], ys[i]);
+        }
+        //只有一个不同的点时没有上凸链
+        if (k > 1) {
+            int lower = k;
+            for (int i = n - 2; i >= 0; i--) {
+                k = push(hx, hy, k, lower, xs[i], ys[i]);
+            }
+            //上凸链的最后一个点就是下凸链的起点
+            k--;
+        }
+        return new PointBuffer(Arrays.copyOf(hx, k), Arrays.copyOf(hy, k));
+    }
+
+    /**
+     * 把点(x,y)压入凸链,先弹出与它不构成严格左转的点
+     *
+     * @param hx     凸链的横坐标数组
+     * @param hy     凸链的纵坐标数组
+     * @param k      凸链的点的个数
+     * @param bottom 不能弹出的点的个数
+     * @param x      点的横坐标
+     * @param y      点的纵坐标
+     * @return 压入后凸链的点的个数
+     */
+    private static int push(double[] hx, double[] hy, int k, int bottom, double x, double y) {
+        if (k > 0 && PointUtil.coincide(hx[k - 1], hy[k - 1], x, y)) {
+            return k;
+        }
+        while (k > bottom && !isLeftTurn(hx[k - 2], hy[k - 2], hx[k - 1], hy[k - 1], x, y)) {
+            k--;
+        }
+        hx[k] = x;
+        hy[k] = y;
+        return k + 1;
+    }
+
+    /**
+     * 判断从点(x1,y1)经过点(x2,y2)到点(x3,y3)是否严格左转,叉积不大于NumberUtil.MIN_VALUE时看作共线
+     */
+    static boolean isLeftTurn(double x1, double y1, double x2, double y2, double x3, double y3) {
+        return NumberUtil.isMoreThanZero((x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1));
+    }
+
+    /**
+     * 合并两个凸包的顶点后重新求凸包
+     */
+    private static PointBuffer merge(PointBuffer left, PointBuffer right) {
+        int n = left.size() + right.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        System.arraycopy(left.getXs(), 0, xs, 0, left.size());
+        System.arraycopy(left.getYs(), 0, ys, 0, left.size());
+        System.arraycopy(right.getXs(), 0, xs, left.size(), right.size());
+        System.arraycopy(right.getYs(), 0, ys, left.size(), right.size());
+        PointUtil.sort(xs, ys, 0, n - 1, LEXICOGRAPHIC);
+        return chain(xs, ys, n);
+    }
+
+    private static class HullTask extends RecursiveTask<PointBuffer> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+
+        HullTask(double[] xs, double[] ys, int from, int to) {
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PointBuffer compute() {
+            if (to - from <= ParallelUtil.THRESHOLD) {
+                return hullRange(xs, ys, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            HullTask left = new HullTask(xs, ys, from, middle);
+            left.fork();
+            PointBuffer right = new HullTask(xs, ys, middle, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+}
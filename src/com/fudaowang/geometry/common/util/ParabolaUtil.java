@@ -1,7 +1,8 @@
 package com.fudaowang.geometry.common.util;
 
+import com.fudaowang.geometry.common.fit.ParabolaFitter;
+import com.fudaowang.geometry.common.function.IntersectionSink;
 import com.fudaowang.geometry.common.graph.*;
-import org.apache.commons.collections.Predicate;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.Collection;
@@ -34,7 +35,7 @@ public class ParabolaUtil {
     }
 
     /**
-     * 用点集生成抛物线
+     * 用点集生成抛物线,多于三个点时用ParabolaFitter拟合
      *
      * @param points 抛物线上的点集
      * @return 生成的抛物线
@@ -44,13 +45,22 @@ public class ParabolaUtil {
     }
 
     /**
-     * 用点集生成抛物线
+     * 用点集生成抛物线,三个点时过这三个点,多于三个点时用ParabolaFitter拟合,使纵坐标的残差的平方和最小,
+     * 此时横坐标可以重复,只要至少有三个不同的值
      *
      * @param points 抛物线上的点集
      * @return 生成的抛物线
      */
     public static Parabola getParabola(Point[] points) {
-        return points == null || points.length < 3 ? null : getParabola(points[0], points[1], points[2]);
+        if (points == null || points.length < 3) {
+            return null;
+        }
+        if (points.length == 3) {
+            return getParabola(points[0], points[1], points[2]);
+        }
+        ParabolaFitter fitter = new ParabolaFitter();
+        fitter.addAll(points);
+        return fitter.getParabola();
     }
 
     /**
@@ -219,7 +229,7 @@ public class ParabolaUtil {
      *
      * @param line     直线
      * @param parabola 抛物线
-     * @return 直线与抛物线的交点, 可能有0-2个点
+     * @return 直线与抛物线的交点, 可能有0-2个点, 抛物线的系数a大于0时按横坐标从大到小排列,小于0时从小到大排列
      */
     public static Point[] intersect(Line line, Parabola parabola) {
         if (line == null || parabola == null) {
@@ -229,6 +239,22 @@ public class ParabolaUtil {
         return intersect(line.getA(), line.getB(), line.getC(), parabola.getA(), parabola.getB(), parabola.getC());
     }
 
+    /**
+     * 求直线与抛物线的交点,交点依次传给sink,不创建交点对象.交点的顺序与返回数组的版本相同
+     *
+     * @param line     直线
+     * @param parabola 抛物线
+     * @param sink     接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(Line line, Parabola parabola, IntersectionSink sink) {
+        if (line == null || parabola == null) {
+            return 0;
+        }
+
+        return intersect(line.getA(), line.getB(), line.getC(), parabola.getA(), parabola.getB(), parabola.getC(), sink);
+    }
+
     /**
      * 求直线lax+lby+lc=0与抛物线y=pax^2+pbx+pc的交点
      *
@@ -238,40 +264,28 @@ public class ParabolaUtil {
      * @param pa 抛物线的系数a
      * @param pb 抛物线的系数b
      * @param pc 抛物线的系数c
-     * @return 直线与抛物线的交点, 可能有0-2个点
+     * @return 直线与抛物线的交点, 可能有0-2个点, 抛物线的系数a大于0时按横坐标从大到小排列,小于0时从小到大排列
      */
     public static Point[] intersect(double la, double lb, double lc, double pa, double pb, double pc) {
-        if (NumberUtil.isZero(la) && NumberUtil.isZero(lb)) {
-            return new Point[0];
-        }
-
-        if (NumberUtil.isZero(pa)) {
-            return new Point[0];
-        }
-
-        if (NumberUtil.isZero(lb)) {
-            double x = -lc / la;
-            double y = getY(pa, pb, pc, x);
-            return new Point[]{new Point(x, y)};
-        }
-
-        double delta = (Math.pow(pb * lb + la, 2) - 4.0 * pa * lb * (pc * lb + lc)) / Math.pow(lb, 2);
-
-        if (NumberUtil.isLessThanZero(delta)) {
-            return new Point[0];
-        }
-
-        if (NumberUtil.isZero(delta)) {
-            double x = (pb + la / lb) / (-2.0 * pa);
-            double y = getY(pa, pb, pc, x);
-            return new Point[]{new Point(x, y)};
-        }
+        PointBuffer buffer = new PointBuffer(2);
+        intersect(la, lb, lc, pa, pb, pc, buffer);
+        return buffer.toArray();
+    }
 
-        double x1 = (-pb - la / lb + Math.sqrt(delta)) / (2.0 * pa);
-        double y1 = getY(pa, pb, pc, x1);
-        double x2 = (-pb - la / lb - Math.sqrt(delta)) / (2.0 * pa);
-        double y2 = getY(pa, pb, pc, x2);
-        return new Point[]{new Point(x1, y1), new Point(x2, y2)};
+    /**
+     * 求直线lax+lby+lc=0与抛物线y=pax^2+pbx+pc的交点,交点依次传给sink,不创建交点对象.交点的顺序与返回数组的版本相同
+     *
+     * @param la   直线的系数a
+     * @param lb   直线的系数b
+     * @param lc   直线的系数c
+     * @param pa   抛物线的系数a
+     * @param pb   抛物线的系数b
+     * @param pc   抛物线的系数c
+     * @param sink 接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(double la, double lb, double lc, double pa, double pb, double pc, IntersectionSink sink) {
+        return intersect(la, lb, lc, pa, pb, pc, false, 0, 0, 0, 0, sink);
     }
 
     /**
@@ -279,7 +293,7 @@ public class ParabolaUtil {
      *
      * @param segment  线段
      * @param parabola 抛物线
-     * @return 交点数组
+     * @return 交点数组, 抛物线的系数a大于0时按横坐标从大到小排列,小于0时从小到大排列
      */
     public static Point[] intersect(Segment segment, Parabola parabola) {
         if (segment == null || parabola == null) {
@@ -288,13 +302,30 @@ public class ParabolaUtil {
         return intersect(segment.getP1(), segment.getP2(), parabola);
     }
 
+    /**
+     * 求线段与抛物线的交点,交点依次传给sink,不创建交点对象.交点的顺序与返回数组的版本相同
+     *
+     * @param segment  线段
+     * @param parabola 抛物线
+     * @param sink     接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(Segment segment, Parabola parabola, IntersectionSink sink) {
+        if (segment == null || parabola == null) {
+            return 0;
+        }
+        Point p1 = segment.getP1();
+        Point p2 = segment.getP2();
+        return intersect(p1.getX(), p1.getY(), p2.getX(), p2.getY(), parabola.getA(), parabola.getB(), parabola.getC(), sink);
+    }
+
     /**
      * 求线段(p1,p2)与抛物线的交点
      *
      * @param p1       线段的第一个端点
      * @param p2       线段的第二个端点
      * @param parabola 抛物线
-     * @return 交点数组
+     * @return 交点数组, 抛物线的系数a大于0时按横坐标从大到小排列,小于0时从小到大排列
      */
     public static Point[] intersect(Point p1, Point p2, Parabola parabola) {
         if (p1 == null || p2 == null || parabola == null) {
@@ -313,17 +344,181 @@ public class ParabolaUtil {
      * @param pa 抛物线的系数a
      * @param pb 抛物线的系数b
      * @param pc 抛物线的系数c
-     * @return 交点数组
-     */
-    public static Point[] intersect(final double x1, final double y1, final double x2, final double y2, double pa, double pb, double pc) {
-        Line line = LineUtil.getLine(x1, y1, x2, y2);
-        Point[] points = intersect(line.getA(), line.getB(), line.getC(), pa, pb, pc);
-        return PointUtil.filter(points, new Predicate() {
-            public boolean evaluate(Object o) {
-                Point p = (Point) o;
-                return SegmentUtil.inSegment(p.getX(), p.getY(), x1, y1, x2, y2);
-            }
-        });
+     * @return 交点数组, 抛物线的系数a大于0时按横坐标从大到小排列,小于0时从小到大排列
+     */
+    public static Point[] intersect(double x1, double y1, double x2, double y2, double pa, double pb, double pc) {
+        PointBuffer buffer = new PointBuffer(2);
+        intersect(x1, y1, x2, y2, pa, pb, pc, buffer);
+        return buffer.toArray();
+    }
+
+    /**
+     * 求由点(x1,y1)和点(x2,y2)构成的线段与抛物线y=pax^2+pbx+pc的交点,交点依次传给sink,不创建交点对象.交点的顺序与返回数组的版本相同
+     *
+     * @param x1   线段的第一个端点的横坐标
+     * @param y1   线段的第一个端点的纵坐标
+     * @param x2   线段的第二个端点的横坐标
+     * @param y2   线段的第二个端点的纵坐标
+     * @param pa   抛物线的系数a
+     * @param pb   抛物线的系数b
+     * @param pc   抛物线的系数c
+     * @param sink 接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(double x1, double y1, double x2, double y2, double pa, double pb, double pc,
+                                IntersectionSink sink) {
+        if (PointUtil.coincide(x1, y1, x2, y2)) {
+            return 0;
+        }
+        double a = y2 - y1;
+        double b = x1 - x2;
+        return intersect(a, b, -b * y1 - a * x1, pa, pb, pc, true, x1, y1, x2, y2, sink);
+    }
+
+    private static int intersect(double la, double lb, double lc, double pa, double pb, double pc,
+                                 boolean bounded, double x1, double y1, double x2, double y2, IntersectionSink sink) {
+        if (sink == null) {
+            throw new NullPointerException("接收交点的回调为null");
+        }
+        if (NumberUtil.isZero(la) && NumberUtil.isZero(lb)) {
+            return 0;
+        }
+
+        if (NumberUtil.isZero(pa)) {
+            return 0;
+        }
+
+        if (NumberUtil.isZero(lb)) {
+            double x = -lc / la;
+            return GeometryKernel.accept(x, getY(pa, pb, pc, x), bounded, x1, y1, x2, y2, sink);
+        }
+
+        //代入y=-(lax+lc)/lb后两边乘以lb,避免除以lb
+        double[] roots = new double[2];
+        int count = PolynomialUtil.solveQuadratic(pa * lb, pb * lb + la, pc * lb + lc, roots);
+        int accepted = 0;
+        //与原来的求根公式一致,先给出取正号的根:pa>0时按横坐标从大到小,pa<0时从小到大
+        for (int k = 0; k < count; k++) {
+            double x = roots[pa > 0 ? count - 1 - k : k];
+            accepted += GeometryKernel.accept(x, getY(pa, pb, pc, x), bounded, x1, y1, x2, y2, sink);
+        }
+        return accepted;
+    }
+
+    /**
+     * 求圆与抛物线的交点
+     *
+     * @param round    圆
+     * @param parabola 抛物线
+     * @return 交点数组, 可能有0-4个点, 按横坐标从小到大排列
+     */
+    public static Point[] intersect(Round round, Parabola parabola) {
+        if (round == null || parabola == null) {
+            return new Point[0];
+        }
+        return intersectRound(round.getX(), round.getY(), round.getRadius(), parabola.getA(), parabola.getB(), parabola.getC());
+    }
+
+    /**
+     * 求圆与抛物线的交点,交点按横坐标从小到大依次传给sink,不创建交点对象
+     *
+     * @param round    圆
+     * @param parabola 抛物线
+     * @param sink     接收交点的回调
+     * @return 交点的个数, 0-4个
+     */
+    public static int intersect(Round round, Parabola parabola, IntersectionSink sink) {
+        if (round == null || parabola == null) {
+            return 0;
+        }
+        return intersectRound(round.getX(), round.getY(), round.getRadius(),
+                parabola.getA(), parabola.getB(), parabola.getC(), sink);
+    }
+
+    /**
+     * 求圆与抛物线的交点,四次方程的根保存在roots中,重复使用同一个数组时不分配内存.交点按横坐标从小到大依次传给sink
+     *
+     * @param round    圆
+     * @param parabola 抛物线
+     * @param roots    保存四次方程的根的数组,长度至少为4
+     * @param sink     接收交点的回调
+     * @return 交点的个数, 0-4个
+     */
+    public static int intersect(Round round, Parabola parabola, double[] roots, IntersectionSink sink) {
+        if (round == null || parabola == null) {
+            return 0;
+        }
+        return intersectRound(round.getX(), round.getY(), round.getRadius(),
+                parabola.getA(), parabola.getB(), parabola.getC(), roots, sink);
+    }
+
+    /**
+     * 求圆(x-cx)^2+(y-cy)^2=radius^2与抛物线y=pax^2+pbx+pc的交点
+     *
+     * @param cx     圆心的横坐标
+     * @param cy     圆心的纵坐标
+     * @param radius 圆的半径
+     * @param pa     抛物线的系数a
+     * @param pb     抛物线的系数b
+     * @param pc     抛物线的系数c
+     * @return 交点数组, 可能有0-4个点, 按横坐标从小到大排列
+     */
+    public static Point[] intersectRound(double cx, double cy, double radius, double pa, double pb, double pc) {
+        PointBuffer buffer = new PointBuffer(4);
+        intersectRound(cx, cy, radius, pa, pb, pc, buffer);
+        return buffer.toArray();
+    }
+
+    /**
+     * 求圆(x-cx)^2+(y-cy)^2=radius^2与抛物线y=pax^2+pbx+pc的交点,交点按横坐标从小到大依次传给sink,不创建交点对象,
+     * 但每次调用都会创建保存四次方程的根的数组,反复调用时使用可以传入roots的版本
+     *
+     * @param cx     圆心的横坐标
+     * @param cy     圆心的纵坐标
+     * @param radius 圆的半径
+     * @param pa     抛物线的系数a
+     * @param pb     抛物线的系数b
+     * @param pc     抛物线的系数c
+     * @param sink   接收交点的回调
+     * @return 交点的个数, 0-4个
+     */
+    public static int intersectRound(double cx, double cy, double radius, double pa, double pb, double pc,
+                                     IntersectionSink sink) {
+        return intersectRound(cx, cy, radius, pa, pb, pc, new double[4], sink);
+    }
+
+    /**
+     * 求圆(x-cx)^2+(y-cy)^2=radius^2与抛物线y=pax^2+pbx+pc的交点,四次方程的根保存在调用者提供的数组中,
+     * 重复使用同一个数组时不分配内存.交点按横坐标从小到大依次传给sink
+     *
+     * @param cx     圆心的横坐标
+     * @param cy     圆心的纵坐标
+     * @param radius 圆的半径
+     * @param pa     抛物线的系数a
+     * @param pb     抛物线的系数b
+     * @param pc     抛物线的系数c
+     * @param roots  保存四次方程的根的数组,长度至少为4,原有的内容会被覆盖
+     * @param sink   接收交点的回调
+     * @return 交点的个数, 0-4个
+     */
+    public static int intersectRound(double cx, double cy, double radius, double pa, double pb, double pc,
+                                     double[] roots, IntersectionSink sink) {
+        if (sink == null) {
+            throw new NullPointerException("接收交点的回调为null");
+        }
+        if (NumberUtil.isZero(pa)) {
+            return 0;
+        }
+        //设x=cx+s,抛物线为y-cy=pas^2+bs+e,代入圆的方程得到s的四次方程
+        double b = 2 * pa * cx + pb;
+        double e = (pa * cx + pb) * cx + pc - cy;
+        int count = PolynomialUtil.solveQuartic(pa * pa, 2 * pa * b, b * b + 2 * pa * e + 1, 2 * b * e,
+                (e - radius) * (e + radius), roots);
+        for (int i = 0; i < count; i++) {
+            double x = cx + roots[i];
+            sink.accept(x, getY(pa, pb, pc, x));
+        }
+        return count;
     }
 
     /**
@@ -570,6 +765,48 @@ public class ParabolaUtil {
         return toRelativeCoordinate(a, b, c, originX, originY, space, space);
     }
 
+    /**
+     * 将相对坐标下的抛物线转化为绝对坐标,直接代入坐标转换公式求系数
+     *
+     * @param parabola 给定的抛物线
+     * @param viewport 相对坐标
+     * @return 绝对坐标下的抛物线
+     */
+    public static Parabola toAbsoluteCoordinate(Parabola parabola, Viewport viewport) {
+        if (parabola == null || viewport == null) {
+            return null;
+        }
+        //Y=originY-spaceY*(a*u^2+b*u+c),其中u=(X-originX)/spaceX
+        double originX = viewport.getOriginX();
+        double spaceY = viewport.getSpaceY();
+        double inverseX = viewport.getInverseSpaceX();
+        double a = parabola.getA() * spaceY * inverseX * inverseX;
+        double b = parabola.getB() * spaceY * inverseX;
+        double c = parabola.getC() * spaceY;
+        return new Parabola(-a, 2 * a * originX - b, -a * originX * originX + b * originX - c + viewport.getOriginY());
+    }
+
+    /**
+     * 将绝对坐标下的抛物线转化为相对坐标,直接代入坐标转换公式求系数
+     *
+     * @param parabola 给定的抛物线
+     * @param viewport 相对坐标
+     * @return 相对坐标下的抛物线
+     */
+    public static Parabola toRelativeCoordinate(Parabola parabola, Viewport viewport) {
+        if (parabola == null || viewport == null) {
+            return null;
+        }
+        //y=(originY-A*X^2-B*X-C)/spaceY,其中X=originX+spaceX*x
+        double originX = viewport.getOriginX();
+        double spaceX = viewport.getSpaceX();
+        double inverseY = viewport.getInverseSpaceY();
+        double a = parabola.getA();
+        double b = parabola.getB();
+        return new Parabola(-a * spaceX * spaceX * inverseY, -(2 * a * originX + b) * spaceX * inverseY,
+                (viewport.getOriginY() - a * originX * originX - b * originX - parabola.getC()) * inverseY);
+    }
+
     /**
      * 在最小精度范围内判定两抛物线是否重合
      *
@@ -0,0 +1,41 @@
+package com.fudaowang.geometry.common.util;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 批量计算的并行模式使用的公共线程池
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class ParallelUtil {
+    /**
+     * 并行计算时每个任务处理的最小数据量,数据量小于此值时不再拆分
+     */
+    public static final int THRESHOLD = 8192;
+
+    private static ForkJoinPool pool;
+
+    /**
+     * 获得并行计算使用的线程池,第一次调用时按CPU核数创建
+     *
+     * @return 线程池
+     */
+    public static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool();
+        }
+        return pool;
+    }
+
+    /**
+     * 设定并行计算使用的线程池
+     *
+     * @param pool 线程池
+     */
+    public static synchronized void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new NullPointerException("线程池为null");
+        }
+        ParallelUtil.pool = pool;
+    }
+}
@@ -1,7 +1,9 @@
 package com.fudaowang.geometry.common.util;
 
+import com.fudaowang.geometry.common.function.PointComparator;
+import com.fudaowang.geometry.common.function.PointPredicate;
+import com.fudaowang.geometry.common.function.PointTransformer;
 import com.fudaowang.geometry.common.graph.*;
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.Predicate;
 import org.apache.commons.collections.Transformer;
 
@@ -27,7 +29,7 @@ public class PointUtil {
      * @return 两点之间的距离
      */
     public static double distance(double x1, double y1, double x2, double y2) {
-        return java.awt.geom.Point2D.distance(x1, y1, x2, y2);
+        return GeometryKernel.distance(x1, y1, x2, y2);
     }
 
     /**
@@ -44,6 +46,46 @@ public class PointUtil {
         return distance(p1.getX(), p1.getY(), p2.getX(), p2.getY());
     }
 
+    /**
+     * 批量计算点集中每个点到点(x,y)的距离
+     *
+     * @param points 点集
+     * @param x      点的横坐标
+     * @param y      点的纵坐标
+     * @param result 保存距离的数组,长度不小于点的个数,为null时创建新的数组
+     * @return 保存距离的数组, result[i]为第i个点到点(x,y)的距离
+     */
+    public static double[] distance(PointBuffer points, double x, double y, double[] result) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        if (result == null) {
+            result = new double[points.size()];
+        }
+        distance(points.getXs(), points.getYs(), 0, points.size(), x, y, result);
+        return result;
+    }
+
+    /**
+     * 批量计算点(xs[i],ys[i])到点(x,y)的距离,offset<=i<offset+length.
+     * 由BatchKernel计算,可用时使用Vector API,结果与逐个调用distance逐位一致
+     *
+     * @param xs     点的横坐标数组
+     * @param ys     点的纵坐标数组
+     * @param offset 第一个点的序号
+     * @param length 点的个数
+     * @param x      点的横坐标
+     * @param y      点的纵坐标
+     * @param result 保存距离的数组,result[i]对应第i个点
+     */
+    public static void distance(double[] xs, double[] ys, int offset, int length, double x, double y, double[] result) {
+        if (result == null) {
+            throw new NullPointerException("结果数组为null");
+        }
+        GeometryKernel.checkRange(xs, ys, offset, length, result.length);
+        BatchKernel.get().pointDistance(xs, ys, offset, offset + length, x, y, result);
+    }
+
     /**
      * 以center为中心,获得point点的中心对称点
      *
@@ -394,7 +436,7 @@ public class PointUtil {
         if (points == null) {
             return list;
         }
-        CollectionUtils.addAll(list, points);
+        Collections.addAll(list, points);
         return list;
     }
 
@@ -424,9 +466,69 @@ public class PointUtil {
             return points;
         }
 
-        List<Point> list = toList(points);
-        CollectionUtils.filter(list, predicate);
-        return toArray(list);
+        Point[] result = new Point[points.length];
+        int count = 0;
+        for (Point point : points) {
+            if (predicate.evaluate(point)) {
+                result[count++] = point;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 根据给定的过滤条件对点的数组进行过滤
+     *
+     * @param points    点的数组
+     * @param predicate 以横纵坐标为参数的过滤条件
+     * @return 过滤后的点数组
+     */
+    public static Point[] filter(Point[] points, PointPredicate predicate) {
+        if (points == null || predicate == null) {
+            return points;
+        }
+
+        Point[] result = new Point[points.length];
+        int count = 0;
+        for (Point point : points) {
+            if (predicate.evaluate(point.getX(), point.getY())) {
+                result[count++] = point;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * 根据给定的过滤条件对点集进行过滤,结果写入target
+     *
+     * @param source    给定的点集
+     * @param predicate 以横纵坐标为参数的过滤条件
+     * @param target    保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer filter(PointBuffer source, PointPredicate predicate, PointBuffer target) {
+        if (source == null || predicate == null || target == null) {
+            return null;
+        }
+
+        int size = source.size();
+        target.ensureCapacity(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            if (predicate.evaluate(x, y)) {
+                txs[count] = x;
+                tys[count] = y;
+                count++;
+            }
+        }
+        target.resize(count);
+        return target;
     }
 
     /**
@@ -441,9 +543,60 @@ public class PointUtil {
             return points;
         }
 
-        List<Point> list = toList(points);
-        Collection<Point> collection = CollectionUtils.collect(list, transformer);
-        return toArray(collection);
+        Point[] result = new Point[points.length];
+        for (int i = 0; i < points.length; i++) {
+            result[i] = (Point) transformer.transform(points[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 根据给定的方法对点的数组进行变换
+     *
+     * @param points      点的数组
+     * @param transformer 以横纵坐标为参数的操作方法
+     * @return 变换后的点数组
+     */
+    public static Point[] collect(Point[] points, PointTransformer transformer) {
+        if (points == null || transformer == null) {
+            return points;
+        }
+
+        double[] xy = new double[2];
+        Point[] result = new Point[points.length];
+        for (int i = 0; i < points.length; i++) {
+            transformer.transform(points[i].getX(), points[i].getY(), xy);
+            result[i] = new Point(xy[0], xy[1]);
+        }
+        return result;
+    }
+
+    /**
+     * 根据给定的方法对点集进行变换,结果写入target
+     *
+     * @param source      给定的点集
+     * @param transformer 以横纵坐标为参数的操作方法
+     * @param target      保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer collect(PointBuffer source, PointTransformer transformer, PointBuffer target) {
+        if (source == null || transformer == null || target == null) {
+            return null;
+        }
+
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        double[] xy = new double[2];
+        for (int i = 0; i < size; i++) {
+            transformer.transform(xs[i], ys[i], xy);
+            txs[i] = xy[0];
+            tys[i] = xy[1];
+        }
+        return target;
     }
 
     /**
@@ -460,7 +613,62 @@ public class PointUtil {
         if (predicate == null) {
             throw new NullPointerException("判定方法为null");
         }
-        return CollectionUtils.exists(toList(points), predicate);
+
+        for (Point point : points) {
+            if (predicate.evaluate(point)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 根据给定的判定方法,判断是否存在符合要求的点
+     *
+     * @param points    点集合
+     * @param predicate 以横纵坐标为参数的判定方法
+     * @return 若存在符合条件的点, 则返回true
+     */
+    public static boolean exists(Point[] points, PointPredicate predicate) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        if (predicate == null) {
+            throw new NullPointerException("判定方法为null");
+        }
+
+        for (Point point : points) {
+            if (predicate.evaluate(point.getX(), point.getY())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 根据给定的判定方法,判断点集内是否存在符合要求的点
+     *
+     * @param points    点集
+     * @param predicate 以横纵坐标为参数的判定方法
+     * @return 若存在符合条件的点, 则返回true
+     */
+    public static boolean exists(PointBuffer points, PointPredicate predicate) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        if (predicate == null) {
+            throw new NullPointerException("判定方法为null");
+        }
+
+        int size = points.size();
+        double[] xs = points.getXs();
+        double[] ys = points.getYs();
+        for (int i = 0; i < size; i++) {
+            if (predicate.evaluate(xs[i], ys[i])) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -475,9 +683,148 @@ public class PointUtil {
             return points;
         }
 
-        List<Point> list = toList(points);
-        Collections.sort(list, comparator);
-        return toArray(list);
+        Point[] result = points.clone();
+        Arrays.sort(result, comparator);
+        return result;
+    }
+
+    /**
+     * 对点集按照指定的规则进行原地排序,排序不保证稳定
+     *
+     * @param points     点集
+     * @param comparator 以横纵坐标为参数的排序规则
+     * @return 排序后的点集
+     */
+    public static PointBuffer sort(PointBuffer points, PointComparator comparator) {
+        if (points == null || comparator == null) {
+            return points;
+        }
+
+        sort(points.getXs(), points.getYs(), 0, points.size() - 1, comparator);
+        return points;
+    }
+
+    /**
+     * 对点(xs[i],ys[i])原地排序,low<=i<=high
+     */
+    static void sort(double[] xs, double[] ys, int low, int high, PointComparator comparator) {
+        while (high - low > 16) {
+            int middle = (low + high) >>> 1;
+            double px = xs[middle];
+            double py = ys[middle];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (comparator.compare(xs[i], ys[i], px, py) < 0) {
+                    i++;
+                }
+                while (comparator.compare(xs[j], ys[j], px, py) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(xs, ys, i++, j--);
+                }
+            }
+            if (j - low < high - i) {
+                sort(xs, ys, low, j, comparator);
+                low = i;
+            } else {
+                sort(xs, ys, i, high, comparator);
+                high = j;
+            }
+        }
+
+        for (int i = low + 1; i <= high; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare(xs[j], ys[j], x, y) > 0) {
+                xs[j + 1] = xs[j];
+                ys[j + 1] = ys[j];
+                j--;
+            }
+            xs[j + 1] = x;
+            ys[j + 1] = y;
+        }
+    }
+
+    private static void swap(double[] xs, double[] ys, int i, int j) {
+        double x = xs[i];
+        double y = ys[i];
+        xs[i] = xs[j];
+        ys[i] = ys[j];
+        xs[j] = x;
+        ys[j] = y;
+    }
+
+    /**
+     * 求点的数组的凸包.在最小精度范围内共线的点和重合的点都不作为顶点
+     *
+     * @param points 点的数组
+     * @return 凸包的顶点, 从最左下的点开始按逆时针排列, 点都重合时只有一个顶点, 点都共线时只有两个端点
+     */
+    public static Point[] getConvexHull(Point[] points) {
+        if (points == null) {
+            return null;
+        }
+
+        PointBuffer buffer = new PointBuffer(points);
+        return MonotoneChain.hull(buffer.getXs(), buffer.getYs(), 0, buffer.size(), false).toArray();
+    }
+
+    /**
+     * 求点集的凸包,结果写入target
+     *
+     * @param points 点集
+     * @param target 保存凸包顶点的点集,可以与points相同,为null时创建新的点集
+     * @return 保存凸包顶点的点集, 顶点从最左下的点开始按逆时针排列
+     */
+    public static PointBuffer getConvexHull(PointBuffer points, PointBuffer target) {
+        return getConvexHull(points, false, target);
+    }
+
+    /**
+     * 求点集的凸包,结果写入target
+     *
+     * @param points   点集
+     * @param parallel 是否使用ParallelUtil的线程池并行计算
+     * @param target   保存凸包顶点的点集,可以与points相同,为null时创建新的点集
+     * @return 保存凸包顶点的点集, 顶点从最左下的点开始按逆时针排列
+     */
+    public static PointBuffer getConvexHull(PointBuffer points, boolean parallel, PointBuffer target) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        return getConvexHull(points.getXs(), points.getYs(), 0, points.size(), parallel, target);
+    }
+
+    /**
+     * 求点(xs[i],ys[i])的凸包,offset<=i<offset+length,结果写入target.
+     * 使用单调链算法,时间复杂度为O(nlogn),不修改坐标数组.
+     * 三个点的叉积不大于NumberUtil.MIN_VALUE时看作共线,中间的点不作为顶点;在最小精度范围内重合的点只保留一个.
+     * 并行计算时分段求凸包后两两合并,适合点数远多于ParallelUtil.THRESHOLD的情况
+     *
+     * @param xs       点的横坐标数组
+     * @param ys       点的纵坐标数组
+     * @param offset   第一个点的序号
+     * @param length   点的个数
+     * @param parallel 是否使用ParallelUtil的线程池并行计算
+     * @param target   保存凸包顶点的点集,为null时创建新的点集
+     * @return 保存凸包顶点的点集, 顶点从最左下的点开始按逆时针排列
+     */
+    public static PointBuffer getConvexHull(double[] xs, double[] ys, int offset, int length,
+                                            boolean parallel, PointBuffer target) {
+        GeometryKernel.checkRange(xs, ys, offset, length, -1);
+        PointBuffer hull = MonotoneChain.hull(xs, ys, offset, offset + length, parallel);
+        if (target == null) {
+            return hull;
+        }
+
+        int size = hull.size();
+        target.resize(size);
+        System.arraycopy(hull.getXs(), 0, target.getXs(), 0, size);
+        System.arraycopy(hull.getYs(), 0, target.getYs(), 0, size);
+        return target;
     }
 
     /**
@@ -600,6 +947,28 @@ public class PointUtil {
         return toRelativeCoordinate(x, y, originX, originY, space, space);
     }
 
+    /**
+     * 将相对坐标下的点,转化为绝对坐标下的点
+     *
+     * @param point    给定的点
+     * @param viewport 相对坐标
+     * @return 绝对坐标下的点
+     */
+    public static Point toAbsoluteCoordinate(Point point, Viewport viewport) {
+        return point == null || viewport == null ? null : viewport.toAbsolute(point);
+    }
+
+    /**
+     * 将绝对坐标下的点,转化为相对坐标下的点
+     *
+     * @param point    给定的点
+     * @param viewport 相对坐标
+     * @return 相对坐标下的点
+     */
+    public static Point toRelativeCoordinate(Point point, Viewport viewport) {
+        return point == null || viewport == null ? null : viewport.toRelative(point);
+    }
+
     /**
      * 获得两点关于x坐标的Comparator
      *
@@ -654,6 +1023,10 @@ public class PointUtil {
             return false;
         }
 
+        if (collection instanceof PointSet) {
+            return ((PointSet) collection).contains(point.getX(), point.getY(), precision);
+        }
+
         for (Point p : collection) {
             if (coincide(p, point, precision)) {
                 return true;
@@ -687,6 +1060,10 @@ public class PointUtil {
             return false;
         }
 
+        if (collection instanceof PointSet && ((PointSet) collection).getPrecision() == Math.max(precision, NumberUtil.MIN_VALUE)) {
+            return collection.add(point);
+        }
+
         return !exist(collection, point, precision) && collection.add(point);
     }
 
@@ -712,4 +1089,383 @@ public class PointUtil {
             addUnique(collection, p, precision);
         }
     }
+
+    /**
+     * 将点集沿横坐标正方向平移x,沿纵坐标方向平移y,结果写入target
+     *
+     * @param source 给定的点集
+     * @param x      横坐标平移的长度
+     * @param y      纵坐标平移的长度
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer translation(PointBuffer source, double x, double y, PointBuffer target) {
+        if (source == null || target == null) {
+            return null;
+        }
+
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            txs[i] = xs[i] + x;
+            tys[i] = ys[i] + y;
+        }
+        return target;
+    }
+
+    /**
+     * 将点集以center为中心,逆时针旋转angle角度,结果写入target
+     *
+     * @param source 给定的点集
+     * @param center 中心点
+     * @param angle  想要旋转的角度,此处为弧度值
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer rotate(PointBuffer source, Point center, double angle, PointBuffer target) {
+        if (center == null) {
+            return null;
+        }
+        return rotateAndStretch(source, center.getX(), center.getY(), angle, 1, target);
+    }
+
+    /**
+     * 将点集以点(cx,cy)为中心,逆时针旋转angle角度,结果写入target
+     *
+     * @param source 给定的点集
+     * @param cx     中心点的横坐标
+     * @param cy     中心点的纵坐标
+     * @param angle  想要旋转的角度,此处为弧度值
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer rotate(PointBuffer source, double cx, double cy, double angle, PointBuffer target) {
+        return rotateAndStretch(source, cx, cy, angle, 1, target);
+    }
+
+    /**
+     * 将点集以center为中心,将距离拉伸到ratio倍,结果写入target
+     *
+     * @param source 给定的点集
+     * @param center 中心点
+     * @param ratio  想要拉伸的比率
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer stretch(PointBuffer source, Point center, double ratio, PointBuffer target) {
+        if (center == null) {
+            return null;
+        }
+        return stretch(source, center.getX(), center.getY(), ratio, target);
+    }
+
+    /**
+     * 将点集以点(cx,cy)为中心,将距离拉伸到ratio倍,结果写入target
+     *
+     * @param source 给定的点集
+     * @param cx     中心点的横坐标
+     * @param cy     中心点的纵坐标
+     * @param ratio  想要拉伸的比率
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer stretch(PointBuffer source, double cx, double cy, double ratio, PointBuffer target) {
+        if (source == null || target == null) {
+            return null;
+        }
+
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            txs[i] = cx + (xs[i] - cx) * ratio;
+            tys[i] = cy + (ys[i] - cy) * ratio;
+        }
+        return target;
+    }
+
+    /**
+     * 将点集以点(cx,cy)为中心,逆时针旋转angle角度,并将距离拉伸为ratio倍,结果写入target.
+     * 旋转角的正弦和余弦值只计算一次.
+     *
+     * @param source 给定的点集
+     * @param cx     中心点的横坐标
+     * @param cy     中心点的纵坐标
+     * @param angle  旋转的角度
+     * @param ratio  拉伸的倍数
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer rotateAndStretch(PointBuffer source, double cx, double cy, double angle, double ratio, PointBuffer target) {
+        if (source == null || target == null) {
+            return null;
+        }
+
+        double cos = Math.cos(angle) * ratio;
+        double sin = Math.sin(angle) * ratio;
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            double dx = xs[i] - cx;
+            double dy = ys[i] - cy;
+            txs[i] = cx + dx * cos - dy * sin;
+            tys[i] = cy + dx * sin + dy * cos;
+        }
+        return target;
+    }
+
+    /**
+     * 以center为中心,求点集内每个点的中心对称点,结果写入target
+     *
+     * @param source 给定的点集
+     * @param center 中心点
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer getCentralSymmetry(PointBuffer source, Point center, PointBuffer target) {
+        if (center == null) {
+            return null;
+        }
+        return getCentralSymmetry(source, center.getX(), center.getY(), target);
+    }
+
+    /**
+     * 以点(cx,cy)为中心,求点集内每个点的中心对称点,结果写入target
+     *
+     * @param source 给定的点集
+     * @param cx     中心点的横坐标
+     * @param cy     中心点的纵坐标
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer getCentralSymmetry(PointBuffer source, double cx, double cy, PointBuffer target) {
+        if (source == null || target == null) {
+            return null;
+        }
+
+        double x = 2 * cx;
+        double y = 2 * cy;
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            txs[i] = x - xs[i];
+            tys[i] = y - ys[i];
+        }
+        return target;
+    }
+
+    /**
+     * 求点集内每个点相对于直线的轴对称点,结果写入target
+     *
+     * @param source 给定的点集
+     * @param axis   对称轴
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer getAxialSymmetry(PointBuffer source, Line axis, PointBuffer target) {
+        if (axis == null) {
+            return null;
+        }
+        return getAxialSymmetry(source, axis.getA(), axis.getB(), axis.getC(), target);
+    }
+
+    /**
+     * 求点集内每个点相对于直线ax+by+c=0的轴对称点,结果写入target
+     *
+     * @param source 给定的点集
+     * @param a      直线的系数a
+     * @param b      直线的系数b
+     * @param c      直线的系数c
+     * @param target 保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer getAxialSymmetry(PointBuffer source, double a, double b, double c, PointBuffer target) {
+        if (source == null || target == null) {
+            return null;
+        }
+        if (!LineUtil.isLogical(a, b)) {
+            throw new IllegalArgumentException("直线的系数a和b不能同时为0");
+        }
+
+        double denominator = a * a + b * b;
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            double d = 2 * (a * x + b * y + c) / denominator;
+            txs[i] = x - a * d;
+            tys[i] = y - b * d;
+        }
+        return target;
+    }
+
+    /**
+     * 将相对坐标下的点集转化为绝对坐标下的点集,结果写入target
+     *
+     * @param source     给定的点集
+     * @param coordinate 相对坐标
+     * @param target     保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer toAbsoluteCoordinate(PointBuffer source, Coordinate coordinate, PointBuffer target) {
+        return coordinate == null ? null : toAbsoluteCoordinate(source,
+                coordinate.getOriginX(), coordinate.getOriginY(), coordinate.getSpaceX(), coordinate.getSpaceY(), target);
+    }
+
+    /**
+     * 将相对坐标下的点集转化为绝对坐标下的点集,结果写入target
+     *
+     * @param source  给定的点集
+     * @param originX 原点的横坐标
+     * @param originY 原点的纵坐标
+     * @param spaceX  横坐标单位长度的间隔
+     * @param spaceY  纵坐标单位长度的间隔
+     * @param target  保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer toAbsoluteCoordinate(PointBuffer source, double originX, double originY, double spaceX, double spaceY, PointBuffer target) {
+        if (source == null || target == null) {
+            return null;
+        }
+        if (!NumberUtil.isMoreThanZero(spaceX) || !NumberUtil.isMoreThanZero(spaceY)) {
+            throw new IllegalArgumentException("单位长度的坐标间隔必须大于0");
+        }
+
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            txs[i] = originX + xs[i] * spaceX;
+            tys[i] = originY - ys[i] * spaceY;
+        }
+        return target;
+    }
+
+    /**
+     * 将绝对坐标下的点集转化为相对坐标下的点集,结果写入target
+     *
+     * @param source     给定的点集
+     * @param coordinate 相对坐标
+     * @param target     保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer toRelativeCoordinate(PointBuffer source, Coordinate coordinate, PointBuffer target) {
+        return coordinate == null ? null : toRelativeCoordinate(source,
+                coordinate.getOriginX(), coordinate.getOriginY(), coordinate.getSpaceX(), coordinate.getSpaceY(), target);
+    }
+
+    /**
+     * 将绝对坐标下的点集转化为相对坐标下的点集,结果写入target
+     *
+     * @param source  给定的点集
+     * @param originX 原点的横坐标
+     * @param originY 原点的纵坐标
+     * @param spaceX  横坐标单位长度的间隔
+     * @param spaceY  纵坐标单位长度的间隔
+     * @param target  保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer toRelativeCoordinate(PointBuffer source, double originX, double originY, double spaceX, double spaceY, PointBuffer target) {
+        if (source == null || target == null) {
+            return null;
+        }
+        if (!NumberUtil.isMoreThanZero(spaceX) || !NumberUtil.isMoreThanZero(spaceY)) {
+            throw new IllegalArgumentException("单位长度的坐标间隔必须大于0");
+        }
+
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            txs[i] = (xs[i] - originX) / spaceX;
+            tys[i] = (originY - ys[i]) / spaceY;
+        }
+        return target;
+    }
+
+    /**
+     * 将相对坐标下的点集转化为绝对坐标下的点集,结果写入target
+     *
+     * @param source   给定的点集
+     * @param viewport 相对坐标
+     * @param target   保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer toAbsoluteCoordinate(PointBuffer source, Viewport viewport, PointBuffer target) {
+        if (source == null || viewport == null || target == null) {
+            return null;
+        }
+
+        double originX = viewport.getOriginX();
+        double originY = viewport.getOriginY();
+        double spaceX = viewport.getSpaceX();
+        double spaceY = viewport.getSpaceY();
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            txs[i] = originX + xs[i] * spaceX;
+            tys[i] = originY - ys[i] * spaceY;
+        }
+        return target;
+    }
+
+    /**
+     * 将绝对坐标下的点集转化为相对坐标下的点集,结果写入target.使用预先计算的单位长度的倒数,不做除法
+     *
+     * @param source   给定的点集
+     * @param viewport 相对坐标
+     * @param target   保存结果的点集,可以与source相同
+     * @return 保存结果的点集
+     */
+    public static PointBuffer toRelativeCoordinate(PointBuffer source, Viewport viewport, PointBuffer target) {
+        if (source == null || viewport == null || target == null) {
+            return null;
+        }
+
+        double originX = viewport.getOriginX();
+        double originY = viewport.getOriginY();
+        double inverseX = viewport.getInverseSpaceX();
+        double inverseY = viewport.getInverseSpaceY();
+        int size = source.size();
+        target.resize(size);
+        double[] xs = source.getXs();
+        double[] ys = source.getYs();
+        double[] txs = target.getXs();
+        double[] tys = target.getYs();
+        for (int i = 0; i < size; i++) {
+            txs[i] = (xs[i] - originX) * inverseX;
+            tys[i] = (originY - ys[i]) * inverseY;
+        }
+        return target;
+    }
 }
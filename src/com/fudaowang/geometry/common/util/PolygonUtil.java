@@ -1,11 +1,11 @@
 package com.fudaowang.geometry.common.util;
 
+import com.fudaowang.geometry.common.function.PointTransformer;
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
 import com.fudaowang.geometry.common.graph.Polygon;
 import com.fudaowang.geometry.common.graph.Segment;
-import org.apache.commons.collections.Predicate;
-import org.apache.commons.collections.Transformer;
 
 import java.util.Collection;
 
@@ -30,7 +30,7 @@ public class PolygonUtil {
         if (polygon == null || center == null) {
             return null;
         }
-        return rotate(polygon.getPoints(), center, angle);
+        return collect(polygon, rotation(center, angle));
     }
 
     /**
@@ -41,17 +41,11 @@ public class PolygonUtil {
      * @param angle  旋转的角度
      * @return 旋转后的多边形
      */
-    public static Polygon rotate(Point[] points, final Point center, final double angle) {
+    public static Polygon rotate(Point[] points, Point center, double angle) {
         if (points == null || center == null) {
             return null;
         }
-        Point[] result = PointUtil.collect(points, new Transformer() {
-            public Object transform(Object o) {
-                Point p = (Point) o;
-                return PointUtil.rotate(p, center, angle);
-            }
-        });
-        return new Polygon(result);
+        return new Polygon(PointUtil.collect(points, rotation(center, angle)));
     }
 
     /**
@@ -65,7 +59,7 @@ public class PolygonUtil {
         if (polygon == null || axis == null) {
             return null;
         }
-        return getAxialSymmetry(polygon.getPoints(), axis);
+        return collect(polygon, reflection(axis.getA(), axis.getB(), axis.getC()));
     }
 
     /**
@@ -75,17 +69,11 @@ public class PolygonUtil {
      * @param axis   直线对称轴
      * @return 对称的多边形
      */
-    public static Polygon getAxialSymmetry(Point[] points, final Line axis) {
+    public static Polygon getAxialSymmetry(Point[] points, Line axis) {
         if (points == null || axis == null) {
             return null;
         }
-        Point[] result = PointUtil.collect(points, new Transformer() {
-            public Object transform(Object o) {
-                Point p = (Point) o;
-                return PointUtil.getAxialSymmetry(p, axis);
-            }
-        });
-        return new Polygon(result);
+        return getAxialSymmetry(points, axis.getA(), axis.getB(), axis.getC());
     }
 
     /**
@@ -99,7 +87,7 @@ public class PolygonUtil {
         if (polygon == null || axis == null) {
             return null;
         }
-        return getAxialSymmetry(polygon.getPoints(), axis);
+        return collect(polygon, reflection(axis.getA(), axis.getB(), axis.getC()));
     }
 
     /**
@@ -109,19 +97,79 @@ public class PolygonUtil {
      * @param axis   线段对称轴
      * @return 对称的多边形
      */
-    public static Polygon getAxialSymmetry(Point[] points, final Segment axis) {
+    public static Polygon getAxialSymmetry(Point[] points, Segment axis) {
         if (points == null || axis == null) {
             return null;
         }
-        Point[] result = PointUtil.collect(points, new Transformer() {
-            public Object transform(Object o) {
-                Point p = (Point) o;
-                return PointUtil.getAxialSymmetry(p, axis);
-            }
-        });
+        return getAxialSymmetry(points, axis.getA(), axis.getB(), axis.getC());
+    }
+
+    /**
+     * 计算多边形相对于直线ax+by+c=0的轴对称图形
+     *
+     * @param points 多边形的点集
+     * @param a      对称轴的系数a
+     * @param b      对称轴的系数b
+     * @param c      对称轴的系数c
+     * @return 对称的多边形
+     */
+    public static Polygon getAxialSymmetry(Point[] points, double a, double b, double c) {
+        if (points == null) {
+            return null;
+        }
+        return new Polygon(PointUtil.collect(points, reflection(a, b, c)));
+    }
+
+    /**
+     * 把多边形的每个顶点变换后组成新的多边形,直接读取顶点,不复制多边形的点集
+     */
+    private static Polygon collect(Polygon polygon, PointTransformer transformer) {
+        double[] xy = new double[2];
+        Point[] result = new Point[polygon.size()];
+        for (int i = 0; i < result.length; i++) {
+            Point point = polygon.getPoint(i);
+            transformer.transform(point.getX(), point.getY(), xy);
+            result[i] = new Point(xy[0], xy[1]);
+        }
         return new Polygon(result);
     }
 
+    /**
+     * 绕中心点逆时针旋转的变换
+     */
+    private static PointTransformer rotation(Point center, double angle) {
+        final double cx = center.getX();
+        final double cy = center.getY();
+        final double cos = Math.cos(angle);
+        final double sin = Math.sin(angle);
+        return new PointTransformer() {
+            public void transform(double x, double y, double[] result) {
+                double dx = x - cx;
+                double dy = y - cy;
+                result[0] = cx + dx * cos - dy * sin;
+                result[1] = cy + dx * sin + dy * cos;
+            }
+        };
+    }
+
+    /**
+     * 相对于直线ax+by+c=0的轴对称变换
+     */
+    private static PointTransformer reflection(final double a, final double b, final double c) {
+        if (!LineUtil.isLogical(a, b)) {
+            throw new IllegalArgumentException("直线的系数a和b不能同时为0");
+        }
+
+        final double denominator = a * a + b * b;
+        return new PointTransformer() {
+            public void transform(double x, double y, double[] result) {
+                double d = 2 * (a * x + b * y + c) / denominator;
+                result[0] = x - a * d;
+                result[1] = y - b * d;
+            }
+        };
+    }
+
     /**
      * 判断两个多边形是否每个点都重合
      *
@@ -134,7 +182,17 @@ public class PolygonUtil {
         if (source == null || target == null) {
             throw new NullPointerException("多边形为null");
         }
-        return coincide(source.getPoints(), target.getPoints(), precision);
+        if (source.size() != target.size()) {
+            return false;
+        }
+        for (int i = 0; i < source.size(); i++) {
+            for (int j = 0; j < target.size(); j++) {
+                if (PointUtil.coincide(source.getPoint(i), target.getPoint(j), precision)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -156,24 +214,21 @@ public class PolygonUtil {
      * @param precision 给定的精度
      * @return 若两个点集完全重合, 则返回true
      */
-    public static boolean coincide(Point[] source, final Point[] target, final double precision) {
+    public static boolean coincide(Point[] source, Point[] target, double precision) {
         if (source == null || target == null) {
             throw new NullPointerException("点集为null");
         }
         if (source.length != target.length) {
             return false;
         }
-        return PointUtil.exists(source, new Predicate() {
-            public boolean evaluate(Object o) {
-                final Point p = (Point) o;
-                return PointUtil.exists(target, new Predicate() {
-                    public boolean evaluate(Object o) {
-                        Point q = (Point) o;
-                        return PointUtil.coincide(p, q, precision);
-                    }
-                });
+        for (Point p : source) {
+            for (Point q : target) {
+                if (PointUtil.coincide(p, q, precision)) {
+                    return true;
+                }
             }
-        });
+        }
+        return false;
     }
 
     /**
@@ -183,7 +238,7 @@ public class PolygonUtil {
      * @param target 第二个点集
      * @return 若两个点集完全重合, 则返回true
      */
-    public static boolean coincide(Point[] source, final Point[] target) {
+    public static boolean coincide(Point[] source, Point[] target) {
         return coincide(source, target, NumberUtil.MIN_VALUE);
     }
 
@@ -219,4 +274,52 @@ public class PolygonUtil {
 
         return false;
     }
+
+    /**
+     * 求多边形的凸包
+     *
+     * @param polygon 多边形
+     * @return 凸包, 顶点从最左下的点开始按逆时针排列, 多边形的顶点在最小精度范围内共线时返回null
+     */
+    public static Polygon getConvexHull(Polygon polygon) {
+        if (polygon == null) {
+            return null;
+        }
+
+        PointBuffer buffer = new PointBuffer(polygon.size());
+        for (int i = 0; i < polygon.size(); i++) {
+            buffer.add(polygon.getPoint(i));
+        }
+        PointBuffer hull = PointUtil.getConvexHull(buffer, buffer);
+        return hull.size() < 3 ? null : new Polygon(hull.toArray());
+    }
+
+    /**
+     * 求点的数组的凸包,用于求作图中所有点的外框
+     *
+     * @param points 点的数组
+     * @return 凸包, 顶点从最左下的点开始按逆时针排列, 不同的点少于3个或点在最小精度范围内共线时返回null
+     */
+    public static Polygon getConvexHull(Point[] points) {
+        Point[] hull = PointUtil.getConvexHull(points);
+        if (hull == null || hull.length < 3) {
+            return null;
+        }
+
+        return new Polygon(hull);
+    }
+
+    /**
+     * 求点的集合的凸包
+     *
+     * @param collection 点的集合
+     * @return 凸包, 顶点从最左下的点开始按逆时针排列, 不同的点少于3个或点在最小精度范围内共线时返回null
+     */
+    public static Polygon getConvexHull(Collection<Point> collection) {
+        if (collection == null) {
+            return null;
+        }
+
+        return getConvexHull(PointUtil.toArray(collection));
+    }
 }
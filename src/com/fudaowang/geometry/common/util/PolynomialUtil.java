@@ -0,0 +1,307 @@
+package com.fudaowang.geometry.common.util;
+
+/**
+ * 求二次,三次和四次方程的实根,供直线与曲线,曲线与曲线求交使用.
+ * 二次方程用q=-(b+sign(b)*sqrt(delta))/2,x1=q/a,x2=c/q求根,避免两个相近的数相减损失精度;
+ * 三次方程用三角函数法或卡尔丹公式,四次方程用费拉里方法分解为两个二次方程,得到的根再用牛顿迭代修正.
+ * 判别式相对于系数的大小在MIN_VALUE以内时视为重根,只返回一个根.
+ * 所有方法把根按从小到大的顺序写入调用方提供的数组,返回根的个数,计算过程中不创建对象.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+public class PolynomialUtil {
+    //牛顿迭代的最多次数
+    private static final int POLISH_ITERATIONS = 4;
+    //两个根的相对差小于此值时合并为一个根
+    private static final double ROOT_PRECISION = 1E-9;
+
+    /**
+     * 求方程ax^2+bx+c=0的实根,a为0时按一次方程求根
+     *
+     * @param a     二次项系数
+     * @param b     一次项系数
+     * @param c     常数项
+     * @param roots 保存实根的数组,长度至少为2
+     * @return 实根的个数, 0-2个, 方程恒成立时也返回0
+     */
+    public static int solveQuadratic(double a, double b, double c, double[] roots) {
+        checkRoots(roots, 0, 2);
+        return quadratic(a, b, c, roots, 0);
+    }
+
+    /**
+     * 求方程ax^3+bx^2+cx+d=0的实根,a为0时按二次方程求根
+     *
+     * @param a     三次项系数
+     * @param b     二次项系数
+     * @param c     一次项系数
+     * @param d     常数项
+     * @param roots 保存实根的数组,长度至少为3
+     * @return 实根的个数, 0-3个
+     */
+    public static int solveCubic(double a, double b, double c, double d, double[] roots) {
+        checkRoots(roots, 0, 3);
+        return cubic(a, b, c, d, roots, 0);
+    }
+
+    /**
+     * 求方程ax^4+bx^3+cx^2+dx+e=0的实根,a为0时按三次方程求根
+     *
+     * @param a     四次项系数
+     * @param b     三次项系数
+     * @param c     二次项系数
+     * @param d     一次项系数
+     * @param e     常数项
+     * @param roots 保存实根的数组,长度至少为4
+     * @return 实根的个数, 0-4个
+     */
+    public static int solveQuartic(double a, double b, double c, double d, double e, double[] roots) {
+        checkRoots(roots, 0, 4);
+        return quartic(a, b, c, d, e, roots, 0);
+    }
+
+    /**
+     * 批量求二次方程的实根,第i个方程的系数为coefficients[3i],coefficients[3i+1],coefficients[3i+2],
+     * 它的根写入roots[2i]和roots[2i+1],根的个数写入counts[i],offset<=i<offset+length
+     *
+     * @param coefficients 方程的系数
+     * @param offset       第一个方程的序号
+     * @param length       方程的个数
+     * @param roots        保存实根的数组
+     * @param counts       保存每个方程的实根个数的数组
+     * @return 所有方程的实根的总数
+     */
+    public static int solveQuadratic(double[] coefficients, int offset, int length, double[] roots, int[] counts) {
+        checkBatch(coefficients, 3, offset, length, roots, 2, counts);
+        int total = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int count = quadratic(coefficients[3 * i], coefficients[3 * i + 1], coefficients[3 * i + 2], roots, 2 * i);
+            counts[i] = count;
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 批量求四次方程的实根,第i个方程的系数为coefficients[5i]到coefficients[5i+4],
+     * 它的根写入roots[4i]到roots[4i+3],根的个数写入counts[i],offset<=i<offset+length
+     *
+     * @param coefficients 方程的系数
+     * @param offset       第一个方程的序号
+     * @param length       方程的个数
+     * @param roots        保存实根的数组
+     * @param counts       保存每个方程的实根个数的数组
+     * @return 所有方程的实根的总数
+     */
+    public static int solveQuartic(double[] coefficients, int offset, int length, double[] roots, int[] counts) {
+        checkBatch(coefficients, 5, offset, length, roots, 4, counts);
+        int total = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int j = 5 * i;
+            int count = quartic(coefficients[j], coefficients[j + 1], coefficients[j + 2],
+                    coefficients[j + 3], coefficients[j + 4], roots, 4 * i);
+            counts[i] = count;
+            total += count;
+        }
+        return total;
+    }
+
+    static int quadratic(double a, double b, double c, double[] roots, int offset) {
+        if (a == 0) {
+            if (b == 0) {
+                return 0;
+            }
+            roots[offset] = -c / b;
+            return 1;
+        }
+        double delta = b * b - 4 * a * c;
+        double scale = b * b + Math.abs(4 * a * c);
+        if (Math.abs(delta) <= NumberUtil.MIN_VALUE * scale) {
+            roots[offset] = -b / (2 * a);
+            return 1;
+        }
+        if (delta < 0) {
+            return 0;
+        }
+        double q = -0.5 * (b + (b < 0 ? -Math.sqrt(delta) : Math.sqrt(delta)));
+        double x1 = q / a;
+        double x2 = c / q;
+        roots[offset] = Math.min(x1, x2);
+        roots[offset + 1] = Math.max(x1, x2);
+        return 2;
+    }
+
+    static int cubic(double a, double b, double c, double d, double[] roots, int offset) {
+        if (a == 0) {
+            return quadratic(b, c, d, roots, offset);
+        }
+        double p = b / a;
+        double q = c / a;
+        double r = d / a;
+        double bigQ = (p * p - 3 * q) / 9;
+        double bigR = (2 * p * p * p - 9 * p * q + 27 * r) / 54;
+        double q3 = bigQ * bigQ * bigQ;
+        double r2 = bigR * bigR;
+        int count;
+        if (r2 < q3) {
+            //三个不同的实根
+            double theta = Math.acos(bigR / Math.sqrt(q3));
+            double m = -2 * Math.sqrt(bigQ);
+            roots[offset] = m * Math.cos(theta / 3) - p / 3;
+            roots[offset + 1] = m * Math.cos((theta + 2 * Math.PI) / 3) - p / 3;
+            roots[offset + 2] = m * Math.cos((theta - 2 * Math.PI) / 3) - p / 3;
+            count = 3;
+        } else {
+            double s = -Math.signum(bigR) * Math.cbrt(Math.abs(bigR) + Math.sqrt(r2 - q3));
+            double t = s == 0 ? 0 : bigQ / s;
+            roots[offset] = s + t - p / 3;
+            count = 1;
+            if (r2 - q3 <= NumberUtil.MIN_VALUE * r2) {
+                //判别式接近0时还有一个二重根
+                roots[offset + 1] = -(s + t) / 2 - p / 3;
+                count = 2;
+            }
+        }
+        for (int i = offset; i < offset + count; i++) {
+            roots[i] = polish(0, a, b, c, d, roots[i]);
+        }
+        return normalize(roots, offset, count);
+    }
+
+    static int quartic(double a, double b, double c, double d, double e, double[] roots, int offset) {
+        if (a == 0) {
+            return cubic(b, c, d, e, roots, offset);
+        }
+        //化为y^4+py^2+qy+r=0,其中x=y-b/4a
+        double b1 = b / a;
+        double c1 = c / a;
+        double d1 = d / a;
+        double e1 = e / a;
+        double shift = b1 / 4;
+        double p = c1 - 6 * shift * shift;
+        double q = d1 - 2 * c1 * shift + 8 * shift * shift * shift;
+        double r = e1 - d1 * shift + c1 * shift * shift - 3 * shift * shift * shift * shift;
+        int count = 0;
+        if (q == 0) {
+            //双二次方程,先求y^2
+            int n = quadratic(1, p, r, roots, offset);
+            double z1 = roots[offset];
+            double z2 = roots[offset + 1];
+            for (int i = 0; i < n; i++) {
+                double z = i == 0 ? z1 : z2;
+                if (z > 0) {
+                    double y = Math.sqrt(z);
+                    roots[offset + count++] = -y;
+                    roots[offset + count++] = y;
+                } else if (-z <= NumberUtil.MIN_VALUE * Math.max(1, Math.abs(p))) {
+                    roots[offset + count++] = 0;
+                }
+            }
+        } else {
+            //预解式8m^3+8pm^2+(2p^2-8r)m-q^2=0在q不为0时一定有正根,取最大的根
+            double m = largestCubicRoot(p, (p * p - 4 * r) / 4, -q * q / 8);
+            double s = Math.sqrt(2 * m);
+            count = quadratic(1, -s, p / 2 + m + q / (2 * s), roots, offset);
+            count += quadratic(1, s, p / 2 + m - q / (2 * s), roots, offset + count);
+        }
+        for (int i = offset; i < offset + count; i++) {
+            roots[i] = polish(a, b, c, d, e, roots[i] - shift);
+        }
+        return normalize(roots, offset, count);
+    }
+
+    /**
+     * 求首项系数为1的三次方程x^3+px^2+qx+r=0的最大实根
+     */
+    private static double largestCubicRoot(double p, double q, double r) {
+        double bigQ = (p * p - 3 * q) / 9;
+        double bigR = (2 * p * p * p - 9 * p * q + 27 * r) / 54;
+        double q3 = bigQ * bigQ * bigQ;
+        double x;
+        if (bigR * bigR < q3) {
+            double theta = Math.acos(bigR / Math.sqrt(q3));
+            x = -2 * Math.sqrt(bigQ) * Math.cos((theta + 2 * Math.PI) / 3) - p / 3;
+        } else {
+            double s = -Math.signum(bigR) * Math.cbrt(Math.abs(bigR) + Math.sqrt(bigR * bigR - q3));
+            double t = s == 0 ? 0 : bigQ / s;
+            x = s + t - p / 3;
+            if (bigR * bigR - q3 <= NumberUtil.MIN_VALUE * bigR * bigR) {
+                x = Math.max(x, -(s + t) / 2 - p / 3);
+            }
+        }
+        //修正后仍需保证为正数,否则开方后不能分解
+        x = polish(0, 1, p, q, r, x);
+        return x > 0 ? x : Double.MIN_VALUE;
+    }
+
+    /**
+     * 用牛顿迭代修正ax^4+bx^3+cx^2+dx+e=0的近似根,只在多项式的绝对值减小时接受迭代结果
+     */
+    private static double polish(double a, double b, double c, double d, double e, double x) {
+        double f = (((a * x + b) * x + c) * x + d) * x + e;
+        for (int i = 0; i < POLISH_ITERATIONS && f != 0; i++) {
+            double df = ((4 * a * x + 3 * b) * x + 2 * c) * x + d;
+            if (df == 0) {
+                break;
+            }
+            double next = x - f / df;
+            double g = (((a * next + b) * next + c) * next + d) * next + e;
+            if (Math.abs(g) >= Math.abs(f)) {
+                break;
+            }
+            x = next;
+            f = g;
+        }
+        return x;
+    }
+
+    /**
+     * 把根从小到大排序并合并相同的根,返回合并后的个数
+     */
+    private static int normalize(double[] roots, int offset, int count) {
+        for (int i = offset + 1; i < offset + count; i++) {
+            double x = roots[i];
+            int j = i - 1;
+            while (j >= offset && roots[j] > x) {
+                roots[j + 1] = roots[j];
+                j--;
+            }
+            roots[j + 1] = x;
+        }
+        int n = 0;
+        for (int i = offset; i < offset + count; i++) {
+            double x = roots[i];
+            if (n > 0 && x - roots[offset + n - 1] <= ROOT_PRECISION * Math.max(1, Math.abs(x))) {
+                continue;
+            }
+            roots[offset + n++] = x;
+        }
+        return n;
+    }
+
+    private static void checkRoots(double[] roots, int offset, int length) {
+        if (roots == null) {
+            throw new NullPointerException("保存根的数组为null");
+        }
+        if (offset + length > roots.length) {
+            throw new IllegalArgumentException("保存根的数组的长度不足");
+        }
+    }
+
+    private static void checkBatch(double[] coefficients, int degree, int offset, int length,
+                                   double[] roots, int maxRoots, int[] counts) {
+        if (coefficients == null) {
+            throw new NullPointerException("系数数组为null");
+        }
+        if (counts == null) {
+            throw new NullPointerException("保存根的个数的数组为null");
+        }
+        if (offset < 0 || length < 0 || (offset + length) * degree > coefficients.length) {
+            throw new IndexOutOfBoundsException("序号越界:" + offset + "," + length);
+        }
+        checkRoots(roots, 0, (offset + length) * maxRoots);
+        if (offset + length > counts.length) {
+            throw new IllegalArgumentException("保存根的个数的数组的长度不足");
+        }
+    }
+}
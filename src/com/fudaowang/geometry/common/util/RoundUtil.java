@@ -1,7 +1,8 @@
 package com.fudaowang.geometry.common.util;
 
+import com.fudaowang.geometry.common.fit.RoundFitter;
+import com.fudaowang.geometry.common.function.IntersectionSink;
 import com.fudaowang.geometry.common.graph.*;
-import org.apache.commons.collections.Predicate;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.Collection;
@@ -29,6 +30,21 @@ public class RoundUtil {
         return intersect(line.getA(), line.getB(), line.getC(), round.getX(), round.getY(), round.getRadius());
     }
 
+    /**
+     * 求直线与圆的交点,交点依次传给sink,不创建交点对象
+     *
+     * @param line  直线
+     * @param round 圆
+     * @param sink  接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(Line line, Round round, IntersectionSink sink) {
+        if (line == null || round == null) {
+            return 0;
+        }
+        return intersect(line.getA(), line.getB(), line.getC(), round.getX(), round.getY(), round.getRadius(), sink);
+    }
+
     /**
      * 求直线lax+lby+lc=0与圆(x-cx)^2+(y-cy)^2=radius^2的交点
      *
@@ -41,26 +57,25 @@ public class RoundUtil {
      * @return 交点集, 可能有0-2个点
      */
     public static Point[] intersect(double la, double lb, double lc, double cx, double cy, double radius) {
-        double distance = LineUtil.distance(cx, cy, la, lb, lc);
-        Point vertex = LineUtil.verticalPoint(cx, cy, la, lb, lc);
-
-        if (NumberUtil.equal(distance, radius)) {
-            return new Point[]{vertex};
-        }
-
-        if (distance > radius) {
-            return new Point[0];
-        }
-
-        double side = Math.sqrt(distance * distance + radius * radius);
-        double angle = LineUtil.getAngle(la, lb);
-
-        double x = side * Math.cos(angle);
-        double y = side * Math.cos(angle);
-        Point p1 = PointUtil.translation(vertex, x, y);
-        Point p2 = PointUtil.translation(vertex, -x, -y);
+        PointBuffer buffer = new PointBuffer(2);
+        intersect(la, lb, lc, cx, cy, radius, buffer);
+        return buffer.toArray();
+    }
 
-        return new Point[]{p1, p2};
+    /**
+     * 求直线lax+lby+lc=0与圆(x-cx)^2+(y-cy)^2=radius^2的交点,交点依次传给sink,不创建交点对象
+     *
+     * @param la     直线的系数a
+     * @param lb     直线的系数b
+     * @param lc     直线的系数c
+     * @param cx     圆心的横坐标
+     * @param cy     圆心的纵坐标
+     * @param radius 圆的半径
+     * @param sink   接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(double la, double lb, double lc, double cx, double cy, double radius, IntersectionSink sink) {
+        return intersect(la, lb, lc, cx, cy, radius, false, 0, 0, 0, 0, sink);
     }
 
     /**
@@ -77,6 +92,23 @@ public class RoundUtil {
         return intersect(segment.getP1(), segment.getP2(), round);
     }
 
+    /**
+     * 求线段与圆的交点,交点依次传给sink,不创建交点对象
+     *
+     * @param segment 线段
+     * @param round   圆
+     * @param sink    接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(Segment segment, Round round, IntersectionSink sink) {
+        if (segment == null || round == null) {
+            return 0;
+        }
+        Point p1 = segment.getP1();
+        Point p2 = segment.getP2();
+        return intersect(p1.getX(), p1.getY(), p2.getX(), p2.getY(), round.getX(), round.getY(), round.getRadius(), sink);
+    }
+
     /**
      * 求线段(p1,p2)与圆的交点
      *
@@ -104,15 +136,87 @@ public class RoundUtil {
      * @param radius 圆的半径
      * @return 交点集合, 可能有0-2个点
      */
-    public static Point[] intersect(final double x1, final double y1, final double x2, final double y2, double cx, double cy, double radius) {
-        Line line = LineUtil.getLine(x1, y1, x2, y2);
-        Point[] points = intersect(line.getA(), line.getB(), line.getC(), cx, cy, radius);
-        return PointUtil.filter(points, new Predicate() {
-            public boolean evaluate(Object o) {
-                Point p = (Point) o;
-                return SegmentUtil.inSegment(p.getX(), p.getY(), x1, y1, x2, y2);
-            }
-        });
+    public static Point[] intersect(double x1, double y1, double x2, double y2, double cx, double cy, double radius) {
+        PointBuffer buffer = new PointBuffer(2);
+        intersect(x1, y1, x2, y2, cx, cy, radius, buffer);
+        return buffer.toArray();
+    }
+
+    /**
+     * 求由点(x1,x2)和点(x2,y2)构成的线段与圆(x-cx)^2+(y-cy)^2=radius^2的交点,交点依次传给sink,不创建交点对象
+     *
+     * @param x1     线段的第一个点的横坐标
+     * @param y1     线段的第一个点的纵坐标
+     * @param x2     线段的第二个点的横坐标
+     * @param y2     线段的第二个点的纵坐标
+     * @param cx     圆心的横坐标
+     * @param cy     圆心的纵坐标
+     * @param radius 圆的半径
+     * @param sink   接收交点的回调
+     * @return 交点的个数, 0-2个
+     */
+    public static int intersect(double x1, double y1, double x2, double y2, double cx, double cy, double radius,
+                                IntersectionSink sink) {
+        if (PointUtil.coincide(x1, y1, x2, y2)) {
+            return 0;
+        }
+        double a = y2 - y1;
+        double b = x1 - x2;
+        return intersect(a, b, -b * y1 - a * x1, cx, cy, radius, true, x1, y1, x2, y2, sink);
+    }
+
+    private static int intersect(double la, double lb, double lc, double cx, double cy, double radius,
+                                 boolean bounded, double x1, double y1, double x2, double y2, IntersectionSink sink) {
+        if (sink == null) {
+            throw new NullPointerException("接收交点的回调为null");
+        }
+        if (NumberUtil.isZero(la) && NumberUtil.isZero(lb)) {
+            return 0;
+        }
+        double n = Math.sqrt(la * la + lb * lb);
+        double distance = (la * cx + lb * cy + lc) / n;
+        double vx = cx - la * distance / n;
+        double vy = cy - lb * distance / n;
+        distance = Math.abs(distance);
+        if (NumberUtil.equal(distance, radius)) {
+            return GeometryKernel.accept(vx, vy, bounded, x1, y1, x2, y2, sink);
+        }
+
+        //交点是垂足沿直线的方向(lb,-la)移动t,t^2=radius^2-distance^2
+        double[] roots = new double[2];
+        int count = PolynomialUtil.solveQuadratic(1, 0, (distance - radius) * (distance + radius), roots);
+        if (count == 0) {
+            return 0;
+        }
+        double dx = lb / n;
+        double dy = -la / n;
+        return GeometryKernel.accept(vx + roots[0] * dx, vy + roots[0] * dy, bounded, x1, y1, x2, y2, sink)
+                + GeometryKernel.accept(vx + roots[1] * dx, vy + roots[1] * dy, bounded, x1, y1, x2, y2, sink);
+    }
+
+    /**
+     * 用点集生成圆,用RoundFitter拟合,三个点时是过这三个点的圆
+     *
+     * @param points 圆上的点集
+     * @return 生成的圆, 少于三个点或点都在一条直线上时返回null
+     */
+    public static Round getRound(Point[] points) {
+        if (points == null || points.length < 3) {
+            return null;
+        }
+        RoundFitter fitter = new RoundFitter();
+        fitter.addAll(points);
+        return fitter.getRound();
+    }
+
+    /**
+     * 用点集生成圆,用RoundFitter拟合
+     *
+     * @param points 圆上的点集
+     * @return 生成的圆, 少于三个点或点都在一条直线上时返回null
+     */
+    public static Round getRound(Collection<Point> points) {
+        return points == null ? null : getRound(points.toArray(new Point[points.size()]));
     }
 
     /**
@@ -0,0 +1,353 @@
+package com.fudaowang.geometry.common.util;
+
+import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.graph.SegmentIntersection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 扫描线求线段集中所有相交的线段对(Bentley-Ottmann算法).
+ * 扫描线从左向右(横坐标相同时从下向上)移动,事件点为线段的端点和已发现的交点,
+ * 扫描线上的线段按与扫描线交点的纵坐标排序,只有在扫描线上相邻的线段才需要求交,
+ * 时间复杂度为O((n+k)logn),其中k为交点个数.
+ * 判断点是否在线段上时与SegmentUtil.onSegment使用相同的精度规则,并额外要求点在线段的坐标范围内.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+class SegmentSweep {
+    private final double precision;
+    private final List<SegmentIntersection> result = new ArrayList<SegmentIntersection>();
+    private final TreeMap<Event, Event> queue;
+    private final TreeSet<Edge> status;
+    private final Edge probe = new Edge();
+
+    private double sweepX;
+    private double sweepY;
+
+    /**
+     * 构造扫描线
+     *
+     * @param segments  线段集
+     * @param precision 给定的精度
+     */
+    SegmentSweep(Collection<Segment> segments, double precision) {
+        this.precision = precision < NumberUtil.MIN_VALUE ? NumberUtil.MIN_VALUE : precision;
+        this.queue = new TreeMap<Event, Event>(new EventComparator());
+        this.status = new TreeSet<Edge>(new EdgeComparator());
+
+        int index = 0;
+        for (Segment segment : segments) {
+            if (segment == null) {
+                throw new NullPointerException("线段为null");
+            }
+            Edge edge = new Edge(segment, index++);
+            event(edge.x1, edge.y1).starts.add(edge);
+            event(edge.x2, edge.y2).ends.add(edge);
+        }
+    }
+
+    /**
+     * 依次处理所有事件点
+     *
+     * @return 所有相交的线段对及其交点
+     */
+    List<SegmentIntersection> run() {
+        while (!queue.isEmpty()) {
+            handle(queue.pollFirstEntry().getKey());
+        }
+        return result;
+    }
+
+    private void handle(Event event) {
+        sweepX = event.x;
+        sweepY = event.y;
+
+        //扫描线上经过事件点的线段是连续的,从事件点开始向上下两个方向取出
+        List<Edge> through = new ArrayList<Edge>();
+        probe.y = event.y - precision;
+        collect(status.tailSet(probe, true).iterator(), event, through);
+        collect(status.headSet(probe, false).descendingIterator(), event, through);
+        for (Edge edge : event.ends) {
+            if (!through.contains(edge) && removeIdentity(edge)) {
+                through.add(edge);
+            }
+        }
+
+        List<Edge> members = new ArrayList<Edge>(event.starts);
+        List<Edge> inserted = new ArrayList<Edge>(event.starts);
+        for (Edge edge : through) {
+            if (!members.contains(edge)) {
+                members.add(edge);
+            }
+            if (!event.ends.contains(edge) && !isEnd(edge, event)) {
+                inserted.add(edge);
+            }
+        }
+        report(members, event);
+
+        //此时扫描线位于事件点之后,经过事件点的线段按斜率重新排序
+        for (Edge edge : inserted) {
+            status.add(edge);
+        }
+
+        if (inserted.isEmpty()) {
+            probe.y = event.y - precision;
+            check(status.lower(probe), status.ceiling(probe), event);
+            return;
+        }
+
+        Comparator<? super Edge> comparator = status.comparator();
+        Edge lowest = inserted.get(0);
+        Edge highest = inserted.get(0);
+        for (Edge edge : inserted) {
+            if (comparator.compare(edge, lowest) < 0) {
+                lowest = edge;
+            }
+            if (comparator.compare(edge, highest) > 0) {
+                highest = edge;
+            }
+        }
+        check(status.lower(lowest), lowest, event);
+        check(highest, status.higher(highest), event);
+    }
+
+    private void collect(Iterator<Edge> iterator, Event event, List<Edge> through) {
+        while (iterator.hasNext()) {
+            Edge edge = iterator.next();
+            if (contains(edge, event.x, event.y) || event.known.contains(edge) || event.ends.contains(edge)) {
+                through.add(edge);
+                iterator.remove();
+            } else if (Math.abs(y(edge) - event.y) >= precision) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 在精度误差使线段不在预期位置时,逐个查找并删除线段
+     */
+    private boolean removeIdentity(Edge edge) {
+        for (Iterator<Edge> iterator = status.iterator(); iterator.hasNext(); ) {
+            if (iterator.next() == edge) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void report(List<Edge> members, Event event) {
+        if (members.size() < 2) {
+            return;
+        }
+        Point point = new Point(event.x, event.y);
+        for (int i = 0; i < members.size(); i++) {
+            for (int j = i + 1; j < members.size(); j++) {
+                Edge e1 = members.get(i);
+                Edge e2 = members.get(j);
+                if (e1.index > e2.index) {
+                    Edge temp = e1;
+                    e1 = e2;
+                    e2 = temp;
+                }
+                result.add(new SegmentIntersection(e1.segment, e1.index, e2.segment, e2.index, point));
+            }
+        }
+    }
+
+    /**
+     * 求扫描线上相邻两条线段的交点,若交点在当前事件点之后则加入事件队列
+     */
+    private void check(Edge e1, Edge e2, Event event) {
+        if (e1 == null || e2 == null) {
+            return;
+        }
+        double dx1 = e1.x2 - e1.x1;
+        double dy1 = e1.y2 - e1.y1;
+        double dx2 = e2.x2 - e2.x1;
+        double dy2 = e2.y2 - e2.y1;
+        double d = dx1 * dy2 - dy1 * dx2;
+        if (d == 0) {
+            //平行或共线,共线重叠的部分会在端点处作为事件点报告
+            return;
+        }
+        double ex = e2.x1 - e1.x1;
+        double ey = e2.y1 - e1.y1;
+        double t = (ex * dy2 - ey * dx2) / d;
+        double u = (ex * dy1 - ey * dx1) / d;
+        double t0 = precision / e1.length;
+        double u0 = precision / e2.length;
+        if (t < -t0 || t > 1 + t0 || u < -u0 || u > 1 + u0) {
+            return;
+        }
+        t = Math.max(0, Math.min(1, t));
+        double x = e1.x1 + t * dx1;
+        double y = e1.y1 + t * dy1;
+        if (compare(x, y, event.x, event.y) <= 0) {
+            return;
+        }
+        Event next = event(x, y);
+        if (!next.known.contains(e1)) {
+            next.known.add(e1);
+        }
+        if (!next.known.contains(e2)) {
+            next.known.add(e2);
+        }
+    }
+
+    private Event event(double x, double y) {
+        Event event = new Event(x, y);
+        Event exist = queue.get(event);
+        if (exist != null) {
+            return exist;
+        }
+        queue.put(event, event);
+        return event;
+    }
+
+    private boolean isEnd(Edge edge, Event event) {
+        return compare(edge.x2, edge.y2, event.x, event.y) == 0;
+    }
+
+    /**
+     * 与SegmentUtil.onSegment的规则相同,点到线段所在直线的距离小于精度即认为在线段上,
+     * 但用叉积计算距离,避免GeometryKernel.ptLineDist在两个平方数相减时的舍入误差
+     */
+    private boolean contains(Edge edge, double x, double y) {
+        return x > edge.minX - precision && x < edge.maxX + precision
+                && y > edge.minY - precision && y < edge.maxY + precision
+                && Math.abs((x - edge.x1) * (edge.y2 - edge.y1) - (y - edge.y1) * (edge.x2 - edge.x1)) < precision * edge.length;
+    }
+
+    /**
+     * 在精度范围内比较两个事件点的先后,先比较横坐标再比较纵坐标
+     */
+    private int compare(double x1, double y1, double x2, double y2) {
+        if (Math.abs(x1 - x2) >= precision) {
+            return x1 < x2 ? -1 : 1;
+        }
+        if (Math.abs(y1 - y2) >= precision) {
+            return y1 < y2 ? -1 : 1;
+        }
+        return 0;
+    }
+
+    /**
+     * 线段与当前扫描线交点的纵坐标,竖直线段取当前事件点的纵坐标
+     */
+    private double y(Edge edge) {
+        if (edge.vertical) {
+            return Math.max(edge.y1, Math.min(edge.y2, sweepY));
+        }
+        if (sweepX <= edge.x1) {
+            return edge.y1;
+        }
+        if (sweepX >= edge.x2) {
+            return edge.y2;
+        }
+        return edge.y1 + (sweepX - edge.x1) * (edge.y2 - edge.y1) / (edge.x2 - edge.x1);
+    }
+
+    private class EventComparator implements Comparator<Event> {
+        public int compare(Event e1, Event e2) {
+            return SegmentSweep.this.compare(e1.x, e1.y, e2.x, e2.y);
+        }
+    }
+
+    /**
+     * 按与扫描线交点的纵坐标比较线段,交点相同时按事件点之后的位置(即斜率)比较
+     */
+    private class EdgeComparator implements Comparator<Edge> {
+        public int compare(Edge e1, Edge e2) {
+            if (e1 == e2) {
+                return 0;
+            }
+            //与事件点纵坐标之差在精度范围内的线段都排在probe之后,保证查找时的单调性
+            if (e1 == probe) {
+                return probe.y < y(e2) ? -1 : 1;
+            }
+            if (e2 == probe) {
+                return y(e1) <= probe.y ? -1 : 1;
+            }
+            double y1 = y(e1);
+            double y2 = y(e2);
+            if (Math.abs(y1 - y2) >= precision) {
+                return y1 < y2 ? -1 : 1;
+            }
+            if (e1.slope != e2.slope) {
+                return e1.slope < e2.slope ? -1 : 1;
+            }
+            return e1.index < e2.index ? -1 : 1;
+        }
+    }
+
+    private static class Event {
+        final double x;
+        final double y;
+        final List<Edge> starts = new ArrayList<Edge>(1);
+        final List<Edge> ends = new ArrayList<Edge>(1);
+        final List<Edge> known = new ArrayList<Edge>(2);
+
+        Event(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * 扫描线上的线段,端点按事件顺序排列,(x1,y1)为先到达的端点
+     */
+    private class Edge {
+        Segment segment;
+        int index;
+        double x1;
+        double y1;
+        double x2;
+        double y2;
+        double minX;
+        double minY;
+        double maxX;
+        double maxY;
+        double slope;
+        double length;
+        boolean vertical;
+        double y;
+
+        Edge() {
+        }
+
+        Edge(Segment segment, int index) {
+            this.segment = segment;
+            this.index = index;
+            double ax = segment.getP1().getX();
+            double ay = segment.getP1().getY();
+            double bx = segment.getP2().getX();
+            double by = segment.getP2().getY();
+            if (SegmentSweep.this.compare(ax, ay, bx, by) <= 0) {
+                x1 = ax;
+                y1 = ay;
+                x2 = bx;
+                y2 = by;
+            } else {
+                x1 = bx;
+                y1 = by;
+                x2 = ax;
+                y2 = ay;
+            }
+            minX = Math.min(x1, x2);
+            maxX = Math.max(x1, x2);
+            minY = Math.min(y1, y2);
+            maxY = Math.max(y1, y2);
+            length = Math.sqrt((x2 - x1) * (x2 - x1) + (y2 - y1) * (y2 - y1));
+            vertical = Math.abs(x2 - x1) < precision;
+            slope = vertical ? Double.POSITIVE_INFINITY : (y2 - y1) / (x2 - x1);
+        }
+    }
+}
@@ -4,9 +4,11 @@ import com.fudaowang.geometry.common.graph.Coordinate;
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Point;
 import com.fudaowang.geometry.common.graph.Segment;
+import com.fudaowang.geometry.common.graph.SegmentIntersection;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * 对线段操作的类
@@ -74,7 +76,7 @@ public class SegmentUtil {
             return Double.NaN;
         }
 
-        return java.awt.geom.Line2D.ptLineDist(segment.getP1().getX(), segment.getP1().getY(),
+        return GeometryKernel.ptLineDist(segment.getP1().getX(), segment.getP1().getY(),
                 segment.getP2().getX(), segment.getP2().getY(), point.getX(), point.getY());
     }
 
@@ -91,7 +93,7 @@ public class SegmentUtil {
             return Double.NaN;
         }
 
-        return java.awt.geom.Line2D.ptLineDist(p1.getX(), p1.getY(), p2.getX(), p2.getY(), point.getX(), point.getY());
+        return GeometryKernel.ptLineDist(p1.getX(), p1.getY(), p2.getX(), p2.getY(), point.getX(), point.getY());
     }
 
     /**
@@ -106,7 +108,37 @@ public class SegmentUtil {
      * @return 点到线段的距离
      */
     public static double distance(double px, double py, double x2, double y2, double x1, double y1) {
-        return java.awt.geom.Line2D.ptLineDist(x1, y1, x2, y2, px, py);
+        return GeometryKernel.ptLineDist(x1, y1, x2, y2, px, py);
+    }
+
+    /**
+     * 求点到线段上最近的点的距离.与distance不同,垂足在线段外时取到较近端点的距离
+     *
+     * @param point   点
+     * @param segment 线段
+     * @return 点到线段的最短距离
+     */
+    public static double segmentDistance(Point point, Segment segment) {
+        if (point == null || segment == null) {
+            return Double.NaN;
+        }
+        return segmentDistance(point.getX(), point.getY(), segment.getP1().getX(), segment.getP1().getY(),
+                segment.getP2().getX(), segment.getP2().getY());
+    }
+
+    /**
+     * 求点(px,py)到以点(x1,y1)和点(x2,y2)为端点的线段上最近的点的距离
+     *
+     * @param px 给定点的横坐标
+     * @param py 给定点的纵坐标
+     * @param x1 线段第一个端点的横坐标
+     * @param y1 线段第一个端点的纵坐标
+     * @param x2 线段第二个端点的横坐标
+     * @param y2 线段第二个端点的纵坐标
+     * @return 点到线段的最短距离
+     */
+    public static double segmentDistance(double px, double py, double x1, double y1, double x2, double y2) {
+        return GeometryKernel.ptSegDist(x1, y1, x2, y2, px, py);
     }
 
     /**
@@ -346,7 +378,7 @@ public class SegmentUtil {
      * @return 若线段内有交点则返回true
      */
     public static boolean linesIntersect(double x1, double y1, double x2, double y2, double x3, double y3, double x4, double y4) {
-        return java.awt.geom.Line2D.linesIntersect(x1, y1, x2, y2, x3, y3, x4, y4);
+        return GeometryKernel.linesIntersect(x1, y1, x2, y2, x3, y3, x4, y4);
     }
 
     /**
@@ -832,4 +864,32 @@ public class SegmentUtil {
 
         return false;
     }
+
+    /**
+     * 在最小精度范围内求线段集中所有相交的线段对及其交点
+     *
+     * @param segments 线段集
+     * @return 所有相交的线段对及其交点
+     * @see #intersect(java.util.Collection, double)
+     */
+    public static List<SegmentIntersection> intersect(Collection<Segment> segments) {
+        return intersect(segments, NumberUtil.MIN_VALUE);
+    }
+
+    /**
+     * 在给定精度范围内求线段集中所有相交的线段对及其交点.
+     * 使用扫描线算法,时间复杂度为O((n+k)logn),k为交点个数.
+     * 点是否在线段上的判定规则与onSegment相同;多条线段交于同一点时,其中每两条线段都作为一个结果返回;
+     * 共线且部分重叠的两条线段在重叠部分的两个端点处各返回一次.
+     *
+     * @param segments  线段集
+     * @param precision 给定的精度
+     * @return 所有相交的线段对及其交点, 结果中线段的序号为线段在集合中的迭代顺序
+     */
+    public static List<SegmentIntersection> intersect(Collection<Segment> segments, double precision) {
+        if (segments == null) {
+            return null;
+        }
+        return new SegmentSweep(segments, precision).run();
+    }
 }
@@ -2,10 +2,11 @@ package com.fudaowang.geometry.common.util;
 
 import com.fudaowang.geometry.common.graph.Line;
 import com.fudaowang.geometry.common.graph.Point;
+import com.fudaowang.geometry.common.graph.PointBuffer;
 import com.fudaowang.geometry.common.graph.Segment;
 import com.fudaowang.geometry.common.graph.Triangle;
 
-import java.util.*;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * 对三角形进行操作的类
@@ -92,34 +93,16 @@ public class TriangleUtil {
      * @param p3    三角形的顶点
      * @return 若点在三角形内则返回true
      */
-    public static boolean inTriangle(final Point point, final Point p1, final Point p2, final Point p3) {
+    public static boolean inTriangle(Point point, Point p1, Point p2, Point p3) {
         if (point == null || p1 == null || p2 == null || p3 == null) {
             throw new NullPointerException("判断的点为null");
         }
-
-        Point[] points = PointUtil.sort(new Point[]{p1, p2, p3}, new Comparator() {
-            public int compare(Object o1, Object o2) {
-                double d1 = PointUtil.distance(point, (Point) o1);
-                double d2 = PointUtil.distance(point, (Point) o2);
-
-                if (d1 < d2) {
-                    return -1;
-                }
-                if (d1 > d2) {
-                    return 1;
-                }
-                return 0;
-            }
-        });
-
-        Segment s1 = new Segment(points[0], points[1]);
-        Segment s2 = new Segment(point, points[2]);
-
-        return !SegmentUtil.linesIntersect(s1, s2);
+        return inTriangle(point.getX(), point.getY(), p1.getX(), p1.getY(), p2.getX(), p2.getY(), p3.getX(), p3.getY());
     }
 
     /**
-     * 判断给定的点是否在三角形内
+     * 判断给定的点是否在三角形内,点在三角形的边上或顶点上时不算在三角形内.
+     * 点在三角形内当且仅当点相对于三条边的方向(叉积的符号)都相同.
      *
      * @param x  给定点的横坐标
      * @param y  给定点的纵坐标
@@ -132,7 +115,298 @@ public class TriangleUtil {
      * @return 若点在三角形内则返回true
      */
     public static boolean inTriangle(double x, double y, double x1, double y1, double x2, double y2, double x3, double y3) {
-        return inTriangle(new Point(x, y), new Point(x1, y1), new Point(x2, y2), new Point(x3, y3));
+        double d1 = (x2 - x1) * (y - y1) - (y2 - y1) * (x - x1);
+        double d2 = (x3 - x2) * (y - y2) - (y3 - y2) * (x - x2);
+        double d3 = (x1 - x3) * (y - y3) - (y1 - y3) * (x - x3);
+        return (d1 > 0 && d2 > 0 && d3 > 0) || (d1 < 0 && d2 < 0 && d3 < 0);
+    }
+
+    /**
+     * 批量判断点集中的点是否在三角形内
+     *
+     * @param points   点集
+     * @param triangle 三角形
+     * @param result   保存每个点的判断结果,可以为null
+     * @return 在三角形内的点的个数
+     */
+    public static int inTriangle(PointBuffer points, Triangle triangle, boolean[] result) {
+        return inTriangle(points, triangle, result, false);
+    }
+
+    /**
+     * 批量判断点集中的点是否在三角形内
+     *
+     * @param points   点集
+     * @param triangle 三角形
+     * @param result   保存每个点的判断结果,可以为null
+     * @param parallel 是否使用ParallelUtil的线程池并行计算
+     * @return 在三角形内的点的个数
+     */
+    public static int inTriangle(PointBuffer points, Triangle triangle, boolean[] result, boolean parallel) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        if (triangle == null) {
+            throw new NullPointerException("判断的三角形为null");
+        }
+        Point p1 = triangle.getP1();
+        Point p2 = triangle.getP2();
+        Point p3 = triangle.getP3();
+        return inTriangle(points.getXs(), points.getYs(), 0, points.size(),
+                p1.getX(), p1.getY(), p2.getX(), p2.getY(), p3.getX(), p3.getY(), result, parallel);
+    }
+
+    /**
+     * 批量判断点(xs[i],ys[i])是否在三角形内,offset<=i<offset+length,计算过程中不创建对象
+     *
+     * @param xs     点的横坐标数组
+     * @param ys     点的纵坐标数组
+     * @param offset 第一个点的序号
+     * @param length 点的个数
+     * @param x1     三角形的第一个端点的横坐标
+     * @param y1     三角形的第一个端点的纵坐标
+     * @param x2     三角形的第二个端点的横坐标
+     * @param y2     三角形的第二个端点的纵坐标
+     * @param x3     三角形的第三个端点的横坐标
+     * @param y3     三角形的第三个端点的纵坐标
+     * @param result 保存判断结果,result[i]对应第i个点,可以为null
+     * @return 在三角形内的点的个数
+     */
+    public static int inTriangle(double[] xs, double[] ys, int offset, int length,
+                                 double x1, double y1, double x2, double y2, double x3, double y3, boolean[] result) {
+        return inTriangle(xs, ys, offset, length, x1, y1, x2, y2, x3, y3, result, false);
+    }
+
+    /**
+     * 批量判断点(xs[i],ys[i])是否在三角形内,offset<=i<offset+length,计算过程中不创建对象
+     *
+     * @param xs       点的横坐标数组
+     * @param ys       点的纵坐标数组
+     * @param offset   第一个点的序号
+     * @param length   点的个数
+     * @param x1       三角形的第一个端点的横坐标
+     * @param y1       三角形的第一个端点的纵坐标
+     * @param x2       三角形的第二个端点的横坐标
+     * @param y2       三角形的第二个端点的纵坐标
+     * @param x3       三角形的第三个端点的横坐标
+     * @param y3       三角形的第三个端点的纵坐标
+     * @param result   保存判断结果,result[i]对应第i个点,可以为null
+     * @param parallel 是否使用ParallelUtil的线程池并行计算
+     * @return 在三角形内的点的个数
+     */
+    public static int inTriangle(double[] xs, double[] ys, int offset, int length,
+                                 double x1, double y1, double x2, double y2, double x3, double y3,
+                                 boolean[] result, boolean parallel) {
+        GeometryKernel.checkRange(xs, ys, offset, length, result == null ? -1 : result.length);
+        if (parallel && length > ParallelUtil.THRESHOLD) {
+            return ParallelUtil.getPool().invoke(new InTriangleTask(xs, ys, offset, offset + length,
+                    new double[]{x1, y1, x2, y2, x3, y3}, result));
+        }
+        return inTriangleRange(xs, ys, offset, offset + length, x1, y1, x2, y2, x3, y3, result);
+    }
+
+    /**
+     * 批量求点集中每个点所在的三角形
+     *
+     * @param points    点集
+     * @param triangles 三角形的数组
+     * @param result    保存每个点所在的第一个三角形的序号,不在任何三角形内时为-1,可以为null
+     * @param parallel  是否使用ParallelUtil的线程池并行计算
+     * @return 在某个三角形内的点的个数
+     */
+    public static int locate(PointBuffer points, Triangle[] triangles, int[] result, boolean parallel) {
+        if (triangles == null) {
+            throw new NullPointerException("三角形数组为null");
+        }
+        double[] packed = new double[triangles.length * 6];
+        for (int i = 0; i < triangles.length; i++) {
+            Triangle triangle = triangles[i];
+            if (triangle == null) {
+                throw new NullPointerException("判断的三角形为null");
+            }
+            packed[i * 6] = triangle.getP1().getX();
+            packed[i * 6 + 1] = triangle.getP1().getY();
+            packed[i * 6 + 2] = triangle.getP2().getX();
+            packed[i * 6 + 3] = triangle.getP2().getY();
+            packed[i * 6 + 4] = triangle.getP3().getX();
+            packed[i * 6 + 5] = triangle.getP3().getY();
+        }
+        return locate(points, packed, result, parallel);
+    }
+
+    /**
+     * 批量求点集中每个点所在的三角形
+     *
+     * @param points    点集
+     * @param triangles 三角形顶点坐标的数组,每个三角形依次保存x1,y1,x2,y2,x3,y3六个值
+     * @param result    保存每个点所在的第一个三角形的序号,不在任何三角形内时为-1,可以为null
+     * @return 在某个三角形内的点的个数
+     */
+    public static int locate(PointBuffer points, double[] triangles, int[] result) {
+        return locate(points, triangles, result, false);
+    }
+
+    /**
+     * 批量求点集中每个点所在的三角形
+     *
+     * @param points    点集
+     * @param triangles 三角形顶点坐标的数组,每个三角形依次保存x1,y1,x2,y2,x3,y3六个值
+     * @param result    保存每个点所在的第一个三角形的序号,不在任何三角形内时为-1,可以为null
+     * @param parallel  是否使用ParallelUtil的线程池并行计算
+     * @return 在某个三角形内的点的个数
+     */
+    public static int locate(PointBuffer points, double[] triangles, int[] result, boolean parallel) {
+        if (points == null) {
+            throw new NullPointerException("点集为null");
+        }
+        if (triangles == null) {
+            throw new NullPointerException("三角形数组为null");
+        }
+        return locate(points.getXs(), points.getYs(), 0, points.size(), triangles, triangles.length / 6, result, parallel);
+    }
+
+    /**
+     * 批量求点(xs[i],ys[i])所在的三角形,offset<=i<offset+length,计算过程中不创建对象
+     *
+     * @param xs            点的横坐标数组
+     * @param ys            点的纵坐标数组
+     * @param offset        第一个点的序号
+     * @param length        点的个数
+     * @param triangles     三角形顶点坐标的数组,每个三角形依次保存x1,y1,x2,y2,x3,y3六个值
+     * @param triangleCount 三角形的个数
+     * @param result        保存判断结果,result[i]为第i个点所在的第一个三角形的序号,不在任何三角形内时为-1,可以为null
+     * @param parallel      是否使用ParallelUtil的线程池并行计算
+     * @return 在某个三角形内的点的个数
+     */
+    public static int locate(double[] xs, double[] ys, int offset, int length,
+                             double[] triangles, int triangleCount, int[] result, boolean parallel) {
+        GeometryKernel.checkRange(xs, ys, offset, length, result == null ? -1 : result.length);
+        if (triangles == null) {
+            throw new NullPointerException("三角形数组为null");
+        }
+        if (triangleCount < 0 || triangleCount * 6 > triangles.length) {
+            throw new IllegalArgumentException("三角形的个数超出数组范围:" + triangleCount);
+        }
+        if (parallel && (long) length * Math.max(triangleCount, 1) > ParallelUtil.THRESHOLD) {
+            return ParallelUtil.getPool().invoke(new LocateTask(xs, ys, offset, offset + length, triangles, triangleCount, result));
+        }
+        return locateRange(xs, ys, offset, offset + length, triangles, triangleCount, result);
+    }
+
+    private static int inTriangleRange(double[] xs, double[] ys, int from, int to,
+                                       double x1, double y1, double x2, double y2, double x3, double y3, boolean[] result) {
+        //统一调整为逆时针方向,此时点在三角形内当且仅当三个叉积都大于0
+        if ((x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1) < 0) {
+            double t = x2;
+            x2 = x3;
+            x3 = t;
+            t = y2;
+            y2 = y3;
+            y3 = t;
+        }
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            boolean inside = (x2 - x1) * (y - y1) - (y2 - y1) * (x - x1) > 0
+                    && (x3 - x2) * (y - y2) - (y3 - y2) * (x - x2) > 0
+                    && (x1 - x3) * (y - y3) - (y1 - y3) * (x - x3) > 0;
+            if (result != null) {
+                result[i] = inside;
+            }
+            if (inside) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int locateRange(double[] xs, double[] ys, int from, int to, double[] triangles, int triangleCount, int[] result) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            int found = -1;
+            for (int j = 0, k = 0; j < triangleCount; j++, k += 6) {
+                if (inTriangle(x, y, triangles[k], triangles[k + 1], triangles[k + 2], triangles[k + 3], triangles[k + 4], triangles[k + 5])) {
+                    found = j;
+                    break;
+                }
+            }
+            if (result != null) {
+                result[i] = found;
+            }
+            if (found >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class InTriangleTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+        private final double[] triangle;
+        private final boolean[] result;
+
+        InTriangleTask(double[] xs, double[] ys, int from, int to, double[] triangle, boolean[] result) {
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.triangle = triangle;
+            this.result = result;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= ParallelUtil.THRESHOLD) {
+                return inTriangleRange(xs, ys, from, to, triangle[0], triangle[1], triangle[2], triangle[3], triangle[4], triangle[5], result);
+            }
+            int middle = (from + to) >>> 1;
+            InTriangleTask left = new InTriangleTask(xs, ys, from, middle, triangle, result);
+            left.fork();
+            int count = new InTriangleTask(xs, ys, middle, to, triangle, result).compute();
+            return count + left.join();
+        }
+    }
+
+    private static class LocateTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+        private final double[] triangles;
+        private final int triangleCount;
+        private final int[] result;
+
+        LocateTask(double[] xs, double[] ys, int from, int to, double[] triangles, int triangleCount, int[] result) {
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.triangles = triangles;
+            this.triangleCount = triangleCount;
+            this.result = result;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= 1 || (long) (to - from) * Math.max(triangleCount, 1) <= ParallelUtil.THRESHOLD) {
+                return locateRange(xs, ys, from, to, triangles, triangleCount, result);
+            }
+            int middle = (from + to) >>> 1;
+            LocateTask left = new LocateTask(xs, ys, from, middle, triangles, triangleCount, result);
+            left.fork();
+            int count = new LocateTask(xs, ys, middle, to, triangles, triangleCount, result).compute();
+            return count + left.join();
+        }
     }
 
     /**
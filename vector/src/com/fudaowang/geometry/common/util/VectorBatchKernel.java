@@ -0,0 +1,84 @@
+package com.fudaowang.geometry.common.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * 用jdk.incubator.vector实现的批量计算,每次处理SPECIES_PREFERRED个元素(AVX2上为4个,AVX-512上为8个),
+ * 剩余不足一个向量的元素交给标量实现.
+ * 只使用逐个元素的加减乘除,取绝对值和开方,不合并为融合乘加,结果与标量实现逐位一致.
+ * 这个类只在JDK 16以上编译和运行,运行时需要--add-modules jdk.incubator.vector,由BatchKernel反射加载.
+ * Created with IntelliJ IDEA.
+ * To change this template use File | Settings | File Templates.
+ */
+class VectorBatchKernel extends BatchKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    String getName() {
+        return "vector";
+    }
+
+    @Override
+    void pointDistance(double[] xs, double[] ys, int from, int to, double x, double y, double[] result) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(x);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(y);
+            dx.mul(dx).add(dy.mul(dy)).lanewise(VectorOperators.SQRT).intoArray(result, i);
+        }
+        super.pointDistance(xs, ys, i, to, x, y, result);
+    }
+
+    @Override
+    void lineDistance(double[] xs, double[] ys, int from, int to,
+                      double a, double b, double c, double denominator, double[] result) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector ax = DoubleVector.fromArray(SPECIES, xs, i).mul(a);
+            DoubleVector by = DoubleVector.fromArray(SPECIES, ys, i).mul(b);
+            ax.add(by).add(c).abs().div(denominator).intoArray(result, i);
+        }
+        super.lineDistance(xs, ys, i, to, a, b, c, denominator, result);
+    }
+
+    @Override
+    void multiplyAdd(double[] values, int from, int to, double origin, double scale, double[] result) {
+        DoubleVector base = DoubleVector.broadcast(SPECIES, origin);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            base.add(DoubleVector.fromArray(SPECIES, values, i).mul(scale)).intoArray(result, i);
+        }
+        super.multiplyAdd(values, i, to, origin, scale, result);
+    }
+
+    @Override
+    void multiplySubtract(double[] values, int from, int to, double origin, double scale, double[] result) {
+        DoubleVector base = DoubleVector.broadcast(SPECIES, origin);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            base.sub(DoubleVector.fromArray(SPECIES, values, i).mul(scale)).intoArray(result, i);
+        }
+        super.multiplySubtract(values, i, to, origin, scale, result);
+    }
+
+    @Override
+    void subtractDivide(double[] values, int from, int to, double origin, double divisor, double[] result) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, values, i).sub(origin).div(divisor).intoArray(result, i);
+        }
+        super.subtractDivide(values, i, to, origin, divisor, result);
+    }
+
+    @Override
+    void reverseSubtractDivide(double[] values, int from, int to, double origin, double divisor, double[] result) {
+        DoubleVector base = DoubleVector.broadcast(SPECIES, origin);
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            base.sub(DoubleVector.fromArray(SPECIES, values, i)).div(divisor).intoArray(result, i);
+        }
+        super.reverseSubtractDivide(values, i, to, origin, divisor, result);
+    }
+}